@@ -0,0 +1,265 @@
+/*
+ * Copyright (C) 2008 Search Solution Corporation.
+ * Copyright (c) 2016 CUBRID Corporation.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ *
+ * - Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * - Neither the name of the <ORGANIZATION> nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software without
+ *   specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING,
+ * BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA,
+ * OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY
+ * OF SUCH DAMAGE.
+ *
+ */
+
+
+package cubrid.jdbc.driver;
+
+import cubrid.jdbc.jci.CUBRIDCommandType;
+import cubrid.jdbc.jci.FakeCas;
+import cubrid.jdbc.jci.FakeCas.Reply;
+import cubrid.jdbc.jci.FakeCas.Request;
+import cubrid.jdbc.jci.UFunctionCode;
+import cubrid.jdbc.jci.UGetTypeConvertedValue;
+import cubrid.jdbc.jci.UUType;
+import java.lang.management.ManagementFactory;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Measures getInt(), getLong() and getDouble() on the rows of a result set. The rows come from the
+ * fake CAS of the tests, 10,000 of them with an INT, a BIGINT and a DOUBLE column, all in the
+ * EXECUTE reply. Each getter is timed as the driver serves it now, reading the primitive from the
+ * fetched bytes, and the way it was served before, which decoded a boxed value and converted it
+ * with UGetTypeConvertedValue. Only the reading of the rows is timed, not the query, and a round
+ * that only calls next() is timed as well and taken off, so the figures are for the getter alone.
+ * The bytes allocated per value are printed too.
+ *
+ * <p>The class is in the driver package next to the other benchmarks and is not part of the jar:
+ *
+ * <pre>
+ * javac -cp JDBC-x-cubrid.jar -d bench/out test/cubrid/jdbc/jci/FakeCas.java \
+ *     bench/cubrid/jdbc/driver/GetterBench.java
+ * java -cp JDBC-x-cubrid.jar:bench/out cubrid.jdbc.driver.GetterBench [seconds]
+ * </pre>
+ */
+public class GetterBench {
+    private static final int ROWS = 10000;
+
+    private interface Body {
+        long run(ResultSet rs) throws Exception;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int seconds = (args.length > 0) ? Integer.parseInt(args[0]) : 5;
+
+        Class.forName("cubrid.jdbc.driver.CUBRIDDriver");
+        final Reply prepared = prepareReply();
+        final Reply executed = executeReply();
+        FakeCas cas =
+                new FakeCas(
+                        new FakeCas.Handler() {
+                            public Reply handle(Request request) {
+                                int code = request.getFunctionCode();
+                                if (code == UFunctionCode.PREPARE.getCode()) {
+                                    return prepared;
+                                } else if (code == UFunctionCode.EXECUTE.getCode()) {
+                                    return executed;
+                                }
+                                return null;
+                            }
+                        });
+        Connection con = DriverManager.getConnection(cas.getUrl(null));
+
+        Body nextOnly =
+                new Body() {
+                    public long run(ResultSet rs) throws Exception {
+                        long n = 0;
+                        while (rs.next()) {
+                            n++;
+                        }
+                        return n;
+                    }
+                };
+        Body[] typed = {
+            new Body() {
+                public long run(ResultSet rs) throws Exception {
+                    long sum = 0;
+                    while (rs.next()) {
+                        sum += rs.getInt(1);
+                    }
+                    return sum;
+                }
+            },
+            new Body() {
+                public long run(ResultSet rs) throws Exception {
+                    long sum = 0;
+                    while (rs.next()) {
+                        sum += rs.getLong(2);
+                    }
+                    return sum;
+                }
+            },
+            new Body() {
+                public long run(ResultSet rs) throws Exception {
+                    double sum = 0;
+                    while (rs.next()) {
+                        sum += rs.getDouble(3);
+                    }
+                    return (long) sum;
+                }
+            }
+        };
+        Body[] boxed = {
+            new Body() {
+                public long run(ResultSet rs) throws Exception {
+                    long sum = 0;
+                    while (rs.next()) {
+                        sum += UGetTypeConvertedValue.getInt(rs.getObject(1));
+                    }
+                    return sum;
+                }
+            },
+            new Body() {
+                public long run(ResultSet rs) throws Exception {
+                    long sum = 0;
+                    while (rs.next()) {
+                        sum += UGetTypeConvertedValue.getLong(rs.getObject(2));
+                    }
+                    return sum;
+                }
+            },
+            new Body() {
+                public long run(ResultSet rs) throws Exception {
+                    double sum = 0;
+                    while (rs.next()) {
+                        sum += UGetTypeConvertedValue.getDouble(rs.getObject(3));
+                    }
+                    return (long) sum;
+                }
+            }
+        };
+        String[] names = {"getInt", "getLong", "getDouble"};
+
+        try {
+            /* the first round warms up the JIT */
+            measure(con, nextOnly, 1);
+            for (int i = 0; i < names.length; i++) {
+                measure(con, typed[i], 1);
+                measure(con, boxed[i], 1);
+            }
+
+            System.out.println("rows=" + ROWS + " seconds=" + seconds);
+            double[] base = measure(con, nextOnly, seconds);
+            for (int i = 0; i < names.length; i++) {
+                print(names[i] + ", boxed", base, measure(con, boxed[i], seconds));
+                print(names[i] + ", primitive", base, measure(con, typed[i], seconds));
+            }
+        } finally {
+            con.close();
+            cas.close();
+        }
+    }
+
+    /*
+     * Runs the query again and again for the given time and returns the ns per row spent reading
+     * the result set, leaving out the round trip of the query.
+     */
+    private static double[] measure(Connection con, Body body, int seconds) throws Exception {
+        long end = System.nanoTime() + seconds * 1000000000L;
+        long elapsed = 0;
+        long allocated = 0;
+        long queries = 0;
+        long check = 0;
+        Statement stmt = con.createStatement();
+
+        while (System.nanoTime() < end) {
+            ResultSet rs = stmt.executeQuery("SELECT i, l, d FROM t");
+            long bytes = allocatedBytes();
+            long begin = System.nanoTime();
+            check += body.run(rs);
+            elapsed += System.nanoTime() - begin;
+            allocated += allocatedBytes() - bytes;
+            rs.close();
+            queries++;
+        }
+        stmt.close();
+
+        if (check == 0) {
+            throw new IllegalStateException("no rows were read");
+        }
+        double rows = (double) queries * ROWS;
+        return new double[] {elapsed / rows, allocated / rows};
+    }
+
+    /* the bytes allocated by this thread, or 0 where the JVM does not count them */
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) bean)
+                    .getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return 0;
+    }
+
+    private static void print(String name, double[] base, double[] m) {
+        double ns = m[0] - base[0];
+        System.out.printf(
+                "%-22s %8.1f ns each %14.0f per second %8.1f bytes allocated each%n",
+                name, ns, 1e9 / ns, m[1] - base[1]);
+    }
+
+    private static Reply prepareReply() {
+        Reply reply = Reply.code(1);
+        reply.writeInt(-1); // result cache lifetime
+        reply.writeByte(CUBRIDCommandType.CUBRID_STMT_SELECT);
+        reply.writeInt(0); // parameters
+        reply.writeByte(0); // updatable
+        reply.writeInt(3);
+        reply.writeColumn(UUType.U_TYPE_INT, "i");
+        reply.writeColumn(UUType.U_TYPE_BIGINT, "l");
+        return reply.writeColumn(UUType.U_TYPE_DOUBLE, "d");
+    }
+
+    private static Reply executeReply() {
+        Reply reply = Reply.code(ROWS);
+        reply.writeByte(0); // cache reusable
+        reply.writeInt(1); // results
+        reply.writeByte(CUBRIDCommandType.CUBRID_STMT_SELECT);
+        reply.writeInt(ROWS);
+        reply.writeNullOid();
+        reply.writeInt(0).writeInt(0); // server cache time
+        reply.writeByte(0); // no column info
+        reply.writeInt(0); // shard id
+        reply.writeInt(0); // fetch result code
+        reply.writeInt(ROWS);
+        for (int i = 1; i <= ROWS; i++) {
+            reply.writeInt(i).writeNullOid();
+            reply.writeInt(4).writeInt(i);
+            reply.writeInt(8).writeInt(0).writeInt(i);
+            reply.writeInt(8);
+            long bits = Double.doubleToLongBits(i * 0.5);
+            reply.writeInt((int) (bits >>> 32)).writeInt((int) bits);
+        }
+        return reply.writeByte(1); // fetch completed
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright (C) 2008 Search Solution Corporation.
+ * Copyright (c) 2016 CUBRID Corporation.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ *
+ * - Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * - Neither the name of the <ORGANIZATION> nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software without
+ *   specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING,
+ * BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA,
+ * OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY
+ * OF SUCH DAMAGE.
+ *
+ */
+
+package cubrid.jdbc.driver;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures what a query timeout adds to each statement execution, without a broker. Every thread
+ * arms and disarms a timeout in a loop, as CUBRIDStatement does around a query, and the cost per
+ * pair is printed for CUBRIDQueryTimer and for a thread started per query, which is how timeouts
+ * were served before.
+ *
+ * <p>The class is in the driver package to reach CUBRIDQueryTimer and is not part of the jar:
+ *
+ * <pre>
+ * javac -cp JDBC-x-cubrid.jar -d bench/out bench/cubrid/jdbc/driver/QueryTimerBench.java
+ * java -cp JDBC-x-cubrid.jar:bench/out cubrid.jdbc.driver.QueryTimerBench [threads] [seconds]
+ * </pre>
+ */
+public class QueryTimerBench {
+    private static final int TIMEOUT_SECONDS = 30;
+
+    private interface Body {
+        void run();
+    }
+
+    public static void main(String[] args) throws Exception {
+        int threads = (args.length > 0) ? Integer.parseInt(args[0]) : 8;
+        int seconds = (args.length > 1) ? Integer.parseInt(args[1]) : 5;
+
+        Body wheel =
+                new Body() {
+                    public void run() {
+                        CUBRIDQueryTimer.start(null, TIMEOUT_SECONDS).end();
+                    }
+                };
+        Body threadPerQuery =
+                new Body() {
+                    public void run() {
+                        Thread t =
+                                new Thread() {
+                                    public void run() {
+                                        try {
+                                            Thread.sleep(TIMEOUT_SECONDS * 1000L);
+                                        } catch (InterruptedException e) {
+                                        }
+                                    }
+                                };
+                        t.setDaemon(true);
+                        t.start();
+                        t.interrupt();
+                    }
+                };
+
+        /* the first round warms up the JIT */
+        measure("CUBRIDQueryTimer", wheel, threads, 1);
+        measure("thread per query", threadPerQuery, threads, 1);
+        System.out.println("threads=" + threads + " seconds=" + seconds);
+        measure("CUBRIDQueryTimer", wheel, threads, seconds);
+        measure("thread per query", threadPerQuery, threads, seconds);
+    }
+
+    private static void measure(String name, final Body body, int threads, int seconds)
+            throws InterruptedException {
+        final AtomicLong count = new AtomicLong();
+        final CountDownLatch start = new CountDownLatch(1);
+        final long end = System.nanoTime() + seconds * 1000000000L;
+        Thread[] workers = new Thread[threads];
+
+        for (int i = 0; i < threads; i++) {
+            workers[i] =
+                    new Thread() {
+                        public void run() {
+                            long n = 0;
+                            try {
+                                start.await();
+                            } catch (InterruptedException e) {
+                                return;
+                            }
+                            while (System.nanoTime() < end) {
+                                body.run();
+                                n++;
+                            }
+                            count.addAndGet(n);
+                        }
+                    };
+            workers[i].start();
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        for (int i = 0; i < threads; i++) {
+            workers[i].join();
+        }
+        long elapsed = System.nanoTime() - begin;
+
+        long n = count.get();
+        System.out.printf(
+                "%-18s %12d timeouts %10.0f ns each %12.0f per second%n",
+                name, n, (double) elapsed * threads / Math.max(n, 1), n * 1e9 / elapsed);
+    }
+}
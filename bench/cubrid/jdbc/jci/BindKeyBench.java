@@ -0,0 +1,169 @@
+/*
+ * Copyright (C) 2008 Search Solution Corporation.
+ * Copyright (c) 2016 CUBRID Corporation.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ *
+ * - Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * - Neither the name of the <ORGANIZATION> nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software without
+ *   specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING,
+ * BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA,
+ * OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY
+ * OF SUCH DAMAGE.
+ *
+ */
+
+
+package cubrid.jdbc.jci;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Measures the result cache table with 100,000 distinct bind keys, without a broker. The keys are
+ * those of a statement like <code>WHERE tenant = ? AND id = ?</code>, with few tenants and many
+ * ids, and they go into a ConcurrentHashMap as in UStmtCache. Filling the table and looking every
+ * key up again is timed for UBindKey over the bound values, for UBindKey over the serialized bind
+ * values, and for the key it replaced, kept below as LegacyBindKey: it hashed the first value
+ * only, so all the keys of a tenant shared one bucket.
+ *
+ * <p>The class is in the jci package to reach UBindKey.fromBytes() and is not part of the jar:
+ *
+ * <pre>
+ * javac -cp JDBC-x-cubrid.jar -d bench/out bench/cubrid/jdbc/jci/BindKeyBench.java
+ * java -cp JDBC-x-cubrid.jar:bench/out cubrid.jdbc.jci.BindKeyBench [keys] [tenants]
+ * </pre>
+ */
+public class BindKeyBench {
+    private interface KeyFactory {
+        Object create(int tenant, int id);
+    }
+
+    public static void main(String[] args) throws Exception {
+        int keys = (args.length > 0) ? Integer.parseInt(args[0]) : 100000;
+        int tenants = (args.length > 1) ? Integer.parseInt(args[1]) : 100;
+
+        KeyFactory legacy =
+                new KeyFactory() {
+                    public Object create(int tenant, int id) {
+                        return new LegacyBindKey(new Object[] {tenant, id});
+                    }
+                };
+        KeyFactory values =
+                new KeyFactory() {
+                    public Object create(int tenant, int id) {
+                        return new UBindKey(new Object[] {tenant, id});
+                    }
+                };
+        KeyFactory serialized =
+                new KeyFactory() {
+                    public Object create(int tenant, int id) {
+                        return UBindKey.fromBytes(serialize(tenant, id));
+                    }
+                };
+
+        /* the first round warms up the JIT */
+        measure("UBindKey, values", values, keys, tenants, false);
+        measure("UBindKey, bytes", serialized, keys, tenants, false);
+        measure("legacy", legacy, Math.min(keys, 20000), tenants, false);
+        System.out.println("keys=" + keys + " tenants=" + tenants);
+        measure("legacy", legacy, keys, tenants, true);
+        measure("UBindKey, values", values, keys, tenants, true);
+        measure("UBindKey, bytes", serialized, keys, tenants, true);
+    }
+
+    private static void measure(
+            String name, KeyFactory factory, int keys, int tenants, boolean print) {
+        ConcurrentHashMap<Object, Object> table = new ConcurrentHashMap<Object, Object>(30);
+        Object cached = new Object();
+
+        long begin = System.nanoTime();
+        for (int i = 0; i < keys; i++) {
+            table.putIfAbsent(factory.create(i % tenants, i), cached);
+        }
+        long filled = System.nanoTime();
+        int hits = 0;
+        for (int i = 0; i < keys; i++) {
+            if (table.get(factory.create(i % tenants, i)) == cached) {
+                hits++;
+            }
+        }
+        long end = System.nanoTime();
+
+        if (hits != keys || table.size() != keys) {
+            throw new IllegalStateException(name + ": " + hits + " hits, " + table.size());
+        }
+        if (print) {
+            System.out.printf(
+                    "%-18s %12.0f ns per put %12.0f ns per get%n",
+                    name, (double) (filled - begin) / keys, (double) (end - filled) / keys);
+        }
+    }
+
+    /* the two INT bind values as UBindParameter writes them: type, length and value each */
+    private static byte[] serialize(int tenant, int id) {
+        byte[] b = new byte[2 * (1 + 4 + 4)];
+        put(b, 0, tenant);
+        put(b, 9, id);
+        return b;
+    }
+
+    private static void put(byte[] b, int off, int v) {
+        b[off] = UUType.U_TYPE_INT;
+        b[off + 4] = 4;
+        b[off + 5] = (byte) (v >>> 24);
+        b[off + 6] = (byte) (v >>> 16);
+        b[off + 7] = (byte) (v >>> 8);
+        b[off + 8] = (byte) v;
+    }
+
+    /** UBindKey as it was before the hash covered the whole key. */
+    private static final class LegacyBindKey {
+        private int num_key;
+        private Object[] values;
+
+        LegacyBindKey(Object[] values) {
+            if (values == null) num_key = 0;
+            else {
+                num_key = values.length;
+                this.values = (Object[]) values.clone();
+            }
+        }
+
+        public int hashCode() {
+            if (num_key == 0) return 0;
+            return values[0].hashCode();
+        }
+
+        public boolean equals(Object obj) {
+            if (obj instanceof LegacyBindKey) {
+                LegacyBindKey k = (LegacyBindKey) obj;
+                if (num_key == k.num_key) {
+                    for (int i = 0; i < num_key; i++) {
+                        if (values[i].equals(k.values[i]) == false) return false;
+                    }
+                    return true;
+                } else {
+                    return false;
+                }
+            } else {
+                return obj.equals(this);
+            }
+        }
+    }
+}
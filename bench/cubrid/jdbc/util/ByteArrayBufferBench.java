@@ -0,0 +1,340 @@
+/*
+ * Copyright (C) 2008 Search Solution Corporation.
+ * Copyright (c) 2016 CUBRID Corporation.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ *
+ * - Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * - Neither the name of the <ORGANIZATION> nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software without
+ *   specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING,
+ * BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA,
+ * OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY
+ * OF SUCH DAMAGE.
+ *
+ */
+
+
+package cubrid.jdbc.util;
+
+import cubrid.jdbc.jci.UFunctionCode;
+import cubrid.jdbc.jci.UUType;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.util.ArrayList;
+import java.util.Iterator;
+
+/**
+ * Measures building and sending a 10,000 row EXECUTE_BATCH_PREPAREDSTATEMENT request, without a
+ * broker. Each row binds an INT, a VARCHAR, a BIGINT and a DOUBLE the way UOutputBuffer writes
+ * batch parameters, and the request goes to a stream or channel that drops it. The time and the
+ * bytes allocated per request are printed for ByteArrayBuffer and for the class it replaced, which
+ * is kept below as LegacyByteArrayBuffer: it copied one byte at a time and allocated a new 100KB
+ * chunk whenever one filled up.
+ *
+ * <p>The class is in the util package to sit next to ByteArrayBuffer and is not part of the jar:
+ *
+ * <pre>
+ * javac -cp JDBC-x-cubrid.jar -d bench/out bench/cubrid/jdbc/util/ByteArrayBufferBench.java
+ * java -cp JDBC-x-cubrid.jar:bench/out cubrid.jdbc.util.ByteArrayBufferBench [seconds]
+ * </pre>
+ */
+public class ByteArrayBufferBench {
+    private static final int ROWS = 10000;
+    private static final byte[] CAS_INFO = {0, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF};
+
+    private static final byte EXECUTE_BATCH_PREPAREDSTATEMENT =
+            UFunctionCode.EXECUTE_BATCH_PREPAREDSTATEMENT.getCode();
+
+    private interface Body {
+        void run() throws IOException;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int seconds = (args.length > 0) ? Integer.parseInt(args[0]) : 5;
+
+        final byte[][] names = new byte[ROWS][];
+        for (int i = 0; i < ROWS; i++) {
+            names[i] = ("customer-" + i + "@example.com").getBytes("UTF-8");
+        }
+        final OutputStream stream = new NullOutputStream();
+        final GatheringByteChannel channel = new NullChannel();
+        final LegacyByteArrayBuffer legacy = new LegacyByteArrayBuffer();
+        final ByteArrayBuffer current = new ByteArrayBuffer();
+
+        Body legacyStream =
+                new Body() {
+                    public void run() throws IOException {
+                        legacy.reset();
+                        encode(legacy, names);
+                        legacy.writeToStream(CAS_INFO, stream);
+                    }
+                };
+        Body currentStream =
+                new Body() {
+                    public void run() throws IOException {
+                        current.reset();
+                        encode(current, names);
+                        current.writeToStream(CAS_INFO, stream);
+                    }
+                };
+        Body currentChannel =
+                new Body() {
+                    public void run() throws IOException {
+                        current.reset();
+                        encode(current, names);
+                        current.writeToChannel(CAS_INFO, channel);
+                    }
+                };
+
+        current.reset();
+        encode(current, names);
+        System.out.println("rows=" + ROWS + " bytes=" + current.size() + " seconds=" + seconds);
+
+        /* the first round warms up the JIT */
+        measure("legacy, stream", legacyStream, 1, false);
+        measure("current, stream", currentStream, 1, false);
+        measure("current, channel", currentChannel, 1, false);
+        measure("legacy, stream", legacyStream, seconds, true);
+        measure("current, stream", currentStream, seconds, true);
+        measure("current, channel", currentChannel, seconds, true);
+    }
+
+    /* the same request for both classes, one method each so that neither call is megamorphic */
+    private static void encode(ByteArrayBuffer buf, byte[][] names) throws IOException {
+        buf.writeByte(EXECUTE_BATCH_PREPAREDSTATEMENT);
+        buf.writeInt(4);
+        buf.writeInt(1); // server handle
+        buf.writeInt(4);
+        buf.writeInt(0); // query timeout
+        buf.writeInt(1);
+        buf.writeByte((byte) 1); // auto commit
+        for (int i = 0; i < ROWS; i++) {
+            buf.writeInt(1);
+            buf.writeByte(UUType.U_TYPE_INT);
+            buf.writeInt(4);
+            buf.writeInt(i);
+
+            buf.writeInt(1);
+            buf.writeByte(UUType.U_TYPE_STRING);
+            buf.writeInt(names[i].length + 1);
+            buf.write(names[i], 0, names[i].length);
+            buf.writeByte((byte) 0);
+
+            buf.writeInt(1);
+            buf.writeByte(UUType.U_TYPE_BIGINT);
+            buf.writeInt(8);
+            buf.writeLong(i * 1000003L);
+
+            buf.writeInt(1);
+            buf.writeByte(UUType.U_TYPE_DOUBLE);
+            buf.writeInt(8);
+            buf.writeDouble(i * 0.5);
+        }
+    }
+
+    private static void encode(LegacyByteArrayBuffer buf, byte[][] names) throws IOException {
+        buf.writeByte(EXECUTE_BATCH_PREPAREDSTATEMENT);
+        buf.writeInt(4);
+        buf.writeInt(1); // server handle
+        buf.writeInt(4);
+        buf.writeInt(0); // query timeout
+        buf.writeInt(1);
+        buf.writeByte((byte) 1); // auto commit
+        for (int i = 0; i < ROWS; i++) {
+            buf.writeInt(1);
+            buf.writeByte(UUType.U_TYPE_INT);
+            buf.writeInt(4);
+            buf.writeInt(i);
+
+            buf.writeInt(1);
+            buf.writeByte(UUType.U_TYPE_STRING);
+            buf.writeInt(names[i].length + 1);
+            buf.write(names[i], 0, names[i].length);
+            buf.writeByte((byte) 0);
+
+            buf.writeInt(1);
+            buf.writeByte(UUType.U_TYPE_BIGINT);
+            buf.writeInt(8);
+            buf.writeLong(i * 1000003L);
+
+            buf.writeInt(1);
+            buf.writeByte(UUType.U_TYPE_DOUBLE);
+            buf.writeInt(8);
+            buf.writeDouble(i * 0.5);
+        }
+    }
+
+    private static void measure(String name, Body body, int seconds, boolean print)
+            throws IOException {
+        long end = System.nanoTime() + seconds * 1000000000L;
+        long allocated = allocatedBytes();
+        long begin = System.nanoTime();
+        long n = 0;
+
+        while (System.nanoTime() < end) {
+            body.run();
+            n++;
+        }
+
+        long elapsed = System.nanoTime() - begin;
+        allocated = allocatedBytes() - allocated;
+        if (print) {
+            System.out.printf(
+                    "%-18s %8d requests %12.0f ns each %10.0f KB allocated each%n",
+                    name, n, (double) elapsed / Math.max(n, 1), allocated / 1024.0 / n);
+        }
+    }
+
+    /* the bytes allocated by this thread, or 0 where the JVM does not count them */
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) bean)
+                    .getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return 0;
+    }
+
+    private static final class NullOutputStream extends OutputStream {
+        public void write(int b) {}
+
+        public void write(byte[] b, int off, int len) {}
+    }
+
+    private static final class NullChannel implements GatheringByteChannel {
+        public long write(ByteBuffer[] srcs, int offset, int length) {
+            long n = 0;
+            for (int i = offset; i < offset + length; i++) {
+                n += srcs[i].remaining();
+                srcs[i].position(srcs[i].limit());
+            }
+            return n;
+        }
+
+        public long write(ByteBuffer[] srcs) {
+            return write(srcs, 0, srcs.length);
+        }
+
+        public int write(ByteBuffer src) {
+            int n = src.remaining();
+            src.position(src.limit());
+            return n;
+        }
+
+        public boolean isOpen() {
+            return true;
+        }
+
+        public void close() {}
+    }
+
+    /** ByteArrayBuffer as it was before segments were pooled and bulk copied. */
+    private static final class LegacyByteArrayBuffer {
+        private static final int UnitSize = 102400;
+
+        private ArrayList<byte[]> byteArrayList;
+        private byte[] baseByteArray;
+        private byte[] buffer;
+        private int pos;
+        private int dataSize;
+        private byte writeBuffer[] = new byte[8];
+
+        LegacyByteArrayBuffer() {
+            baseByteArray = new byte[UnitSize];
+            reset();
+        }
+
+        void writeByte(byte v) {
+            write(v);
+        }
+
+        void writeInt(int v) {
+            write((v >>> 24) & 0xFF);
+            write((v >>> 16) & 0xFF);
+            write((v >>> 8) & 0xFF);
+            write((v >>> 0) & 0xFF);
+        }
+
+        void writeLong(long v) {
+            writeBuffer[0] = (byte) (v >>> 56);
+            writeBuffer[1] = (byte) (v >>> 48);
+            writeBuffer[2] = (byte) (v >>> 40);
+            writeBuffer[3] = (byte) (v >>> 32);
+            writeBuffer[4] = (byte) (v >>> 24);
+            writeBuffer[5] = (byte) (v >>> 16);
+            writeBuffer[6] = (byte) (v >>> 8);
+            writeBuffer[7] = (byte) (v >>> 0);
+            write(writeBuffer, 0, 8);
+        }
+
+        void writeDouble(double v) {
+            writeLong(Double.doubleToLongBits(v));
+        }
+
+        void write(byte[] b, int off, int len) {
+            for (int i = 0; i < len; i++) {
+                write(b[off + i]);
+            }
+        }
+
+        private void write(int b) {
+            if (pos == UnitSize) {
+                byteArrayList.add(buffer);
+                buffer = new byte[UnitSize];
+                pos = 0;
+            }
+            buffer[pos] = (byte) b;
+            pos++;
+            dataSize++;
+        }
+
+        private void writeHeader(byte[] info) {
+            byte[] header = (byteArrayList.size() == 0) ? buffer : byteArrayList.get(0);
+            header[0] = (byte) ((dataSize >>> 24) & 0xFF);
+            header[1] = (byte) ((dataSize >>> 16) & 0xFF);
+            header[2] = (byte) ((dataSize >>> 8) & 0xFF);
+            header[3] = (byte) ((dataSize >>> 0) & 0xFF);
+            header[4] = info[0];
+            header[5] = info[1];
+            header[6] = info[2];
+            header[7] = info[3];
+        }
+
+        void writeToStream(byte[] info, OutputStream o) throws IOException {
+            writeHeader(info);
+
+            Iterator<byte[]> i = byteArrayList.iterator();
+            while (i.hasNext()) {
+                o.write(i.next());
+            }
+            o.write(buffer, 0, pos);
+            o.flush();
+        }
+
+        void reset() {
+            byteArrayList = new ArrayList<byte[]>();
+            buffer = baseByteArray;
+            pos = 8;
+            dataSize = 0;
+        }
+    }
+}
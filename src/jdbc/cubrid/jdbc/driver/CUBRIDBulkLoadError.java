@@ -0,0 +1,84 @@
+/*
+ * Copyright (C) 2008 Search Solution Corporation.
+ * Copyright (c) 2016 CUBRID Corporation.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ *
+ * - Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * - Neither the name of the <ORGANIZATION> nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software without
+ *   specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING,
+ * BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA,
+ * OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY
+ * OF SUCH DAMAGE.
+ *
+ */
+
+package cubrid.jdbc.driver;
+
+import java.sql.SQLException;
+
+/**
+ * Title: CUBRID JDBC Driver Description:
+ *
+ * @version 2.0
+ */
+
+/**
+ * A batch of CUBRIDConnection.bulkLoad() that failed in part or as a whole, or a malformed input
+ * line. Lines are counted from 1 and include skipped lines.
+ */
+public class CUBRIDBulkLoadError {
+    private final long firstLine;
+    private final int rows;
+    private final int failedRows;
+    private final SQLException cause;
+
+    CUBRIDBulkLoadError(long firstLine, int rows, int failedRows, SQLException cause) {
+        this.firstLine = firstLine;
+        this.rows = rows;
+        this.failedRows = failedRows;
+        this.cause = cause;
+    }
+
+    public long getFirstLine() {
+        return firstLine;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getFailedRows() {
+        return failedRows;
+    }
+
+    public SQLException getCause() {
+        return cause;
+    }
+
+    public String toString() {
+        StringBuffer b = new StringBuffer();
+
+        b.append("line=").append(firstLine);
+        b.append(", rows=").append(rows);
+        b.append(", failed=").append(failedRows);
+        b.append(", error=").append(cause.getMessage());
+        return b.toString();
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (C) 2008 Search Solution Corporation.
+ * Copyright (c) 2016 CUBRID Corporation.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ *
+ * - Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * - Neither the name of the <ORGANIZATION> nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software without
+ *   specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING,
+ * BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA,
+ * OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY
+ * OF SUCH DAMAGE.
+ *
+ */
+
+package cubrid.jdbc.driver;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Title: CUBRID JDBC Driver Description:
+ *
+ * @version 2.0
+ */
+
+/** The outcome of CUBRIDConnection.bulkLoad(). */
+public class CUBRIDBulkLoadResult {
+    private final long startTime = System.currentTimeMillis();
+    private long elapsedMillis;
+    private long rowsRead;
+    private long rowsLoaded;
+    private long rowsFailed;
+    private int batches;
+    private final ArrayList<CUBRIDBulkLoadError> errors = new ArrayList<CUBRIDBulkLoadError>();
+
+    void addBatch(int rows, CUBRIDBulkLoadError error) {
+        batches++;
+        rowsRead += rows;
+        if (error == null) {
+            rowsLoaded += rows;
+        } else {
+            rowsLoaded += rows - error.getFailedRows();
+            rowsFailed += error.getFailedRows();
+            errors.add(error);
+        }
+    }
+
+    void addMalformed(CUBRIDBulkLoadError error) {
+        rowsRead++;
+        rowsFailed++;
+        errors.add(error);
+    }
+
+    void finish() {
+        elapsedMillis = System.currentTimeMillis() - startTime;
+    }
+
+    public long getRowsRead() {
+        return rowsRead;
+    }
+
+    public long getRowsLoaded() {
+        return rowsLoaded;
+    }
+
+    public long getRowsFailed() {
+        return rowsFailed;
+    }
+
+    public int getBatchCount() {
+        return batches;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public double getRowsPerSecond() {
+        if (elapsedMillis <= 0) return 0;
+        return rowsLoaded * 1000.0 / elapsedMillis;
+    }
+
+    public List<CUBRIDBulkLoadError> getErrors() {
+        return Collections.unmodifiableList(errors);
+    }
+
+    public String toString() {
+        StringBuffer b = new StringBuffer();
+
+        b.append("rows=").append(rowsRead);
+        b.append(", loaded=").append(rowsLoaded);
+        b.append(", failed=").append(rowsFailed);
+        b.append(", batches=").append(batches);
+        b.append(", millis=").append(elapsedMillis);
+        b.append(", rowsPerSecond=").append((long) getRowsPerSecond());
+        return b.toString();
+    }
+}
@@ -0,0 +1,328 @@
+/*
+ * Copyright (C) 2008 Search Solution Corporation.
+ * Copyright (c) 2016 CUBRID Corporation.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ *
+ * - Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * - Neither the name of the <ORGANIZATION> nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software without
+ *   specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING,
+ * BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA,
+ * OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY
+ * OF SUCH DAMAGE.
+ *
+ */
+
+package cubrid.jdbc.driver;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.sql.BatchUpdateException;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Title: CUBRID JDBC Driver Description:
+ *
+ * @version 2.0
+ */
+
+/*
+ * Loads delimited text into a table, for CUBRIDConnection.bulkLoad(). The input is read through
+ * one char buffer and each field is handed to a Sink as it is parsed; the sink of bulkLoad() binds
+ * it to a batched INSERT, so a row leaves nothing behind but its field strings, which addBatch
+ * serializes and drops. At most batchSize rows are held before they are sent with executeBatch.
+ * The parser knows nothing of the broker, so it can be driven with any Sink.
+ */
+final class CUBRIDBulkLoader {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /* receives the parsed rows; columns are numbered from 1 */
+    interface Sink {
+        void setField(int column, String value) throws SQLException;
+
+        /* the fields set since the last row make a row of the batch */
+        void addRow() throws SQLException;
+
+        /* drops the fields set since the last row */
+        void clearRow() throws SQLException;
+
+        /* sends the rows of the batch, as PreparedStatement.executeBatch() */
+        void executeBatch() throws SQLException;
+
+        void clearBatch() throws SQLException;
+    }
+
+    /* binds the rows to a prepared INSERT */
+    static final class StatementSink implements Sink {
+        private final PreparedStatement stmt;
+
+        StatementSink(PreparedStatement stmt) {
+            this.stmt = stmt;
+        }
+
+        public void setField(int column, String value) throws SQLException {
+            stmt.setString(column, value);
+        }
+
+        public void addRow() throws SQLException {
+            stmt.addBatch();
+        }
+
+        public void clearRow() throws SQLException {
+            stmt.clearParameters();
+        }
+
+        public void executeBatch() throws SQLException {
+            stmt.executeBatch();
+        }
+
+        public void clearBatch() throws SQLException {
+            stmt.clearBatch();
+        }
+    }
+
+    private final CUBRIDBulkLoadOptions options;
+    private final int columnCount;
+
+    private Reader in;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int pos;
+    private int limit;
+    private final StringBuilder field = new StringBuilder();
+    private long line = 1;
+
+    CUBRIDBulkLoader(int columnCount, CUBRIDBulkLoadOptions options) {
+        this.columnCount = columnCount;
+        this.options = options;
+    }
+
+    /*
+     * The table and column names are written into the SQL as they are, so each must be an
+     * identifier: a plain one, or one quoted with "", [] or `` to hold other characters. The
+     * table may be qualified by its owner. Anything else is refused rather than sent as SQL.
+     */
+    static String getInsertSql(String table, String[] columns) throws SQLException {
+        checkIdentifier(table, true);
+        StringBuffer b = new StringBuffer("INSERT INTO ").append(table).append(" (");
+        for (int i = 0; i < columns.length; i++) {
+            checkIdentifier(columns[i], false);
+            if (i > 0) b.append(", ");
+            b.append(columns[i]);
+        }
+        b.append(") VALUES (");
+        for (int i = 0; i < columns.length; i++) {
+            b.append((i > 0) ? ", ?" : "?");
+        }
+        return b.append(")").toString();
+    }
+
+    private static void checkIdentifier(String name, boolean qualified) throws SQLException {
+        int end = (name == null) ? -1 : identifierEnd(name, 0);
+        if (qualified && end > 0 && end < name.length() && name.charAt(end) == '.') {
+            end = identifierEnd(name, end + 1);
+        }
+        if (end < 0 || end != name.length()) {
+            String msg = " not an identifier: " + name;
+            throw new CUBRIDException(CUBRIDJDBCErrorCode.invalid_value, msg, null);
+        }
+    }
+
+    /* returns the end of the identifier at start, or -1 if there is none */
+    private static int identifierEnd(String s, int start) {
+        if (start >= s.length()) return -1;
+        char c = s.charAt(start);
+        char close = (c == '[') ? ']' : c;
+        if (c == '"' || c == '`' || c == '[') {
+            int end = s.indexOf(close, start + 1);
+            return (end > start + 1) ? end + 1 : -1;
+        }
+        if (!Character.isLetter(c) && c != '_') return -1;
+        int i = start + 1;
+        while (i < s.length() && (Character.isLetterOrDigit(s.charAt(i)) || s.charAt(i) == '_')) {
+            i++;
+        }
+        return i;
+    }
+
+    /*
+     * With stopOnError, a malformed line or a failed batch ends the load. The rows read before a
+     * malformed line are still sent, so the result accounts for every row that was read. A batch
+     * counts as failed when its rows were refused with a BatchUpdateException; any other error,
+     * such as a lost connection, ends the load with that exception whatever stopOnError says.
+     */
+    CUBRIDBulkLoadResult load(Reader reader, Sink sink) throws SQLException {
+        in = reader;
+        CUBRIDBulkLoadResult result = new CUBRIDBulkLoadResult();
+        try {
+            for (int i = 0; i < options.getSkipLines(); i++) {
+                if (!skipLine()) return result;
+            }
+
+            int batched = 0;
+            long batchLine = line;
+            while (true) {
+                long rowLine = line;
+                int fields = readRow(sink);
+                if (fields < 0) break;
+                if (fields == 0) continue;
+
+                if (fields != columnCount) {
+                    sink.clearRow();
+                    String msg = " line " + rowLine + " has " + fields + " fields";
+                    SQLException e =
+                            new CUBRIDException(CUBRIDJDBCErrorCode.invalid_value, msg, null);
+                    result.addMalformed(new CUBRIDBulkLoadError(rowLine, 1, 1, e));
+                    if (options.getStopOnError()) {
+                        if (batched > 0) {
+                            executeBatch(sink, result, batchLine, batched);
+                        }
+                        return result;
+                    }
+                    continue;
+                }
+
+                if (batched == 0) batchLine = rowLine;
+                sink.addRow();
+                if (++batched == options.getBatchSize()) {
+                    if (!executeBatch(sink, result, batchLine, batched)) return result;
+                    batched = 0;
+                }
+            }
+
+            if (batched > 0) {
+                executeBatch(sink, result, batchLine, batched);
+            }
+            return result;
+        } catch (IOException e) {
+            throw new CUBRIDException(CUBRIDJDBCErrorCode.ioexception_in_stream, e);
+        } finally {
+            result.finish();
+        }
+    }
+
+    /* returns false if the load should stop */
+    private boolean executeBatch(Sink sink, CUBRIDBulkLoadResult result, long firstLine, int rows)
+            throws SQLException {
+        try {
+            sink.executeBatch();
+            result.addBatch(rows, null);
+            return true;
+        } catch (BatchUpdateException e) {
+            int failed = 0;
+            int[] counts = e.getUpdateCounts();
+            for (int i = 0; counts != null && i < counts.length; i++) {
+                if (counts[i] == Statement.EXECUTE_FAILED) failed++;
+            }
+            result.addBatch(rows, new CUBRIDBulkLoadError(firstLine, rows, failed, e));
+        } finally {
+            sink.clearBatch();
+        }
+        return !options.getStopOnError();
+    }
+
+    /*
+     * Parses one line and hands its fields to the sink. Returns the number of fields, 0 for an
+     * empty line and -1 at the end of the input. Fields beyond the columns are counted but not set.
+     */
+    private int readRow(Sink sink) throws IOException, SQLException {
+        int c = read();
+        if (c < 0) return -1;
+        if (c == '\r' || c == '\n') {
+            endLine(c);
+            return 0;
+        }
+
+        char delimiter = options.getDelimiter();
+        char quote = options.getQuote();
+        String nullString = options.getNullString();
+        int fields = 0;
+        while (true) {
+            boolean quoted = false;
+            field.setLength(0);
+            if (c == quote) {
+                quoted = true;
+                while ((c = read()) >= 0) {
+                    if (c == quote) {
+                        c = read();
+                        if (c != quote) break;
+                    } else if (c == '\n') {
+                        line++;
+                    }
+                    field.append((char) c);
+                }
+            }
+            while (c >= 0 && c != delimiter && c != '\r' && c != '\n') {
+                field.append((char) c);
+                c = read();
+            }
+
+            if (fields < columnCount) {
+                boolean isNull =
+                        !quoted && nullString != null && nullString.contentEquals(field);
+                sink.setField(fields + 1, isNull ? null : field.toString());
+            }
+            fields++;
+
+            if (c != delimiter) break;
+            c = read();
+        }
+
+        endLine(c);
+        return fields;
+    }
+
+    private boolean skipLine() throws IOException {
+        int c;
+        do {
+            c = read();
+            if (c < 0) return false;
+        } while (c != '\r' && c != '\n');
+        endLine(c);
+        return true;
+    }
+
+    private void endLine(int c) throws IOException {
+        if (c < 0) return;
+        if (c == '\r' && peek() == '\n') read();
+        line++;
+    }
+
+    private int read() throws IOException {
+        if (pos == limit && !fill()) return -1;
+        return buffer[pos++];
+    }
+
+    private int peek() throws IOException {
+        if (pos == limit && !fill()) return -1;
+        return buffer[pos];
+    }
+
+    private boolean fill() throws IOException {
+        int n;
+        do {
+            n = in.read(buffer, 0, buffer.length);
+        } while (n == 0);
+        if (n < 0) return false;
+        pos = 0;
+        limit = n;
+        return true;
+    }
+}
@@ -82,9 +82,12 @@ public class CUBRIDCallableStatement extends CUBRIDPreparedStatement implements
         beforeGetValue(index);
 
         int value;
-        synchronized (u_stmt) {
+        u_stmt.lock();
+        try {
             value = u_stmt.getInt(index);
             error = u_stmt.getRecentError();
+        } finally {
+            u_stmt.unlock();
         }
 
         checkGetXXXError();
@@ -96,9 +99,12 @@ public class CUBRIDCallableStatement extends CUBRIDPreparedStatement implements
         beforeGetValue(index);
 
         Object obj;
-        synchronized (u_stmt) {
+        u_stmt.lock();
+        try {
             obj = u_stmt.getObject(index);
             error = u_stmt.getRecentError();
+        } finally {
+            u_stmt.unlock();
         }
         if (obj != null && obj instanceof Clob) {
             Clob clob = (Clob) obj;
@@ -112,9 +118,12 @@ public class CUBRIDCallableStatement extends CUBRIDPreparedStatement implements
         }
 
         String value;
-        synchronized (u_stmt) {
+        u_stmt.lock();
+        try {
             value = u_stmt.getString(index);
             error = u_stmt.getRecentError();
+        } finally {
+            u_stmt.unlock();
         }
         checkGetXXXError();
         return value;
@@ -125,9 +134,12 @@ public class CUBRIDCallableStatement extends CUBRIDPreparedStatement implements
         beforeGetValue(index);
 
         boolean value;
-        synchronized (u_stmt) {
+        u_stmt.lock();
+        try {
             value = u_stmt.getBoolean(index);
             error = u_stmt.getRecentError();
+        } finally {
+            u_stmt.unlock();
         }
         checkGetXXXError();
         return value;
@@ -138,9 +150,12 @@ public class CUBRIDCallableStatement extends CUBRIDPreparedStatement implements
         beforeGetValue(index);
 
         byte value;
-        synchronized (u_stmt) {
+        u_stmt.lock();
+        try {
             value = u_stmt.getByte(index);
             error = u_stmt.getRecentError();
+        } finally {
+            u_stmt.unlock();
         }
         checkGetXXXError();
         return value;
@@ -151,9 +166,12 @@ public class CUBRIDCallableStatement extends CUBRIDPreparedStatement implements
         beforeGetValue(index);
 
         short value;
-        synchronized (u_stmt) {
+        u_stmt.lock();
+        try {
             value = u_stmt.getShort(index);
             error = u_stmt.getRecentError();
+        } finally {
+            u_stmt.unlock();
         }
         checkGetXXXError();
         return value;
@@ -164,9 +182,12 @@ public class CUBRIDCallableStatement extends CUBRIDPreparedStatement implements
         beforeGetValue(index);
 
         long value;
-        synchronized (u_stmt) {
+        u_stmt.lock();
+        try {
             value = u_stmt.getLong(index);
             error = u_stmt.getRecentError();
+        } finally {
+            u_stmt.unlock();
         }
         checkGetXXXError();
         return value;
@@ -177,9 +198,12 @@ public class CUBRIDCallableStatement extends CUBRIDPreparedStatement implements
         beforeGetValue(index);
 
         float value;
-        synchronized (u_stmt) {
+        u_stmt.lock();
+        try {
             value = u_stmt.getFloat(index);
             error = u_stmt.getRecentError();
+        } finally {
+            u_stmt.unlock();
         }
         checkGetXXXError();
         return value;
@@ -190,9 +214,12 @@ public class CUBRIDCallableStatement extends CUBRIDPreparedStatement implements
         beforeGetValue(index);
 
         double value;
-        synchronized (u_stmt) {
+        u_stmt.lock();
+        try {
             value = u_stmt.getDouble(index);
             error = u_stmt.getRecentError();
+        } finally {
+            u_stmt.unlock();
         }
         checkGetXXXError();
         return value;
@@ -203,9 +230,12 @@ public class CUBRIDCallableStatement extends CUBRIDPreparedStatement implements
         beforeGetValue(index);
 
         Object obj;
-        synchronized (u_stmt) {
+        u_stmt.lock();
+        try {
             obj = u_stmt.getObject(index);
             error = u_stmt.getRecentError();
+        } finally {
+            u_stmt.unlock();
         }
         if (obj != null && obj instanceof Blob) {
             Blob blob = (Blob) obj;
@@ -219,9 +249,12 @@ public class CUBRIDCallableStatement extends CUBRIDPreparedStatement implements
         }
 
         byte[] value;
-        synchronized (u_stmt) {
+        u_stmt.lock();
+        try {
             value = u_stmt.getBytes(index);
             error = u_stmt.getRecentError();
+        } finally {
+            u_stmt.unlock();
         }
         checkGetXXXError();
         return value;
@@ -232,9 +265,12 @@ public class CUBRIDCallableStatement extends CUBRIDPreparedStatement implements
         beforeGetValue(index);
 
         Date value;
-        synchronized (u_stmt) {
+        u_stmt.lock();
+        try {
             value = u_stmt.getDate(index);
             error = u_stmt.getRecentError();
+        } finally {
+            u_stmt.unlock();
         }
         checkGetXXXError();
         return value;
@@ -245,9 +281,12 @@ public class CUBRIDCallableStatement extends CUBRIDPreparedStatement implements
         beforeGetValue(index);
 
         Time value;
-        synchronized (u_stmt) {
+        u_stmt.lock();
+        try {
             value = u_stmt.getTime(index);
             error = u_stmt.getRecentError();
+        } finally {
+            u_stmt.unlock();
         }
         checkGetXXXError();
         return value;
@@ -258,9 +297,12 @@ public class CUBRIDCallableStatement extends CUBRIDPreparedStatement implements
         beforeGetValue(index);
 
         Timestamp value;
-        synchronized (u_stmt) {
+        u_stmt.lock();
+        try {
             value = u_stmt.getTimestamp(index);
             error = u_stmt.getRecentError();
+        } finally {
+            u_stmt.unlock();
         }
         checkGetXXXError();
         return value;
@@ -271,9 +313,12 @@ public class CUBRIDCallableStatement extends CUBRIDPreparedStatement implements
         beforeGetValue(index);
 
         Object value;
-        synchronized (u_stmt) {
+        u_stmt.lock();
+        try {
             value = u_stmt.getObject(index);
             error = u_stmt.getRecentError();
+        } finally {
+            u_stmt.unlock();
         }
         checkGetXXXError();
         return value;
@@ -284,9 +329,12 @@ public class CUBRIDCallableStatement extends CUBRIDPreparedStatement implements
         beforeGetValue(index);
 
         BigDecimal value;
-        synchronized (u_stmt) {
+        u_stmt.lock();
+        try {
             value = u_stmt.getBigDecimal(index);
             error = u_stmt.getRecentError();
+        } finally {
+            u_stmt.unlock();
         }
         checkGetXXXError();
         return value;
@@ -305,9 +353,12 @@ public class CUBRIDCallableStatement extends CUBRIDPreparedStatement implements
         beforeGetValue(index);
 
         Blob value;
-        synchronized (u_stmt) {
+        u_stmt.lock();
+        try {
             value = u_stmt.getBlob(index);
             error = u_stmt.getRecentError();
+        } finally {
+            u_stmt.unlock();
         }
 
         checkGetXXXError();
@@ -319,9 +370,12 @@ public class CUBRIDCallableStatement extends CUBRIDPreparedStatement implements
         beforeGetValue(index);
 
         Clob value;
-        synchronized (u_stmt) {
+        u_stmt.lock();
+        try {
             value = u_stmt.getClob(index);
             error = u_stmt.getRecentError();
+        } finally {
+            u_stmt.unlock();
         }
 
         checkGetXXXError();
@@ -595,9 +649,12 @@ public class CUBRIDCallableStatement extends CUBRIDPreparedStatement implements
 
     private void doRegisterOutParameter(int index, int sqlType) throws SQLException {
         checkIsOpen();
-        synchronized (u_stmt) {
+        u_stmt.lock();
+        try {
             u_stmt.registerOutParameter(index - 1, sqlType);
             error = u_stmt.getRecentError();
+        } finally {
+            u_stmt.unlock();
         }
 
         checkBindError();
@@ -608,9 +665,12 @@ public class CUBRIDCallableStatement extends CUBRIDPreparedStatement implements
             throw con.createCUBRIDException(CUBRIDJDBCErrorCode.invalid_index, null);
         }
 
-        synchronized (u_stmt) {
+        u_stmt.lock();
+        try {
             u_stmt.fetch();
             error = u_stmt.getRecentError();
+        } finally {
+            u_stmt.unlock();
         }
 
         switch (error.getErrorCode()) {
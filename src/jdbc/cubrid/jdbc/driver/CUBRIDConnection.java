@@ -37,7 +37,12 @@ import cubrid.jdbc.jci.UError;
 import cubrid.jdbc.jci.UErrorCode;
 import cubrid.jdbc.jci.UPreparedStatementCache;
 import cubrid.jdbc.jci.UStatement;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UnsupportedEncodingException;
 import java.sql.Array;
+import java.sql.BatchUpdateException;
 import java.sql.Blob;
 import java.sql.CallableStatement;
 import java.sql.Clob;
@@ -57,6 +62,8 @@ import java.util.ArrayList;
 import java.util.Map;
 import java.util.Properties;
 import java.util.concurrent.Executor;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.PatternSyntaxException;
 
 /**
  * Title: CUBRID JDBC Driver Description:
@@ -89,6 +96,9 @@ public class CUBRIDConnection implements Connection {
     protected CUBRIDShardMetaData shard_mdata;
     protected ArrayList<CUBRIDOutResultSet> outRs;
     private boolean isAutoGeneratedKeys = false;
+
+    /* shared by the statements and result sets of this connection */
+    final ReentrantLock lock = new ReentrantLock();
     protected UPreparedStatementCache<String, PreparedStatement> prepStmtCache;
 
     /*
@@ -113,7 +123,7 @@ public class CUBRIDConnection implements Connection {
         shard_mdata = null;
         prepStmtCache =
                 new UPreparedStatementCache<String, PreparedStatement>(
-                        u_con.getPrepStmtCacheSize());
+                        u_con.getPrepStmtCacheSize(), u_con.getPrepStmtCacheMemory());
 
         /*
          * 3.0 savepoints = new ArrayList(); sv_count = 0; sv_name = "";
@@ -150,296 +160,413 @@ public class CUBRIDConnection implements Connection {
         return str.toString();
     }
 
-    public synchronized Statement createStatement() throws SQLException {
-        return createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+    public Statement createStatement() throws SQLException {
+        lock.lock();
+        try {
+            return createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized PreparedStatement prepareStatement(String sql) throws SQLException {
-        return prepare(
-                sql,
-                ResultSet.TYPE_FORWARD_ONLY,
-                ResultSet.CONCUR_READ_ONLY,
-                holdability,
-                Statement.NO_GENERATED_KEYS);
+    public PreparedStatement prepareStatement(String sql) throws SQLException {
+        lock.lock();
+        try {
+            return prepare(
+                    sql,
+                    ResultSet.TYPE_FORWARD_ONLY,
+                    ResultSet.CONCUR_READ_ONLY,
+                    holdability,
+                    Statement.NO_GENERATED_KEYS);
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized CallableStatement prepareCall(String sql) throws SQLException {
-        checkIsOpen();
-        UStatement us = prepare(sql, UConnection.PREPARE_CALL);
-        CallableStatement cstmt = new CUBRIDCallableStatement(this, us);
-        addStatement(cstmt);
+    public CallableStatement prepareCall(String sql) throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+            UStatement us = prepare(sql, UConnection.PREPARE_CALL);
+            CallableStatement cstmt = new CUBRIDCallableStatement(this, us);
+            addStatement(cstmt);
 
-        return cstmt;
+            return cstmt;
+        } finally {
+            lock.unlock();
+        }
     }
 
     public String nativeSQL(String sql) throws SQLException {
         throw new SQLException(new UnsupportedOperationException());
     }
 
-    public synchronized void setAutoCommit(boolean autoCommit) throws SQLException {
-        checkIsOpen();
-        if (auto_commit != autoCommit) {
-            commit();
+    public void setAutoCommit(boolean autoCommit) throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+            if (auto_commit != autoCommit) {
+                commit();
+            }
+            auto_commit = autoCommit;
+            u_con.setAutoCommit(autoCommit);
+        } finally {
+            lock.unlock();
         }
-        auto_commit = autoCommit;
-        u_con.setAutoCommit(autoCommit);
     }
 
-    public synchronized boolean getAutoCommit() throws SQLException {
-        checkIsOpen();
-        return auto_commit;
+    public boolean getAutoCommit() throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+            return auto_commit;
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized void commit() throws SQLException {
-        checkIsOpen();
+    public void commit() throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
 
-        if (ending) {
-            return;
-        }
-        ending = true;
+            if (ending) {
+                return;
+            }
+            ending = true;
 
-        completeStatementForCommit();
+            completeStatementForCommit();
 
-        try {
-            end(true);
+            try {
+                end(true);
+            } finally {
+                ending = false;
+            }
+            /*
+             * 3.0 clearSavepoint();
+             */
         } finally {
-            ending = false;
+            lock.unlock();
         }
-        /*
-         * 3.0 clearSavepoint();
-         */
     }
 
-    public synchronized void rollback() throws SQLException {
-        checkIsOpen();
+    public void rollback() throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
 
-        if (ending) return;
-        ending = true;
+            if (ending) return;
+            ending = true;
 
-        completeAllStatements();
+            completeAllStatements();
 
-        try {
-            end(false);
+            try {
+                end(false);
+            } finally {
+                ending = false;
+            }
+            /*
+             * 3.0 clearSavepoint();
+             */
         } finally {
-            ending = false;
+            lock.unlock();
         }
-        /*
-         * 3.0 clearSavepoint();
-         */
     }
 
-    public synchronized void close() throws SQLException {
-        if (is_closed) return;
+    public void close() throws SQLException {
+        lock.lock();
+        try {
+            if (is_closed) return;
 
-        clear();
+            clear();
 
-        is_closed = true;
+            is_closed = true;
 
-        /*
-         * 3.0 if (!isFromPooledCon) u_con.close(); else
-         * associatedPhysicalConnection.notifyConnectionClosed();
-         */
-        u_con.close();
+            /*
+             * 3.0 if (!isFromPooledCon) u_con.close(); else
+             * associatedPhysicalConnection.notifyConnectionClosed();
+             */
+            u_con.close();
 
-        u_con = null;
-        url = null;
-        user = null;
-        mdata = null;
-        statements = null;
-        error = null;
-        shard_mdata = null;
+            u_con = null;
+            url = null;
+            user = null;
+            mdata = null;
+            statements = null;
+            error = null;
+            shard_mdata = null;
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized boolean isClosed() throws SQLException {
-        return is_closed;
+    public boolean isClosed() throws SQLException {
+        lock.lock();
+        try {
+            return is_closed;
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized DatabaseMetaData getMetaData() throws SQLException {
-        checkIsOpen();
+    public DatabaseMetaData getMetaData() throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
 
-        if (mdata != null) return mdata;
+            if (mdata != null) return mdata;
 
-        mdata = new CUBRIDDatabaseMetaData(this);
-        return mdata;
+            mdata = new CUBRIDDatabaseMetaData(this);
+            return mdata;
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized CUBRIDShardMetaData getShardMetaData() throws SQLException {
-        checkIsOpen();
+    public CUBRIDShardMetaData getShardMetaData() throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
 
-        if (shard_mdata != null) {
+            if (shard_mdata != null) {
+                return shard_mdata;
+            }
+
+            shard_mdata = new CUBRIDShardMetaData(this);
             return shard_mdata;
+        } finally {
+            lock.unlock();
         }
-
-        shard_mdata = new CUBRIDShardMetaData(this);
-        return shard_mdata;
     }
 
-    public synchronized void setReadOnly(boolean readOnly) throws SQLException {
-        checkIsOpen();
+    public void setReadOnly(boolean readOnly) throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized boolean isReadOnly() throws SQLException {
-        checkIsOpen();
-        return false;
+    public boolean isReadOnly() throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+            return false;
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized void setCatalog(String catalog) throws SQLException {
-        checkIsOpen();
+    public void setCatalog(String catalog) throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized String getCatalog() throws SQLException {
-        checkIsOpen();
-        return "";
+    public String getCatalog() throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+            return "";
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized void setTransactionIsolation(int level) throws SQLException {
-        checkIsOpen();
-
-        commit();
-
-        int cubrid_level;
-        if (u_con.protoVersionIsAbove(UConnection.PROTOCOL_V7)) {
-            switch (level) {
-                case TRANSACTION_READ_COMMITTED:
-                case TRAN_REP_CLASS_COMMIT_INSTANCE:
-                    cubrid_level = CUBRIDIsolationLevel.TRAN_READ_COMMITTED;
-                    break;
-
-                case TRANSACTION_REPEATABLE_READ:
-                    cubrid_level = CUBRIDIsolationLevel.TRAN_REPEATABLE_READ;
-                    break;
+    public void setTransactionIsolation(int level) throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
 
-                case TRANSACTION_SERIALIZABLE:
-                    cubrid_level = CUBRIDIsolationLevel.TRAN_SERIALIZABLE;
-                    break;
+            commit();
 
-                default:
-                    throw createCUBRIDException(CUBRIDJDBCErrorCode.invalid_trans_iso_level, null);
+            int cubrid_level;
+            if (u_con.protoVersionIsAbove(UConnection.PROTOCOL_V7)) {
+                switch (level) {
+                    case TRANSACTION_READ_COMMITTED:
+                    case TRAN_REP_CLASS_COMMIT_INSTANCE:
+                        cubrid_level = CUBRIDIsolationLevel.TRAN_READ_COMMITTED;
+                        break;
+
+                    case TRANSACTION_REPEATABLE_READ:
+                        cubrid_level = CUBRIDIsolationLevel.TRAN_REPEATABLE_READ;
+                        break;
+
+                    case TRANSACTION_SERIALIZABLE:
+                        cubrid_level = CUBRIDIsolationLevel.TRAN_SERIALIZABLE;
+                        break;
+
+                    default:
+                        throw createCUBRIDException(
+                                CUBRIDJDBCErrorCode.invalid_trans_iso_level, null);
+                }
+            } else {
+                switch (level) {
+                    case TRANSACTION_READ_COMMITTED:
+                        cubrid_level = CUBRIDIsolationLevel.TRAN_READ_COMMITTED;
+                        break;
+
+                    case TRANSACTION_READ_UNCOMMITTED:
+                        cubrid_level = CUBRIDIsolationLevel.TRAN_REP_CLASS_UNCOMMIT_INSTANCE;
+                        break;
+
+                    case TRANSACTION_REPEATABLE_READ:
+                        cubrid_level = CUBRIDIsolationLevel.TRAN_REPEATABLE_READ;
+                        break;
+
+                    case TRANSACTION_SERIALIZABLE:
+                        cubrid_level = CUBRIDIsolationLevel.TRAN_SERIALIZABLE;
+                        break;
+
+                    case TRAN_REP_CLASS_COMMIT_INSTANCE:
+                        cubrid_level = CUBRIDIsolationLevel.TRAN_READ_COMMITTED;
+                        break;
+
+                    case TRAN_REP_CLASS_UNCOMMIT_INSTANCE:
+                        cubrid_level = CUBRIDIsolationLevel.TRAN_REP_CLASS_UNCOMMIT_INSTANCE;
+                        break;
+
+                    default:
+                        throw createCUBRIDException(
+                                CUBRIDJDBCErrorCode.invalid_trans_iso_level, null);
+                }
             }
-        } else {
-            switch (level) {
-                case TRANSACTION_READ_COMMITTED:
-                    cubrid_level = CUBRIDIsolationLevel.TRAN_READ_COMMITTED;
-                    break;
-
-                case TRANSACTION_READ_UNCOMMITTED:
-                    cubrid_level = CUBRIDIsolationLevel.TRAN_REP_CLASS_UNCOMMIT_INSTANCE;
-                    break;
-
-                case TRANSACTION_REPEATABLE_READ:
-                    cubrid_level = CUBRIDIsolationLevel.TRAN_REPEATABLE_READ;
-                    break;
 
-                case TRANSACTION_SERIALIZABLE:
-                    cubrid_level = CUBRIDIsolationLevel.TRAN_SERIALIZABLE;
-                    break;
-
-                case TRAN_REP_CLASS_COMMIT_INSTANCE:
-                    cubrid_level = CUBRIDIsolationLevel.TRAN_READ_COMMITTED;
-                    break;
+            u_con.lock();
+            try {
+                u_con.setIsolationLevel(cubrid_level);
+                error = u_con.getRecentError();
+            } finally {
+                u_con.unlock();
+            }
 
-                case TRAN_REP_CLASS_UNCOMMIT_INSTANCE:
-                    cubrid_level = CUBRIDIsolationLevel.TRAN_REP_CLASS_UNCOMMIT_INSTANCE;
+            switch (error.getErrorCode()) {
+                case UErrorCode.ER_NO_ERROR:
                     break;
-
                 default:
-                    throw createCUBRIDException(CUBRIDJDBCErrorCode.invalid_trans_iso_level, null);
+                    throw createCUBRIDException(error);
             }
-        }
-
-        synchronized (u_con) {
-            u_con.setIsolationLevel(cubrid_level);
-            error = u_con.getRecentError();
-        }
-
-        switch (error.getErrorCode()) {
-            case UErrorCode.ER_NO_ERROR:
-                break;
-            default:
-                throw createCUBRIDException(error);
+        } finally {
+            lock.unlock();
         }
     }
 
-    public synchronized int getTransactionIsolation() throws SQLException {
-        checkIsOpen();
-
-        int cubrid_level = 0;
-        synchronized (u_con) {
-            cubrid_level = u_con.getIsolationLevel();
-            error = u_con.getRecentError();
-        }
+    public int getTransactionIsolation() throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+
+            int cubrid_level = 0;
+            u_con.lock();
+            try {
+                cubrid_level = u_con.getIsolationLevel();
+                error = u_con.getRecentError();
+            } finally {
+                u_con.unlock();
+            }
 
-        switch (error.getErrorCode()) {
-            case UErrorCode.ER_NO_ERROR:
-                break;
-            default:
-                throw createCUBRIDException(error);
-        }
+            switch (error.getErrorCode()) {
+                case UErrorCode.ER_NO_ERROR:
+                    break;
+                default:
+                    throw createCUBRIDException(error);
+            }
 
-        if (u_con.protoVersionIsAbove(UConnection.PROTOCOL_V7)) {
-            switch (cubrid_level) {
-                case CUBRIDIsolationLevel.TRAN_READ_COMMITTED:
-                    return TRANSACTION_READ_COMMITTED;
+            if (u_con.protoVersionIsAbove(UConnection.PROTOCOL_V7)) {
+                switch (cubrid_level) {
+                    case CUBRIDIsolationLevel.TRAN_READ_COMMITTED:
+                        return TRANSACTION_READ_COMMITTED;
 
-                case CUBRIDIsolationLevel.TRAN_REPEATABLE_READ:
-                    return TRANSACTION_REPEATABLE_READ;
+                    case CUBRIDIsolationLevel.TRAN_REPEATABLE_READ:
+                        return TRANSACTION_REPEATABLE_READ;
 
-                case CUBRIDIsolationLevel.TRAN_SERIALIZABLE:
-                    return TRANSACTION_SERIALIZABLE;
+                    case CUBRIDIsolationLevel.TRAN_SERIALIZABLE:
+                        return TRANSACTION_SERIALIZABLE;
 
-                default:
-                    return TRANSACTION_NONE;
-            }
+                    default:
+                        return TRANSACTION_NONE;
+                }
 
-        } else {
-            switch (cubrid_level) {
-                case CUBRIDIsolationLevel.TRAN_COMMIT_CLASS_COMMIT_INSTANCE:
-                    return TRANSACTION_READ_COMMITTED;
+            } else {
+                switch (cubrid_level) {
+                    case CUBRIDIsolationLevel.TRAN_COMMIT_CLASS_COMMIT_INSTANCE:
+                        return TRANSACTION_READ_COMMITTED;
 
-                case CUBRIDIsolationLevel.TRAN_COMMIT_CLASS_UNCOMMIT_INSTANCE:
-                    return TRANSACTION_READ_UNCOMMITTED;
+                    case CUBRIDIsolationLevel.TRAN_COMMIT_CLASS_UNCOMMIT_INSTANCE:
+                        return TRANSACTION_READ_UNCOMMITTED;
 
-                case CUBRIDIsolationLevel.TRAN_REPEATABLE_READ:
-                    return TRANSACTION_REPEATABLE_READ;
+                    case CUBRIDIsolationLevel.TRAN_REPEATABLE_READ:
+                        return TRANSACTION_REPEATABLE_READ;
 
-                case CUBRIDIsolationLevel.TRAN_READ_COMMITTED:
-                    return TRANSACTION_READ_COMMITTED;
+                    case CUBRIDIsolationLevel.TRAN_READ_COMMITTED:
+                        return TRANSACTION_READ_COMMITTED;
 
-                case CUBRIDIsolationLevel.TRAN_REP_CLASS_UNCOMMIT_INSTANCE:
-                    return TRANSACTION_READ_UNCOMMITTED;
+                    case CUBRIDIsolationLevel.TRAN_REP_CLASS_UNCOMMIT_INSTANCE:
+                        return TRANSACTION_READ_UNCOMMITTED;
 
-                case CUBRIDIsolationLevel.TRAN_SERIALIZABLE:
-                    return TRANSACTION_SERIALIZABLE;
+                    case CUBRIDIsolationLevel.TRAN_SERIALIZABLE:
+                        return TRANSACTION_SERIALIZABLE;
 
-                default:
-                    return TRANSACTION_NONE;
+                    default:
+                        return TRANSACTION_NONE;
+                }
             }
+        } finally {
+            lock.unlock();
         }
     }
 
-    public synchronized SQLWarning getWarnings() throws SQLException {
-        checkIsOpen();
-        return null;
+    public SQLWarning getWarnings() throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+            return null;
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized void clearWarnings() throws SQLException {
-        checkIsOpen();
+    public void clearWarnings() throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized Statement createStatement(int resultSetType, int resultSetConcurrency)
+    public Statement createStatement(int resultSetType, int resultSetConcurrency)
             throws SQLException {
-        checkIsOpen();
-        Statement stmt =
-                new CUBRIDStatement(this, resultSetType, resultSetConcurrency, holdability);
-        addStatement(stmt);
+        lock.lock();
+        try {
+            checkIsOpen();
+            Statement stmt =
+                    new CUBRIDStatement(this, resultSetType, resultSetConcurrency, holdability);
+            addStatement(stmt);
 
-        return stmt;
+            return stmt;
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized PreparedStatement prepareStatement(
+    public PreparedStatement prepareStatement(
             String sql, int resultSetType, int resultSetConcurrency) throws SQLException {
-        return prepare(
-                sql, resultSetType, resultSetConcurrency, holdability, Statement.NO_GENERATED_KEYS);
+        lock.lock();
+        try {
+            return prepare(
+                    sql,
+                    resultSetType,
+                    resultSetConcurrency,
+                    holdability,
+                    Statement.NO_GENERATED_KEYS);
+        } finally {
+            lock.unlock();
+        }
     }
 
     public CallableStatement prepareCall(String sql, int resultSetType, int resultSetConcurrency)
@@ -456,32 +583,43 @@ public class CUBRIDConnection implements Connection {
     }
 
     // 3.0 api
-    public synchronized Statement createStatement(int type, int concur, int holdable)
+    public Statement createStatement(int type, int concur, int holdable)
             throws SQLException {
-        checkIsOpen();
-        if (holdable == ResultSet.HOLD_CURSORS_OVER_COMMIT) {
-            if (type == ResultSet.TYPE_SCROLL_SENSITIVE || concur == ResultSet.CONCUR_UPDATABLE) {
-                throw new SQLException(new java.lang.UnsupportedOperationException());
+        lock.lock();
+        try {
+            checkIsOpen();
+            if (holdable == ResultSet.HOLD_CURSORS_OVER_COMMIT) {
+                if (type == ResultSet.TYPE_SCROLL_SENSITIVE
+                        || concur == ResultSet.CONCUR_UPDATABLE) {
+                    throw new SQLException(new java.lang.UnsupportedOperationException());
+                }
             }
-        }
-        Statement stmt = new CUBRIDStatement(this, type, concur, holdable);
-        addStatement(stmt);
+            Statement stmt = new CUBRIDStatement(this, type, concur, holdable);
+            addStatement(stmt);
 
-        return stmt;
+            return stmt;
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized int getHoldability() throws SQLException {
-        checkIsOpen();
-
-        if (holdability == ResultSet.HOLD_CURSORS_OVER_COMMIT) {
-            if (u_con.supportHoldableResult()) {
-                return ResultSet.HOLD_CURSORS_OVER_COMMIT;
-            } else {
-                return ResultSet.CLOSE_CURSORS_AT_COMMIT;
+    public int getHoldability() throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+
+            if (holdability == ResultSet.HOLD_CURSORS_OVER_COMMIT) {
+                if (u_con.supportHoldableResult()) {
+                    return ResultSet.HOLD_CURSORS_OVER_COMMIT;
+                } else {
+                    return ResultSet.CLOSE_CURSORS_AT_COMMIT;
+                }
             }
-        }
 
-        return holdability;
+            return holdability;
+        } finally {
+            lock.unlock();
+        }
     }
 
     public CallableStatement prepareCall(String sql, int type, int concur, int holdable)
@@ -489,184 +627,377 @@ public class CUBRIDConnection implements Connection {
         return prepareCall(sql);
     }
 
-    public synchronized PreparedStatement prepareStatement(String sql, int autoGeneratedKeys)
+    public PreparedStatement prepareStatement(String sql, int autoGeneratedKeys)
             throws SQLException {
-        return prepare(
-                sql,
-                ResultSet.TYPE_FORWARD_ONLY,
-                ResultSet.CONCUR_READ_ONLY,
-                holdability,
-                autoGeneratedKeys);
+        lock.lock();
+        try {
+            return prepare(
+                    sql,
+                    ResultSet.TYPE_FORWARD_ONLY,
+                    ResultSet.CONCUR_READ_ONLY,
+                    holdability,
+                    autoGeneratedKeys);
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized PreparedStatement prepareStatement(
+    public PreparedStatement prepareStatement(
             String sql, int type, int concur, int holdable) throws SQLException {
-        if (holdable == ResultSet.HOLD_CURSORS_OVER_COMMIT) {
-            if (type == ResultSet.TYPE_SCROLL_SENSITIVE || concur == ResultSet.CONCUR_UPDATABLE) {
-                throw new SQLException(new java.lang.UnsupportedOperationException());
+        lock.lock();
+        try {
+            if (holdable == ResultSet.HOLD_CURSORS_OVER_COMMIT) {
+                if (type == ResultSet.TYPE_SCROLL_SENSITIVE
+                        || concur == ResultSet.CONCUR_UPDATABLE) {
+                    throw new SQLException(new java.lang.UnsupportedOperationException());
+                }
             }
+            return prepare(sql, type, concur, holdable, Statement.NO_GENERATED_KEYS);
+        } finally {
+            lock.unlock();
         }
-        return prepare(sql, type, concur, holdable, Statement.NO_GENERATED_KEYS);
     }
 
-    public synchronized PreparedStatement prepareStatement(String sql, int[] indexes)
+    public PreparedStatement prepareStatement(String sql, int[] indexes)
             throws SQLException {
-        // auto = Statement.RETURN_GENERATED_KEYS;
-        return prepareStatement(sql);
+        lock.lock();
+        try {
+            // auto = Statement.RETURN_GENERATED_KEYS;
+            return prepareStatement(sql);
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized PreparedStatement prepareStatement(String sql, String[] colName)
+    public PreparedStatement prepareStatement(String sql, String[] colName)
             throws SQLException {
-        // auto = Statement.RETURN_GENERATED_KEYS;
-        return prepareStatement(sql);
+        lock.lock();
+        try {
+            // auto = Statement.RETURN_GENERATED_KEYS;
+            return prepareStatement(sql);
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized void releaseSavepoint(Savepoint savepoint) throws SQLException {
-        throw new SQLException(new java.lang.UnsupportedOperationException());
-        /*
-         * 3.0 checkIsOpen(); boolean flag=true;
-         *
-         * if (!savepoints.isEmpty()) { for (int i=0 ; i < savepoints.size() ;
-         * i++) {
-         * if(savepoint.equals(((CUBRIDSavepoint)savepoints.get(i)).getSavepointName
-         * ())) { savepoints.remove(savepoint); flag=false; } } }
-         *
-         * if (flag) throw new CUBRIDException("The Savepoint is not exist ");
-         */
+    public void releaseSavepoint(Savepoint savepoint) throws SQLException {
+        lock.lock();
+        try {
+            throw new SQLException(new java.lang.UnsupportedOperationException());
+            /*
+             * 3.0 checkIsOpen(); boolean flag=true;
+             *
+             * if (!savepoints.isEmpty()) { for (int i=0 ; i < savepoints.size() ;
+             * i++) {
+             * if(savepoint.equals(((CUBRIDSavepoint)savepoints.get(i)).getSavepointName
+             * ())) { savepoints.remove(savepoint); flag=false; } } }
+             *
+             * if (flag) throw new CUBRIDException("The Savepoint is not exist ");
+             */
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized void rollback(Savepoint savepoint) throws SQLException {
-        throw new SQLException(new java.lang.UnsupportedOperationException());
-        /*
-         * 3.0 checkIsOpen();
-         *
-         * if (isRelease((CUBRIDSavepoint)savepoint)) { throw new
-         * CUBRIDException("The Savepoint is released"); }
-         *
-         * synchronized (u_con) { u_con.savepoint(2,
-         * savepoint.getSavepointName()); error = u_con.getRecentError(); }
-         *
-         * switch (error.getErrorCode()) { case UErrorCode.ER_NO_ERROR : break;
-         * default : throw new CUBRIDException(error); }
-         *
-         * deleteSavepoint((CUBRIDSavepoint)savepoint);
-         */
+    public void rollback(Savepoint savepoint) throws SQLException {
+        lock.lock();
+        try {
+            throw new SQLException(new java.lang.UnsupportedOperationException());
+            /*
+             * 3.0 checkIsOpen();
+             *
+             * if (isRelease((CUBRIDSavepoint)savepoint)) { throw new
+             * CUBRIDException("The Savepoint is released"); }
+             *
+             * synchronized (u_con) { u_con.savepoint(2,
+             * savepoint.getSavepointName()); error = u_con.getRecentError(); }
+             *
+             * switch (error.getErrorCode()) { case UErrorCode.ER_NO_ERROR : break;
+             * default : throw new CUBRIDException(error); }
+             *
+             * deleteSavepoint((CUBRIDSavepoint)savepoint);
+             */
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized void setHoldability(int holdable) throws SQLException {
-        checkIsOpen();
+    public void setHoldability(int holdable) throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
 
-        holdability = holdable;
+            holdability = holdable;
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized Savepoint setSavepoint() throws SQLException {
-        throw new SQLException(new java.lang.UnsupportedOperationException());
-        /*
-         * 3.0 checkIsOpen();
-         *
-         * sv_id = createSavepointId(); // sv_name = name;
-         *
-         * if (sv_name.length() == 0) sv_name = createSavepointName(); else if
-         * (existName(sv_name)) throw new
-         * CUBRIDException("The Savepoint name "+sv_name+" exist");
-         *
-         * synchronized (u_con) { u_con.savepoint(1, sv_name); error =
-         * u_con.getRecentError(); }
-         *
-         * switch (error.getErrorCode()) { case UErrorCode.ER_NO_ERROR : break;
-         * default : throw new CUBRIDException(error); } Savepoint sv = new
-         * CUBRIDSavepoint(this, sv_name, sv_id); savepoints.add(sv); sv_name =
-         * ""; sv_id = 0; return sv;
-         */
+    public Savepoint setSavepoint() throws SQLException {
+        lock.lock();
+        try {
+            throw new SQLException(new java.lang.UnsupportedOperationException());
+            /*
+             * 3.0 checkIsOpen();
+             *
+             * sv_id = createSavepointId(); // sv_name = name;
+             *
+             * if (sv_name.length() == 0) sv_name = createSavepointName(); else if
+             * (existName(sv_name)) throw new
+             * CUBRIDException("The Savepoint name "+sv_name+" exist");
+             *
+             * synchronized (u_con) { u_con.savepoint(1, sv_name); error =
+             * u_con.getRecentError(); }
+             *
+             * switch (error.getErrorCode()) { case UErrorCode.ER_NO_ERROR : break;
+             * default : throw new CUBRIDException(error); } Savepoint sv = new
+             * CUBRIDSavepoint(this, sv_name, sv_id); savepoints.add(sv); sv_name =
+             * ""; sv_id = 0; return sv;
+             */
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized Savepoint setSavepoint(String name) throws SQLException {
-        throw new SQLException(new java.lang.UnsupportedOperationException());
-        /*
-         * 3.0 checkIsOpen(); sv_name = name;
-         *
-         * if (existName(sv_name)) throw new
-         * CUBRIDException("The Savepoint name "+sv_name+" exist");
-         *
-         * return setSavepoint();
-         */
+    public Savepoint setSavepoint(String name) throws SQLException {
+        lock.lock();
+        try {
+            throw new SQLException(new java.lang.UnsupportedOperationException());
+            /*
+             * 3.0 checkIsOpen(); sv_name = name;
+             *
+             * if (existName(sv_name)) throw new
+             * CUBRIDException("The Savepoint name "+sv_name+" exist");
+             *
+             * return setSavepoint();
+             */
+        } finally {
+            lock.unlock();
+        }
     }
 
     // 3.0 api
 
-    public synchronized void setCharset(String charsetName)
+    public void setCharset(String charsetName)
             throws java.io.UnsupportedEncodingException {
-        u_con.setCharset(charsetName);
+        lock.lock();
+        try {
+            u_con.setCharset(charsetName);
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized CUBRIDConnectionKey Login(String SignedData) throws SQLException {
-        return null;
+    public CUBRIDConnectionKey Login(String SignedData) throws SQLException {
+        lock.lock();
+        try {
+            return null;
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized CUBRIDConnectionKey Login(byte[] SignedData) throws SQLException {
-        return null;
+    public CUBRIDConnectionKey Login(byte[] SignedData) throws SQLException {
+        lock.lock();
+        try {
+            return null;
+        } finally {
+            lock.unlock();
+        }
     }
 
     public void Logout() {}
 
     public void SetSignedConnection() {}
 
-    public synchronized UConnection getUConnection() throws SQLException {
-        checkIsOpen();
-        return u_con;
+    public UConnection getUConnection() throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+            return u_con;
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized void setLockTimeout(int timeout) throws SQLException {
-        checkIsOpen();
+    public void setLockTimeout(int timeout) throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+
+            u_con.lock();
+            try {
+                u_con.setLockTimeout(timeout);
+                error = u_con.getRecentError();
+            } finally {
+                u_con.unlock();
+            }
 
-        synchronized (u_con) {
-            u_con.setLockTimeout(timeout);
-            error = u_con.getRecentError();
+            switch (error.getErrorCode()) {
+                case UErrorCode.ER_NO_ERROR:
+                    break;
+                default:
+                    throw createCUBRIDException(error);
+            }
+        } finally {
+            lock.unlock();
         }
+    }
 
-        switch (error.getErrorCode()) {
-            case UErrorCode.ER_NO_ERROR:
-                break;
-            default:
-                throw createCUBRIDException(error);
+    public int setCASChangeMode(int mode) throws SQLException {
+        lock.lock();
+        try {
+            int prev_mode = 0;
+
+            checkIsOpen();
+
+            u_con.lock();
+            try {
+                if (mode != CAS_CHANGE_MODE_AUTO && mode != CAS_CHANGE_MODE_KEEP) {
+                    throw createCUBRIDException(CUBRIDJDBCErrorCode.invalid_value, null);
+                }
+
+                prev_mode = u_con.setCASChangeMode(mode);
+                error = u_con.getRecentError();
+            } finally {
+                u_con.unlock();
+            }
+
+            switch (error.getErrorCode()) {
+                case UErrorCode.ER_NO_ERROR:
+                    break;
+                default:
+                    throw createCUBRIDException(error);
+            }
+
+            return prev_mode;
+        } finally {
+            lock.unlock();
         }
     }
 
-    public synchronized int setCASChangeMode(int mode) throws SQLException {
-        int prev_mode = 0;
+    public void setAutoGeneratedKeys(boolean isGeneratedKeys) {
+        isAutoGeneratedKeys = isGeneratedKeys;
+    }
+
+    /* the counters of the prepared statement cache of this connection */
+    public CUBRIDPreparedStatementCacheStats getPreparedStatementCacheStatistics()
+            throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+            return new CUBRIDPreparedStatementCacheStats(prepStmtCache);
+        } finally {
+            lock.unlock();
+        }
+    }
 
-        checkIsOpen();
+    /*
+     * The client result cache is shared by the connections to the same broker, database and user,
+     * so the lifetimes and invalidations below apply to all of them.
+     */
+    public void setResultCacheTTL(String sqlPattern, int seconds) throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
 
-        synchronized (u_con) {
-            if (mode != CAS_CHANGE_MODE_AUTO && mode != CAS_CHANGE_MODE_KEEP) {
-                throw createCUBRIDException(CUBRIDJDBCErrorCode.invalid_value, null);
+            try {
+                u_con.getUrlCache().setTtl(sqlPattern, seconds);
+            } catch (PatternSyntaxException e) {
+                throw createCUBRIDException(CUBRIDJDBCErrorCode.invalid_value, e);
             }
+        } finally {
+            lock.unlock();
+        }
+    }
 
-            prev_mode = u_con.setCASChangeMode(mode);
-            error = u_con.getRecentError();
+    public int invalidateResultCache(String sql) throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+            return u_con.getUrlCache().invalidate(sql);
+        } finally {
+            lock.unlock();
         }
+    }
 
-        switch (error.getErrorCode()) {
-            case UErrorCode.ER_NO_ERROR:
-                break;
-            default:
-                throw createCUBRIDException(error);
+    public int invalidateResultCacheByTable(String table) throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+            return u_con.getUrlCache().invalidateTable(table);
+        } finally {
+            lock.unlock();
         }
+    }
 
-        return prev_mode;
+    public int invalidateResultCache() throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+            return u_con.getUrlCache().invalidateAll();
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public void setAutoGeneratedKeys(boolean isGeneratedKeys) {
-        isAutoGeneratedKeys = isGeneratedKeys;
+    /*
+     * Loads delimited text into the given columns of a table, batchSize rows per executeBatch.
+     * Rows that fail are reported per batch in the result instead of stopping the load, unless
+     * stopOnError is set; the rows read before a malformed line are still sent when it stops the
+     * load. An error other than a BatchUpdateException ends the load with that exception. With
+     * auto-commit on, every batch is committed when it has run. The table and column names are
+     * raw SQL, not values: they must be identifiers, quoted where they are not plain ones.
+     */
+    public CUBRIDBulkLoadResult bulkLoad(
+            String table, String[] columns, Reader in, CUBRIDBulkLoadOptions options)
+            throws SQLException {
+        checkIsOpen();
+        if (table == null || columns == null || columns.length == 0 || in == null) {
+            throw createCUBRIDException(CUBRIDJDBCErrorCode.invalid_value, null);
+        }
+        if (options == null) {
+            options = new CUBRIDBulkLoadOptions();
+        }
+
+        PreparedStatement stmt = prepareStatement(CUBRIDBulkLoader.getInsertSql(table, columns));
+        try {
+            CUBRIDBulkLoader loader = new CUBRIDBulkLoader(columns.length, options);
+            return loader.load(in, new CUBRIDBulkLoader.StatementSink(stmt));
+        } finally {
+            stmt.close();
+        }
+    }
+
+    public CUBRIDBulkLoadResult bulkLoad(
+            String table, String[] columns, InputStream in, CUBRIDBulkLoadOptions options)
+            throws SQLException {
+        if (in == null) {
+            throw createCUBRIDException(CUBRIDJDBCErrorCode.invalid_value, null);
+        }
+        if (options == null) {
+            options = new CUBRIDBulkLoadOptions();
+        }
+
+        Reader reader;
+        try {
+            reader = new InputStreamReader(in, options.getCharset());
+        } catch (UnsupportedEncodingException e) {
+            throw createCUBRIDException(CUBRIDJDBCErrorCode.invalid_value, e);
+        }
+        return bulkLoad(table, columns, reader, options);
     }
 
     UStatement prepare(String sql, byte prepareFlag) throws SQLException {
         UStatement us = null;
 
-        synchronized (u_con) {
+        u_con.lock();
+        try {
             u_con.setBeginTime();
             us = u_con.prepare(sql, prepareFlag);
             error = u_con.getRecentError();
+        } finally {
+            u_con.unlock();
         }
 
         switch (error.getErrorCode()) {
@@ -679,6 +1010,25 @@ public class CUBRIDConnection implements Connection {
         }
     }
 
+    UStatement prepareWithExecute(String sql, byte prepareFlag) throws SQLException {
+        UStatement us = null;
+
+        u_con.lock();
+        try {
+            us = u_con.prepareWithExecute(sql, prepareFlag);
+            error = u_con.getRecentError();
+        } finally {
+            u_con.unlock();
+        }
+
+        switch (error.getErrorCode()) {
+            case UErrorCode.ER_NO_ERROR:
+                return us;
+            default:
+                throw createCUBRIDException(new UError(error));
+        }
+    }
+
     protected void autoCommit() throws SQLException {
         checkIsOpen();
         if (auto_commit) commit();
@@ -689,16 +1039,26 @@ public class CUBRIDConnection implements Connection {
         if (auto_commit) rollback();
     }
 
-    synchronized void closeConnection() throws SQLException {
-        if (is_closed) return;
+    void closeConnection() throws SQLException {
+        lock.lock();
+        try {
+            if (is_closed) return;
 
-        clear();
-        is_closed = true;
+            clear();
+            is_closed = true;
+        } finally {
+            lock.unlock();
+        }
     }
 
-    synchronized void removeStatement(Statement s) throws SQLException {
-        int i = statements.indexOf(s);
-        if (i > -1) statements.remove(i);
+    void removeStatement(Statement s) throws SQLException {
+        lock.lock();
+        try {
+            int i = statements.indexOf(s);
+            if (i > -1) statements.remove(i);
+        } finally {
+            lock.unlock();
+        }
     }
 
     protected void clear() throws SQLException {
@@ -796,13 +1156,16 @@ public class CUBRIDConnection implements Connection {
     }
 
     private void end(boolean commit) throws SQLException {
-        synchronized (u_con) {
+        u_con.lock();
+        try {
             if (isAutoGeneratedKeys) {
                 u_con.turnOnAutoCommitBySelf();
             }
             u_con.endTransaction(commit);
 
             error = u_con.getRecentError();
+        } finally {
+            u_con.unlock();
         }
 
         switch (error.getErrorCode()) {
@@ -854,90 +1217,208 @@ public class CUBRIDConnection implements Connection {
         addStatement(pstmt);
 
         if (u_con.isPrepStmtCache(sql)) {
-            prepStmtCache.put(sql, pstmt);
+            prepStmtCache.put(sql, pstmt, us.getMetadataSize());
         }
         return pstmt;
     }
 
-    public synchronized byte[] lobNew(int lobType) throws SQLException {
-        checkIsOpen();
-        byte[] packedLobHandle = null;
+    public byte[] lobNew(int lobType) throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+            byte[] packedLobHandle = null;
+
+            u_con.lock();
+            try {
+                packedLobHandle = u_con.lobNew(lobType);
+                error = u_con.getRecentError();
+            } finally {
+                u_con.unlock();
+            }
 
-        synchronized (u_con) {
-            packedLobHandle = u_con.lobNew(lobType);
-            error = u_con.getRecentError();
-        }
+            switch (error.getErrorCode()) {
+                case UErrorCode.ER_NO_ERROR:
+                    break;
+                default:
+                    throw createCUBRIDException(error);
+            }
 
-        switch (error.getErrorCode()) {
-            case UErrorCode.ER_NO_ERROR:
-                break;
-            default:
-                throw createCUBRIDException(error);
+            return packedLobHandle;
+        } finally {
+            lock.unlock();
         }
-
-        return packedLobHandle;
     }
 
-    public synchronized int lobWrite(
+    public int lobWrite(
             byte[] packedLobHandle, long offset, byte[] buf, int start, int len)
             throws SQLException {
-        checkIsOpen();
-        int result;
+        lock.lock();
+        try {
+            checkIsOpen();
+            int result;
+
+            u_con.lock();
+            try {
+                result = u_con.lobWrite(packedLobHandle, offset, buf, start, len);
+                error = u_con.getRecentError();
+            } finally {
+                u_con.unlock();
+            }
 
-        synchronized (u_con) {
-            result = u_con.lobWrite(packedLobHandle, offset, buf, start, len);
-            error = u_con.getRecentError();
-        }
+            switch (error.getErrorCode()) {
+                case UErrorCode.ER_NO_ERROR:
+                    break;
+                default:
+                    throw createCUBRIDException(error);
+            }
 
-        switch (error.getErrorCode()) {
-            case UErrorCode.ER_NO_ERROR:
-                break;
-            default:
-                throw createCUBRIDException(error);
+            return result;
+        } finally {
+            lock.unlock();
         }
-
-        return result;
     }
 
-    public synchronized int lobRead(
+    public int lobRead(
             byte[] packedLobHandle, long offset, byte[] buf, int start, int len)
             throws SQLException {
-        checkIsOpen();
-        int result;
+        lock.lock();
+        try {
+            checkIsOpen();
+            int result;
+
+            u_con.lock();
+            try {
+                result = u_con.lobRead(packedLobHandle, offset, buf, start, len);
+                error = u_con.getRecentError();
+            } finally {
+                u_con.unlock();
+            }
 
-        synchronized (u_con) {
-            result = u_con.lobRead(packedLobHandle, offset, buf, start, len);
-            error = u_con.getRecentError();
-        }
+            switch (error.getErrorCode()) {
+                case UErrorCode.ER_NO_ERROR:
+                    break;
+                default:
+                    throw createCUBRIDException(error);
+            }
 
-        switch (error.getErrorCode()) {
-            case UErrorCode.ER_NO_ERROR:
-                break;
-            default:
-                throw createCUBRIDException(error);
+            return result;
+        } finally {
+            lock.unlock();
         }
-
-        return result;
     }
 
-    public synchronized int getShardId() {
-        int lastShardId;
+    /**
+     * Executes the prepared statements as updates. Outside of auto commit mode the requests are
+     * sent ahead of the replies (see {@link UConnection#executePipelined}), so the statements
+     * cost one round trip together instead of one each. The statements are independent; a failed
+     * statement does not stop the others.
+     *
+     * @return the update count of each statement
+     * @exception BatchUpdateException if any statement failed, with the update counts where a
+     *     failed statement has <code>Statement.EXECUTE_FAILED</code> and the errors chained in
+     *     order
+     */
+    public int[] executePipelined(PreparedStatement[] stmts) throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+            if (stmts == null) {
+                throw createCUBRIDException(CUBRIDJDBCErrorCode.invalid_value, null);
+            }
 
-        synchronized (u_con) {
-            lastShardId = u_con.getShardId();
-        }
+            CUBRIDPreparedStatement[] pstmts = new CUBRIDPreparedStatement[stmts.length];
+            UStatement[] ustmts = new UStatement[stmts.length];
+            int queryTimeout = 0;
+            for (int i = 0; i < stmts.length; i++) {
+                if (!(stmts[i] instanceof CUBRIDPreparedStatement)) {
+                    throw createCUBRIDException(CUBRIDJDBCErrorCode.invalid_value, null);
+                }
+                pstmts[i] = (CUBRIDPreparedStatement) stmts[i];
+                if (pstmts[i].query_timeout > 0
+                        && (queryTimeout == 0 || pstmts[i].query_timeout < queryTimeout)) {
+                    queryTimeout = pstmts[i].query_timeout;
+                }
+            }
+
+            u_con.setBeginTime();
+            for (int i = 0; i < pstmts.length; i++) {
+                ustmts[i] = pstmts[i].beginPipelinedUpdate();
+            }
+
+            u_con.lock();
+            try {
+                u_con.executePipelined(ustmts, queryTimeout);
+                error = u_con.getRecentError();
+            } finally {
+                u_con.unlock();
+            }
 
-        return lastShardId;
+            int[] counts = new int[pstmts.length];
+            BatchUpdateException bex = null;
+            for (int i = 0; i < pstmts.length; i++) {
+                try {
+                    counts[i] = pstmts[i].endPipelinedUpdate();
+                } catch (SQLException e) {
+                    counts[i] = Statement.EXECUTE_FAILED;
+                    if (bex == null) {
+                        bex =
+                                new BatchUpdateException(
+                                        e.getMessage(), e.getSQLState(), e.getErrorCode(), counts);
+                    } else {
+                        bex.setNextException(e);
+                    }
+                }
+            }
+
+            if (bex != null) {
+                throw bex;
+            }
+            switch (error.getErrorCode()) {
+                case UErrorCode.ER_NO_ERROR:
+                    break;
+                default:
+                    throw createCUBRIDException(error);
+            }
+            return counts;
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized boolean isShard() {
-        boolean isShard;
+    public int getShardId() {
+        lock.lock();
+        try {
+            int lastShardId;
+
+            u_con.lock();
+            try {
+                lastShardId = u_con.getShardId();
+            } finally {
+                u_con.unlock();
+            }
 
-        synchronized (u_con) {
-            isShard = u_con.isConnectedToProxy();
+            return lastShardId;
+        } finally {
+            lock.unlock();
         }
+    }
+
+    public boolean isShard() {
+        lock.lock();
+        try {
+            boolean isShard;
 
-        return isShard;
+            u_con.lock();
+            try {
+                isShard = u_con.isConnectedToProxy();
+            } finally {
+                u_con.unlock();
+            }
+
+            return isShard;
+        } finally {
+            lock.unlock();
+        }
     }
 
     /*
@@ -1032,14 +1513,19 @@ public class CUBRIDConnection implements Connection {
     }
 
     /* JDK 1.6 */
-    public synchronized boolean isValid(int timeout) throws SQLException {
-        if (timeout < 0) {
-            throw new SQLException();
-        }
+    public boolean isValid(int timeout) throws SQLException {
+        lock.lock();
+        try {
+            if (timeout < 0) {
+                throw new SQLException();
+            }
 
-        if (u_con == null || is_closed) return false;
+            if (u_con == null || is_closed) return false;
 
-        return u_con.isValid(timeout * 1000);
+            return u_con.isValid(timeout * 1000);
+        } finally {
+            lock.unlock();
+        }
     }
 
     /* JDK 1.6 */
@@ -0,0 +1,576 @@
+/*
+ * Copyright (C) 2008 Search Solution Corporation.
+ * Copyright (c) 2016 CUBRID Corporation.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ *
+ * - Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * - Neither the name of the <ORGANIZATION> nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software without
+ *   specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING,
+ * BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA,
+ * OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY
+ * OF SUCH DAMAGE.
+ *
+ */
+
+package cubrid.jdbc.driver;
+
+import java.lang.management.ManagementFactory;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import javax.management.ObjectName;
+import javax.sql.ConnectionEvent;
+import javax.sql.ConnectionEventListener;
+import javax.sql.PooledConnection;
+
+/**
+ * Title: CUBRID JDBC Driver Description:
+ *
+ * @version 2.0
+ */
+
+/**
+ * This class pools the physical connections of a CUBRIDConnectionPoolDataSource for one user.
+ * Idle connections are kept in a deque used as a stack, so the connection returned last is handed
+ * out first. When maxPoolSize is set, at most that many connections are handed out and the other
+ * borrowers wait in arrival order, for checkoutTimeout milliseconds if it is set; a borrower is
+ * woken when a connection is returned or closed. A background thread shared by all pools takes
+ * idle connections out one at a time to validate them with CHECK_CAS, closes those idle longer
+ * than maxIdleTime or older than maxConnectionAge, and keeps minPoolSize connections open. The
+ * pool counters are published through CUBRIDConnectionPoolMXBean until the pool is closed.
+ */
+class CUBRIDConnectionPool implements ConnectionEventListener, CUBRIDConnectionPoolMXBean {
+    private static final int DEFAULT_PROPERTY_CYCLE = 30;
+    private static final long VALIDATE_IDLE_MILLIS = 1000;
+    private static final long[] ACQUIRE_TIME_BOUNDS = {1, 5, 10, 50, 100, 500, 1000, 5000};
+
+    private static ScheduledExecutorService housekeeper = null;
+
+    private static class PoolEntry {
+        final CUBRIDPooledConnection pc;
+        final long createTime;
+        volatile long lastUsedTime;
+
+        PoolEntry(CUBRIDPooledConnection pc, long now) {
+            this.pc = pc;
+            createTime = now;
+            lastUsedTime = now;
+        }
+    }
+
+    private final CUBRIDConnectionPoolDataSource cpds;
+    private final String user;
+    private final String passwd;
+    private final int minPoolSize;
+    private final int maxPoolSize;
+    private final long maxIdleMillis;
+    private final long maxAgeMillis;
+    private final long checkoutTimeout;
+    private final long cycleMillis;
+
+    private final LinkedBlockingDeque<PoolEntry> idle = new LinkedBlockingDeque<PoolEntry>();
+    private final ConcurrentHashMap<PooledConnection, PoolEntry> entries =
+            new ConcurrentHashMap<PooledConnection, PoolEntry>();
+    private final AtomicInteger total = new AtomicInteger();
+    private final AtomicInteger active = new AtomicInteger();
+    private final Semaphore permits;
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    /* borrowers that hold a permit wait here for a connection to be returned or closed */
+    private final ReentrantLock waitLock = new ReentrantLock();
+    private final Condition changed = waitLock.newCondition();
+    private final AtomicInteger waiters = new AtomicInteger();
+
+    private ScheduledFuture<?> maintenance;
+    private ObjectName objectName;
+
+    private final AtomicLong created = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong timeouts = new AtomicLong();
+    private final AtomicLongArray acquireTimes =
+            new AtomicLongArray(ACQUIRE_TIME_BOUNDS.length + 1);
+
+    CUBRIDConnectionPool(CUBRIDConnectionPoolDataSource ds, String user, String passwd) {
+        cpds = ds;
+        this.user = user;
+        this.passwd = passwd;
+        maxPoolSize = Math.max(ds.getMaxPoolSize(), 0);
+        if (maxPoolSize > 0) {
+            minPoolSize = Math.min(Math.max(ds.getMinPoolSize(), 0), maxPoolSize);
+            permits = new Semaphore(maxPoolSize, true);
+        } else {
+            minPoolSize = Math.max(ds.getMinPoolSize(), 0);
+            permits = null;
+        }
+        maxIdleMillis = ds.getMaxIdleTime() * 1000L;
+        maxAgeMillis = ds.getMaxConnectionAge() * 1000L;
+        checkoutTimeout = ds.getCheckoutTimeout();
+
+        int cycle = ds.getPropertyCycle() > 0 ? ds.getPropertyCycle() : DEFAULT_PROPERTY_CYCLE;
+        cycleMillis = cycle * 1000L;
+
+        final int initialPoolSize = Math.max(ds.getInitialPoolSize(), minPoolSize);
+        ScheduledExecutorService executor = getHousekeeper();
+        executor.execute(
+                new Runnable() {
+                    public void run() {
+                        fill(initialPoolSize);
+                    }
+                });
+        maintenance =
+                executor.scheduleWithFixedDelay(
+                        new Runnable() {
+                            public void run() {
+                                try {
+                                    maintain();
+                                } catch (RuntimeException e) {
+                                }
+                            }
+                        },
+                        cycle,
+                        cycle,
+                        TimeUnit.SECONDS);
+
+        register(ds, user);
+    }
+
+    private void register(CUBRIDConnectionPoolDataSource ds, String user) {
+        /* keep only jdbc:cubrid:host:port:db of the url, the rest may carry a password */
+        String id = ds.getDataSourceID(null);
+        String[] tokens = id.split(":", 6);
+        if (tokens.length == 6) {
+            id = id.substring(0, id.length() - tokens[5].length() - 1);
+        }
+
+        try {
+            ObjectName name =
+                    new ObjectName(
+                            "cubrid.jdbc:type=ConnectionPool,name="
+                                    + ObjectName.quote(id + ":" + (user == null ? "" : user)));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, name);
+            objectName = name;
+        } catch (Exception e) {
+        }
+    }
+
+    /*
+     * Stops the maintenance of the pool, removes it from the MBean server and closes the idle
+     * connections. Connections handed out are closed when they are returned, and borrowers get
+     * pooled_connection_closed from then on.
+     */
+    void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+
+        maintenance.cancel(false);
+        if (objectName != null) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+            } catch (Exception e) {
+            }
+        }
+
+        PoolEntry entry;
+        while ((entry = idle.pollFirst()) != null) {
+            discard(entry);
+        }
+        signalWaiters();
+    }
+
+    private static synchronized ScheduledExecutorService getHousekeeper() {
+        if (housekeeper == null) {
+            housekeeper =
+                    Executors.newSingleThreadScheduledExecutor(
+                            new ThreadFactory() {
+                                public Thread newThread(Runnable r) {
+                                    Thread t = new Thread(r, "CUBRIDConnectionPool-housekeeper");
+                                    t.setDaemon(true);
+                                    t.setContextClassLoader(null);
+                                    return t;
+                                }
+                            });
+        }
+        return housekeeper;
+    }
+
+    /*
+     * javax.sql.ConnectionEventListener interface
+     */
+
+    public void connectionClosed(ConnectionEvent event) {
+        PooledConnection pc = (PooledConnection) event.getSource();
+
+        if (pc == null) {
+            return;
+        }
+
+        PoolEntry entry = entries.get(pc);
+        if (entry == null) {
+            return;
+        }
+        active.decrementAndGet();
+
+        long now = System.currentTimeMillis();
+        entry.lastUsedTime = now;
+        if (closed.get() || isExpired(entry, now)) {
+            discard(entry);
+        } else {
+            pushIdle(entry);
+        }
+
+        if (permits != null) {
+            permits.release();
+        }
+    }
+
+    public void connectionErrorOccurred(ConnectionEvent event) {
+        PooledConnection pc = (PooledConnection) event.getSource();
+
+        if (pc == null) return;
+
+        PoolEntry entry = entries.get(pc);
+        if (entry == null) {
+            try {
+                pc.close();
+            } catch (Exception e) {
+            }
+            return;
+        }
+
+        if (discard(entry)) {
+            active.decrementAndGet();
+            if (permits != null) {
+                permits.release();
+            }
+        }
+    }
+
+    Connection getConnection(String user, String passwd) throws SQLException {
+        long start = System.nanoTime();
+        if (permits != null) {
+            acquirePermit();
+        }
+
+        boolean success = false;
+        try {
+            long deadline = (checkoutTimeout > 0) ? start + checkoutTimeout * 1000000L : 0;
+            Connection con = null;
+            while (con == null) {
+                if (closed.get()) {
+                    throw new CUBRIDException(CUBRIDJDBCErrorCode.pooled_connection_closed);
+                }
+
+                PoolEntry entry = idle.pollFirst();
+                if (entry != null) {
+                    con = checkout(entry);
+                } else if (reserve(getLimit())) {
+                    entry = create(user, passwd);
+                    try {
+                        con = entry.pc.getConnection(false);
+                    } catch (SQLException e) {
+                        discard(entry);
+                        throw e;
+                    }
+                } else {
+                    /* every connection is handed out or being validated by the housekeeper */
+                    awaitChange(deadline);
+                }
+            }
+            active.incrementAndGet();
+            recordAcquireTime(System.nanoTime() - start);
+            success = true;
+            return con;
+        } finally {
+            if (!success && permits != null) {
+                permits.release();
+            }
+        }
+    }
+
+    private int getLimit() {
+        return maxPoolSize > 0 ? maxPoolSize : Integer.MAX_VALUE;
+    }
+
+    /* waits until a connection may be available, or throws once the deadline has passed */
+    private void awaitChange(long deadline) throws SQLException {
+        waitLock.lock();
+        waiters.incrementAndGet();
+        try {
+            /* a change made before this waiter was counted is not signalled, but seen here */
+            if (!idle.isEmpty() || total.get() < getLimit() || closed.get()) {
+                return;
+            }
+
+            if (deadline == 0) {
+                changed.await();
+                return;
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                timeouts.incrementAndGet();
+                throw new CUBRIDException(CUBRIDJDBCErrorCode.pool_checkout_timeout);
+            }
+            changed.awaitNanos(remaining);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CUBRIDException(CUBRIDJDBCErrorCode.pool_checkout_timeout, e);
+        } finally {
+            waiters.decrementAndGet();
+            waitLock.unlock();
+        }
+    }
+
+    private void signalWaiters() {
+        if (waiters.get() == 0) {
+            return;
+        }
+
+        waitLock.lock();
+        try {
+            changed.signalAll();
+        } finally {
+            waitLock.unlock();
+        }
+    }
+
+    private void recordAcquireTime(long nanos) {
+        long millis = nanos / 1000000;
+        int i = 0;
+        while (i < ACQUIRE_TIME_BOUNDS.length && millis >= ACQUIRE_TIME_BOUNDS[i]) {
+            i++;
+        }
+        acquireTimes.incrementAndGet(i);
+    }
+
+    private void acquirePermit() throws SQLException {
+        try {
+            if (checkoutTimeout <= 0) {
+                permits.acquire();
+            } else if (!permits.tryAcquire(checkoutTimeout, TimeUnit.MILLISECONDS)) {
+                timeouts.incrementAndGet();
+                throw new CUBRIDException(CUBRIDJDBCErrorCode.pool_checkout_timeout);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CUBRIDException(CUBRIDJDBCErrorCode.pool_checkout_timeout, e);
+        }
+    }
+
+    private Connection checkout(PoolEntry entry) {
+        long now = System.currentTimeMillis();
+
+        if (isExpired(entry, now)) {
+            discard(entry);
+            return null;
+        }
+
+        try {
+            return entry.pc.getConnection(now - entry.lastUsedTime >= VALIDATE_IDLE_MILLIS);
+        } catch (SQLException e) {
+            discard(entry);
+            return null;
+        }
+    }
+
+    private boolean reserve(int limit) {
+        for (; ; ) {
+            int n = total.get();
+            if (n >= limit) {
+                return false;
+            }
+            if (total.compareAndSet(n, n + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private PoolEntry create(String user, String passwd) throws SQLException {
+        boolean success = false;
+        try {
+            CUBRIDPooledConnection pc =
+                    (CUBRIDPooledConnection) cpds.getPooledConnection(user, passwd);
+            PoolEntry entry = new PoolEntry(pc, System.currentTimeMillis());
+            entries.put(pc, entry);
+            pc.addConnectionEventListener(this);
+            created.incrementAndGet();
+            success = true;
+            return entry;
+        } finally {
+            if (!success) {
+                total.decrementAndGet();
+                failed.incrementAndGet();
+            }
+        }
+    }
+
+    private boolean discard(PoolEntry entry) {
+        if (entries.remove(entry.pc) == null) {
+            return false;
+        }
+
+        total.decrementAndGet();
+        try {
+            entry.pc.close();
+        } catch (SQLException e) {
+        }
+        signalWaiters();
+        return true;
+    }
+
+    private boolean isExpired(PoolEntry entry, long now) {
+        return maxAgeMillis > 0 && now - entry.createTime >= maxAgeMillis;
+    }
+
+    private boolean isIdleTooLong(PoolEntry entry, long now) {
+        return maxIdleMillis > 0
+                && now - entry.lastUsedTime >= maxIdleMillis
+                && total.get() > minPoolSize;
+    }
+
+    private void pushIdle(PoolEntry entry) {
+        idle.offerFirst(entry);
+        signalWaiters();
+    }
+
+    private void fill(int target) {
+        int limit = maxPoolSize > 0 ? Math.min(target, maxPoolSize) : target;
+
+        while (!closed.get() && reserve(limit)) {
+            try {
+                pushIdle(create(user, passwd));
+            } catch (SQLException e) {
+                return;
+            }
+        }
+    }
+
+    private void maintain() {
+        long now = System.currentTimeMillis();
+
+        /*
+         * Take out one connection at a time, so a validation that hangs on the broker keeps only
+         * that connection from the borrowers. One validated is put back in front, where the walk
+         * has already passed.
+         */
+        Iterator<PoolEntry> it = idle.iterator();
+        while (it.hasNext() && !closed.get()) {
+            PoolEntry entry = it.next();
+            boolean expired = isExpired(entry, now) || isIdleTooLong(entry, now);
+            if (!expired && now - entry.lastUsedTime < cycleMillis) {
+                continue;
+            }
+            /* a borrower took it in the meantime */
+            if (!idle.removeFirstOccurrence(entry)) {
+                continue;
+            }
+
+            if (!expired && entry.pc.validate()) {
+                pushIdle(entry);
+            } else {
+                discard(entry);
+            }
+        }
+
+        fill(minPoolSize);
+    }
+
+    CUBRIDConnectionPoolStats getStatistics() {
+        return new CUBRIDConnectionPoolStats(this);
+    }
+
+    /*
+     * CUBRIDConnectionPoolMXBean interface
+     */
+
+    public int getActiveConnections() {
+        return active.get();
+    }
+
+    public int getIdleConnections() {
+        return idle.size();
+    }
+
+    public int getPendingRequests() {
+        return permits == null ? 0 : permits.getQueueLength();
+    }
+
+    public int getTotalConnections() {
+        return total.get();
+    }
+
+    public int getMaxPoolSize() {
+        return maxPoolSize;
+    }
+
+    public long getCreatedConnections() {
+        return created.get();
+    }
+
+    public long getFailedConnections() {
+        return failed.get();
+    }
+
+    public long getCheckoutTimeouts() {
+        return timeouts.get();
+    }
+
+    public long[] getAcquireTimeBounds() {
+        return ACQUIRE_TIME_BOUNDS.clone();
+    }
+
+    public long[] getAcquireTimeHistogram() {
+        long[] histogram = new long[acquireTimes.length()];
+        for (int i = 0; i < histogram.length; i++) {
+            histogram[i] = acquireTimes.get(i);
+        }
+        return histogram;
+    }
+
+    public Map<String, Integer> getHostDistribution() {
+        Map<String, Integer> hosts = new TreeMap<String, Integer>();
+        Iterator<PoolEntry> it = entries.values().iterator();
+        while (it.hasNext()) {
+            String host = it.next().pc.getConnectedHost();
+            if (host == null) {
+                continue;
+            }
+            Integer count = hosts.get(host);
+            hosts.put(host, count == null ? 1 : count + 1);
+        }
+        return hosts;
+    }
+}
@@ -64,7 +64,7 @@ public class CUBRIDConnectionPoolDataSource extends CUBRIDPoolDataSourceBase
         return getPooledConnection(null, null);
     }
 
-    public synchronized PooledConnection getPooledConnection(String username, String passwd)
+    public PooledConnection getPooledConnection(String username, String passwd)
             throws SQLException {
         PooledConnection poolCon;
 
@@ -101,6 +101,26 @@ public class CUBRIDConnectionPoolDataSource extends CUBRIDPoolDataSourceBase
         return poolCon;
     }
 
+    public CUBRIDConnectionPoolStats getPoolStatistics() {
+        return getPoolStatistics(getUser());
+    }
+
+    public CUBRIDConnectionPoolStats getPoolStatistics(String username) {
+        return CUBRIDConnectionPoolManager.getStatistics(this, username);
+    }
+
+    /*
+     * Closes the pool of the user: its idle connections are closed at once and the others when
+     * they are returned. A later getConnection() through a CUBRIDDataSource starts a new pool.
+     */
+    public void closePool() {
+        closePool(getUser());
+    }
+
+    public void closePool(String username) {
+        CUBRIDConnectionPoolManager.closeConnectionPool(this, username);
+    }
+
     /*
      * javax.naming.Referenceable interface
      */
@@ -31,40 +31,40 @@
 
 package cubrid.jdbc.driver;
 
+import java.util.Map;
+
 /**
  * Title: CUBRID JDBC Driver Description:
  *
  * @version 2.0
  */
 
-/** This class implements query timeout feature for CUBRIDStatement, CUBRIDPreparedStatement */
-class CUBRIDCancelQueryThread extends Thread {
+/**
+ * The management interface of a CUBRIDConnectionPool. Every pool registers itself in the platform
+ * MBeanServer as <code>cubrid.jdbc:type=ConnectionPool,name=&lt;url&gt;:&lt;user&gt;</code>.
+ * The acquire time histogram counts the getConnection calls whose wait was below the matching
+ * bound in milliseconds; its last element counts the calls above the largest bound.
+ */
+public interface CUBRIDConnectionPoolMXBean {
+    int getActiveConnections();
+
+    int getIdleConnections();
+
+    int getPendingRequests();
+
+    int getTotalConnections();
+
+    int getMaxPoolSize();
 
-    private int timeout;
+    long getCreatedConnections();
 
-    private CUBRIDStatement stmt;
+    long getFailedConnections();
 
-    private boolean end = false;
+    long getCheckoutTimeouts();
 
-    CUBRIDCancelQueryThread(CUBRIDStatement cancel_stmt, int time) {
-        stmt = cancel_stmt;
-        timeout = time;
-    }
+    long[] getAcquireTimeBounds();
 
-    public void run() {
-        try {
-            Thread.sleep(timeout * 1000);
-            synchronized (this) {
-                if (end == false) {
-                    stmt.cancel();
-                }
-            }
-        } catch (Exception e) {
-        }
-    }
+    long[] getAcquireTimeHistogram();
 
-    synchronized void queryended() {
-        end = true;
-        interrupt();
-    }
+    Map<String, Integer> getHostDistribution();
 }
@@ -39,17 +39,17 @@ import javax.naming.InitialContext;
 import javax.naming.NamingException;
 
 abstract class CUBRIDConnectionPoolManager {
-    private static Hashtable<String, CUBRIDConnectionEventListener> connectionPooltable;
+    private static Hashtable<String, CUBRIDConnectionPool> connectionPooltable;
     private static Hashtable<String, CUBRIDConnectionPoolDataSource> poolDataSourceTable;
 
     static {
-        connectionPooltable = new Hashtable<String, CUBRIDConnectionEventListener>();
+        connectionPooltable = new Hashtable<String, CUBRIDConnectionPool>();
         poolDataSourceTable = new Hashtable<String, CUBRIDConnectionPoolDataSource>();
     }
 
     static Connection getConnection(CUBRIDConnectionPoolDataSource pds, String user, String passwd)
             throws SQLException {
-        CUBRIDConnectionEventListener cp;
+        CUBRIDConnectionPool cp;
 
         String key = pds.getDataSourceID(user);
 
@@ -57,13 +57,28 @@ abstract class CUBRIDConnectionPoolManager {
             cp = connectionPooltable.get(key);
 
             if (cp == null) {
-                cp = addConnectionPool(key, pds);
+                cp = addConnectionPool(key, pds, user, passwd);
             }
         }
 
         return cp.getConnection(user, passwd);
     }
 
+    static CUBRIDConnectionPoolStats getStatistics(
+            CUBRIDConnectionPoolDataSource pds, String user) {
+        CUBRIDConnectionPool cp = connectionPooltable.get(pds.getDataSourceID(user));
+
+        return (cp == null) ? null : cp.getStatistics();
+    }
+
+    static void closeConnectionPool(CUBRIDConnectionPoolDataSource pds, String user) {
+        CUBRIDConnectionPool cp = connectionPooltable.remove(pds.getDataSourceID(user));
+
+        if (cp != null) {
+            cp.close();
+        }
+    }
+
     static CUBRIDConnectionPoolDataSource getConnectionPoolDataSource(String dsName)
             throws SQLException {
         CUBRIDConnectionPoolDataSource cpds;
@@ -86,9 +101,9 @@ abstract class CUBRIDConnectionPoolManager {
         return cpds;
     }
 
-    private static CUBRIDConnectionEventListener addConnectionPool(
-            String key, CUBRIDConnectionPoolDataSource pds) {
-        CUBRIDConnectionEventListener cp = new CUBRIDConnectionEventListener(pds);
+    private static CUBRIDConnectionPool addConnectionPool(
+            String key, CUBRIDConnectionPoolDataSource pds, String user, String passwd) {
+        CUBRIDConnectionPool cp = new CUBRIDConnectionPool(pds, user, passwd);
         connectionPooltable.put(key, cp);
         return cp;
     }
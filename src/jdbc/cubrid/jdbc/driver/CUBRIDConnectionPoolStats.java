@@ -0,0 +1,141 @@
+/*
+ * Copyright (C) 2008 Search Solution Corporation.
+ * Copyright (c) 2016 CUBRID Corporation.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ *
+ * - Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * - Neither the name of the <ORGANIZATION> nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software without
+ *   specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING,
+ * BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA,
+ * OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY
+ * OF SUCH DAMAGE.
+ *
+ */
+
+package cubrid.jdbc.driver;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Title: CUBRID JDBC Driver Description:
+ *
+ * @version 2.0
+ */
+
+/**
+ * A point-in-time copy of the counters of a connection pool, as returned by
+ * CUBRIDConnectionPoolDataSource.getPoolStatistics(). The values are those of
+ * CUBRIDConnectionPoolMXBean, read one after another without stopping the pool.
+ */
+public class CUBRIDConnectionPoolStats implements Serializable {
+    private static final long serialVersionUID = -2630496386823140551L;
+
+    private final long timestamp;
+    private final int activeConnections;
+    private final int idleConnections;
+    private final int pendingRequests;
+    private final int totalConnections;
+    private final int maxPoolSize;
+    private final long createdConnections;
+    private final long failedConnections;
+    private final long checkoutTimeouts;
+    private final long[] acquireTimeBounds;
+    private final long[] acquireTimeHistogram;
+    private final Map<String, Integer> hostDistribution;
+
+    CUBRIDConnectionPoolStats(CUBRIDConnectionPoolMXBean pool) {
+        timestamp = System.currentTimeMillis();
+        activeConnections = pool.getActiveConnections();
+        idleConnections = pool.getIdleConnections();
+        pendingRequests = pool.getPendingRequests();
+        totalConnections = pool.getTotalConnections();
+        maxPoolSize = pool.getMaxPoolSize();
+        createdConnections = pool.getCreatedConnections();
+        failedConnections = pool.getFailedConnections();
+        checkoutTimeouts = pool.getCheckoutTimeouts();
+        acquireTimeBounds = pool.getAcquireTimeBounds();
+        acquireTimeHistogram = pool.getAcquireTimeHistogram();
+        hostDistribution = Collections.unmodifiableMap(pool.getHostDistribution());
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public int getActiveConnections() {
+        return activeConnections;
+    }
+
+    public int getIdleConnections() {
+        return idleConnections;
+    }
+
+    public int getPendingRequests() {
+        return pendingRequests;
+    }
+
+    public int getTotalConnections() {
+        return totalConnections;
+    }
+
+    public int getMaxPoolSize() {
+        return maxPoolSize;
+    }
+
+    public long getCreatedConnections() {
+        return createdConnections;
+    }
+
+    public long getFailedConnections() {
+        return failedConnections;
+    }
+
+    public long getCheckoutTimeouts() {
+        return checkoutTimeouts;
+    }
+
+    public long[] getAcquireTimeBounds() {
+        return acquireTimeBounds.clone();
+    }
+
+    public long[] getAcquireTimeHistogram() {
+        return acquireTimeHistogram.clone();
+    }
+
+    public Map<String, Integer> getHostDistribution() {
+        return hostDistribution;
+    }
+
+    public String toString() {
+        StringBuffer b = new StringBuffer();
+
+        b.append("active=").append(activeConnections);
+        b.append(", idle=").append(idleConnections);
+        b.append(", pending=").append(pendingRequests);
+        b.append(", total=").append(totalConnections);
+        b.append(", created=").append(createdConnections);
+        b.append(", failed=").append(failedConnections);
+        b.append(", timeouts=").append(checkoutTimeouts);
+        b.append(", hosts=").append(hostDistribution);
+        return b.toString();
+    }
+}
@@ -47,10 +47,15 @@ public class CUBRIDConnectionWrapperPooling extends CUBRIDConnection {
      * java.sql.Connection interface
      */
 
-    public synchronized void close() throws SQLException {
-        if (is_closed) return;
+    public void close() throws SQLException {
+        lock.lock();
+        try {
+            if (is_closed) return;
 
-        closeConnection();
-        pcon.notifyConnectionClosed();
+            closeConnection();
+            pcon.notifyConnectionClosed();
+        } finally {
+            lock.unlock();
+        }
     }
 }
@@ -51,67 +51,107 @@ public class CUBRIDConnectionWrapperXA extends CUBRIDConnection {
      * java.sql.Connection interface
      */
 
-    public synchronized void close() throws SQLException {
-        if (is_closed) return;
-
-        this.closeConnection();
-        xacon.notifyConnectionClosed();
+    public void close() throws SQLException {
+        lock.lock();
+        try {
+            if (is_closed) return;
+
+            this.closeConnection();
+            xacon.notifyConnectionClosed();
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized void setAutoCommit(boolean autoCommit) throws SQLException {
-        if (xa_started) {
-            if (autoCommit == true) {
-                throw new CUBRIDException(CUBRIDJDBCErrorCode.xa_illegal_operation);
+    public void setAutoCommit(boolean autoCommit) throws SQLException {
+        lock.lock();
+        try {
+            if (xa_started) {
+                if (autoCommit == true) {
+                    throw new CUBRIDException(CUBRIDJDBCErrorCode.xa_illegal_operation);
+                }
+            } else {
+                super.setAutoCommit(autoCommit);
             }
-        } else {
-            super.setAutoCommit(autoCommit);
+        } finally {
+            lock.unlock();
         }
     }
 
-    public synchronized void commit() throws SQLException {
-        if (xa_started) {
-            throw new CUBRIDException(CUBRIDJDBCErrorCode.xa_illegal_operation);
-        } else {
-            super.commit();
+    public void commit() throws SQLException {
+        lock.lock();
+        try {
+            if (xa_started) {
+                throw new CUBRIDException(CUBRIDJDBCErrorCode.xa_illegal_operation);
+            } else {
+                super.commit();
+            }
+        } finally {
+            lock.unlock();
         }
     }
 
-    public synchronized void rollback() throws SQLException {
-        if (xa_started) {
-            throw new CUBRIDException(CUBRIDJDBCErrorCode.xa_illegal_operation);
-        } else {
-            super.rollback();
+    public void rollback() throws SQLException {
+        lock.lock();
+        try {
+            if (xa_started) {
+                throw new CUBRIDException(CUBRIDJDBCErrorCode.xa_illegal_operation);
+            } else {
+                super.rollback();
+            }
+        } finally {
+            lock.unlock();
         }
     }
 
-    public synchronized void rollback(Savepoint savepoint) throws SQLException {
-        if (xa_started) {
-            throw new CUBRIDException(CUBRIDJDBCErrorCode.xa_illegal_operation);
-        } else {
-            super.rollback(savepoint);
+    public void rollback(Savepoint savepoint) throws SQLException {
+        lock.lock();
+        try {
+            if (xa_started) {
+                throw new CUBRIDException(CUBRIDJDBCErrorCode.xa_illegal_operation);
+            } else {
+                super.rollback(savepoint);
+            }
+        } finally {
+            lock.unlock();
         }
     }
 
-    public synchronized void releaseSavepoint(Savepoint savepoint) throws SQLException {
-        if (xa_started) {
-        } else {
-            super.releaseSavepoint(savepoint);
+    public void releaseSavepoint(Savepoint savepoint) throws SQLException {
+        lock.lock();
+        try {
+            if (xa_started) {
+            } else {
+                super.releaseSavepoint(savepoint);
+            }
+        } finally {
+            lock.unlock();
         }
     }
 
-    public synchronized Savepoint setSavepoint() throws SQLException {
-        if (xa_started) {
-            throw new CUBRIDException(CUBRIDJDBCErrorCode.xa_illegal_operation);
-        } else {
-            return (super.setSavepoint());
+    public Savepoint setSavepoint() throws SQLException {
+        lock.lock();
+        try {
+            if (xa_started) {
+                throw new CUBRIDException(CUBRIDJDBCErrorCode.xa_illegal_operation);
+            } else {
+                return (super.setSavepoint());
+            }
+        } finally {
+            lock.unlock();
         }
     }
 
-    public synchronized Savepoint setSavepoint(String name) throws SQLException {
-        if (xa_started) {
-            throw new CUBRIDException(CUBRIDJDBCErrorCode.xa_illegal_operation);
-        } else {
-            return (super.setSavepoint(name));
+    public Savepoint setSavepoint(String name) throws SQLException {
+        lock.lock();
+        try {
+            if (xa_started) {
+                throw new CUBRIDException(CUBRIDJDBCErrorCode.xa_illegal_operation);
+            } else {
+                return (super.setSavepoint(name));
+            }
+        } finally {
+            lock.unlock();
         }
     }
 
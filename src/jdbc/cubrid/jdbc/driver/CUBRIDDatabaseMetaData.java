@@ -140,9 +140,12 @@ public class CUBRIDDatabaseMetaData implements DatabaseMetaData {
         checkIsOpen();
 
         String ver = null;
-        synchronized (u_con) {
+        u_con.lock();
+        try {
             ver = u_con.getDatabaseProductVersion();
             error = u_con.getRecentError();
+        } finally {
+            u_con.unlock();
         }
 
         switch (error.getErrorCode()) {
@@ -832,7 +835,8 @@ public class CUBRIDDatabaseMetaData implements DatabaseMetaData {
         boolean[] nullable = {true, true, false, false, false};
 
         UStatement us = null;
-        synchronized (u_con) {
+        u_con.lock();
+        try {
             us =
                     u_con.getSchemaInfo(
                             USchType.SCH_CLASS, tableNamePattern, null, (byte) 3, shard_id);
@@ -846,6 +850,8 @@ public class CUBRIDDatabaseMetaData implements DatabaseMetaData {
                 default:
                     throw con.createCUBRIDException(error);
             }
+        } finally {
+            u_con.unlock();
         }
 
         UColumnInfo[] column_info = us.getColumnInfo();
@@ -1054,7 +1060,8 @@ public class CUBRIDDatabaseMetaData implements DatabaseMetaData {
         };
 
         UStatement us = null;
-        synchronized (u_con) {
+        u_con.lock();
+        try {
             int flag = 0;
             if (tableNamePattern == null || containsWildcard(tableNamePattern)) flag |= 1;
             if (columnNamePattern == null || containsWildcard(columnNamePattern)) flag |= 2;
@@ -1075,6 +1082,8 @@ public class CUBRIDDatabaseMetaData implements DatabaseMetaData {
                 default:
                     throw con.createCUBRIDException(error);
             }
+        } finally {
+            u_con.unlock();
         }
 
         UColumnInfo[] column_info = us.getColumnInfo();
@@ -1285,7 +1294,8 @@ public class CUBRIDDatabaseMetaData implements DatabaseMetaData {
                 new CUBRIDResultSetWithoutQuery(8, types, names, nullable, null);
 
         UStatement us = null;
-        synchronized (u_con) {
+        u_con.lock();
+        try {
             us =
                     u_con.getSchemaInfo(
                             USchType.SCH_ATTR_PRIVILEGE,
@@ -1302,6 +1312,8 @@ public class CUBRIDDatabaseMetaData implements DatabaseMetaData {
                 default:
                     throw con.createCUBRIDException(error);
             }
+        } finally {
+            u_con.unlock();
         }
 
         Object[] value = new Object[8];
@@ -1359,7 +1371,8 @@ public class CUBRIDDatabaseMetaData implements DatabaseMetaData {
                 new CUBRIDResultSetWithoutQuery(7, types, names, nullable, null);
 
         UStatement us = null;
-        synchronized (u_con) {
+        u_con.lock();
+        try {
             us =
                     u_con.getSchemaInfo(
                             USchType.SCH_CLASS_PRIVILEGE,
@@ -1377,6 +1390,8 @@ public class CUBRIDDatabaseMetaData implements DatabaseMetaData {
                 default:
                     throw con.createCUBRIDException(error);
             }
+        } finally {
+            u_con.unlock();
         }
 
         Object[] value = new Object[7];
@@ -1436,7 +1451,8 @@ public class CUBRIDDatabaseMetaData implements DatabaseMetaData {
                 new CUBRIDResultSetWithoutQuery(8, types, names, Nullable, null);
 
         UStatement us = null;
-        synchronized (u_con) {
+        u_con.lock();
+        try {
             us = u_con.getSchemaInfo(USchType.SCH_CONSTRAIT, table, null, (byte) 2, shard_id);
             error = u_con.getRecentError();
             switch (error.getErrorCode()) {
@@ -1448,6 +1464,8 @@ public class CUBRIDDatabaseMetaData implements DatabaseMetaData {
                 default:
                     throw con.createCUBRIDException(error);
             }
+        } finally {
+            u_con.unlock();
         }
 
         int i = 0, min = 2100000000, minindex = -1;
@@ -1477,7 +1495,8 @@ public class CUBRIDDatabaseMetaData implements DatabaseMetaData {
         }
 
         UStatement us2 = null;
-        synchronized (u_con) {
+        u_con.lock();
+        try {
             us2 = u_con.getSchemaInfo(USchType.SCH_ATTRIBUTE, table, null, (byte) 2, shard_id);
             error = u_con.getRecentError();
             switch (error.getErrorCode()) {
@@ -1489,6 +1508,8 @@ public class CUBRIDDatabaseMetaData implements DatabaseMetaData {
                 default:
                     throw con.createCUBRIDException(error);
             }
+        } finally {
+            u_con.unlock();
         }
 
         Object[] value = new Object[8];
@@ -1681,7 +1702,8 @@ public class CUBRIDDatabaseMetaData implements DatabaseMetaData {
         boolean[] nullable = {true, true, false, false, false, false};
 
         UStatement us = null;
-        synchronized (u_con) {
+        u_con.lock();
+        try {
             us = u_con.getSchemaInfo(USchType.SCH_PRIMARY_KEY, table, null, (byte) 3, shard_id);
             error = u_con.getRecentError();
             switch (error.getErrorCode()) {
@@ -1693,6 +1715,8 @@ public class CUBRIDDatabaseMetaData implements DatabaseMetaData {
                 default:
                     throw con.createCUBRIDException(error);
             }
+        } finally {
+            u_con.unlock();
         }
 
         CUBRIDResultSetWithoutQuery rs =
@@ -1786,7 +1810,8 @@ public class CUBRIDDatabaseMetaData implements DatabaseMetaData {
         };
 
         UStatement us = null;
-        synchronized (u_con) {
+        u_con.lock();
+        try {
             us = u_con.getSchemaInfo(type, table1, table2, (byte) 3, shard_id);
             error = u_con.getRecentError();
             switch (error.getErrorCode()) {
@@ -1798,6 +1823,8 @@ public class CUBRIDDatabaseMetaData implements DatabaseMetaData {
                 default:
                     throw con.createCUBRIDException(error);
             }
+        } finally {
+            u_con.unlock();
         }
 
         CUBRIDResultSetWithoutQuery rs =
@@ -2400,7 +2427,8 @@ public class CUBRIDDatabaseMetaData implements DatabaseMetaData {
                 new CUBRIDResultSetWithoutQuery(13, types, names, nullable, null);
 
         UStatement us = null;
-        synchronized (u_con) {
+        u_con.lock();
+        try {
             us = u_con.getSchemaInfo(USchType.SCH_CONSTRAIT, table, null, (byte) 2, shard_id);
             error = u_con.getRecentError();
             switch (error.getErrorCode()) {
@@ -2412,6 +2440,8 @@ public class CUBRIDDatabaseMetaData implements DatabaseMetaData {
                 default:
                     throw con.createCUBRIDException(error);
             }
+        } finally {
+            u_con.unlock();
         }
 
         us.moveCursor(0, UStatement.CURSOR_SET);
@@ -2713,7 +2743,8 @@ public class CUBRIDDatabaseMetaData implements DatabaseMetaData {
                 new CUBRIDResultSetWithoutQuery(4, types, names, nullable, null);
 
         UStatement us = null;
-        synchronized (u_con) {
+        u_con.lock();
+        try {
             us =
                     u_con.getSchemaInfo(
                             USchType.SCH_DIRECT_SUPER_CLASS,
@@ -2731,6 +2762,8 @@ public class CUBRIDDatabaseMetaData implements DatabaseMetaData {
                 default:
                     throw con.createCUBRIDException(error);
             }
+        } finally {
+            u_con.unlock();
         }
 
         Object[] value = new Object[4];
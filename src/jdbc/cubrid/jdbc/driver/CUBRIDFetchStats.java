@@ -0,0 +1,136 @@
+/*
+ * Copyright (C) 2008 Search Solution Corporation.
+ * Copyright (c) 2016 CUBRID Corporation.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ *
+ * - Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * - Neither the name of the <ORGANIZATION> nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software without
+ *   specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING,
+ * BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA,
+ * OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY
+ * OF SUCH DAMAGE.
+ *
+ */
+
+package cubrid.jdbc.driver;
+
+import cubrid.jdbc.jci.UFetchSizeController;
+import java.io.Serializable;
+
+/**
+ * Title: CUBRID JDBC Driver Description:
+ *
+ * @version 2.0
+ */
+
+/**
+ * A point-in-time copy of the FETCH counters of a statement, as returned by
+ * CUBRIDResultSet.getFetchStatistics(). With the adaptiveFetchSize connection property the fetch
+ * sizes are those chosen by the driver; otherwise they are 0 and the statement fetches
+ * getFetchSize() rows at a time.
+ */
+public class CUBRIDFetchStats implements Serializable {
+    private static final long serialVersionUID = 4410377526281956702L;
+
+    private final long timestamp;
+    private final boolean adaptive;
+    private final int fetchSize;
+    private final int minFetchSize;
+    private final int maxFetchSize;
+    private final long fetchCount;
+    private final long rowCount;
+    private final long byteCount;
+    private final long averageRowSize;
+    private final long lastFetchMillis;
+    private final long averageFetchMillis;
+
+    CUBRIDFetchStats(UFetchSizeController controller) {
+        timestamp = System.currentTimeMillis();
+        adaptive = controller.isAdaptive();
+        fetchSize = controller.getFetchSize();
+        minFetchSize = controller.getMinFetchSize();
+        maxFetchSize = controller.getMaxFetchSize();
+        fetchCount = controller.getFetchCount();
+        rowCount = controller.getRowCount();
+        byteCount = controller.getByteCount();
+        averageRowSize = controller.getAverageRowSize();
+        lastFetchMillis = controller.getLastFetchMillis();
+        averageFetchMillis = controller.getAverageFetchMillis();
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public boolean isAdaptive() {
+        return adaptive;
+    }
+
+    public int getFetchSize() {
+        return fetchSize;
+    }
+
+    public int getMinFetchSize() {
+        return minFetchSize;
+    }
+
+    public int getMaxFetchSize() {
+        return maxFetchSize;
+    }
+
+    public long getFetchCount() {
+        return fetchCount;
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    public long getByteCount() {
+        return byteCount;
+    }
+
+    public long getAverageRowSize() {
+        return averageRowSize;
+    }
+
+    public long getLastFetchMillis() {
+        return lastFetchMillis;
+    }
+
+    public long getAverageFetchMillis() {
+        return averageFetchMillis;
+    }
+
+    public String toString() {
+        StringBuffer b = new StringBuffer();
+
+        b.append("adaptive=").append(adaptive);
+        b.append(", fetchSize=").append(fetchSize);
+        b.append(", min=").append(minFetchSize);
+        b.append(", max=").append(maxFetchSize);
+        b.append(", fetches=").append(fetchCount);
+        b.append(", rows=").append(rowCount);
+        b.append(", bytes=").append(byteCount);
+        b.append(", rowSize=").append(averageRowSize);
+        b.append(", fetchMillis=").append(averageFetchMillis);
+        return b.toString();
+    }
+}
@@ -84,6 +84,7 @@ public class CUBRIDJDBCErrorCode {
     public static int request_timeout = -21141;
     public static int invalid_prop_file = -21142;
     public static int file_not_found_prop = -21143;
+    public static int pool_checkout_timeout = -21144;
 
     private static Hashtable<Integer, String> messageString;
 
@@ -173,6 +174,9 @@ public class CUBRIDJDBCErrorCode {
         messageString.put(new Integer(request_timeout), "Request timed out.");
         messageString.put(new Integer(invalid_prop_file), "Invalid file - ");
         messageString.put(new Integer(file_not_found_prop), "File not found - ");
+        messageString.put(
+                new Integer(pool_checkout_timeout),
+                "Timed out waiting for a connection from the pool.");
     }
 
     public static String getMessage(int code) {
@@ -41,6 +41,8 @@ public class CUBRIDPoolDataSourceBase extends CUBRIDDataSourceBase {
     private int maxPoolSize;
     private int maxIdleTime;
     private int propertyCycle;
+    private int maxConnectionAge;
+    private int checkoutTimeout;
 
     protected CUBRIDPoolDataSourceBase() {
         super();
@@ -51,6 +53,8 @@ public class CUBRIDPoolDataSourceBase extends CUBRIDDataSourceBase {
         maxPoolSize = 0;
         maxIdleTime = 0;
         propertyCycle = 0;
+        maxConnectionAge = 0;
+        checkoutTimeout = 0;
     }
 
     public int getMaxStatements() {
@@ -77,6 +81,14 @@ public class CUBRIDPoolDataSourceBase extends CUBRIDDataSourceBase {
         return propertyCycle;
     }
 
+    public int getMaxConnectionAge() {
+        return maxConnectionAge;
+    }
+
+    public int getCheckoutTimeout() {
+        return checkoutTimeout;
+    }
+
     public void setMaxStatements(int no) {
         maxStatements = no;
     }
@@ -101,6 +113,14 @@ public class CUBRIDPoolDataSourceBase extends CUBRIDDataSourceBase {
         propertyCycle = interval;
     }
 
+    public void setMaxConnectionAge(int interval) {
+        maxConnectionAge = interval;
+    }
+
+    public void setCheckoutTimeout(int timeout) {
+        checkoutTimeout = timeout;
+    }
+
     protected Reference getProperties(Reference ref) {
         ref = super.getProperties(ref);
 
@@ -110,6 +130,8 @@ public class CUBRIDPoolDataSourceBase extends CUBRIDDataSourceBase {
         ref.add(new StringRefAddr("maxPoolSize", Integer.toString(getMaxPoolSize())));
         ref.add(new StringRefAddr("maxIdleTime", Integer.toString(getMaxIdleTime())));
         ref.add(new StringRefAddr("propertyCycle", Integer.toString(getPropertyCycle())));
+        ref.add(new StringRefAddr("maxConnectionAge", Integer.toString(getMaxConnectionAge())));
+        ref.add(new StringRefAddr("checkoutTimeout", Integer.toString(getCheckoutTimeout())));
 
         return ref;
     }
@@ -123,5 +145,12 @@ public class CUBRIDPoolDataSourceBase extends CUBRIDDataSourceBase {
         setMaxPoolSize(Integer.parseInt((String) ref.get("maxPoolSize").getContent()));
         setMaxIdleTime(Integer.parseInt((String) ref.get("maxIdleTime").getContent()));
         setPropertyCycle(Integer.parseInt((String) ref.get("propertyCycle").getContent()));
+        if (ref.get("maxConnectionAge") != null) {
+            setMaxConnectionAge(
+                    Integer.parseInt((String) ref.get("maxConnectionAge").getContent()));
+        }
+        if (ref.get("checkoutTimeout") != null) {
+            setCheckoutTimeout(Integer.parseInt((String) ref.get("checkoutTimeout").getContent()));
+        }
     }
 }
@@ -73,7 +73,11 @@ public class CUBRIDPooledConnection implements PooledConnection {
      * javax.sql.PooledConnection interface
      */
 
-    public synchronized Connection getConnection() throws SQLException {
+    public Connection getConnection() throws SQLException {
+        return getConnection(true);
+    }
+
+    synchronized Connection getConnection(boolean validate) throws SQLException {
         if (isClosed) {
             throw new CUBRIDException(CUBRIDJDBCErrorCode.pooled_connection_closed);
         }
@@ -86,7 +90,7 @@ public class CUBRIDPooledConnection implements PooledConnection {
             u_con = storedConnection.getUConnection();
         }
 
-        if (u_con.check_cas() == false) {
+        if (validate && u_con.check_cas() == false) {
             u_con.resetConnection();
         }
 
@@ -94,6 +98,34 @@ public class CUBRIDPooledConnection implements PooledConnection {
         return cubConnection;
     }
 
+    synchronized boolean validate() {
+        if (isClosed) {
+            return false;
+        }
+
+        if (u_con == null && storedConnection != null) {
+            try {
+                u_con = storedConnection.getUConnection();
+            } catch (SQLException e) {
+                return false;
+            }
+        }
+
+        return u_con.check_cas();
+    }
+
+    String getConnectedHost() {
+        UConnection con = u_con;
+        if (con == null && storedConnection != null) {
+            con = storedConnection.u_con;
+        }
+
+        if (con == null) {
+            return null;
+        }
+        return con.getCasIp() + ":" + con.casPort;
+    }
+
     public synchronized void close() throws SQLException {
         if (isClosed) {
             return;
@@ -129,6 +161,9 @@ public class CUBRIDPooledConnection implements PooledConnection {
 
     synchronized void notifyConnectionClosed() {
         cubConnection = null;
+        if (u_con != null) {
+            u_con.trimResponseBuffer();
+        }
         ConnectionEvent e = new ConnectionEvent(this);
 
         for (int i = 0; i < eventListeners.size(); i++) {
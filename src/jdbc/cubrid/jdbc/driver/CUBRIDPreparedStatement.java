@@ -88,37 +88,38 @@ public class CUBRIDPreparedStatement extends CUBRIDStatement implements Prepared
 
     public ResultSet executeQuery() throws SQLException {
         try {
-            synchronized (con) {
-                synchronized (this) {
-                    long begin = 0;
+            lock.lock();
+            try {
+                long begin = 0;
 
-                    setShardId(UShardInfo.SHARD_ID_INVALID);
+                setShardId(UShardInfo.SHARD_ID_INVALID);
 
-                    u_con.setBeginTime();
-                    if (u_con.getLogSlowQuery()) {
-                        begin = System.currentTimeMillis();
-                    }
+                u_con.setBeginTime();
+                if (u_con.getLogSlowQuery()) {
+                    begin = System.currentTimeMillis();
+                }
 
-                    checkIsOpen();
-                    if (!completed) {
-                        complete();
-                    }
-                    checkIsOpen();
-                    if ((!first_result_type)
-                            && (u_stmt.getCommandType() != CUBRIDCommandType.CUBRID_STMT_CALL_SP)) {
-                        throw con.createCUBRIDException(
-                                CUBRIDJDBCErrorCode.invalid_query_type_for_executeQuery, null);
-                    }
-                    executeCore(false);
-                    getMoreResults();
-                    if (current_result_set != null) current_result_set.complete_on_close = true;
-                    if (u_con.getLogSlowQuery()) {
-                        long end = System.currentTimeMillis();
-                        u_con.logSlowQuery(
-                                begin, end, u_stmt.getQuery(), u_stmt.getBindParameter());
-                    }
-                    return current_result_set;
+                checkIsOpen();
+                if (!completed) {
+                    complete();
                 }
+                checkIsOpen();
+                if ((!first_result_type)
+                        && (u_stmt.getCommandType() != CUBRIDCommandType.CUBRID_STMT_CALL_SP)) {
+                    throw con.createCUBRIDException(
+                            CUBRIDJDBCErrorCode.invalid_query_type_for_executeQuery, null);
+                }
+                executeCore(false);
+                getMoreResults();
+                if (current_result_set != null) current_result_set.complete_on_close = true;
+                if (u_con.getLogSlowQuery()) {
+                    long end = System.currentTimeMillis();
+                    u_con.logSlowQuery(
+                            begin, end, u_stmt.getQuery(), u_stmt.getBindParameter());
+                }
+                return current_result_set;
+            } finally {
+                lock.unlock();
             }
         } catch (NullPointerException e) {
             throw new CUBRIDException(CUBRIDJDBCErrorCode.prepared_statement_closed);
@@ -127,216 +128,393 @@ public class CUBRIDPreparedStatement extends CUBRIDStatement implements Prepared
 
     public int executeUpdate() throws SQLException {
         try {
-            synchronized (con) {
-                synchronized (this) {
-                    long begin = 0;
+            lock.lock();
+            try {
+                long begin = 0;
 
-                    setShardId(UShardInfo.SHARD_ID_INVALID);
+                setShardId(UShardInfo.SHARD_ID_INVALID);
 
-                    u_con.setBeginTime();
-                    if (u_con.getLogSlowQuery()) {
-                        begin = System.currentTimeMillis();
-                    }
+                u_con.setBeginTime();
+                if (u_con.getLogSlowQuery()) {
+                    begin = System.currentTimeMillis();
+                }
 
-                    checkIsOpen();
-                    if (!completed) {
-                        complete();
-                    }
-                    checkIsOpen();
-                    if (first_result_type) {
-                        throw con.createCUBRIDException(
-                                CUBRIDJDBCErrorCode.invalid_query_type_for_executeUpdate, null);
-                    }
-                    executeCore(false);
-                    getMoreResults();
-                    if (autoGeneratedKeys == Statement.RETURN_GENERATED_KEYS
-                            && u_stmt.getCommandType() == CUBRIDCommandType.CUBRID_STMT_INSERT)
-                        MakeAutoGeneratedKeysResultSet();
+                checkIsOpen();
+                if (!completed) {
+                    complete();
+                }
+                checkIsOpen();
+                if (first_result_type) {
+                    throw con.createCUBRIDException(
+                            CUBRIDJDBCErrorCode.invalid_query_type_for_executeUpdate, null);
+                }
+                executeCore(false);
+                getMoreResults();
+                if (autoGeneratedKeys == Statement.RETURN_GENERATED_KEYS
+                        && u_stmt.getCommandType() == CUBRIDCommandType.CUBRID_STMT_INSERT)
+                    MakeAutoGeneratedKeysResultSet();
 
-                    if (u_stmt.getCommandType() != CUBRIDCommandType.CUBRID_STMT_CALL_SP) {
-                        complete();
-                    }
-                    if (u_con.getLogSlowQuery()) {
-                        long end = System.currentTimeMillis();
-                        u_con.logSlowQuery(
-                                begin, end, u_stmt.getQuery(), u_stmt.getBindParameter());
-                    }
-                    return update_count;
+                if (u_stmt.getCommandType() != CUBRIDCommandType.CUBRID_STMT_CALL_SP) {
+                    complete();
+                }
+                if (u_con.getLogSlowQuery()) {
+                    long end = System.currentTimeMillis();
+                    u_con.logSlowQuery(
+                            begin, end, u_stmt.getQuery(), u_stmt.getBindParameter());
                 }
+                return update_count;
+            } finally {
+                lock.unlock();
             }
         } catch (NullPointerException e) {
             throw new CUBRIDException(CUBRIDJDBCErrorCode.prepared_statement_closed);
         }
     }
 
-    public synchronized void setNull(int parameterIndex, int sqlType) throws SQLException {
-        checkIsOpen();
-        synchronized (u_stmt) {
-            u_stmt.bindNull(parameterIndex - 1);
-            error = u_stmt.getRecentError();
+    /*
+     * The steps of executeUpdate() before and after the request, for
+     * CUBRIDConnection.executePipelined() which sends the requests of several statements at once.
+     */
+    UStatement beginPipelinedUpdate() throws SQLException {
+        lock.lock();
+        try {
+            setShardId(UShardInfo.SHARD_ID_INVALID);
+
+            checkIsOpen();
+            if (!completed) {
+                complete();
+            }
+            checkIsOpen();
+            if (first_result_type) {
+                throw con.createCUBRIDException(
+                        CUBRIDJDBCErrorCode.invalid_query_type_for_executeUpdate, null);
+            }
+
+            completed = false;
+            setCurrentTransaction(true);
+            return u_stmt;
+        } finally {
+            lock.unlock();
         }
-        checkBindError();
     }
 
-    public synchronized void setBoolean(int parameterIndex, boolean x) throws SQLException {
-        checkIsOpen();
-        synchronized (u_stmt) {
-            u_stmt.bind(parameterIndex - 1, x);
+    int endPipelinedUpdate() throws SQLException {
+        lock.lock();
+        try {
+            setShardId(u_con.getShardId());
             error = u_stmt.getRecentError();
+            checkExecuteError();
+
+            readExecuteResult();
+            getMoreResults();
+            if (u_stmt.getCommandType() != CUBRIDCommandType.CUBRID_STMT_CALL_SP) {
+                complete();
+            }
+            return update_count;
+        } finally {
+            lock.unlock();
         }
-        checkBindError();
     }
 
-    public synchronized void setByte(int parameterIndex, byte x) throws SQLException {
-        checkIsOpen();
-        synchronized (u_stmt) {
-            u_stmt.bind(parameterIndex - 1, x);
-            error = u_stmt.getRecentError();
+    public void setNull(int parameterIndex, int sqlType) throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+            u_stmt.lock();
+            try {
+                u_stmt.bindNull(parameterIndex - 1);
+                error = u_stmt.getRecentError();
+            } finally {
+                u_stmt.unlock();
+            }
+            checkBindError();
+        } finally {
+            lock.unlock();
         }
-        checkBindError();
     }
 
-    public synchronized void setShort(int parameterIndex, short x) throws SQLException {
-        checkIsOpen();
-        synchronized (u_stmt) {
-            u_stmt.bind(parameterIndex - 1, x);
-            error = u_stmt.getRecentError();
+    public void setBoolean(int parameterIndex, boolean x) throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+            u_stmt.lock();
+            try {
+                u_stmt.bind(parameterIndex - 1, x);
+                error = u_stmt.getRecentError();
+            } finally {
+                u_stmt.unlock();
+            }
+            checkBindError();
+        } finally {
+            lock.unlock();
         }
-        checkBindError();
     }
 
-    public synchronized void setInt(int parameterIndex, int x) throws SQLException {
-        checkIsOpen();
-        synchronized (u_stmt) {
-            u_stmt.bind(parameterIndex - 1, x);
-            error = u_stmt.getRecentError();
+    public void setByte(int parameterIndex, byte x) throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+            u_stmt.lock();
+            try {
+                u_stmt.bind(parameterIndex - 1, x);
+                error = u_stmt.getRecentError();
+            } finally {
+                u_stmt.unlock();
+            }
+            checkBindError();
+        } finally {
+            lock.unlock();
         }
-        checkBindError();
     }
 
-    public synchronized void setLong(int parameterIndex, long x) throws SQLException {
-        checkIsOpen();
-        synchronized (u_stmt) {
-            u_stmt.bind(parameterIndex - 1, x);
-            error = u_stmt.getRecentError();
+    public void setShort(int parameterIndex, short x) throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+            u_stmt.lock();
+            try {
+                u_stmt.bind(parameterIndex - 1, x);
+                error = u_stmt.getRecentError();
+            } finally {
+                u_stmt.unlock();
+            }
+            checkBindError();
+        } finally {
+            lock.unlock();
         }
-        checkBindError();
     }
 
-    public synchronized void setFloat(int parameterIndex, float x) throws SQLException {
-        checkIsOpen();
-        synchronized (u_stmt) {
-            u_stmt.bind(parameterIndex - 1, x);
-            error = u_stmt.getRecentError();
+    public void setInt(int parameterIndex, int x) throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+            u_stmt.lock();
+            try {
+                u_stmt.bind(parameterIndex - 1, x);
+                error = u_stmt.getRecentError();
+            } finally {
+                u_stmt.unlock();
+            }
+            checkBindError();
+        } finally {
+            lock.unlock();
         }
-        checkBindError();
     }
 
-    public synchronized void setDouble(int parameterIndex, double x) throws SQLException {
-        checkIsOpen();
-        synchronized (u_stmt) {
-            u_stmt.bind(parameterIndex - 1, x);
-            error = u_stmt.getRecentError();
+    public void setLong(int parameterIndex, long x) throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+            u_stmt.lock();
+            try {
+                u_stmt.bind(parameterIndex - 1, x);
+                error = u_stmt.getRecentError();
+            } finally {
+                u_stmt.unlock();
+            }
+            checkBindError();
+        } finally {
+            lock.unlock();
         }
-        checkBindError();
     }
 
-    public synchronized void setBigDecimal(int parameterIndex, BigDecimal x) throws SQLException {
-        checkIsOpen();
-        synchronized (u_stmt) {
-            u_stmt.bind(parameterIndex - 1, x);
-            error = u_stmt.getRecentError();
+    public void setFloat(int parameterIndex, float x) throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+            u_stmt.lock();
+            try {
+                u_stmt.bind(parameterIndex - 1, x);
+                error = u_stmt.getRecentError();
+            } finally {
+                u_stmt.unlock();
+            }
+            checkBindError();
+        } finally {
+            lock.unlock();
         }
-        checkBindError();
     }
 
-    public synchronized void setString(int parameterIndex, String x) throws SQLException {
-        checkIsOpen();
-        synchronized (u_stmt) {
-            u_stmt.bind(parameterIndex - 1, x);
-            error = u_stmt.getRecentError();
+    public void setDouble(int parameterIndex, double x) throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+            u_stmt.lock();
+            try {
+                u_stmt.bind(parameterIndex - 1, x);
+                error = u_stmt.getRecentError();
+            } finally {
+                u_stmt.unlock();
+            }
+            checkBindError();
+        } finally {
+            lock.unlock();
         }
-        checkBindError();
     }
 
-    public synchronized void setBytes(int parameterIndex, byte[] x) throws SQLException {
-        checkIsOpen();
-        synchronized (u_stmt) {
-            u_stmt.bind(parameterIndex - 1, x);
-            error = u_stmt.getRecentError();
+    public void setBigDecimal(int parameterIndex, BigDecimal x) throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+            u_stmt.lock();
+            try {
+                u_stmt.bind(parameterIndex - 1, x);
+                error = u_stmt.getRecentError();
+            } finally {
+                u_stmt.unlock();
+            }
+            checkBindError();
+        } finally {
+            lock.unlock();
         }
-        checkBindError();
     }
 
-    public synchronized void setDate(int parameterIndex, Date x) throws SQLException {
-        checkIsOpen();
-        synchronized (u_stmt) {
-            u_stmt.bind(parameterIndex - 1, x);
-            error = u_stmt.getRecentError();
+    public void setString(int parameterIndex, String x) throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+            u_stmt.lock();
+            try {
+                u_stmt.bind(parameterIndex - 1, x);
+                error = u_stmt.getRecentError();
+            } finally {
+                u_stmt.unlock();
+            }
+            checkBindError();
+        } finally {
+            lock.unlock();
         }
-        checkBindError();
     }
 
-    public synchronized void setTime(int parameterIndex, Time x) throws SQLException {
-        checkIsOpen();
-        synchronized (u_stmt) {
-            u_stmt.bind(parameterIndex - 1, x);
-            error = u_stmt.getRecentError();
+    public void setBytes(int parameterIndex, byte[] x) throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+            u_stmt.lock();
+            try {
+                u_stmt.bind(parameterIndex - 1, x);
+                error = u_stmt.getRecentError();
+            } finally {
+                u_stmt.unlock();
+            }
+            checkBindError();
+        } finally {
+            lock.unlock();
         }
-        checkBindError();
     }
 
-    public synchronized void setTimestamp(int parameterIndex, Timestamp x) throws SQLException {
-        checkIsOpen();
-        synchronized (u_stmt) {
-            u_stmt.bind(parameterIndex - 1, x);
-            error = u_stmt.getRecentError();
+    public void setDate(int parameterIndex, Date x) throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+            u_stmt.lock();
+            try {
+                u_stmt.bind(parameterIndex - 1, x);
+                error = u_stmt.getRecentError();
+            } finally {
+                u_stmt.unlock();
+            }
+            checkBindError();
+        } finally {
+            lock.unlock();
         }
-        checkBindError();
     }
 
-    public synchronized void setTimestamptz(int parameterIndex, CUBRIDTimestamptz x)
-            throws SQLException {
-        checkIsOpen();
-        synchronized (u_stmt) {
-            u_stmt.bind(parameterIndex - 1, x);
-            error = u_stmt.getRecentError();
+    public void setTime(int parameterIndex, Time x) throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+            u_stmt.lock();
+            try {
+                u_stmt.bind(parameterIndex - 1, x);
+                error = u_stmt.getRecentError();
+            } finally {
+                u_stmt.unlock();
+            }
+            checkBindError();
+        } finally {
+            lock.unlock();
         }
-        checkBindError();
     }
 
-    public synchronized void setAsciiStream(int parameterIndex, InputStream x, int length)
-            throws SQLException {
-        checkIsOpen();
-
-        if (x == null) {
-            synchronized (u_stmt) {
+    public void setTimestamp(int parameterIndex, Timestamp x) throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+            u_stmt.lock();
+            try {
                 u_stmt.bind(parameterIndex - 1, x);
                 error = u_stmt.getRecentError();
+            } finally {
+                u_stmt.unlock();
             }
             checkBindError();
-            return;
+        } finally {
+            lock.unlock();
         }
+    }
 
-        if (length < 0) {
-            throw new IllegalArgumentException();
+    public void setTimestamptz(int parameterIndex, CUBRIDTimestamptz x)
+            throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+            u_stmt.lock();
+            try {
+                u_stmt.bind(parameterIndex - 1, x);
+                error = u_stmt.getRecentError();
+            } finally {
+                u_stmt.unlock();
+            }
+            checkBindError();
+        } finally {
+            lock.unlock();
         }
+    }
 
-        byte[] value = new byte[length];
-        int len = 0;
-
+    public void setAsciiStream(int parameterIndex, InputStream x, int length)
+            throws SQLException {
+        lock.lock();
         try {
-            len = x.read(value);
-        } catch (IOException e) {
-            throw con.createCUBRIDException(CUBRIDJDBCErrorCode.ioexception_in_stream, e);
-        }
+            checkIsOpen();
 
-        synchronized (u_stmt) {
-            u_stmt.bind(parameterIndex - 1, new String(value, 0, len));
-            error = u_stmt.getRecentError();
-        }
+            if (x == null) {
+                u_stmt.lock();
+                try {
+                    u_stmt.bind(parameterIndex - 1, x);
+                    error = u_stmt.getRecentError();
+                } finally {
+                    u_stmt.unlock();
+                }
+                checkBindError();
+                return;
+            }
 
-        checkBindError();
+            if (length < 0) {
+                throw new IllegalArgumentException();
+            }
+
+            byte[] value = new byte[length];
+            int len = 0;
+
+            try {
+                len = x.read(value);
+            } catch (IOException e) {
+                throw con.createCUBRIDException(CUBRIDJDBCErrorCode.ioexception_in_stream, e);
+            }
+
+            u_stmt.lock();
+            try {
+                u_stmt.bind(parameterIndex - 1, new String(value, 0, len));
+                error = u_stmt.getRecentError();
+            } finally {
+                u_stmt.unlock();
+            }
+
+            checkBindError();
+        } finally {
+            lock.unlock();
+        }
     }
 
     public void setUnicodeStream(int parameterIndex, InputStream x, int length)
@@ -344,229 +522,290 @@ public class CUBRIDPreparedStatement extends CUBRIDStatement implements Prepared
         throw new SQLException(new UnsupportedOperationException());
     }
 
-    public synchronized void setBinaryStream(int parameterIndex, InputStream x, int length)
+    public void setBinaryStream(int parameterIndex, InputStream x, int length)
             throws SQLException {
-        checkIsOpen();
+        lock.lock();
+        try {
+            checkIsOpen();
 
-        if (x == null) {
-            synchronized (u_stmt) {
-                u_stmt.bind(parameterIndex - 1, x);
-                error = u_stmt.getRecentError();
+            if (x == null) {
+                u_stmt.lock();
+                try {
+                    u_stmt.bind(parameterIndex - 1, x);
+                    error = u_stmt.getRecentError();
+                } finally {
+                    u_stmt.unlock();
+                }
+                checkBindError();
+                return;
             }
-            checkBindError();
-            return;
-        }
 
-        if (length < 0) {
-            throw new IllegalArgumentException();
-        }
+            if (length < 0) {
+                throw new IllegalArgumentException();
+            }
 
-        byte[] value = new byte[length];
-        int len = 0;
+            byte[] value = new byte[length];
+            int len = 0;
 
-        try {
-            len = x.read(value);
-        } catch (IOException e) {
-            throw con.createCUBRIDException(CUBRIDJDBCErrorCode.ioexception_in_stream, e);
-        }
+            try {
+                len = x.read(value);
+            } catch (IOException e) {
+                throw con.createCUBRIDException(CUBRIDJDBCErrorCode.ioexception_in_stream, e);
+            }
 
-        byte[] value2 = new byte[len];
-        for (int i = 0; i < len; i++) {
-            value2[i] = value[i];
-        }
+            byte[] value2 = new byte[len];
+            for (int i = 0; i < len; i++) {
+                value2[i] = value[i];
+            }
 
-        synchronized (u_stmt) {
-            u_stmt.bind(parameterIndex - 1, value2);
-            error = u_stmt.getRecentError();
-        }
+            u_stmt.lock();
+            try {
+                u_stmt.bind(parameterIndex - 1, value2);
+                error = u_stmt.getRecentError();
+            } finally {
+                u_stmt.unlock();
+            }
 
-        checkBindError();
+            checkBindError();
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized void clearParameters() throws SQLException {
-        checkIsOpen();
+    public void clearParameters() throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
 
-        synchronized (u_stmt) {
-            u_stmt.clearBind();
-            error = u_stmt.getRecentError();
-        }
+            u_stmt.lock();
+            try {
+                u_stmt.clearBind();
+                error = u_stmt.getRecentError();
+            } finally {
+                u_stmt.unlock();
+            }
 
-        switch (error.getErrorCode()) {
-            case UErrorCode.ER_NO_ERROR:
-                break;
-            default:
-                throw con.createCUBRIDException(error);
+            switch (error.getErrorCode()) {
+                case UErrorCode.ER_NO_ERROR:
+                    break;
+                default:
+                    throw con.createCUBRIDException(error);
+            }
+        } finally {
+            lock.unlock();
         }
     }
 
-    public synchronized void setObject(int parameterIndex, Object x, int targetSqlType, int scale)
+    public void setObject(int parameterIndex, Object x, int targetSqlType, int scale)
             throws SQLException {
-        if (x instanceof Blob) {
-            setBlob(parameterIndex, (Blob) x);
-            return;
-        } else if (x instanceof Clob) {
-            setClob(parameterIndex, (Clob) x);
-            return;
-        }
-
-        checkIsOpen();
+        lock.lock();
+        try {
+            if (x instanceof Blob) {
+                setBlob(parameterIndex, (Blob) x);
+                return;
+            } else if (x instanceof Clob) {
+                setClob(parameterIndex, (Clob) x);
+                return;
+            }
 
-        synchronized (u_stmt) {
-            if (x != null
-                    && (targetSqlType == java.sql.Types.NUMERIC
-                            || targetSqlType == java.sql.Types.DECIMAL)) {
-                Number n = null;
-                try {
-                    n = (Number) x;
-                } catch (Exception e) {
+            checkIsOpen();
+
+            u_stmt.lock();
+            try {
+                if (x != null
+                        && (targetSqlType == java.sql.Types.NUMERIC
+                                || targetSqlType == java.sql.Types.DECIMAL)) {
+                    Number n = null;
+                    try {
+                        n = (Number) x;
+                    } catch (Exception e) {
+                        u_stmt.bind(parameterIndex - 1, x);
+                    }
+                    if (n != null) {
+                        u_stmt.bind(
+                                parameterIndex - 1, new BigDecimal(n.toString()).setScale(scale));
+                    }
+                } else {
                     u_stmt.bind(parameterIndex - 1, x);
                 }
-                if (n != null) {
-                    u_stmt.bind(parameterIndex - 1, new BigDecimal(n.toString()).setScale(scale));
-                }
-            } else {
-                u_stmt.bind(parameterIndex - 1, x);
+
+                error = u_stmt.getRecentError();
+            } finally {
+                u_stmt.unlock();
             }
 
-            error = u_stmt.getRecentError();
+            checkBindError();
+        } finally {
+            lock.unlock();
         }
-
-        checkBindError();
     }
 
-    public synchronized void setObject(int parameterIndex, Object x, int targetSqlType)
+    public void setObject(int parameterIndex, Object x, int targetSqlType)
             throws SQLException {
-        checkIsOpen();
+        lock.lock();
+        try {
+            checkIsOpen();
 
-        setObject(parameterIndex, x);
+            setObject(parameterIndex, x);
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized void setObject(int parameterIndex, Object x) throws SQLException {
-        if (x instanceof Blob) {
-            setBlob(parameterIndex, (Blob) x);
-            return;
-        } else if (x instanceof Clob) {
-            setClob(parameterIndex, (Clob) x);
-            return;
-        }
+    public void setObject(int parameterIndex, Object x) throws SQLException {
+        lock.lock();
+        try {
+            if (x instanceof Blob) {
+                setBlob(parameterIndex, (Blob) x);
+                return;
+            } else if (x instanceof Clob) {
+                setClob(parameterIndex, (Clob) x);
+                return;
+            }
 
-        checkIsOpen();
-        synchronized (u_stmt) {
-            u_stmt.bind(parameterIndex - 1, x);
-            error = u_stmt.getRecentError();
+            checkIsOpen();
+            u_stmt.lock();
+            try {
+                u_stmt.bind(parameterIndex - 1, x);
+                error = u_stmt.getRecentError();
+            } finally {
+                u_stmt.unlock();
+            }
+            checkBindError();
+        } finally {
+            lock.unlock();
         }
-        checkBindError();
     }
 
     public boolean execute() throws SQLException {
         try {
-            synchronized (con) {
-                synchronized (this) {
-                    long begin = 0;
-
-                    setShardId(UShardInfo.SHARD_ID_INVALID);
+            lock.lock();
+            try {
+                long begin = 0;
 
-                    u_con.setBeginTime();
-                    if (u_con.getLogSlowQuery()) {
-                        begin = System.currentTimeMillis();
-                    }
+                setShardId(UShardInfo.SHARD_ID_INVALID);
 
-                    checkIsOpen();
-                    if (!completed) {
-                        complete();
-                    }
-                    checkIsOpen();
+                u_con.setBeginTime();
+                if (u_con.getLogSlowQuery()) {
+                    begin = System.currentTimeMillis();
+                }
 
-                    if (autoGeneratedKeys == Statement.RETURN_GENERATED_KEYS
-                            && u_stmt.getCommandType() == CUBRIDCommandType.CUBRID_STMT_INSERT) {
-                        u_stmt.setAutoGeneratedKeys(true);
-                    }
+                checkIsOpen();
+                if (!completed) {
+                    complete();
+                }
+                checkIsOpen();
 
-                    executeCore(true);
-                    getMoreResults();
-                    if (autoGeneratedKeys == Statement.RETURN_GENERATED_KEYS
-                            && u_stmt.getCommandType() == CUBRIDCommandType.CUBRID_STMT_INSERT) {
-                        MakeAutoGeneratedKeysResultSet();
-                    }
+                if (autoGeneratedKeys == Statement.RETURN_GENERATED_KEYS
+                        && u_stmt.getCommandType() == CUBRIDCommandType.CUBRID_STMT_INSERT) {
+                    u_stmt.setAutoGeneratedKeys(true);
+                }
 
-                    if (u_stmt.getNumQueriesExecuted() == 1) {
-                        if (current_result_set != null) {
-                            current_result_set.complete_on_close = true;
-                        }
+                executeCore(true);
+                getMoreResults();
+                if (autoGeneratedKeys == Statement.RETURN_GENERATED_KEYS
+                        && u_stmt.getCommandType() == CUBRIDCommandType.CUBRID_STMT_INSERT) {
+                    MakeAutoGeneratedKeysResultSet();
+                }
 
-                        int cmdType = u_stmt.getCommandType();
-                        if (cmdType != CUBRIDCommandType.CUBRID_STMT_CALL_SP
-                                && cmdType != CUBRIDCommandType.CUBRID_STMT_SELECT) {
-                            complete();
-                        }
+                if (u_stmt.getNumQueriesExecuted() == 1) {
+                    if (current_result_set != null) {
+                        current_result_set.complete_on_close = true;
                     }
 
-                    if (u_con.getLogSlowQuery()) {
-                        long end = System.currentTimeMillis();
-                        u_con.logSlowQuery(
-                                begin, end, u_stmt.getQuery(), u_stmt.getBindParameter());
+                    int cmdType = u_stmt.getCommandType();
+                    if (cmdType != CUBRIDCommandType.CUBRID_STMT_CALL_SP
+                            && cmdType != CUBRIDCommandType.CUBRID_STMT_SELECT) {
+                        complete();
                     }
-                    return first_result_type;
                 }
+
+                if (u_con.getLogSlowQuery()) {
+                    long end = System.currentTimeMillis();
+                    u_con.logSlowQuery(
+                            begin, end, u_stmt.getQuery(), u_stmt.getBindParameter());
+                }
+                return first_result_type;
+            } finally {
+                lock.unlock();
             }
         } catch (NullPointerException e) {
             throw new CUBRIDException(CUBRIDJDBCErrorCode.prepared_statement_closed);
         }
     }
 
-    public synchronized void addBatch() throws SQLException {
-        checkIsOpen();
+    public void addBatch() throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
 
-        synchronized (u_stmt) {
-            u_stmt.addBatch();
-            error = u_stmt.getRecentError();
-        }
+            u_stmt.lock();
+            try {
+                u_stmt.addBatch();
+                error = u_stmt.getRecentError();
+            } finally {
+                u_stmt.unlock();
+            }
 
-        switch (error.getErrorCode()) {
-            case UErrorCode.ER_NO_ERROR:
-                break;
-            default:
-                throw con.createCUBRIDException(error);
+            switch (error.getErrorCode()) {
+                case UErrorCode.ER_NO_ERROR:
+                    break;
+                default:
+                    throw con.createCUBRIDException(error);
+            }
+        } finally {
+            lock.unlock();
         }
     }
 
-    public synchronized void setCharacterStream(int parameterIndex, Reader reader, int length)
+    public void setCharacterStream(int parameterIndex, Reader reader, int length)
             throws SQLException {
-        checkIsOpen();
+        lock.lock();
+        try {
+            checkIsOpen();
 
-        if (reader == null) {
-            synchronized (u_stmt) {
-                u_stmt.bind(parameterIndex - 1, reader);
-                error = u_stmt.getRecentError();
+            if (reader == null) {
+                u_stmt.lock();
+                try {
+                    u_stmt.bind(parameterIndex - 1, reader);
+                    error = u_stmt.getRecentError();
+                } finally {
+                    u_stmt.unlock();
+                }
+                checkBindError();
+                return;
             }
-            checkBindError();
-            return;
-        }
 
-        if (length < 0) {
-            throw new IllegalArgumentException();
-        }
+            if (length < 0) {
+                throw new IllegalArgumentException();
+            }
 
-        char[] value = new char[length];
-        int len = 0;
+            char[] value = new char[length];
+            int len = 0;
 
-        try {
-            len = reader.read(value);
-        } catch (IOException e) {
-            throw con.createCUBRIDException(CUBRIDJDBCErrorCode.ioexception_in_stream, e);
-        }
+            try {
+                len = reader.read(value);
+            } catch (IOException e) {
+                throw con.createCUBRIDException(CUBRIDJDBCErrorCode.ioexception_in_stream, e);
+            }
 
-        synchronized (u_stmt) {
-            /*
-             * try { u_stmt.bindCharacterStream(parameterIndex-1, new
-             * String(value, 0, len).getBytes("ISO-8859-1")); } catch
-             * (UnsupportedEncodingException e) { }
-             */
-            u_stmt.bind(parameterIndex - 1, new String(value, 0, len));
-            error = u_stmt.getRecentError();
-        }
+            u_stmt.lock();
+            try {
+                /*
+                 * try { u_stmt.bindCharacterStream(parameterIndex-1, new
+                 * String(value, 0, len).getBytes("ISO-8859-1")); } catch
+                 * (UnsupportedEncodingException e) { }
+                 */
+                u_stmt.bind(parameterIndex - 1, new String(value, 0, len));
+                error = u_stmt.getRecentError();
+            } finally {
+                u_stmt.unlock();
+            }
 
-        checkBindError();
+            checkBindError();
+        } finally {
+            lock.unlock();
+        }
     }
 
     public void setRef(int i, Ref x) throws SQLException {
@@ -575,18 +814,24 @@ public class CUBRIDPreparedStatement extends CUBRIDStatement implements Prepared
 
     public void setBlob(int parameterIndex, Blob x) throws SQLException {
         checkIsOpen();
-        synchronized (u_stmt) {
+        u_stmt.lock();
+        try {
             u_stmt.bindBlob(parameterIndex - 1, x);
             error = u_stmt.getRecentError();
+        } finally {
+            u_stmt.unlock();
         }
         checkBindError();
     }
 
     public void setClob(int parameterIndex, Clob x) throws SQLException {
         checkIsOpen();
-        synchronized (u_stmt) {
+        u_stmt.lock();
+        try {
             u_stmt.bindClob(parameterIndex - 1, x);
             error = u_stmt.getRecentError();
+        } finally {
+            u_stmt.unlock();
         }
         checkBindError();
     }
@@ -673,129 +918,172 @@ public class CUBRIDPreparedStatement extends CUBRIDStatement implements Prepared
         throw new SQLException(new UnsupportedOperationException());
     }
 
-    public synchronized ResultSetMetaData getMetaData() throws SQLException {
-        checkIsOpen();
+    public ResultSetMetaData getMetaData() throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
 
-        UColumnInfo[] col_info = null;
-        synchronized (u_stmt) {
-            col_info = u_stmt.getColumnInfo();
-            error = u_stmt.getRecentError();
-        }
+            UColumnInfo[] col_info = null;
+            u_stmt.lock();
+            try {
+                col_info = u_stmt.getColumnInfo();
+                error = u_stmt.getRecentError();
+            } finally {
+                u_stmt.unlock();
+            }
 
-        switch (error.getErrorCode()) {
-            case UErrorCode.ER_NO_ERROR:
-                break;
-            default:
-                throw con.createCUBRIDException(error);
-        }
+            switch (error.getErrorCode()) {
+                case UErrorCode.ER_NO_ERROR:
+                    break;
+                default:
+                    throw con.createCUBRIDException(error);
+            }
 
-        if (col_info.length == 0) return null;
+            if (col_info.length == 0) return null;
 
-        return new CUBRIDResultSetMetaData(col_info);
+            return new CUBRIDResultSetMetaData(col_info);
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized void setDate(int parameterIndex, Date x, Calendar cal) throws SQLException {
-        setDate(parameterIndex, x);
+    public void setDate(int parameterIndex, Date x, Calendar cal) throws SQLException {
+        lock.lock();
+        try {
+            setDate(parameterIndex, x);
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized void setTime(int parameterIndex, Time x, Calendar cal) throws SQLException {
-        setTime(parameterIndex, x);
+    public void setTime(int parameterIndex, Time x, Calendar cal) throws SQLException {
+        lock.lock();
+        try {
+            setTime(parameterIndex, x);
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized void setTimestamp(int parameterIndex, Timestamp x, Calendar cal)
+    public void setTimestamp(int parameterIndex, Timestamp x, Calendar cal)
             throws SQLException {
-        setTimestamp(parameterIndex, x);
+        lock.lock();
+        try {
+            setTimestamp(parameterIndex, x);
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized void setTimestamptz(int parameterIndex, CUBRIDTimestamptz x, Calendar cal)
+    public void setTimestamptz(int parameterIndex, CUBRIDTimestamptz x, Calendar cal)
             throws SQLException {
-        setTimestamptz(parameterIndex, x);
+        lock.lock();
+        try {
+            setTimestamptz(parameterIndex, x);
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized void setNull(int paramIndex, int sqlType, String typeName)
+    public void setNull(int paramIndex, int sqlType, String typeName)
             throws SQLException {
-        setNull(paramIndex, sqlType);
+        lock.lock();
+        try {
+            setNull(paramIndex, sqlType);
+        } finally {
+            lock.unlock();
+        }
     }
 
     public void close() throws SQLException {
         try {
-            synchronized (con) {
-                synchronized (this) {
-                    setShardId(UShardInfo.SHARD_ID_INVALID);
-
-                    if (u_stmt != null) {
-                        String sql = "";
-                        sql = u_stmt.getQuery();
-                        if (con.prepStmtCache.get(sql) != null) {
-                            return;
-                        }
+            lock.lock();
+            try {
+                setShardId(UShardInfo.SHARD_ID_INVALID);
+
+                if (u_stmt != null) {
+                    String sql = "";
+                    sql = u_stmt.getQuery();
+                    if (con.prepStmtCache.peek(sql) == this) {
+                        return;
                     }
+                }
 
-                    if (is_closed) return;
-
-                    complete();
-                    is_closed = true;
+                if (is_closed) return;
 
-                    if (u_stmt != null) {
-                        u_stmt.close();
-                        u_stmt = null;
-                    }
+                complete();
+                is_closed = true;
 
-                    con.removeStatement(this);
-                    con = null;
-                    u_con = null;
-                    error = null;
+                if (u_stmt != null) {
+                    u_stmt.close();
+                    u_stmt = null;
                 }
+
+                con.removeStatement(this);
+                con = null;
+                u_con = null;
+                error = null;
+            } finally {
+                lock.unlock();
             }
         } catch (NullPointerException e) {
         }
     }
 
-    public synchronized void clearBatch() throws SQLException {
-        checkIsOpen();
+    public void clearBatch() throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
 
-        synchronized (u_stmt) {
-            u_stmt.clearBatch();
-            error = u_stmt.getRecentError();
-        }
+            u_stmt.lock();
+            try {
+                u_stmt.clearBatch();
+                error = u_stmt.getRecentError();
+            } finally {
+                u_stmt.unlock();
+            }
 
-        switch (error.getErrorCode()) {
-            case UErrorCode.ER_NO_ERROR:
-                break;
-            default:
-                throw con.createCUBRIDException(error);
+            switch (error.getErrorCode()) {
+                case UErrorCode.ER_NO_ERROR:
+                    break;
+                default:
+                    throw con.createCUBRIDException(error);
+            }
+        } finally {
+            lock.unlock();
         }
     }
 
     public int[] executeBatch() throws SQLException {
         try {
-            synchronized (con) {
-                synchronized (this) {
-                    setShardId(UShardInfo.SHARD_ID_INVALID);
-
-                    checkIsOpen();
-                    if (!u_stmt.hasBatch()) {
-                        return new int[0];
-                    }
-                    u_con.setBeginTime();
+            lock.lock();
+            try {
+                setShardId(UShardInfo.SHARD_ID_INVALID);
 
-                    if (!completed) complete();
-                    checkIsOpen();
-                    u_stmt.setAutoCommit(u_con.getAutoCommit());
-                    UBatchResult results = u_stmt.executeBatch(query_timeout);
-                    setShardId(u_con.getShardId());
+                checkIsOpen();
+                if (!u_stmt.hasBatch()) {
+                    return new int[0];
+                }
+                u_con.setBeginTime();
 
-                    error = u_stmt.getRecentError();
-                    switch (error.getErrorCode()) {
-                        case UErrorCode.ER_NO_ERROR:
-                            break;
-                        default:
-                            throw con.createCUBRIDException(error);
-                    }
+                if (!completed) complete();
+                checkIsOpen();
+                u_stmt.setAutoCommit(u_con.getAutoCommit());
+                UBatchResult results = u_stmt.executeBatch(query_timeout);
+                setShardId(u_con.getShardId());
 
-                    con.autoCommit();
-                    return (checkBatchResult(results));
+                error = u_stmt.getRecentError();
+                switch (error.getErrorCode()) {
+                    case UErrorCode.ER_NO_ERROR:
+                        break;
+                    default:
+                        throw con.createCUBRIDException(error);
                 }
+
+                con.autoCommit();
+                return (checkBatchResult(results));
+            } finally {
+                lock.unlock();
             }
         } catch (NullPointerException e) {
             throw new CUBRIDException(CUBRIDJDBCErrorCode.prepared_statement_closed);
@@ -803,38 +1091,56 @@ public class CUBRIDPreparedStatement extends CUBRIDStatement implements Prepared
     }
 
     // 3.0
-    public synchronized ParameterMetaData getParameterMetaData() throws SQLException {
-        throw new SQLException(new UnsupportedOperationException());
-        /*
-         * checkIsOpen();
-         *
-         * UParameterInfo[] pram_info = null; synchronized (u_stmt) { pram_info
-         * = u_stmt.getParameterInfo(); error = u_stmt.getRecentError(); }
-         *
-         * switch (error.getErrorCode()) { case UErrorCode.ER_NO_ERROR : break;
-         * default : throw con.createCUBRIDException(error); }
-         *
-         * if (pram_info.length == 0) return null;
-         *
-         * return new CUBRIDParameterMetaData(pram_info);
-         */
-    }
-
-    public synchronized void setURL(int index, URL x) throws SQLException {
-        throw new SQLException(new UnsupportedOperationException());
+    public ParameterMetaData getParameterMetaData() throws SQLException {
+        lock.lock();
+        try {
+            throw new SQLException(new UnsupportedOperationException());
+            /*
+             * checkIsOpen();
+             *
+             * UParameterInfo[] pram_info = null; synchronized (u_stmt) { pram_info
+             * = u_stmt.getParameterInfo(); error = u_stmt.getRecentError(); }
+             *
+             * switch (error.getErrorCode()) { case UErrorCode.ER_NO_ERROR : break;
+             * default : throw con.createCUBRIDException(error); }
+             *
+             * if (pram_info.length == 0) return null;
+             *
+             * return new CUBRIDParameterMetaData(pram_info);
+             */
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void setURL(int index, URL x) throws SQLException {
+        lock.lock();
+        try {
+            throw new SQLException(new UnsupportedOperationException());
+        } finally {
+            lock.unlock();
+        }
     }
 
     // 3.0
 
-    public synchronized void setOID(int parameterIndex, CUBRIDOID x) throws SQLException {
-        checkIsOpen();
+    public void setOID(int parameterIndex, CUBRIDOID x) throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
 
-        synchronized (u_stmt) {
-            u_stmt.bindOID(parameterIndex - 1, x);
-            error = u_stmt.getRecentError();
-        }
+            u_stmt.lock();
+            try {
+                u_stmt.bindOID(parameterIndex - 1, x);
+                error = u_stmt.getRecentError();
+            } finally {
+                u_stmt.unlock();
+            }
 
-        checkBindError();
+            checkBindError();
+        } finally {
+            lock.unlock();
+        }
     }
 
     /**
@@ -851,13 +1157,21 @@ public class CUBRIDPreparedStatement extends CUBRIDStatement implements Prepared
      * @exception SQLException if <code>parameterIndex</code> is out of range.
      * @exception SQLException if a database access error occurs
      */
-    public synchronized void setCollection(int parameterIndex, Object[] x) throws SQLException {
-        checkIsOpen();
-        synchronized (u_stmt) {
-            u_stmt.bindCollection(parameterIndex - 1, x);
-            error = u_stmt.getRecentError();
+    public void setCollection(int parameterIndex, Object[] x) throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+            u_stmt.lock();
+            try {
+                u_stmt.bindCollection(parameterIndex - 1, x);
+                error = u_stmt.getRecentError();
+            } finally {
+                u_stmt.unlock();
+            }
+            checkBindError();
+        } finally {
+            lock.unlock();
         }
-        checkBindError();
     }
 
     /**
@@ -874,25 +1188,26 @@ public class CUBRIDPreparedStatement extends CUBRIDStatement implements Prepared
      */
     public CUBRIDOID executeInsert() throws SQLException {
         try {
-            synchronized (con) {
-                synchronized (this) {
-                    setShardId(UShardInfo.SHARD_ID_INVALID);
-
-                    u_con.setBeginTime();
-                    checkIsOpen();
-                    if (!completed) {
-                        complete();
-                    }
-
-                    if (autoGeneratedKeys == Statement.RETURN_GENERATED_KEYS
-                            && u_stmt.getCommandType() == CUBRIDCommandType.CUBRID_STMT_INSERT) {
-                        u_stmt.setAutoGeneratedKeys(true);
-                    }
+            lock.lock();
+            try {
+                setShardId(UShardInfo.SHARD_ID_INVALID);
 
-                    CUBRIDOID oid = executeInsertCore();
+                u_con.setBeginTime();
+                checkIsOpen();
+                if (!completed) {
                     complete();
-                    return oid;
                 }
+
+                if (autoGeneratedKeys == Statement.RETURN_GENERATED_KEYS
+                        && u_stmt.getCommandType() == CUBRIDCommandType.CUBRID_STMT_INSERT) {
+                    u_stmt.setAutoGeneratedKeys(true);
+                }
+
+                CUBRIDOID oid = executeInsertCore();
+                complete();
+                return oid;
+            } finally {
+                lock.unlock();
             }
         } catch (NullPointerException e) {
             throw new CUBRIDException(CUBRIDJDBCErrorCode.prepared_statement_closed);
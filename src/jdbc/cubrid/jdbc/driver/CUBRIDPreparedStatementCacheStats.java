@@ -0,0 +1,122 @@
+/*
+ * Copyright (C) 2008 Search Solution Corporation.
+ * Copyright (c) 2016 CUBRID Corporation.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ *
+ * - Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * - Neither the name of the <ORGANIZATION> nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software without
+ *   specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING,
+ * BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA,
+ * OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY
+ * OF SUCH DAMAGE.
+ *
+ */
+
+
+package cubrid.jdbc.driver;
+
+import cubrid.jdbc.jci.UPreparedStatementCache;
+import java.io.Serializable;
+
+/**
+ * Title: CUBRID JDBC Driver Description:
+ *
+ * @version 2.0
+ */
+
+/**
+ * A point-in-time copy of the counters of the prepared statement cache of a connection, as
+ * returned by CUBRIDConnection.getPreparedStatementCacheStatistics(). The memory is the estimate
+ * the cache is bounded by with preparedStmtCacheMemory, not a measure of the heap. Hits and misses
+ * count the lookups of statements within preparedStmtCacheSqlLimit, with usePreparedStmtCache on.
+ */
+public class CUBRIDPreparedStatementCacheStats implements Serializable {
+    private static final long serialVersionUID = -2286413307496871539L;
+
+    private final long timestamp;
+    private final int size;
+    private final int maxSize;
+    private final long memorySize;
+    private final long maxMemorySize;
+    private final long hitCount;
+    private final long missCount;
+    private final long evictionCount;
+
+    CUBRIDPreparedStatementCacheStats(UPreparedStatementCache<?, ?> cache) {
+        timestamp = System.currentTimeMillis();
+        size = cache.size();
+        maxSize = cache.getMaxSize();
+        memorySize = cache.getMemorySize();
+        maxMemorySize = cache.getMaxMemorySize();
+        hitCount = cache.getHitCount();
+        missCount = cache.getMissCount();
+        evictionCount = cache.getEvictionCount();
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public long getMemorySize() {
+        return memorySize;
+    }
+
+    public long getMaxMemorySize() {
+        return maxMemorySize;
+    }
+
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    public long getMissCount() {
+        return missCount;
+    }
+
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    public double getHitRatio() {
+        long lookups = hitCount + missCount;
+        return (lookups == 0) ? 0 : (double) hitCount / lookups;
+    }
+
+    public String toString() {
+        StringBuffer b = new StringBuffer();
+
+        b.append("size=").append(size);
+        b.append(", maxSize=").append(maxSize);
+        b.append(", memory=").append(memorySize);
+        b.append(", maxMemory=").append(maxMemorySize);
+        b.append(", hits=").append(hitCount);
+        b.append(", misses=").append(missCount);
+        b.append(", evictions=").append(evictionCount);
+        return b.toString();
+    }
+}
@@ -0,0 +1,260 @@
+/*
+ * Copyright (C) 2008 Search Solution Corporation.
+ * Copyright (c) 2016 CUBRID Corporation.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ *
+ * - Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * - Neither the name of the <ORGANIZATION> nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software without
+ *   specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING,
+ * BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA,
+ * OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY
+ * OF SUCH DAMAGE.
+ *
+ */
+
+package cubrid.jdbc.driver;
+
+import java.util.ArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Title: CUBRID JDBC Driver Description:
+ *
+ * @version 2.0
+ */
+
+/**
+ * Query timeouts of CUBRIDStatement and CUBRIDPreparedStatement. One timer thread serves the whole
+ * driver: a timeout is put into the bucket of a hashed wheel that ticks every TICK_MILLIS, and
+ * taking it out when the query ends is an unlink, so starting and ending a timeout costs the same
+ * however many are pending. An expired query is cancelled on one of at most CANCEL_THREADS
+ * threads, since cancelling connects to the broker; when more queries expire at once, their
+ * cancels wait in a queue.
+ */
+final class CUBRIDQueryTimer {
+    private static final long TICK_MILLIS = 100;
+    private static final int WHEEL_SIZE = 512; /* one round is 51.2 seconds */
+    private static final int CANCEL_THREADS = 4;
+
+    private static final Object lock = new Object();
+    private static final Timeout[] wheel = new Timeout[WHEEL_SIZE];
+    private static final long startTime = System.nanoTime();
+    private static long lastTick;
+    private static int pending;
+    private static Thread worker = null;
+    private static ExecutorService cancelPool = null;
+
+    private CUBRIDQueryTimer() {}
+
+    /*
+     * A pending timeout. end() must be called when the query has ended. The query and the timer
+     * race for the state: the query ends a PENDING timeout, the timer moves it to CANCELLING and
+     * then CANCELLED around the cancel. No lock is held across the cancel, which connects to the
+     * broker; a query that ends while it runs parks in end() until the cancel has been sent.
+     */
+    static final class Timeout {
+        private static final int PENDING = 0;
+        private static final int ENDED = 1;
+        private static final int CANCELLING = 2;
+        private static final int CANCELLED = 3;
+
+        private static final AtomicIntegerFieldUpdater<Timeout> STATE =
+                AtomicIntegerFieldUpdater.newUpdater(Timeout.class, "state");
+
+        private final CUBRIDStatement stmt;
+        private final long deadline;
+        private Timeout prev;
+        private Timeout next;
+        private boolean linked;
+        private volatile int state = PENDING;
+        /* the query waiting in end() for the cancel */
+        private volatile Thread waiter;
+
+        private Timeout(CUBRIDStatement stmt, long deadline) {
+            this.stmt = stmt;
+            this.deadline = deadline;
+        }
+
+        /* once this returns, the statement is not cancelled by this timeout */
+        void end() {
+            if (!STATE.compareAndSet(this, PENDING, ENDED)) {
+                awaitCancel();
+            }
+            synchronized (lock) {
+                unlink(this);
+            }
+        }
+
+        private void awaitCancel() {
+            waiter = Thread.currentThread();
+            boolean interrupted = false;
+            while (state != CANCELLED) {
+                LockSupport.park(this);
+                if (Thread.interrupted()) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void expire() {
+            if (!STATE.compareAndSet(this, PENDING, CANCELLING)) {
+                return;
+            }
+            try {
+                stmt.cancel();
+            } catch (Exception e) {
+            } finally {
+                state = CANCELLED;
+                Thread w = waiter;
+                if (w != null) {
+                    LockSupport.unpark(w);
+                }
+            }
+        }
+    }
+
+    static Timeout start(CUBRIDStatement stmt, int seconds) {
+        synchronized (lock) {
+            long now = currentTick();
+            if (pending == 0) {
+                /* the wheel stood still while nothing was pending */
+                lastTick = now;
+            }
+
+            long ticks = (seconds * 1000L + TICK_MILLIS - 1) / TICK_MILLIS;
+            Timeout t = new Timeout(stmt, now + Math.max(ticks, 1));
+            int bucket = (int) (t.deadline % WHEEL_SIZE);
+            t.next = wheel[bucket];
+            if (t.next != null) t.next.prev = t;
+            wheel[bucket] = t;
+            t.linked = true;
+
+            if (pending++ == 0) {
+                if (worker == null) {
+                    worker = new Thread(new Ticker(), "CUBRIDQueryTimer");
+                    worker.setDaemon(true);
+                    worker.setContextClassLoader(null);
+                    worker.start();
+                }
+                lock.notify();
+            }
+            return t;
+        }
+    }
+
+    private static void unlink(Timeout t) {
+        if (!t.linked) return;
+
+        if (t.prev != null) {
+            t.prev.next = t.next;
+        } else {
+            wheel[(int) (t.deadline % WHEEL_SIZE)] = t.next;
+        }
+        if (t.next != null) t.next.prev = t.prev;
+        t.prev = t.next = null;
+        t.linked = false;
+        pending--;
+    }
+
+    private static long currentTick() {
+        return (System.nanoTime() - startTime) / (TICK_MILLIS * 1000000L);
+    }
+
+    private static class Ticker implements Runnable {
+        public void run() {
+            ArrayList<Timeout> expired = new ArrayList<Timeout>();
+            while (true) {
+                try {
+                    synchronized (lock) {
+                        while (pending == 0) {
+                            lock.wait();
+                        }
+                        long now = currentTick();
+                        for (; lastTick < now; lastTick++) {
+                            collect(lastTick + 1, expired);
+                        }
+                    }
+
+                    for (int i = 0; i < expired.size(); i++) {
+                        final Timeout t = expired.get(i);
+                        getCancelPool()
+                                .execute(
+                                        new Runnable() {
+                                            public void run() {
+                                                t.expire();
+                                            }
+                                        });
+                    }
+                    expired.clear();
+
+                    Thread.sleep(TICK_MILLIS);
+                } catch (InterruptedException e) {
+                } catch (RuntimeException e) {
+                    expired.clear();
+                }
+            }
+        }
+
+        /* takes the timeouts due at the tick out of its bucket */
+        private void collect(long tick, ArrayList<Timeout> expired) {
+            Timeout t = wheel[(int) (tick % WHEEL_SIZE)];
+            while (t != null) {
+                Timeout next = t.next;
+                if (t.deadline <= tick) {
+                    unlink(t);
+                    expired.add(t);
+                }
+                t = next;
+            }
+        }
+    }
+
+    private static synchronized ExecutorService getCancelPool() {
+        if (cancelPool == null) {
+            ThreadPoolExecutor pool =
+                    new ThreadPoolExecutor(
+                            CANCEL_THREADS,
+                            CANCEL_THREADS,
+                            60,
+                            TimeUnit.SECONDS,
+                            new LinkedBlockingQueue<Runnable>(),
+                            new ThreadFactory() {
+                                public Thread newThread(Runnable r) {
+                                    Thread t = new Thread(r, "CUBRIDQueryTimer-cancel");
+                                    t.setDaemon(true);
+                                    t.setContextClassLoader(null);
+                                    return t;
+                                }
+                            });
+            pool.allowCoreThreadTimeOut(true);
+            cancelPool = pool;
+        }
+        return cancelPool;
+    }
+}
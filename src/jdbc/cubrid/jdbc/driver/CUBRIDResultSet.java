@@ -64,6 +64,7 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.TimeZone;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Title: CUBRID JDBC Driver Description:
@@ -105,6 +106,12 @@ public class CUBRIDResultSet implements ResultSet {
     private int number_of_updates;
     private String main_table_name;
 
+    /*
+     * guards the state of this result set only; next(), close() and insertRow() take the
+     * connection lock first, as they go to the broker
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+
     protected CUBRIDResultSet(
             CUBRIDConnection c, CUBRIDStatement s, int t, int concur, boolean holdable)
             throws SQLException {
@@ -136,7 +143,12 @@ public class CUBRIDResultSet implements ResultSet {
         u_stmt.setFetchDirection(fetch_direction);
 
         fetch_size = s.getFetchSize();
-        u_stmt.setFetchSize(fetch_size);
+        if (fetch_size == Integer.MIN_VALUE) {
+            u_stmt.setFetchSize(0);
+            u_stmt.setStreaming(!is_scrollable && !is_updatable);
+        } else {
+            u_stmt.setFetchSize(fetch_size);
+        }
 
         inserting = false;
 
@@ -194,48 +206,28 @@ public class CUBRIDResultSet implements ResultSet {
         checkIsOpen();
 
         if (u_stmt == null) return false;
+        lockConnection();
+        lock.lock();
         try {
-            synchronized (con) {
-                synchronized (stmt) {
-                    synchronized (this) {
-                        checkIsOpen();
-                        clearCurrentRow();
-
-                        current_row++;
-                        if (current_row >= number_of_rows) {
-                            current_row = number_of_rows;
-                            return false;
-                        }
-
-                        if (u_stmt.isFetchCompleted(current_row)) {
-                            return false;
-                        }
-
-                        move();
-                        inserting = false;
-                        return AfterNext();
-                    }
-                }
-            }
-        } catch (NullPointerException e) {
-            synchronized (this) {
-                checkIsOpen();
-                clearCurrentRow();
-
-                current_row++;
-                if (current_row >= number_of_rows) {
-                    current_row = number_of_rows;
-                    return false;
-                }
+            checkIsOpen();
+            clearCurrentRow();
 
-                if (u_stmt.isFetchCompleted(current_row)) {
-                    return false;
-                }
+            current_row++;
+            if (current_row >= number_of_rows) {
+                current_row = number_of_rows;
+                return false;
+            }
 
-                move();
-                inserting = false;
-                return AfterNext();
+            if (u_stmt.isFetchCompleted(current_row)) {
+                return false;
             }
+
+            move();
+            inserting = false;
+            return AfterNext();
+        } finally {
+            lock.unlock();
+            unlockConnection();
         }
     }
 
@@ -244,9 +236,12 @@ public class CUBRIDResultSet implements ResultSet {
             return false;
         }
 
-        synchronized (u_stmt) {
+        u_stmt.lock();
+        try {
             u_stmt.fetch();
             error = u_stmt.getRecentError();
+        } finally {
+            u_stmt.unlock();
         }
 
         if (error.getJdbcErrorCode() == UErrorCode.CAS_ER_NO_MORE_DATA) {
@@ -262,43 +257,49 @@ public class CUBRIDResultSet implements ResultSet {
 
     public void close() throws SQLException {
         try {
-            synchronized (con) {
-                synchronized (stmt) {
-                    synchronized (this) {
-                        if (is_closed) {
-                            return;
-                        }
-                        is_closed = true;
-
-                        clearCurrentRow();
-                        if (stmt.getResultSetHoldability() == ResultSet.HOLD_CURSORS_OVER_COMMIT) {
-                            u_stmt.closeCursor();
-                        }
-                        if (complete_on_close) {
-                            stmt.complete();
-                        }
-                        if (close_u_stmt_on_close) {
-                            u_stmt.close();
-                        }
-
-                        streams = null;
-                        stmt = null;
-                        u_stmt.closeResult();
-                        u_stmt = null;
-                        column_info = null;
-                        col_name_to_index = null;
-                        error = null;
-                        is_holdable = false;
-                    }
+            lockConnection();
+            lock.lock();
+            try {
+                if (is_closed) {
+                    return;
+                }
+                is_closed = true;
+
+                clearCurrentRow();
+                if (stmt.getResultSetHoldability() == ResultSet.HOLD_CURSORS_OVER_COMMIT) {
+                    u_stmt.closeCursor();
+                }
+                if (complete_on_close) {
+                    stmt.complete();
                 }
+                if (close_u_stmt_on_close) {
+                    u_stmt.close();
+                }
+
+                streams = null;
+                stmt = null;
+                u_stmt.closeResult();
+                u_stmt = null;
+                column_info = null;
+                col_name_to_index = null;
+                error = null;
+                is_holdable = false;
+            } finally {
+                lock.unlock();
+                unlockConnection();
             }
         } catch (NullPointerException e) {
         }
     }
 
-    public synchronized boolean wasNull() throws SQLException {
-        checkIsOpen();
-        return was_null;
+    public boolean wasNull() throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+            return was_null;
+        } finally {
+            lock.unlock();
+        }
     }
 
     @Deprecated
@@ -307,1112 +308,1735 @@ public class CUBRIDResultSet implements ResultSet {
         // This is for compatibility with versions prior to 11.2.
     }
 
-    public synchronized String getString(int columnIndex) throws SQLException {
-        checkIsOpen();
-        beforeGetValue(columnIndex);
+    public String getString(int columnIndex) throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+            beforeGetValue(columnIndex);
+
+            Object obj;
+            u_stmt.lock();
+            try {
+                obj = u_stmt.getObject(columnIndex - 1);
+                error = u_stmt.getRecentError();
+            } finally {
+                u_stmt.unlock();
+            }
+            if (obj != null && obj instanceof Clob) {
+                Clob clob = (Clob) obj;
+                int length;
+                if (clob.length() > (long) Integer.MAX_VALUE) {
+                    length = Integer.MAX_VALUE;
+                } else {
+                    length = (int) clob.length();
+                }
+                return clob.getSubString(1, length);
+            }
 
-        Object obj;
-        synchronized (u_stmt) {
-            obj = u_stmt.getObject(columnIndex - 1);
-            error = u_stmt.getRecentError();
-        }
-        if (obj != null && obj instanceof Clob) {
-            Clob clob = (Clob) obj;
-            int length;
-            if (clob.length() > (long) Integer.MAX_VALUE) {
-                length = Integer.MAX_VALUE;
-            } else {
-                length = (int) clob.length();
+            String value;
+            u_stmt.lock();
+            try {
+                value = u_stmt.getString(columnIndex - 1);
+                error = u_stmt.getRecentError();
+            } finally {
+                u_stmt.unlock();
             }
-            return clob.getSubString(1, length);
-        }
 
-        String value;
-        synchronized (u_stmt) {
-            value = u_stmt.getString(columnIndex - 1);
-            error = u_stmt.getRecentError();
+            checkGetXXXError();
+            return value;
+        } finally {
+            lock.unlock();
         }
-
-        checkGetXXXError();
-        return value;
     }
 
-    public synchronized boolean getBoolean(int columnIndex) throws SQLException {
-        checkIsOpen();
-        beforeGetValue(columnIndex);
+    public boolean getBoolean(int columnIndex) throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+            beforeGetValue(columnIndex);
+
+            boolean value;
+            u_stmt.lock();
+            try {
+                value = u_stmt.getBoolean(columnIndex - 1);
+                error = u_stmt.getRecentError();
+            } finally {
+                u_stmt.unlock();
+            }
 
-        boolean value;
-        synchronized (u_stmt) {
-            value = u_stmt.getBoolean(columnIndex - 1);
-            error = u_stmt.getRecentError();
+            checkGetXXXError();
+            return value;
+        } finally {
+            lock.unlock();
         }
-
-        checkGetXXXError();
-        return value;
     }
 
-    public synchronized byte getByte(int columnIndex) throws SQLException {
-        checkIsOpen();
-        beforeGetValue(columnIndex);
+    public byte getByte(int columnIndex) throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+            beforeGetValue(columnIndex);
+
+            byte value;
+            u_stmt.lock();
+            try {
+                value = u_stmt.getByte(columnIndex - 1);
+                error = u_stmt.getRecentError();
+            } finally {
+                u_stmt.unlock();
+            }
 
-        byte value;
-        synchronized (u_stmt) {
-            value = u_stmt.getByte(columnIndex - 1);
-            error = u_stmt.getRecentError();
+            checkGetXXXError();
+            return value;
+        } finally {
+            lock.unlock();
         }
-
-        checkGetXXXError();
-        return value;
     }
 
-    public synchronized short getShort(int columnIndex) throws SQLException {
-        checkIsOpen();
-        beforeGetValue(columnIndex);
+    public short getShort(int columnIndex) throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+            beforeGetValue(columnIndex);
+
+            short value;
+            u_stmt.lock();
+            try {
+                value = u_stmt.getShort(columnIndex - 1);
+                error = u_stmt.getRecentError();
+            } finally {
+                u_stmt.unlock();
+            }
 
-        short value;
-        synchronized (u_stmt) {
-            value = u_stmt.getShort(columnIndex - 1);
-            error = u_stmt.getRecentError();
+            checkGetXXXError();
+            return value;
+        } finally {
+            lock.unlock();
         }
-
-        checkGetXXXError();
-        return value;
     }
 
-    public synchronized int getInt(int columnIndex) throws SQLException {
-        checkIsOpen();
-        beforeGetValue(columnIndex);
+    public int getInt(int columnIndex) throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+            beforeGetValue(columnIndex);
+
+            int value;
+            u_stmt.lock();
+            try {
+                value = u_stmt.getInt(columnIndex - 1);
+                error = u_stmt.getRecentError();
+            } finally {
+                u_stmt.unlock();
+            }
 
-        int value;
-        synchronized (u_stmt) {
-            value = u_stmt.getInt(columnIndex - 1);
-            error = u_stmt.getRecentError();
+            checkGetXXXError();
+            return value;
+        } finally {
+            lock.unlock();
         }
-
-        checkGetXXXError();
-        return value;
     }
 
-    public synchronized long getLong(int columnIndex) throws SQLException {
-        checkIsOpen();
-        beforeGetValue(columnIndex);
+    public long getLong(int columnIndex) throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+            beforeGetValue(columnIndex);
+
+            long value;
+            u_stmt.lock();
+            try {
+                value = u_stmt.getLong(columnIndex - 1);
+                error = u_stmt.getRecentError();
+            } finally {
+                u_stmt.unlock();
+            }
 
-        long value;
-        synchronized (u_stmt) {
-            value = u_stmt.getLong(columnIndex - 1);
-            error = u_stmt.getRecentError();
+            checkGetXXXError();
+            return value;
+        } finally {
+            lock.unlock();
         }
-
-        checkGetXXXError();
-        return value;
     }
 
-    public synchronized float getFloat(int columnIndex) throws SQLException {
-        checkIsOpen();
-        beforeGetValue(columnIndex);
+    public float getFloat(int columnIndex) throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+            beforeGetValue(columnIndex);
+
+            float value;
+            u_stmt.lock();
+            try {
+                value = u_stmt.getFloat(columnIndex - 1);
+                error = u_stmt.getRecentError();
+            } finally {
+                u_stmt.unlock();
+            }
 
-        float value;
-        synchronized (u_stmt) {
-            value = u_stmt.getFloat(columnIndex - 1);
-            error = u_stmt.getRecentError();
+            checkGetXXXError();
+            return value;
+        } finally {
+            lock.unlock();
         }
-
-        checkGetXXXError();
-        return value;
     }
 
-    public synchronized double getDouble(int columnIndex) throws SQLException {
-        checkIsOpen();
-        beforeGetValue(columnIndex);
+    public double getDouble(int columnIndex) throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+            beforeGetValue(columnIndex);
+
+            double value;
+            u_stmt.lock();
+            try {
+                value = u_stmt.getDouble(columnIndex - 1);
+                error = u_stmt.getRecentError();
+            } finally {
+                u_stmt.unlock();
+            }
 
-        double value;
-        synchronized (u_stmt) {
-            value = u_stmt.getDouble(columnIndex - 1);
-            error = u_stmt.getRecentError();
+            checkGetXXXError();
+            return value;
+        } finally {
+            lock.unlock();
         }
-
-        checkGetXXXError();
-        return value;
     }
 
     public BigDecimal getBigDecimal(int columnIndex, int scale) throws SQLException {
         throw new SQLException(new java.lang.UnsupportedOperationException());
     }
 
-    public synchronized byte[] getBytes(int columnIndex) throws SQLException {
-        checkIsOpen();
-        beforeGetValue(columnIndex);
+    public byte[] getBytes(int columnIndex) throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+            beforeGetValue(columnIndex);
+
+            Object obj;
+            u_stmt.lock();
+            try {
+                obj = u_stmt.getObject(columnIndex - 1);
+                error = u_stmt.getRecentError();
+            } finally {
+                u_stmt.unlock();
+            }
+            if (obj != null && obj instanceof Blob) {
+                Blob blob = (Blob) obj;
+                int length;
+                if (blob.length() > (long) Integer.MAX_VALUE) {
+                    length = Integer.MAX_VALUE;
+                } else {
+                    length = (int) blob.length();
+                }
+                return blob.getBytes(1, length);
+            }
 
-        Object obj;
-        synchronized (u_stmt) {
-            obj = u_stmt.getObject(columnIndex - 1);
-            error = u_stmt.getRecentError();
-        }
-        if (obj != null && obj instanceof Blob) {
-            Blob blob = (Blob) obj;
-            int length;
-            if (blob.length() > (long) Integer.MAX_VALUE) {
-                length = Integer.MAX_VALUE;
-            } else {
-                length = (int) blob.length();
+            byte[] value;
+            u_stmt.lock();
+            try {
+                value = u_stmt.getBytes(columnIndex - 1);
+                error = u_stmt.getRecentError();
+            } finally {
+                u_stmt.unlock();
             }
-            return blob.getBytes(1, length);
-        }
 
-        byte[] value;
-        synchronized (u_stmt) {
-            value = u_stmt.getBytes(columnIndex - 1);
-            error = u_stmt.getRecentError();
+            checkGetXXXError();
+            return value;
+        } finally {
+            lock.unlock();
         }
-
-        checkGetXXXError();
-        return value;
     }
 
-    public synchronized Date getDate(int columnIndex) throws SQLException {
-        checkIsOpen();
-        beforeGetValue(columnIndex);
+    public Date getDate(int columnIndex) throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+            beforeGetValue(columnIndex);
+
+            Date value;
+            u_stmt.lock();
+            try {
+                value = u_stmt.getDate(columnIndex - 1);
+                error = u_stmt.getRecentError();
+            } finally {
+                u_stmt.unlock();
+            }
 
-        Date value;
-        synchronized (u_stmt) {
-            value = u_stmt.getDate(columnIndex - 1);
-            error = u_stmt.getRecentError();
+            checkGetXXXError();
+            return value;
+        } finally {
+            lock.unlock();
         }
-
-        checkGetXXXError();
-        return value;
     }
 
-    public synchronized Time getTime(int columnIndex) throws SQLException {
-        checkIsOpen();
-        beforeGetValue(columnIndex);
+    public Time getTime(int columnIndex) throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+            beforeGetValue(columnIndex);
+
+            Time value;
+            u_stmt.lock();
+            try {
+                value = u_stmt.getTime(columnIndex - 1);
+                error = u_stmt.getRecentError();
+            } finally {
+                u_stmt.unlock();
+            }
 
-        Time value;
-        synchronized (u_stmt) {
-            value = u_stmt.getTime(columnIndex - 1);
-            error = u_stmt.getRecentError();
+            checkGetXXXError();
+            return value;
+        } finally {
+            lock.unlock();
         }
-
-        checkGetXXXError();
-        return value;
     }
 
-    public synchronized Timestamp getTimestamp(int columnIndex) throws SQLException {
-        checkIsOpen();
-        beforeGetValue(columnIndex);
+    public Timestamp getTimestamp(int columnIndex) throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+            beforeGetValue(columnIndex);
+
+            Timestamp value;
+            u_stmt.lock();
+            try {
+                value = u_stmt.getTimestamp(columnIndex - 1);
+                error = u_stmt.getRecentError();
+            } finally {
+                u_stmt.unlock();
+            }
 
-        Timestamp value;
-        synchronized (u_stmt) {
-            value = u_stmt.getTimestamp(columnIndex - 1);
-            error = u_stmt.getRecentError();
+            checkGetXXXError();
+            return value;
+        } finally {
+            lock.unlock();
         }
-
-        checkGetXXXError();
-        return value;
     }
 
-    public synchronized InputStream getAsciiStream(int columnIndex) throws SQLException {
-        checkIsOpen();
-        beforeGetValue(columnIndex);
+    public InputStream getAsciiStream(int columnIndex) throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+            beforeGetValue(columnIndex);
+
+            Object obj;
+            u_stmt.lock();
+            try {
+                obj = u_stmt.getObject(columnIndex - 1);
+                error = u_stmt.getRecentError();
+            } finally {
+                u_stmt.unlock();
+            }
+            if (obj != null && obj instanceof Clob) {
+                Clob clob = (Clob) obj;
+                InputStream stream = clob.getAsciiStream();
+                addStream(stream);
+                return stream;
+            }
 
-        Object obj;
-        synchronized (u_stmt) {
-            obj = u_stmt.getObject(columnIndex - 1);
-            error = u_stmt.getRecentError();
-        }
-        if (obj != null && obj instanceof Clob) {
-            Clob clob = (Clob) obj;
-            InputStream stream = clob.getAsciiStream();
-            addStream(stream);
-            return stream;
-        }
+            String str;
+            u_stmt.lock();
+            try {
+                str = u_stmt.getString(columnIndex - 1);
+                error = u_stmt.getRecentError();
+            } finally {
+                u_stmt.unlock();
+            }
+            checkGetXXXError();
 
-        String str;
-        synchronized (u_stmt) {
-            str = u_stmt.getString(columnIndex - 1);
-            error = u_stmt.getRecentError();
-        }
-        checkGetXXXError();
+            if (str == null) {
+                return null;
+            }
 
-        if (str == null) {
-            return null;
+            InputStream stream = new CUBRIDInputStream(str.getBytes());
+            addStream(stream);
+            return stream;
+        } finally {
+            lock.unlock();
         }
-
-        InputStream stream = new CUBRIDInputStream(str.getBytes());
-        addStream(stream);
-        return stream;
     }
 
     public InputStream getUnicodeStream(int columnIndex) throws SQLException {
         throw new SQLException(new java.lang.UnsupportedOperationException());
     }
 
-    public synchronized InputStream getBinaryStream(int columnIndex) throws SQLException {
-        checkIsOpen();
-        beforeGetValue(columnIndex);
+    public InputStream getBinaryStream(int columnIndex) throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+            beforeGetValue(columnIndex);
+
+            Object obj;
+            u_stmt.lock();
+            try {
+                obj = u_stmt.getObject(columnIndex - 1);
+                error = u_stmt.getRecentError();
+            } finally {
+                u_stmt.unlock();
+            }
+            if (obj != null && obj instanceof Blob) {
+                Blob blob = (Blob) obj;
+                InputStream stream = blob.getBinaryStream();
+                addStream(stream);
+                return stream;
+            }
 
-        Object obj;
-        synchronized (u_stmt) {
-            obj = u_stmt.getObject(columnIndex - 1);
-            error = u_stmt.getRecentError();
-        }
-        if (obj != null && obj instanceof Blob) {
-            Blob blob = (Blob) obj;
-            InputStream stream = blob.getBinaryStream();
-            addStream(stream);
-            return stream;
-        }
+            byte[] bytes;
+            u_stmt.lock();
+            try {
+                bytes = u_stmt.getBytes(columnIndex - 1);
+                error = u_stmt.getRecentError();
+            } finally {
+                u_stmt.unlock();
+            }
 
-        byte[] bytes;
-        synchronized (u_stmt) {
-            bytes = u_stmt.getBytes(columnIndex - 1);
-            error = u_stmt.getRecentError();
-        }
+            checkGetXXXError();
 
-        checkGetXXXError();
+            if (bytes == null) {
+                return null;
+            }
 
-        if (bytes == null) {
-            return null;
+            InputStream stream = new CUBRIDInputStream(bytes);
+            addStream(stream);
+            return stream;
+        } finally {
+            lock.unlock();
         }
-
-        InputStream stream = new CUBRIDInputStream(bytes);
-        addStream(stream);
-        return stream;
     }
 
-    public synchronized String getString(String columnName) throws SQLException {
-        return getString(findColumn(columnName));
+    public String getString(String columnName) throws SQLException {
+        lock.lock();
+        try {
+            return getString(findColumn(columnName));
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized boolean getBoolean(String columnName) throws SQLException {
-        return getBoolean(findColumn(columnName));
+    public boolean getBoolean(String columnName) throws SQLException {
+        lock.lock();
+        try {
+            return getBoolean(findColumn(columnName));
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized byte getByte(String columnName) throws SQLException {
-        return getByte(findColumn(columnName));
+    public byte getByte(String columnName) throws SQLException {
+        lock.lock();
+        try {
+            return getByte(findColumn(columnName));
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized short getShort(String columnName) throws SQLException {
-        return getShort(findColumn(columnName));
+    public short getShort(String columnName) throws SQLException {
+        lock.lock();
+        try {
+            return getShort(findColumn(columnName));
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized int getInt(String columnName) throws SQLException {
-        return getInt(findColumn(columnName));
+    public int getInt(String columnName) throws SQLException {
+        lock.lock();
+        try {
+            return getInt(findColumn(columnName));
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized long getLong(String columnName) throws SQLException {
-        return getLong(findColumn(columnName));
+    public long getLong(String columnName) throws SQLException {
+        lock.lock();
+        try {
+            return getLong(findColumn(columnName));
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized float getFloat(String columnName) throws SQLException {
-        return getFloat(findColumn(columnName));
+    public float getFloat(String columnName) throws SQLException {
+        lock.lock();
+        try {
+            return getFloat(findColumn(columnName));
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized double getDouble(String columnName) throws SQLException {
-        return getDouble(findColumn(columnName));
+    public double getDouble(String columnName) throws SQLException {
+        lock.lock();
+        try {
+            return getDouble(findColumn(columnName));
+        } finally {
+            lock.unlock();
+        }
     }
 
     public BigDecimal getBigDecimal(String columnName, int scale) throws SQLException {
         throw new SQLException(new UnsupportedOperationException());
     }
 
-    public synchronized byte[] getBytes(String columnName) throws SQLException {
-        return getBytes(findColumn(columnName));
+    public byte[] getBytes(String columnName) throws SQLException {
+        lock.lock();
+        try {
+            return getBytes(findColumn(columnName));
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized Date getDate(String columnName) throws SQLException {
-        return getDate(findColumn(columnName));
+    public Date getDate(String columnName) throws SQLException {
+        lock.lock();
+        try {
+            return getDate(findColumn(columnName));
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized Time getTime(String columnName) throws SQLException {
-        return getTime(findColumn(columnName));
+    public Time getTime(String columnName) throws SQLException {
+        lock.lock();
+        try {
+            return getTime(findColumn(columnName));
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized Timestamp getTimestamp(String columnName) throws SQLException {
-        return getTimestamp(findColumn(columnName));
+    public Timestamp getTimestamp(String columnName) throws SQLException {
+        lock.lock();
+        try {
+            return getTimestamp(findColumn(columnName));
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized InputStream getAsciiStream(String columnName) throws SQLException {
-        return getAsciiStream(findColumn(columnName));
+    public InputStream getAsciiStream(String columnName) throws SQLException {
+        lock.lock();
+        try {
+            return getAsciiStream(findColumn(columnName));
+        } finally {
+            lock.unlock();
+        }
     }
 
     public InputStream getUnicodeStream(String columnName) throws SQLException {
         throw new SQLException(new java.lang.UnsupportedOperationException());
     }
 
-    public synchronized InputStream getBinaryStream(String columnName) throws SQLException {
-        return getBinaryStream(findColumn(columnName));
+    public InputStream getBinaryStream(String columnName) throws SQLException {
+        lock.lock();
+        try {
+            return getBinaryStream(findColumn(columnName));
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized SQLWarning getWarnings() throws SQLException {
-        checkIsOpen();
-        return null;
+    public SQLWarning getWarnings() throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+            return null;
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized void clearWarnings() throws SQLException {
-        checkIsOpen();
+    public void clearWarnings() throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized String getCursorName() throws SQLException {
-        checkIsOpen();
-        return "";
+    public String getCursorName() throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+            return "";
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized ResultSetMetaData getMetaData() throws SQLException {
-        checkIsOpen();
+    public ResultSetMetaData getMetaData() throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
 
-        if (meta_data == null) {
-            meta_data = new CUBRIDResultSetMetaData(u_stmt.getColumnInfo());
-        }
+            if (meta_data == null) {
+                meta_data = new CUBRIDResultSetMetaData(u_stmt.getColumnInfo());
+            }
 
-        return meta_data;
+            return meta_data;
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized Object getObject(int columnIndex) throws SQLException {
-        checkIsOpen();
-        beforeGetValue(columnIndex);
+    public Object getObject(int columnIndex) throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+            beforeGetValue(columnIndex);
+
+            Object value;
+            u_stmt.lock();
+            try {
+                value = u_stmt.getObject(columnIndex - 1);
+                error = u_stmt.getRecentError();
+            } finally {
+                u_stmt.unlock();
+            }
 
-        Object value;
-        synchronized (u_stmt) {
-            value = u_stmt.getObject(columnIndex - 1);
-            error = u_stmt.getRecentError();
+            checkGetXXXError();
+            return value;
+        } finally {
+            lock.unlock();
         }
-
-        checkGetXXXError();
-        return value;
     }
 
-    public synchronized Object getObject(String columnName) throws SQLException {
-        return getObject(findColumn(columnName));
+    public Object getObject(String columnName) throws SQLException {
+        lock.lock();
+        try {
+            return getObject(findColumn(columnName));
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized int findColumn(String columnName) throws SQLException {
-        checkIsOpen();
+    public int findColumn(String columnName) throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
 
-        Integer index = col_name_to_index.get(columnName.toLowerCase());
-        if (index == null) {
-            throw con.createCUBRIDException(CUBRIDJDBCErrorCode.invalid_column_name, null);
-        }
+            Integer index = col_name_to_index.get(columnName.toLowerCase());
+            if (index == null) {
+                throw con.createCUBRIDException(CUBRIDJDBCErrorCode.invalid_column_name, null);
+            }
 
-        return index.intValue() + 1;
+            return index.intValue() + 1;
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized Reader getCharacterStream(int columnIndex) throws SQLException {
-        checkIsOpen();
-        beforeGetValue(columnIndex);
+    public Reader getCharacterStream(int columnIndex) throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+            beforeGetValue(columnIndex);
+
+            Object obj;
+            u_stmt.lock();
+            try {
+                obj = u_stmt.getObject(columnIndex - 1);
+                error = u_stmt.getRecentError();
+            } finally {
+                u_stmt.unlock();
+            }
+            if (obj != null && obj instanceof Clob) {
+                Clob clob = (Clob) obj;
+                Reader stream = clob.getCharacterStream();
+                addStream(stream);
+                return stream;
+            }
 
-        Object obj;
-        synchronized (u_stmt) {
-            obj = u_stmt.getObject(columnIndex - 1);
-            error = u_stmt.getRecentError();
-        }
-        if (obj != null && obj instanceof Clob) {
-            Clob clob = (Clob) obj;
-            Reader stream = clob.getCharacterStream();
-            addStream(stream);
-            return stream;
-        }
+            String str;
+            u_stmt.lock();
+            try {
+                str = u_stmt.getString(columnIndex - 1);
+                error = u_stmt.getRecentError();
+            } finally {
+                u_stmt.unlock();
+            }
+            checkGetXXXError();
 
-        String str;
-        synchronized (u_stmt) {
-            str = u_stmt.getString(columnIndex - 1);
-            error = u_stmt.getRecentError();
-        }
-        checkGetXXXError();
+            if (str == null) {
+                return null;
+            }
 
-        if (str == null) {
-            return null;
+            byte[] b = str.getBytes();
+            Reader stream = null;
+            try {
+                stream = new CUBRIDReader(new String(b, "ISO-8859-1"));
+            } catch (UnsupportedEncodingException e) {
+            }
+            addStream(stream);
+            return stream;
+        } finally {
+            lock.unlock();
         }
+    }
 
-        byte[] b = str.getBytes();
-        Reader stream = null;
+    public Reader getCharacterStream(String columnName) throws SQLException {
+        lock.lock();
         try {
-            stream = new CUBRIDReader(new String(b, "ISO-8859-1"));
-        } catch (UnsupportedEncodingException e) {
+            return getCharacterStream(findColumn(columnName));
+        } finally {
+            lock.unlock();
         }
-        addStream(stream);
-        return stream;
-    }
-
-    public synchronized Reader getCharacterStream(String columnName) throws SQLException {
-        return getCharacterStream(findColumn(columnName));
     }
 
-    public synchronized BigDecimal getBigDecimal(int columnIndex) throws SQLException {
-        checkIsOpen();
-        beforeGetValue(columnIndex);
+    public BigDecimal getBigDecimal(int columnIndex) throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+            beforeGetValue(columnIndex);
+
+            BigDecimal value;
+            u_stmt.lock();
+            try {
+                value = u_stmt.getBigDecimal(columnIndex - 1);
+                error = u_stmt.getRecentError();
+            } finally {
+                u_stmt.unlock();
+            }
 
-        BigDecimal value;
-        synchronized (u_stmt) {
-            value = u_stmt.getBigDecimal(columnIndex - 1);
-            error = u_stmt.getRecentError();
+            checkGetXXXError();
+            return value;
+        } finally {
+            lock.unlock();
         }
-
-        checkGetXXXError();
-        return value;
     }
 
-    public synchronized BigDecimal getBigDecimal(String columnName) throws SQLException {
-        return getBigDecimal(findColumn(columnName));
+    public BigDecimal getBigDecimal(String columnName) throws SQLException {
+        lock.lock();
+        try {
+            return getBigDecimal(findColumn(columnName));
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized boolean isBeforeFirst() throws SQLException {
-        checkIsOpen();
-        checkIsScrollable();
-        if (number_of_rows == 0) {
-            return false;
+    public boolean isBeforeFirst() throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+            checkIsScrollable();
+            if (number_of_rows == 0) {
+                return false;
+            }
+            return current_row == -1;
+        } finally {
+            lock.unlock();
         }
-        return current_row == -1;
     }
 
-    public synchronized boolean isAfterLast() throws SQLException {
-        checkIsOpen();
-        checkIsScrollable();
-        if (number_of_rows == 0) {
-            return false;
+    public boolean isAfterLast() throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+            checkIsScrollable();
+            if (number_of_rows == 0) {
+                return false;
+            }
+            return current_row == number_of_rows;
+        } finally {
+            lock.unlock();
         }
-        return current_row == number_of_rows;
     }
 
-    public synchronized boolean isFirst() throws SQLException {
-        checkIsOpen();
-        checkIsScrollable();
-        if (number_of_rows == 0) {
-            return false;
+    public boolean isFirst() throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+            checkIsScrollable();
+            if (number_of_rows == 0) {
+                return false;
+            }
+            return current_row == 0;
+        } finally {
+            lock.unlock();
         }
-        return current_row == 0;
     }
 
-    public synchronized boolean isLast() throws SQLException {
-        checkIsOpen();
-        checkIsScrollable();
-        if (number_of_rows == 0) {
-            return false;
+    public boolean isLast() throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+            checkIsScrollable();
+            if (number_of_rows == 0) {
+                return false;
+            }
+            return current_row == number_of_rows - 1;
+        } finally {
+            lock.unlock();
         }
-        return current_row == number_of_rows - 1;
     }
 
-    public synchronized void beforeFirst() throws SQLException {
-        checkIsOpen();
-        checkIsScrollable();
-        clearCurrentRow();
-        current_row = -1;
-        inserting = false;
+    public void beforeFirst() throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+            checkIsScrollable();
+            clearCurrentRow();
+            current_row = -1;
+            inserting = false;
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized void afterLast() throws SQLException {
-        checkIsOpen();
-        checkIsScrollable();
-        clearCurrentRow();
-        current_row = number_of_rows;
-        inserting = false;
+    public void afterLast() throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+            checkIsScrollable();
+            clearCurrentRow();
+            current_row = number_of_rows;
+            inserting = false;
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized boolean first() throws SQLException {
-        checkIsOpen();
-        checkIsScrollable();
-        clearCurrentRow();
-        inserting = false;
-        current_row = 0;
-        if (number_of_rows <= 0) {
-            return false;
+    public boolean first() throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+            checkIsScrollable();
+            clearCurrentRow();
+            inserting = false;
+            current_row = 0;
+            if (number_of_rows <= 0) {
+                return false;
+            }
+            move();
+            return true;
+        } finally {
+            lock.unlock();
         }
-        move();
-        return true;
     }
 
-    public synchronized boolean last() throws SQLException {
-        checkIsOpen();
-        checkIsScrollable();
-        clearCurrentRow();
-        inserting = false;
-        current_row = number_of_rows - 1;
-        if (current_row < 0) {
-            current_row = -1;
-            return false;
+    public boolean last() throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+            checkIsScrollable();
+            clearCurrentRow();
+            inserting = false;
+            current_row = number_of_rows - 1;
+            if (current_row < 0) {
+                current_row = -1;
+                return false;
+            }
+            move();
+            return true;
+        } finally {
+            lock.unlock();
         }
-        move();
-        return true;
     }
 
-    public synchronized int getRow() throws SQLException {
-        checkIsOpen();
-        if (current_row > -1 && current_row < number_of_rows) {
-            return current_row + 1;
-        } else {
-            return 0;
+    public int getRow() throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+            if (current_row > -1 && current_row < number_of_rows) {
+                return current_row + 1;
+            } else {
+                return 0;
+            }
+        } finally {
+            lock.unlock();
         }
     }
 
-    public synchronized boolean absolute(int row) throws SQLException {
-        checkIsOpen();
-        checkIsScrollable();
-        clearCurrentRow();
+    public boolean absolute(int row) throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+            checkIsScrollable();
+            clearCurrentRow();
 
-        if (row == 0) {
-            throw con.createCUBRIDException(CUBRIDJDBCErrorCode.argument_zero, null);
-        }
+            if (row == 0) {
+                throw con.createCUBRIDException(CUBRIDJDBCErrorCode.argument_zero, null);
+            }
 
-        if (row > 0) {
-            current_row = row - 1;
-        } else {
-            current_row = number_of_rows + row;
-        }
+            if (row > 0) {
+                current_row = row - 1;
+            } else {
+                current_row = number_of_rows + row;
+            }
 
-        inserting = false;
+            inserting = false;
 
-        if (current_row < 0) {
-            current_row = -1;
-            return false;
-        }
+            if (current_row < 0) {
+                current_row = -1;
+                return false;
+            }
 
-        if (current_row >= number_of_rows) {
-            current_row = number_of_rows;
-            return false;
-        }
+            if (current_row >= number_of_rows) {
+                current_row = number_of_rows;
+                return false;
+            }
 
-        move();
-        return true;
+            move();
+            return true;
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized boolean relative(int rows) throws SQLException {
-        checkIsOpen();
-        checkIsScrollable();
-        clearCurrentRow();
+    public boolean relative(int rows) throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+            checkIsScrollable();
+            clearCurrentRow();
 
-        if (current_row == -1 || current_row == number_of_rows) {
-            throw con.createCUBRIDException(CUBRIDJDBCErrorCode.invalid_row, null);
-        }
+            if (current_row == -1 || current_row == number_of_rows) {
+                throw con.createCUBRIDException(CUBRIDJDBCErrorCode.invalid_row, null);
+            }
 
-        current_row += rows;
-        inserting = false;
+            current_row += rows;
+            inserting = false;
 
-        if (current_row < 0) {
-            current_row = -1;
-            return false;
-        }
+            if (current_row < 0) {
+                current_row = -1;
+                return false;
+            }
 
-        if (current_row >= number_of_rows) {
-            current_row = number_of_rows;
-            return false;
-        }
+            if (current_row >= number_of_rows) {
+                current_row = number_of_rows;
+                return false;
+            }
 
-        move();
-        return true;
+            move();
+            return true;
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized boolean previous() throws SQLException {
-        checkIsOpen();
-        checkIsScrollable();
-        clearCurrentRow();
+    public boolean previous() throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+            checkIsScrollable();
+            clearCurrentRow();
 
-        current_row--;
-        inserting = false;
+            current_row--;
+            inserting = false;
 
-        if (current_row < 0) {
-            current_row = -1;
-            return false;
-        }
+            if (current_row < 0) {
+                current_row = -1;
+                return false;
+            }
 
-        move();
-        return true;
+            move();
+            return true;
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized void setFetchDirection(int direction) throws SQLException {
-        checkIsOpen();
+    public void setFetchDirection(int direction) throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
 
-        if (!is_scrollable) {
-            throw con.createCUBRIDException(CUBRIDJDBCErrorCode.non_scrollable, null);
-        }
+            if (!is_scrollable) {
+                throw con.createCUBRIDException(CUBRIDJDBCErrorCode.non_scrollable, null);
+            }
 
-        if (direction != FETCH_FORWARD
-                && direction != FETCH_REVERSE
-                && direction != FETCH_UNKNOWN) {
-            throw new IllegalArgumentException();
-        }
+            if (direction != FETCH_FORWARD
+                    && direction != FETCH_REVERSE
+                    && direction != FETCH_UNKNOWN) {
+                throw new IllegalArgumentException();
+            }
 
-        fetch_direction = direction;
+            fetch_direction = direction;
 
-        synchronized (u_stmt) {
-            u_stmt.setFetchDirection(direction);
-            error = u_stmt.getRecentError();
-        }
+            u_stmt.lock();
+            try {
+                u_stmt.setFetchDirection(direction);
+                error = u_stmt.getRecentError();
+            } finally {
+                u_stmt.unlock();
+            }
 
-        switch (error.getErrorCode()) {
-            case UErrorCode.ER_NO_ERROR:
-                break;
-            default:
-                throw con.createCUBRIDException(error);
+            switch (error.getErrorCode()) {
+                case UErrorCode.ER_NO_ERROR:
+                    break;
+                default:
+                    throw con.createCUBRIDException(error);
+            }
+        } finally {
+            lock.unlock();
         }
     }
 
-    public synchronized int getFetchDirection() throws SQLException {
-        checkIsOpen();
-        return fetch_direction;
+    public int getFetchDirection() throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+            return fetch_direction;
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized void setFetchSize(int rows) throws SQLException {
-        checkIsOpen();
+    public void setFetchSize(int rows) throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
 
-        if (rows < 0) {
-            throw new IllegalArgumentException();
-        }
+            if (rows < 0) {
+                throw new IllegalArgumentException();
+            }
 
-        fetch_size = rows;
+            fetch_size = rows;
 
-        synchronized (u_stmt) {
-            u_stmt.setFetchSize(rows);
-            error = u_stmt.getRecentError();
+            u_stmt.lock();
+            try {
+                u_stmt.setFetchSize(rows);
+                error = u_stmt.getRecentError();
+            } finally {
+                u_stmt.unlock();
+            }
+
+            switch (error.getErrorCode()) {
+                case UErrorCode.ER_NO_ERROR:
+                    break;
+                default:
+                    throw con.createCUBRIDException(error);
+            }
+        } finally {
+            lock.unlock();
         }
+    }
 
-        switch (error.getErrorCode()) {
-            case UErrorCode.ER_NO_ERROR:
-                break;
-            default:
-                throw con.createCUBRIDException(error);
+    public int getFetchSize() throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+            return fetch_size;
+        } finally {
+            lock.unlock();
         }
     }
 
-    public synchronized int getFetchSize() throws SQLException {
-        checkIsOpen();
-        return fetch_size;
+    /* the FETCH counters of the statement and the fetch sizes chosen with adaptiveFetchSize */
+    public CUBRIDFetchStats getFetchStatistics() throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+
+            u_stmt.lock();
+            try {
+                return new CUBRIDFetchStats(u_stmt.getFetchSizeController());
+            } finally {
+                u_stmt.unlock();
+            }
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized int getType() throws SQLException {
-        checkIsOpen();
-        return type;
+    public int getType() throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+            return type;
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized int getConcurrency() throws SQLException {
-        checkIsOpen();
-        return concurrency;
+    public int getConcurrency() throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+            return concurrency;
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized boolean rowUpdated() throws SQLException {
-        checkIsOpen();
-        checkIsSensitive();
-        checkRowIsValidForGet();
-        return false;
+    public boolean rowUpdated() throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+            checkIsSensitive();
+            checkRowIsValidForGet();
+            return false;
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized boolean rowInserted() throws SQLException {
-        checkIsOpen();
-        checkIsSensitive();
-        checkRowIsValidForGet();
-        return false;
+    public boolean rowInserted() throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+            checkIsSensitive();
+            checkRowIsValidForGet();
+            return false;
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized boolean rowDeleted() throws SQLException {
-        checkIsOpen();
-        checkIsSensitive();
-        checkRowIsValidForGet();
+    public boolean rowDeleted() throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+            checkIsSensitive();
+            checkRowIsValidForGet();
+
+            boolean b = false;
+            u_stmt.lock();
+            try {
+                u_stmt.fetch();
+                b = u_stmt.cursorIsInstance(current_row);
+                error = u_stmt.getRecentError();
+            } finally {
+                u_stmt.unlock();
+            }
 
-        boolean b = false;
-        synchronized (u_stmt) {
-            u_stmt.fetch();
-            b = u_stmt.cursorIsInstance(current_row);
-            error = u_stmt.getRecentError();
-        }
+            switch (error.getErrorCode()) {
+                case UErrorCode.ER_NO_ERROR:
+                    break;
+                default:
+                    throw con.createCUBRIDException(error);
+            }
 
-        switch (error.getErrorCode()) {
-            case UErrorCode.ER_NO_ERROR:
-                break;
-            default:
-                throw con.createCUBRIDException(error);
+            return !b;
+        } finally {
+            lock.unlock();
         }
-
-        return !b;
     }
 
-    public synchronized void updateNull(int columnIndex) throws SQLException {
-        updateValue(columnIndex, null);
+    public void updateNull(int columnIndex) throws SQLException {
+        lock.lock();
+        try {
+            updateValue(columnIndex, null);
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized void updateBoolean(int columnIndex, boolean x) throws SQLException {
-        updateValue(columnIndex, new Boolean(x));
+    public void updateBoolean(int columnIndex, boolean x) throws SQLException {
+        lock.lock();
+        try {
+            updateValue(columnIndex, new Boolean(x));
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized void updateByte(int columnIndex, byte x) throws SQLException {
-        updateValue(columnIndex, new Byte(x));
+    public void updateByte(int columnIndex, byte x) throws SQLException {
+        lock.lock();
+        try {
+            updateValue(columnIndex, new Byte(x));
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized void updateShort(int columnIndex, short x) throws SQLException {
-        updateValue(columnIndex, new Short(x));
+    public void updateShort(int columnIndex, short x) throws SQLException {
+        lock.lock();
+        try {
+            updateValue(columnIndex, new Short(x));
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized void updateInt(int columnIndex, int x) throws SQLException {
-        updateValue(columnIndex, new Integer(x));
+    public void updateInt(int columnIndex, int x) throws SQLException {
+        lock.lock();
+        try {
+            updateValue(columnIndex, new Integer(x));
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized void updateLong(int columnIndex, long x) throws SQLException {
-        updateValue(columnIndex, new Long(x));
+    public void updateLong(int columnIndex, long x) throws SQLException {
+        lock.lock();
+        try {
+            updateValue(columnIndex, new Long(x));
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized void updateFloat(int columnIndex, float x) throws SQLException {
-        updateValue(columnIndex, new Float(x));
+    public void updateFloat(int columnIndex, float x) throws SQLException {
+        lock.lock();
+        try {
+            updateValue(columnIndex, new Float(x));
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized void updateDouble(int columnIndex, double x) throws SQLException {
-        updateValue(columnIndex, new Double(x));
+    public void updateDouble(int columnIndex, double x) throws SQLException {
+        lock.lock();
+        try {
+            updateValue(columnIndex, new Double(x));
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized void updateBigDecimal(int columnIndex, BigDecimal x) throws SQLException {
-        updateValue(columnIndex, x);
+    public void updateBigDecimal(int columnIndex, BigDecimal x) throws SQLException {
+        lock.lock();
+        try {
+            updateValue(columnIndex, x);
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized void updateString(int columnIndex, String x) throws SQLException {
-        updateValue(columnIndex, x);
+    public void updateString(int columnIndex, String x) throws SQLException {
+        lock.lock();
+        try {
+            updateValue(columnIndex, x);
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized void updateBytes(int columnIndex, byte[] x) throws SQLException {
-        updateValue(columnIndex, x);
+    public void updateBytes(int columnIndex, byte[] x) throws SQLException {
+        lock.lock();
+        try {
+            updateValue(columnIndex, x);
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized void updateDate(int columnIndex, Date x) throws SQLException {
-        updateValue(columnIndex, x);
+    public void updateDate(int columnIndex, Date x) throws SQLException {
+        lock.lock();
+        try {
+            updateValue(columnIndex, x);
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized void updateTime(int columnIndex, Time x) throws SQLException {
-        updateValue(columnIndex, x);
+    public void updateTime(int columnIndex, Time x) throws SQLException {
+        lock.lock();
+        try {
+            updateValue(columnIndex, x);
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized void updateTimestamp(int columnIndex, Timestamp x) throws SQLException {
-        updateValue(columnIndex, x);
+    public void updateTimestamp(int columnIndex, Timestamp x) throws SQLException {
+        lock.lock();
+        try {
+            updateValue(columnIndex, x);
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized void updateAsciiStream(int columnIndex, InputStream x, int length)
+    public void updateAsciiStream(int columnIndex, InputStream x, int length)
             throws SQLException {
-        checkIsOpen();
-        checkIsUpdatable();
-        checkRowIsValidForUpdate();
-        checkColumnIsValid(columnIndex);
-        checkColumnIsUpdatable(columnIndex);
-
-        if (length < 0) {
-            throw new IllegalArgumentException();
-        }
-
-        byte[] value = new byte[length];
-        int len = 0;
+        lock.lock();
         try {
-            len = x.read(value);
-        } catch (IOException e) {
-            throw con.createCUBRIDException(CUBRIDJDBCErrorCode.ioexception_in_stream, e);
-        }
+            checkIsOpen();
+            checkIsUpdatable();
+            checkRowIsValidForUpdate();
+            checkColumnIsValid(columnIndex);
+            checkColumnIsUpdatable(columnIndex);
+
+            if (length < 0) {
+                throw new IllegalArgumentException();
+            }
+
+            byte[] value = new byte[length];
+            int len = 0;
+            try {
+                len = x.read(value);
+            } catch (IOException e) {
+                throw con.createCUBRIDException(CUBRIDJDBCErrorCode.ioexception_in_stream, e);
+            }
 
-        if (len == -1) {
-            throw con.createCUBRIDException(CUBRIDJDBCErrorCode.empty_inputstream, null);
+            if (len == -1) {
+                throw con.createCUBRIDException(CUBRIDJDBCErrorCode.empty_inputstream, null);
+            }
+            updateValue(columnIndex, new String(value, 0, len));
+        } finally {
+            lock.unlock();
         }
-        updateValue(columnIndex, new String(value, 0, len));
     }
 
-    public synchronized void updateBinaryStream(int columnIndex, InputStream x, int length)
+    public void updateBinaryStream(int columnIndex, InputStream x, int length)
             throws SQLException {
-        checkIsOpen();
-        checkIsUpdatable();
-        checkRowIsValidForUpdate();
-        checkColumnIsValid(columnIndex);
-        checkColumnIsUpdatable(columnIndex);
+        lock.lock();
+        try {
+            checkIsOpen();
+            checkIsUpdatable();
+            checkRowIsValidForUpdate();
+            checkColumnIsValid(columnIndex);
+            checkColumnIsUpdatable(columnIndex);
 
-        if (length < 0) {
-            throw new IllegalArgumentException();
-        }
+            if (length < 0) {
+                throw new IllegalArgumentException();
+            }
 
-        byte[] value = new byte[length];
-        int len = 0;
-        try {
-            len = x.read(value);
-        } catch (IOException e) {
-            throw con.createCUBRIDException(CUBRIDJDBCErrorCode.ioexception_in_stream, null);
-        }
+            byte[] value = new byte[length];
+            int len = 0;
+            try {
+                len = x.read(value);
+            } catch (IOException e) {
+                throw con.createCUBRIDException(CUBRIDJDBCErrorCode.ioexception_in_stream, null);
+            }
 
-        if (len == -1) {
-            throw con.createCUBRIDException(CUBRIDJDBCErrorCode.empty_inputstream, null);
-        }
+            if (len == -1) {
+                throw con.createCUBRIDException(CUBRIDJDBCErrorCode.empty_inputstream, null);
+            }
 
-        byte[] value2 = new byte[len];
-        for (int i = 0; i < len; i++) {
-            value2[i] = value[i];
-        }
+            byte[] value2 = new byte[len];
+            for (int i = 0; i < len; i++) {
+                value2[i] = value[i];
+            }
 
-        updateValue(columnIndex, value2);
+            updateValue(columnIndex, value2);
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized void updateCharacterStream(int columnIndex, Reader x, int length)
+    public void updateCharacterStream(int columnIndex, Reader x, int length)
             throws SQLException {
-        checkIsOpen();
-        checkIsUpdatable();
-        checkRowIsValidForUpdate();
-        checkColumnIsValid(columnIndex);
-        checkColumnIsUpdatable(columnIndex);
+        lock.lock();
+        try {
+            checkIsOpen();
+            checkIsUpdatable();
+            checkRowIsValidForUpdate();
+            checkColumnIsValid(columnIndex);
+            checkColumnIsUpdatable(columnIndex);
 
-        if (length < 0) {
-            throw new IllegalArgumentException();
-        }
+            if (length < 0) {
+                throw new IllegalArgumentException();
+            }
 
-        char[] value = new char[length];
-        int len = 0;
-        try {
-            len = x.read(value);
-        } catch (IOException e) {
-            throw con.createCUBRIDException(CUBRIDJDBCErrorCode.ioexception_in_stream, e);
-        }
+            char[] value = new char[length];
+            int len = 0;
+            try {
+                len = x.read(value);
+            } catch (IOException e) {
+                throw con.createCUBRIDException(CUBRIDJDBCErrorCode.ioexception_in_stream, e);
+            }
 
-        if (len == -1) {
-            throw con.createCUBRIDException(CUBRIDJDBCErrorCode.empty_reader, null);
-        }
+            if (len == -1) {
+                throw con.createCUBRIDException(CUBRIDJDBCErrorCode.empty_reader, null);
+            }
 
-        try {
-            updateValue(columnIndex, new String(value, 0, len).getBytes("ISO-8859-1"));
-        } catch (UnsupportedEncodingException e) {
+            try {
+                updateValue(columnIndex, new String(value, 0, len).getBytes("ISO-8859-1"));
+            } catch (UnsupportedEncodingException e) {
+            }
+        } finally {
+            lock.unlock();
         }
     }
 
-    public synchronized void updateObject(int columnIndex, Object x, int scale)
+    public void updateObject(int columnIndex, Object x, int scale)
             throws SQLException {
+        lock.lock();
         try {
-            updateObject(columnIndex, new BigDecimal(((Number) x).toString()).setScale(scale));
-        } catch (SQLException e) {
-            throw e;
-        } catch (Exception e) {
-            updateObject(columnIndex, x);
+            try {
+                updateObject(columnIndex, new BigDecimal(((Number) x).toString()).setScale(scale));
+            } catch (SQLException e) {
+                throw e;
+            } catch (Exception e) {
+                updateObject(columnIndex, x);
+            }
+        } finally {
+            lock.unlock();
         }
     }
 
-    public synchronized void updateObject(int columnIndex, Object x) throws SQLException {
-        updateValue(columnIndex, x);
+    public void updateObject(int columnIndex, Object x) throws SQLException {
+        lock.lock();
+        try {
+            updateValue(columnIndex, x);
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized void updateNull(String columnName) throws SQLException {
-        updateNull(findColumn(columnName));
+    public void updateNull(String columnName) throws SQLException {
+        lock.lock();
+        try {
+            updateNull(findColumn(columnName));
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized void updateBoolean(String columnName, boolean x) throws SQLException {
-        updateBoolean(findColumn(columnName), x);
+    public void updateBoolean(String columnName, boolean x) throws SQLException {
+        lock.lock();
+        try {
+            updateBoolean(findColumn(columnName), x);
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized void updateByte(String columnName, byte x) throws SQLException {
-        updateByte(findColumn(columnName), x);
+    public void updateByte(String columnName, byte x) throws SQLException {
+        lock.lock();
+        try {
+            updateByte(findColumn(columnName), x);
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized void updateShort(String columnName, short x) throws SQLException {
-        updateShort(findColumn(columnName), x);
+    public void updateShort(String columnName, short x) throws SQLException {
+        lock.lock();
+        try {
+            updateShort(findColumn(columnName), x);
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized void updateInt(String columnName, int x) throws SQLException {
-        updateInt(findColumn(columnName), x);
+    public void updateInt(String columnName, int x) throws SQLException {
+        lock.lock();
+        try {
+            updateInt(findColumn(columnName), x);
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized void updateLong(String columnName, long x) throws SQLException {
-        updateLong(findColumn(columnName), x);
+    public void updateLong(String columnName, long x) throws SQLException {
+        lock.lock();
+        try {
+            updateLong(findColumn(columnName), x);
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized void updateFloat(String columnName, float x) throws SQLException {
-        updateFloat(findColumn(columnName), x);
+    public void updateFloat(String columnName, float x) throws SQLException {
+        lock.lock();
+        try {
+            updateFloat(findColumn(columnName), x);
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized void updateDouble(String columnName, double x) throws SQLException {
-        updateDouble(findColumn(columnName), x);
+    public void updateDouble(String columnName, double x) throws SQLException {
+        lock.lock();
+        try {
+            updateDouble(findColumn(columnName), x);
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized void updateBigDecimal(String columnName, BigDecimal x) throws SQLException {
-        updateBigDecimal(findColumn(columnName), x);
+    public void updateBigDecimal(String columnName, BigDecimal x) throws SQLException {
+        lock.lock();
+        try {
+            updateBigDecimal(findColumn(columnName), x);
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized void updateString(String columnName, String x) throws SQLException {
-        updateString(findColumn(columnName), x);
+    public void updateString(String columnName, String x) throws SQLException {
+        lock.lock();
+        try {
+            updateString(findColumn(columnName), x);
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized void updateBytes(String columnName, byte[] x) throws SQLException {
-        updateBytes(findColumn(columnName), x);
+    public void updateBytes(String columnName, byte[] x) throws SQLException {
+        lock.lock();
+        try {
+            updateBytes(findColumn(columnName), x);
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized void updateDate(String columnName, Date x) throws SQLException {
-        updateDate(findColumn(columnName), x);
+    public void updateDate(String columnName, Date x) throws SQLException {
+        lock.lock();
+        try {
+            updateDate(findColumn(columnName), x);
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized void updateTime(String columnName, Time x) throws SQLException {
-        updateTime(findColumn(columnName), x);
+    public void updateTime(String columnName, Time x) throws SQLException {
+        lock.lock();
+        try {
+            updateTime(findColumn(columnName), x);
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized void updateTimestamp(String columnName, Timestamp x) throws SQLException {
-        updateTimestamp(findColumn(columnName), x);
+    public void updateTimestamp(String columnName, Timestamp x) throws SQLException {
+        lock.lock();
+        try {
+            updateTimestamp(findColumn(columnName), x);
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized void updateAsciiStream(String columnName, InputStream x, int length)
+    public void updateAsciiStream(String columnName, InputStream x, int length)
             throws SQLException {
-        updateAsciiStream(findColumn(columnName), x, length);
+        lock.lock();
+        try {
+            updateAsciiStream(findColumn(columnName), x, length);
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized void updateBinaryStream(String columnName, InputStream x, int length)
+    public void updateBinaryStream(String columnName, InputStream x, int length)
             throws SQLException {
-        updateBinaryStream(findColumn(columnName), x, length);
+        lock.lock();
+        try {
+            updateBinaryStream(findColumn(columnName), x, length);
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized void updateCharacterStream(String columnName, Reader reader, int length)
+    public void updateCharacterStream(String columnName, Reader reader, int length)
             throws SQLException {
-        updateCharacterStream(findColumn(columnName), reader, length);
+        lock.lock();
+        try {
+            updateCharacterStream(findColumn(columnName), reader, length);
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized void updateObject(String columnName, Object x, int scale)
+    public void updateObject(String columnName, Object x, int scale)
             throws SQLException {
-        updateObject(findColumn(columnName), x, scale);
+        lock.lock();
+        try {
+            updateObject(findColumn(columnName), x, scale);
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized void updateObject(String columnName, Object x) throws SQLException {
-        updateObject(findColumn(columnName), x);
+    public void updateObject(String columnName, Object x) throws SQLException {
+        lock.lock();
+        try {
+            updateObject(findColumn(columnName), x);
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized void insertRow() throws SQLException {
+    public void insertRow() throws SQLException {
+        lockConnection();
+        lock.lock();
         try {
-            synchronized (con) {
-                synchronized (this) {
-                    checkIsOpen();
-                    checkIsUpdatable();
-                    if (!inserting) {
-                        throw con.createCUBRIDException(CUBRIDJDBCErrorCode.invalid_row, null);
-                    }
+            try {
+                checkIsOpen();
+                checkIsUpdatable();
+                if (!inserting) {
+                    throw con.createCUBRIDException(CUBRIDJDBCErrorCode.invalid_row, null);
+                }
 
-                    if (main_table_name == null) {
-                        return;
-                    }
+                if (main_table_name == null) {
+                    return;
+                }
 
-                    String sql = "insert into [" + main_table_name + "] (";
+                String sql = "insert into [" + main_table_name + "] (";
 
-                    boolean first = true;
-                    for (int i = 0; i < column_info.length; i++) {
-                        if (updated[i] == false) continue;
-                        if (!first) sql += ",";
-                        first = false;
-                        sql += "[" + column_info[i].getRealColumnName() + "]";
-                    }
+                boolean first = true;
+                for (int i = 0; i < column_info.length; i++) {
+                    if (updated[i] == false) continue;
+                    if (!first) sql += ",";
+                    first = false;
+                    sql += "[" + column_info[i].getRealColumnName() + "]";
+                }
 
-                    sql += ") values (";
+                sql += ") values (";
 
-                    first = true;
-                    for (int i = 0; i < column_info.length; i++) {
-                        if (updated[i] == false) continue;
-                        if (!first) sql += ",";
-                        first = false;
-                        sql += valueToString(updates[i]);
-                    }
+                first = true;
+                for (int i = 0; i < column_info.length; i++) {
+                    if (updated[i] == false) continue;
+                    if (!first) sql += ",";
+                    first = false;
+                    sql += valueToString(updates[i]);
+                }
 
-                    sql += ")";
+                sql += ")";
 
-                    UStatement t_u_stmt = con.prepare(sql, (byte) 0);
-                    t_u_stmt.execute(
-                            false, 0, 0, false, false, false, false, false, false, null, 0);
+                UStatement t_u_stmt = con.prepare(sql, (byte) 0);
+                t_u_stmt.execute(
+                        false, 0, 0, false, false, false, false, false, false, null, 0);
 
-                    error = t_u_stmt.getRecentError();
-                    t_u_stmt.close();
-                    if (error.getErrorCode() != UErrorCode.ER_NO_ERROR)
-                        throw con.createCUBRIDException(
-                                CUBRIDJDBCErrorCode.insertion_query_fail, null);
-                }
+                error = t_u_stmt.getRecentError();
+                t_u_stmt.close();
+                if (error.getErrorCode() != UErrorCode.ER_NO_ERROR)
+                    throw con.createCUBRIDException(
+                            CUBRIDJDBCErrorCode.insertion_query_fail, null);
+            } catch (NullPointerException e) {
+                checkIsOpen();
             }
-        } catch (NullPointerException e) {
-            checkIsOpen();
+        } finally {
+            lock.unlock();
+            unlockConnection();
         }
     }
 
-    public synchronized void updateRow() throws SQLException {
-        checkIsOpen();
-        checkIsUpdatable();
-        checkRowIsValidForGet();
+    public void updateRow() throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+            checkIsUpdatable();
+            checkRowIsValidForGet();
 
-        int[] indices = new int[number_of_updates];
-        Object[] values = new Object[number_of_updates];
+            int[] indices = new int[number_of_updates];
+            Object[] values = new Object[number_of_updates];
 
-        int j = 0;
-        for (int i = 0; i < column_info.length; i++) {
-            if (!updated[i]) continue;
-            indices[j] = i;
-            values[j++] = updates[i];
-        }
+            int j = 0;
+            for (int i = 0; i < column_info.length; i++) {
+                if (!updated[i]) continue;
+                indices[j] = i;
+                values[j++] = updates[i];
+            }
 
-        u_stmt.updateRows(current_row, indices, values);
-        error = u_stmt.getRecentError();
+            u_stmt.updateRows(current_row, indices, values);
+            error = u_stmt.getRecentError();
 
-        switch (error.getErrorCode()) {
-            case UErrorCode.ER_NO_ERROR:
-                break;
-            default:
-                throw con.createCUBRIDException(error);
-        }
+            switch (error.getErrorCode()) {
+                case UErrorCode.ER_NO_ERROR:
+                    break;
+                default:
+                    throw con.createCUBRIDException(error);
+            }
 
-        if (is_sensitive) {
-            refreshRow();
-        } else {
-            clearCurrentRow();
+            if (is_sensitive) {
+                refreshRow();
+            } else {
+                clearCurrentRow();
+            }
+        } finally {
+            lock.unlock();
         }
     }
 
-    public synchronized void deleteRow() throws SQLException {
-        checkIsOpen();
-        checkIsUpdatable();
-        checkRowIsValidForGet();
-
-        synchronized (u_stmt) {
-            u_stmt.fetch();
-            u_stmt.deleteCursor(current_row);
-            error = u_stmt.getRecentError();
-        }
+    public void deleteRow() throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+            checkIsUpdatable();
+            checkRowIsValidForGet();
+
+            u_stmt.lock();
+            try {
+                u_stmt.fetch();
+                u_stmt.deleteCursor(current_row);
+                error = u_stmt.getRecentError();
+            } finally {
+                u_stmt.unlock();
+            }
 
-        switch (error.getErrorCode()) {
-            case UErrorCode.ER_NO_ERROR:
-                break;
-            default:
-                throw con.createCUBRIDException(error);
+            switch (error.getErrorCode()) {
+                case UErrorCode.ER_NO_ERROR:
+                    break;
+                default:
+                    throw con.createCUBRIDException(error);
+            }
+        } finally {
+            lock.unlock();
         }
     }
 
-    public synchronized void refreshRow() throws SQLException {
-        checkIsOpen();
-        checkIsSensitive();
-        checkRowIsValidForGet();
+    public void refreshRow() throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+            checkIsSensitive();
+            checkRowIsValidForGet();
 
-        clearCurrentRow();
+            clearCurrentRow();
 
-        u_stmt.reFetch();
-        error = u_stmt.getRecentError();
+            u_stmt.reFetch();
+            error = u_stmt.getRecentError();
 
-        switch (error.getErrorCode()) {
-            case UErrorCode.ER_NO_ERROR:
-                break;
-            default:
-                throw con.createCUBRIDException(error);
+            switch (error.getErrorCode()) {
+                case UErrorCode.ER_NO_ERROR:
+                    break;
+                default:
+                    throw con.createCUBRIDException(error);
+            }
+        } finally {
+            lock.unlock();
         }
     }
 
-    public synchronized void cancelRowUpdates() throws SQLException {
-        checkIsOpen();
-        checkIsUpdatable();
-        checkRowIsValidForUpdate();
+    public void cancelRowUpdates() throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+            checkIsUpdatable();
+            checkRowIsValidForUpdate();
 
-        number_of_updates = 0;
-        for (int i = 0; i < updates.length; i++) {
-            updates[i] = null;
-            updated[i] = false;
+            number_of_updates = 0;
+            for (int i = 0; i < updates.length; i++) {
+                updates[i] = null;
+                updated[i] = false;
+            }
+        } finally {
+            lock.unlock();
         }
     }
 
-    public synchronized void moveToInsertRow() throws SQLException {
-        checkIsOpen();
-        checkIsUpdatable();
-        clearCurrentRow();
-        inserting = true;
+    public void moveToInsertRow() throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+            checkIsUpdatable();
+            clearCurrentRow();
+            inserting = true;
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized void moveToCurrentRow() throws SQLException {
-        checkIsOpen();
-        checkIsUpdatable();
-        clearCurrentRow();
-        inserting = false;
+    public void moveToCurrentRow() throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+            checkIsUpdatable();
+            clearCurrentRow();
+            inserting = false;
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized Statement getStatement() throws SQLException {
-        checkIsOpen();
-        return stmt;
+    public Statement getStatement() throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+            return stmt;
+        } finally {
+            lock.unlock();
+        }
     }
 
     public Object getObject(int i, Map<String, Class<?>> map) throws SQLException {
@@ -1423,18 +2047,26 @@ public class CUBRIDResultSet implements ResultSet {
         throw new SQLException(new UnsupportedOperationException());
     }
 
-    public synchronized Blob getBlob(int columnIndex) throws SQLException {
-        checkIsOpen();
-        beforeGetValue(columnIndex);
+    public Blob getBlob(int columnIndex) throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+            beforeGetValue(columnIndex);
+
+            Blob value;
+            u_stmt.lock();
+            try {
+                value = u_stmt.getBlob(columnIndex - 1);
+                error = u_stmt.getRecentError();
+            } finally {
+                u_stmt.unlock();
+            }
 
-        Blob value;
-        synchronized (u_stmt) {
-            value = u_stmt.getBlob(columnIndex - 1);
-            error = u_stmt.getRecentError();
+            checkGetXXXError();
+            return value;
+        } finally {
+            lock.unlock();
         }
-
-        checkGetXXXError();
-        return value;
     }
 
     public Clob getClob(int columnIndex) throws SQLException {
@@ -1442,9 +2074,12 @@ public class CUBRIDResultSet implements ResultSet {
         beforeGetValue(columnIndex);
 
         Clob value;
-        synchronized (u_stmt) {
+        u_stmt.lock();
+        try {
             value = u_stmt.getClob(columnIndex - 1);
             error = u_stmt.getRecentError();
+        } finally {
+            u_stmt.unlock();
         }
 
         checkGetXXXError();
@@ -1475,108 +2110,214 @@ public class CUBRIDResultSet implements ResultSet {
         throw new SQLException(new UnsupportedOperationException());
     }
 
-    public synchronized Date getDate(int columnIndex, Calendar cal) throws SQLException {
-        return getDate(columnIndex);
+    public Date getDate(int columnIndex, Calendar cal) throws SQLException {
+        lock.lock();
+        try {
+            return getDate(columnIndex);
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized Date getDate(String columnName, Calendar cal) throws SQLException {
-        return getDate(columnName);
+    public Date getDate(String columnName, Calendar cal) throws SQLException {
+        lock.lock();
+        try {
+            return getDate(columnName);
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized Time getTime(int columnIndex, Calendar cal) throws SQLException {
-        return getTime(columnIndex);
+    public Time getTime(int columnIndex, Calendar cal) throws SQLException {
+        lock.lock();
+        try {
+            return getTime(columnIndex);
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized Time getTime(String columnName, Calendar cal) throws SQLException {
-        return getTime(columnName);
+    public Time getTime(String columnName, Calendar cal) throws SQLException {
+        lock.lock();
+        try {
+            return getTime(columnName);
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized Timestamp getTimestamp(int columnIndex, Calendar cal) throws SQLException {
-        return getTimestamp(columnIndex);
+    public Timestamp getTimestamp(int columnIndex, Calendar cal) throws SQLException {
+        lock.lock();
+        try {
+            return getTimestamp(columnIndex);
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized Timestamp getTimestamp(String columnName, Calendar cal)
+    public Timestamp getTimestamp(String columnName, Calendar cal)
             throws SQLException {
-        return getTimestamp(columnName);
+        lock.lock();
+        try {
+            return getTimestamp(columnName);
+        } finally {
+            lock.unlock();
+        }
     }
 
     // 3.0
-    public synchronized URL getURL(int columnIndex) throws SQLException {
-        throw new SQLException(new UnsupportedOperationException());
+    public URL getURL(int columnIndex) throws SQLException {
+        lock.lock();
+        try {
+            throw new SQLException(new UnsupportedOperationException());
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized URL getURL(String columnName) throws SQLException {
-        throw new SQLException(new UnsupportedOperationException());
+    public URL getURL(String columnName) throws SQLException {
+        lock.lock();
+        try {
+            throw new SQLException(new UnsupportedOperationException());
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized void updateArray(int columnIndex, Array x) throws SQLException {
-        throw new SQLException(new UnsupportedOperationException());
+    public void updateArray(int columnIndex, Array x) throws SQLException {
+        lock.lock();
+        try {
+            throw new SQLException(new UnsupportedOperationException());
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized void updateArray(String columnName, Array x) throws SQLException {
-        throw new SQLException(new UnsupportedOperationException());
+    public void updateArray(String columnName, Array x) throws SQLException {
+        lock.lock();
+        try {
+            throw new SQLException(new UnsupportedOperationException());
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized void updateBlob(int columnIndex, Blob x) throws SQLException {
-        updateValue(columnIndex, x);
+    public void updateBlob(int columnIndex, Blob x) throws SQLException {
+        lock.lock();
+        try {
+            updateValue(columnIndex, x);
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized void updateBlob(String columnName, Blob x) throws SQLException {
-        updateValue(findColumn(columnName), x);
+    public void updateBlob(String columnName, Blob x) throws SQLException {
+        lock.lock();
+        try {
+            updateValue(findColumn(columnName), x);
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized void updateClob(int columnIndex, Clob x) throws SQLException {
-        updateValue(columnIndex, x);
+    public void updateClob(int columnIndex, Clob x) throws SQLException {
+        lock.lock();
+        try {
+            updateValue(columnIndex, x);
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized void updateClob(String columnName, Clob x) throws SQLException {
-        updateValue(findColumn(columnName), x);
+    public void updateClob(String columnName, Clob x) throws SQLException {
+        lock.lock();
+        try {
+            updateValue(findColumn(columnName), x);
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized void updateRef(int columnIndex, Ref x) throws SQLException {
-        throw new SQLException(new UnsupportedOperationException());
+    public void updateRef(int columnIndex, Ref x) throws SQLException {
+        lock.lock();
+        try {
+            throw new SQLException(new UnsupportedOperationException());
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized void updateRef(String columnName, Ref x) throws SQLException {
-        throw new SQLException(new UnsupportedOperationException());
+    public void updateRef(String columnName, Ref x) throws SQLException {
+        lock.lock();
+        try {
+            throw new SQLException(new UnsupportedOperationException());
+        } finally {
+            lock.unlock();
+        }
     }
 
     // 3.0
 
-    public synchronized CUBRIDOID getOID(int columnIndex) throws SQLException {
-        checkIsOpen();
-        beforeGetValue(columnIndex);
+    public CUBRIDOID getOID(int columnIndex) throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+            beforeGetValue(columnIndex);
+
+            CUBRIDOID value;
+            u_stmt.lock();
+            try {
+                value = u_stmt.getColumnOID(columnIndex - 1);
+                error = u_stmt.getRecentError();
+            } finally {
+                u_stmt.unlock();
+            }
 
-        CUBRIDOID value;
-        synchronized (u_stmt) {
-            value = u_stmt.getColumnOID(columnIndex - 1);
-            error = u_stmt.getRecentError();
+            checkGetXXXError();
+            return value;
+        } finally {
+            lock.unlock();
         }
-
-        checkGetXXXError();
-        return value;
     }
 
-    public synchronized CUBRIDOID getOID(String columnName) throws SQLException {
-        return getOID(findColumn(columnName));
+    public CUBRIDOID getOID(String columnName) throws SQLException {
+        lock.lock();
+        try {
+            return getOID(findColumn(columnName));
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized Object getCollection(int columnIndex) throws SQLException {
-        checkIsOpen();
-        beforeGetValue(columnIndex);
+    public Object getCollection(int columnIndex) throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+            beforeGetValue(columnIndex);
+
+            Object value;
+            u_stmt.lock();
+            try {
+                value = u_stmt.getCollection(columnIndex - 1);
+                error = u_stmt.getRecentError();
+            } finally {
+                u_stmt.unlock();
+            }
 
-        Object value;
-        synchronized (u_stmt) {
-            value = u_stmt.getCollection(columnIndex - 1);
-            error = u_stmt.getRecentError();
+            checkGetXXXError();
+            return value;
+        } finally {
+            lock.unlock();
         }
-
-        checkGetXXXError();
-        return value;
     }
 
-    public synchronized Object getCollection(String columnName) throws SQLException {
-        return getCollection(findColumn(columnName));
+    public Object getCollection(String columnName) throws SQLException {
+        lock.lock();
+        try {
+            return getCollection(findColumn(columnName));
+        } finally {
+            lock.unlock();
+        }
     }
 
     /**
@@ -1588,21 +2329,29 @@ public class CUBRIDResultSet implements ResultSet {
      * @exception SQLException if the current cursor is on beforeFirst, afterLast or the insert row
      * @exception SQLException if a database access error occurs
      */
-    public synchronized CUBRIDOID getOID() throws SQLException {
-        checkIsOpen();
-        checkRowIsValidForGet();
-        CUBRIDOID oid = null;
-        synchronized (u_stmt) {
-            oid = u_stmt.getCursorOID();
-            error = u_stmt.getRecentError();
-        }
-        switch (error.getErrorCode()) {
-            case UErrorCode.ER_NO_ERROR:
-                return oid;
-            case UErrorCode.ER_OID_IS_NOT_INCLUDED:
-                return null;
-            default:
-                throw con.createCUBRIDException(error);
+    public CUBRIDOID getOID() throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+            checkRowIsValidForGet();
+            CUBRIDOID oid = null;
+            u_stmt.lock();
+            try {
+                oid = u_stmt.getCursorOID();
+                error = u_stmt.getRecentError();
+            } finally {
+                u_stmt.unlock();
+            }
+            switch (error.getErrorCode()) {
+                case UErrorCode.ER_NO_ERROR:
+                    return oid;
+                case UErrorCode.ER_OID_IS_NOT_INCLUDED:
+                    return null;
+                default:
+                    throw con.createCUBRIDException(error);
+            }
+        } finally {
+            lock.unlock();
         }
     }
 
@@ -1658,9 +2407,12 @@ public class CUBRIDResultSet implements ResultSet {
         checkRowIsValidForGet();
         checkColumnIsValid(columnIndex);
 
-        synchronized (u_stmt) {
+        u_stmt.lock();
+        try {
             u_stmt.fetch();
             error = u_stmt.getRecentError();
+        } finally {
+            u_stmt.unlock();
         }
 
         switch (error.getErrorCode()) {
@@ -1720,10 +2472,25 @@ public class CUBRIDResultSet implements ResultSet {
         }
     }
 
+    private void lockConnection() {
+        if (con != null) {
+            con.lock.lock();
+        }
+    }
+
+    private void unlockConnection() {
+        if (con != null) {
+            con.lock.unlock();
+        }
+    }
+
     private void move() throws SQLException {
-        synchronized (u_stmt) {
+        u_stmt.lock();
+        try {
             u_stmt.moveCursor(current_row, UStatement.CURSOR_SET);
             error = u_stmt.getRecentError();
+        } finally {
+            u_stmt.unlock();
         }
 
         switch (error.getErrorCode()) {
@@ -89,7 +89,8 @@ public class CUBRIDShardMetaData {
             return metadata[shard_id];
         }
 
-        synchronized (u_con) {
+        u_con.lock();
+        try {
             num_shard = u_con.shardInfo();
 
             error = u_con.getRecentError();
@@ -99,6 +100,8 @@ public class CUBRIDShardMetaData {
                 default:
                     throw con.createCUBRIDException(error);
             }
+        } finally {
+            u_con.unlock();
         }
 
         metadata = new CUBRIDDatabaseMetaData[num_shard];
@@ -133,9 +136,12 @@ public class CUBRIDShardMetaData {
         checkIsOpen();
 
         int count = 0;
-        synchronized (u_con) {
+        u_con.lock();
+        try {
             count = u_con.getShardCount();
             error = u_con.getRecentError();
+        } finally {
+            u_con.unlock();
         }
 
         switch (error.getErrorCode()) {
@@ -49,6 +49,7 @@ import java.sql.SQLException;
 import java.sql.SQLWarning;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Title: CUBRID JDBC Driver Description:
@@ -87,8 +88,11 @@ public class CUBRIDStatement implements Statement {
     private boolean is_from_current_transaction;
     private int lastShardId;
 
+    final ReentrantLock lock;
+
     protected CUBRIDStatement(CUBRIDConnection c, int t, int concur, int hold) {
         con = c;
+        lock = con.lock;
         u_con = con.u_con;
         u_stmt = null;
         is_closed = false;
@@ -130,39 +134,40 @@ public class CUBRIDStatement implements Statement {
         try {
             checkIsOpen();
 
-            synchronized (con) {
-                synchronized (this) {
-                    long begin = 0;
+            lock.lock();
+            try {
+                long begin = 0;
 
-                    setShardId(UShardInfo.SHARD_ID_INVALID);
+                setShardId(UShardInfo.SHARD_ID_INVALID);
 
-                    u_con.setBeginTime();
-                    if (u_con.getLogSlowQuery()) {
-                        begin = System.currentTimeMillis();
-                    }
+                u_con.setBeginTime();
+                if (u_con.getLogSlowQuery()) {
+                    begin = System.currentTimeMillis();
+                }
 
-                    checkIsOpen();
-                    if (!completed) {
-                        complete();
-                    }
-                    prepare(sql);
+                checkIsOpen();
+                if (!completed) {
+                    complete();
+                }
+                prepare(sql);
 
-                    if (!u_stmt.getSqlType()) {
-                        u_stmt.close();
-                        u_stmt = null;
-                        throw con.createCUBRIDException(
-                                CUBRIDJDBCErrorCode.invalid_query_type_for_executeQuery, null);
-                    }
+                if (!u_stmt.getSqlType()) {
+                    u_stmt.close();
+                    u_stmt = null;
+                    throw con.createCUBRIDException(
+                            CUBRIDJDBCErrorCode.invalid_query_type_for_executeQuery, null);
+                }
 
-                    executeCore(false);
-                    getMoreResults();
-                    current_result_set.complete_on_close = true;
-                    if (u_con.getLogSlowQuery()) {
-                        long end = System.currentTimeMillis();
-                        u_con.logSlowQuery(begin, end, sql, null);
-                    }
-                    return current_result_set;
+                executeCore(false);
+                getMoreResults();
+                current_result_set.complete_on_close = true;
+                if (u_con.getLogSlowQuery()) {
+                    long end = System.currentTimeMillis();
+                    u_con.logSlowQuery(begin, end, sql, null);
                 }
+                return current_result_set;
+            } finally {
+                lock.unlock();
             }
         } catch (NullPointerException e) {
             throw con.createCUBRIDException(CUBRIDJDBCErrorCode.statement_closed, e);
@@ -179,66 +184,102 @@ public class CUBRIDStatement implements Statement {
 
     public void close() throws SQLException {
         try {
-            synchronized (con) {
-                synchronized (this) {
-                    lastShardId = UShardInfo.SHARD_ID_INVALID;
-                    if (is_closed) {
-                        return;
-                    }
-                    complete();
-                    is_closed = true;
-                    con.removeStatement(this);
-
-                    con = null;
-                    u_con = null;
-                    error = null;
+            lock.lock();
+            try {
+                lastShardId = UShardInfo.SHARD_ID_INVALID;
+                if (is_closed) {
+                    return;
                 }
+                complete();
+                is_closed = true;
+                con.removeStatement(this);
+
+                con = null;
+                u_con = null;
+                error = null;
+            } finally {
+                lock.unlock();
             }
         } catch (NullPointerException e) {
         }
     }
 
-    public synchronized int getMaxFieldSize() throws SQLException {
-        checkIsOpen();
-        return max_field_size;
+    public int getMaxFieldSize() throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+            return max_field_size;
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized void setMaxFieldSize(int max) throws SQLException {
-        checkIsOpen();
-        if (max < 0) {
-            throw new IllegalArgumentException();
+    public void setMaxFieldSize(int max) throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+            if (max < 0) {
+                throw new IllegalArgumentException();
+            }
+            max_field_size = max;
+        } finally {
+            lock.unlock();
         }
-        max_field_size = max;
     }
 
-    public synchronized int getMaxRows() throws SQLException {
-        checkIsOpen();
-        return max_rows;
+    public int getMaxRows() throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+            return max_rows;
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized void setMaxRows(int max) throws SQLException {
-        checkIsOpen();
-        if (max < 0) {
-            throw new IllegalArgumentException();
+    public void setMaxRows(int max) throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+            if (max < 0) {
+                throw new IllegalArgumentException();
+            }
+            max_rows = max;
+        } finally {
+            lock.unlock();
         }
-        max_rows = max;
     }
 
-    public synchronized void setEscapeProcessing(boolean enable) throws SQLException {
-        checkIsOpen();
+    public void setEscapeProcessing(boolean enable) throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized int getQueryTimeout() throws SQLException {
-        checkIsOpen();
-        return query_timeout;
+    public int getQueryTimeout() throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+            return query_timeout;
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized void setQueryTimeout(int seconds) throws SQLException {
-        checkIsOpen();
-        if (seconds < 0 || seconds > UConnection.MAX_QUERY_TIMEOUT) {
-            throw new IllegalArgumentException();
+    public void setQueryTimeout(int seconds) throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+            if (seconds < 0 || seconds > UConnection.MAX_QUERY_TIMEOUT) {
+                throw new IllegalArgumentException();
+            }
+            query_timeout = seconds;
+        } finally {
+            lock.unlock();
         }
-        query_timeout = seconds;
     }
 
     public void cancel() throws SQLException {
@@ -257,17 +298,32 @@ public class CUBRIDStatement implements Statement {
         }
     }
 
-    public synchronized SQLWarning getWarnings() throws SQLException {
-        checkIsOpen();
-        return null;
+    public SQLWarning getWarnings() throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+            return null;
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized void clearWarnings() throws SQLException {
-        checkIsOpen();
+    public void clearWarnings() throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized void setCursorName(String name) throws SQLException {
-        checkIsOpen();
+    public void setCursorName(String name) throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+        } finally {
+            lock.unlock();
+        }
     }
 
     public boolean execute(String sql) throws SQLException {
@@ -278,363 +334,453 @@ public class CUBRIDStatement implements Statement {
         return returnvalue;
     }
 
-    public synchronized ResultSet getResultSet() throws SQLException {
-        checkIsOpen();
+    public ResultSet getResultSet() throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
 
-        return current_result_set;
+            return current_result_set;
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized int getUpdateCount() throws SQLException {
-        checkIsOpen();
+    public int getUpdateCount() throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
 
-        return update_count;
+            return update_count;
+        } finally {
+            lock.unlock();
+        }
     }
 
     public boolean getMoreResults() throws SQLException {
         try {
             checkIsOpen();
 
-            synchronized (con) {
-                synchronized (this) {
-                    checkIsOpen();
-
-                    if (current_result_set != null) {
-                        current_result_set.close();
-                        current_result_set = null;
-                    }
+            lock.lock();
+            try {
+                checkIsOpen();
 
-                    if (completed) {
-                        update_count = -1;
-                        return false;
-                    }
+                if (current_result_set != null) {
+                    current_result_set.close();
+                    current_result_set = null;
+                }
 
-                    if (result_index == result_info.length) {
-                        if (u_stmt.getCommandType() != CUBRIDCommandType.CUBRID_STMT_CALL_SP)
-                            complete();
-                        update_count = -1;
-                        return false;
-                    }
+                if (completed) {
+                    update_count = -1;
+                    return false;
+                }
 
-                    if (result_index != 0) {
-                        u_stmt.nextResult();
-                        error = u_stmt.getRecentError();
-                        switch (error.getErrorCode()) {
-                            case UErrorCode.ER_NO_ERROR:
-                                break;
-                            default:
-                                throw con.createCUBRIDException(error);
-                        }
-                    }
+                if (result_index == result_info.length) {
+                    if (u_stmt.getCommandType() != CUBRIDCommandType.CUBRID_STMT_CALL_SP)
+                        complete();
+                    update_count = -1;
+                    return false;
+                }
 
-                    boolean result_type = result_info[result_index].isResultSet();
-
-                    if (result_type) {
-                        int rs_type = type;
-                        int rs_concurrency = concurrency;
-                        if (type == ResultSet.TYPE_SCROLL_SENSITIVE
-                                && u_stmt.isOIDIncluded() == false)
-                            rs_type = ResultSet.TYPE_SCROLL_INSENSITIVE;
-                        if (concurrency == ResultSet.CONCUR_UPDATABLE
-                                && u_stmt.isOIDIncluded() == false)
-                            rs_concurrency = ResultSet.CONCUR_READ_ONLY;
-                        current_result_set =
-                                new CUBRIDResultSet(
-                                        con, this, rs_type, rs_concurrency, is_holdable);
-                        update_count = -1;
-                    } else {
-                        update_count = result_info[result_index].getResultCount();
+                if (result_index != 0) {
+                    u_stmt.nextResult();
+                    error = u_stmt.getRecentError();
+                    switch (error.getErrorCode()) {
+                        case UErrorCode.ER_NO_ERROR:
+                            break;
+                        default:
+                            throw con.createCUBRIDException(error);
                     }
+                }
 
-                    result_index++;
-                    return result_type;
+                boolean result_type = result_info[result_index].isResultSet();
+
+                if (result_type) {
+                    int rs_type = type;
+                    int rs_concurrency = concurrency;
+                    if (type == ResultSet.TYPE_SCROLL_SENSITIVE
+                            && u_stmt.isOIDIncluded() == false)
+                        rs_type = ResultSet.TYPE_SCROLL_INSENSITIVE;
+                    if (concurrency == ResultSet.CONCUR_UPDATABLE
+                            && u_stmt.isOIDIncluded() == false)
+                        rs_concurrency = ResultSet.CONCUR_READ_ONLY;
+                    current_result_set =
+                            new CUBRIDResultSet(
+                                    con, this, rs_type, rs_concurrency, is_holdable);
+                    update_count = -1;
+                } else {
+                    update_count = result_info[result_index].getResultCount();
                 }
+
+                result_index++;
+                return result_type;
+            } finally {
+                lock.unlock();
             }
         } catch (NullPointerException e) {
             throw con.createCUBRIDException(CUBRIDJDBCErrorCode.statement_closed, e);
         }
     }
 
-    public synchronized void setFetchDirection(int direction) throws SQLException {
-        checkIsOpen();
+    public void setFetchDirection(int direction) throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
 
-        if (!is_scrollable)
-            throw con.createCUBRIDException(CUBRIDJDBCErrorCode.non_scrollable_statement, null);
+            if (!is_scrollable)
+                throw con.createCUBRIDException(CUBRIDJDBCErrorCode.non_scrollable_statement, null);
 
-        switch (direction) {
-            case ResultSet.FETCH_FORWARD:
-            case ResultSet.FETCH_REVERSE:
-            case ResultSet.FETCH_UNKNOWN:
-                fetch_direction = direction;
-                break;
-            default:
-                throw new IllegalArgumentException();
+            switch (direction) {
+                case ResultSet.FETCH_FORWARD:
+                case ResultSet.FETCH_REVERSE:
+                case ResultSet.FETCH_UNKNOWN:
+                    fetch_direction = direction;
+                    break;
+                default:
+                    throw new IllegalArgumentException();
+            }
+        } finally {
+            lock.unlock();
         }
     }
 
-    public synchronized int getFetchDirection() throws SQLException {
-        checkIsOpen();
-        return fetch_direction;
+    public int getFetchDirection() throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+            return fetch_direction;
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized void setFetchSize(int rows) throws SQLException {
-        checkIsOpen();
-        if (rows < 0) {
-            throw new IllegalArgumentException();
+    public void setFetchSize(int rows) throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+            /* Integer.MIN_VALUE asks for a streaming ResultSet */
+            if (rows < 0 && rows != Integer.MIN_VALUE) {
+                throw new IllegalArgumentException();
+            }
+            fetch_size = rows;
+        } finally {
+            lock.unlock();
         }
-        fetch_size = rows;
     }
 
-    public synchronized int getFetchSize() throws SQLException {
-        checkIsOpen();
-        return fetch_size;
+    public int getFetchSize() throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+            return fetch_size;
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized int getResultSetConcurrency() throws SQLException {
-        checkIsOpen();
-        return concurrency;
+    public int getResultSetConcurrency() throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+            return concurrency;
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized int getResultSetType() throws SQLException {
-        checkIsOpen();
-        return type;
+    public int getResultSetType() throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+            return type;
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized void addBatch(String sql) throws SQLException {
-        checkIsOpen();
-        batchs.add(sql);
+    public void addBatch(String sql) throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+            batchs.add(sql);
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized void clearBatch() throws SQLException {
-        checkIsOpen();
-        batchs.clear();
+    public void clearBatch() throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+            batchs.clear();
+        } finally {
+            lock.unlock();
+        }
     }
 
     public int[] executeBatch() throws SQLException {
         try {
             checkIsOpen();
 
-            synchronized (con) {
-                synchronized (this) {
-                    setShardId(UShardInfo.SHARD_ID_INVALID);
+            lock.lock();
+            try {
+                setShardId(UShardInfo.SHARD_ID_INVALID);
 
-                    checkIsOpen();
-                    if (batchs.size() == 0) {
-                        return new int[0];
-                    }
-
-                    u_con.setBeginTime();
-                    if (!completed) {
-                        complete();
-                    }
-                    UBatchResult batch_results;
-                    String[] batch_querys = new String[batchs.size()];
-                    for (int i = 0; i < batchs.size(); i++) {
-                        batch_querys[i] = (String) batchs.get(i);
-                    }
-                    batch_results = u_con.batchExecute(batch_querys, query_timeout);
-                    setShardId(u_con.getShardId());
+                checkIsOpen();
+                if (batchs.size() == 0) {
+                    return new int[0];
+                }
 
-                    error = u_con.getRecentError();
+                u_con.setBeginTime();
+                if (!completed) {
+                    complete();
+                }
+                UBatchResult batch_results;
+                String[] batch_querys = new String[batchs.size()];
+                for (int i = 0; i < batchs.size(); i++) {
+                    batch_querys[i] = (String) batchs.get(i);
+                }
+                batch_results = u_con.batchExecute(batch_querys, query_timeout);
+                setShardId(u_con.getShardId());
 
-                    batchs.clear();
-                    switch (error.getErrorCode()) {
-                        case UErrorCode.ER_NO_ERROR:
-                            break;
-                        default:
-                            throw con.createCUBRIDException(error);
-                    }
+                error = u_con.getRecentError();
 
-                    con.autoCommit();
-                    return (checkBatchResult(batch_results));
+                batchs.clear();
+                switch (error.getErrorCode()) {
+                    case UErrorCode.ER_NO_ERROR:
+                        break;
+                    default:
+                        throw con.createCUBRIDException(error);
                 }
+
+                con.autoCommit();
+                return (checkBatchResult(batch_results));
+            } finally {
+                lock.unlock();
             }
         } catch (NullPointerException e) {
             throw con.createCUBRIDException(CUBRIDJDBCErrorCode.statement_closed, e);
         }
     }
 
-    public synchronized Connection getConnection() throws SQLException {
-        checkIsOpen();
-        return con;
+    public Connection getConnection() throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+            return con;
+        } finally {
+            lock.unlock();
+        }
     }
 
     // 3.0
-    public synchronized boolean execute(String sql, int autoGeneratedKeys) throws SQLException {
+    public boolean execute(String sql, int autoGeneratedKeys) throws SQLException {
+        lock.lock();
         try {
-            checkIsOpen();
+            try {
+                checkIsOpen();
 
-            synchronized (con) {
-                synchronized (this) {
-                    long begin = 0;
+                long begin = 0;
 
-                    u_con.setBeginTime();
-                    if (u_con.getLogSlowQuery()) {
-                        begin = System.currentTimeMillis();
-                    }
-                    checkIsOpen();
-                    if (!completed) {
-                        complete();
-                    }
-                    prepare(sql);
-                    this.autoGeneratedKeys = autoGeneratedKeys;
-                    if (this.autoGeneratedKeys == Statement.RETURN_GENERATED_KEYS
-                            && u_stmt.getCommandType() == CUBRIDCommandType.CUBRID_STMT_INSERT) {
-                        u_stmt.setAutoGeneratedKeys(true);
-                    }
-                    executeCore(true);
-                    if (this.autoGeneratedKeys == Statement.RETURN_GENERATED_KEYS
-                            && u_stmt.getCommandType() == CUBRIDCommandType.CUBRID_STMT_INSERT)
-                        MakeAutoGeneratedKeysResultSet();
-                    else resetGeneratedKeysResultSet();
-                    if (u_con.getLogSlowQuery()) {
-                        long end = System.currentTimeMillis();
-                        u_con.logSlowQuery(begin, end, sql, null);
-                    }
-                    return getMoreResults();
+                u_con.setBeginTime();
+                if (u_con.getLogSlowQuery()) {
+                    begin = System.currentTimeMillis();
                 }
+                checkIsOpen();
+                if (!completed) {
+                    complete();
+                }
+                this.autoGeneratedKeys = autoGeneratedKeys;
+                prepareWithExecute(sql);
+                if (this.autoGeneratedKeys == Statement.RETURN_GENERATED_KEYS
+                        && u_stmt.getCommandType() == CUBRIDCommandType.CUBRID_STMT_INSERT) {
+                    u_stmt.setAutoGeneratedKeys(true);
+                }
+                executeCore(true);
+                if (this.autoGeneratedKeys == Statement.RETURN_GENERATED_KEYS
+                        && u_stmt.getCommandType() == CUBRIDCommandType.CUBRID_STMT_INSERT)
+                    MakeAutoGeneratedKeysResultSet();
+                else resetGeneratedKeysResultSet();
+                if (u_con.getLogSlowQuery()) {
+                    long end = System.currentTimeMillis();
+                    u_con.logSlowQuery(begin, end, sql, null);
+                }
+                return getMoreResults();
+            } catch (NullPointerException e) {
+                throw con.createCUBRIDException(CUBRIDJDBCErrorCode.statement_closed, e);
             }
-        } catch (NullPointerException e) {
-            throw con.createCUBRIDException(CUBRIDJDBCErrorCode.statement_closed, e);
+        } finally {
+            lock.unlock();
         }
     }
 
-    public synchronized boolean execute(String sql, int[] columnIndexes) throws SQLException {
-        boolean returnvalue;
-        // auto = Statement.RETURN_GENERATED_KEYS;
+    public boolean execute(String sql, int[] columnIndexes) throws SQLException {
+        lock.lock();
+        try {
+            boolean returnvalue;
+            // auto = Statement.RETURN_GENERATED_KEYS;
 
-        returnvalue = execute(sql, Statement.NO_GENERATED_KEYS);
-        // insertAutogenerated();
+            returnvalue = execute(sql, Statement.NO_GENERATED_KEYS);
+            // insertAutogenerated();
 
-        return returnvalue;
+            return returnvalue;
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized boolean execute(String sql, String[] columnNames) throws SQLException {
-        boolean returnvalue;
-        // auto = Statement.RETURN_GENERATED_KEYS;
+    public boolean execute(String sql, String[] columnNames) throws SQLException {
+        lock.lock();
+        try {
+            boolean returnvalue;
+            // auto = Statement.RETURN_GENERATED_KEYS;
 
-        returnvalue = execute(sql, Statement.NO_GENERATED_KEYS);
-        // insertAutogenerated();
+            returnvalue = execute(sql, Statement.NO_GENERATED_KEYS);
+            // insertAutogenerated();
 
-        return returnvalue;
+            return returnvalue;
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized int executeUpdate(String sql, int autoGeneratedKeys) throws SQLException {
+    public int executeUpdate(String sql, int autoGeneratedKeys) throws SQLException {
+        lock.lock();
         try {
-            checkIsOpen();
-
-            synchronized (con) {
-                synchronized (this) {
-                    long begin = 0;
+            try {
+                checkIsOpen();
 
-                    setShardId(UShardInfo.SHARD_ID_INVALID);
+                long begin = 0;
 
-                    u_con.setBeginTime();
-                    if (u_con.getLogSlowQuery()) {
-                        begin = System.currentTimeMillis();
-                    }
-
-                    checkIsOpen();
-                    if (!completed) {
-                        complete();
-                    }
-                    prepare(sql);
+                setShardId(UShardInfo.SHARD_ID_INVALID);
 
-                    if (u_stmt.getSqlType()) {
-                        u_stmt.close();
-                        u_stmt = null;
-                        throw con.createCUBRIDException(
-                                CUBRIDJDBCErrorCode.invalid_query_type_for_executeUpdate, null);
-                    }
+                u_con.setBeginTime();
+                if (u_con.getLogSlowQuery()) {
+                    begin = System.currentTimeMillis();
+                }
 
-                    this.autoGeneratedKeys = autoGeneratedKeys;
-                    if (this.autoGeneratedKeys == Statement.RETURN_GENERATED_KEYS
-                            && u_stmt.getCommandType() == CUBRIDCommandType.CUBRID_STMT_INSERT) {
-                        u_stmt.setAutoGeneratedKeys(true);
-                    }
+                checkIsOpen();
+                if (!completed) {
+                    complete();
+                }
+                this.autoGeneratedKeys = autoGeneratedKeys;
+                prepare(sql);
+
+                if (u_stmt.getSqlType()) {
+                    u_stmt.close();
+                    u_stmt = null;
+                    throw con.createCUBRIDException(
+                            CUBRIDJDBCErrorCode.invalid_query_type_for_executeUpdate, null);
+                }
 
-                    executeCore(false);
-                    if (autoGeneratedKeys == Statement.RETURN_GENERATED_KEYS
-                            && u_stmt.getCommandType() == CUBRIDCommandType.CUBRID_STMT_INSERT)
-                        MakeAutoGeneratedKeysResultSet();
-                    else resetGeneratedKeysResultSet();
+                if (this.autoGeneratedKeys == Statement.RETURN_GENERATED_KEYS
+                        && u_stmt.getCommandType() == CUBRIDCommandType.CUBRID_STMT_INSERT) {
+                    u_stmt.setAutoGeneratedKeys(true);
+                }
 
-                    getMoreResults();
-                    complete();
-                    if (u_con.getLogSlowQuery()) {
-                        long end = System.currentTimeMillis();
-                        u_con.logSlowQuery(begin, end, sql, null);
-                    }
-                    return update_count;
+                executeCore(false);
+                if (autoGeneratedKeys == Statement.RETURN_GENERATED_KEYS
+                        && u_stmt.getCommandType() == CUBRIDCommandType.CUBRID_STMT_INSERT)
+                    MakeAutoGeneratedKeysResultSet();
+                else resetGeneratedKeysResultSet();
+
+                getMoreResults();
+                complete();
+                if (u_con.getLogSlowQuery()) {
+                    long end = System.currentTimeMillis();
+                    u_con.logSlowQuery(begin, end, sql, null);
                 }
+                return update_count;
+            } catch (NullPointerException e) {
+                throw con.createCUBRIDException(CUBRIDJDBCErrorCode.statement_closed, e);
             }
-        } catch (NullPointerException e) {
-            throw con.createCUBRIDException(CUBRIDJDBCErrorCode.statement_closed, e);
+        } finally {
+            lock.unlock();
         }
     }
 
-    public synchronized int executeUpdate(String sql, int[] columnIndexes) throws SQLException {
-        int returnvalue;
-        // auto = Statement.RETURN_GENERATED_KEYS;
+    public int executeUpdate(String sql, int[] columnIndexes) throws SQLException {
+        lock.lock();
+        try {
+            int returnvalue;
+            // auto = Statement.RETURN_GENERATED_KEYS;
 
-        returnvalue = executeUpdate(sql, Statement.NO_GENERATED_KEYS);
-        // insertAutogenerated();
+            returnvalue = executeUpdate(sql, Statement.NO_GENERATED_KEYS);
+            // insertAutogenerated();
 
-        return returnvalue;
+            return returnvalue;
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized int executeUpdate(String sql, String[] columnNames) throws SQLException {
-        int returnvalue;
-        // auto = Statement.RETURN_GENERATED_KEYS;
+    public int executeUpdate(String sql, String[] columnNames) throws SQLException {
+        lock.lock();
+        try {
+            int returnvalue;
+            // auto = Statement.RETURN_GENERATED_KEYS;
 
-        returnvalue = executeUpdate(sql, Statement.NO_GENERATED_KEYS);
-        // insertAutogenerated();
+            returnvalue = executeUpdate(sql, Statement.NO_GENERATED_KEYS);
+            // insertAutogenerated();
 
-        return returnvalue;
+            return returnvalue;
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized ResultSet getGeneratedKeys() throws SQLException {
-        checkIsOpen();
+    public ResultSet getGeneratedKeys() throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
+
+            if (auto_generatedkeys_result_set == null) {
+                auto_generatedkeys_result_set = new CUBRIDResultSet(null);
+            }
 
-        if (auto_generatedkeys_result_set == null) {
-            auto_generatedkeys_result_set = new CUBRIDResultSet(null);
+            return auto_generatedkeys_result_set;
+        } finally {
+            lock.unlock();
         }
+    }
 
-        return auto_generatedkeys_result_set;
-    }
-
-    public synchronized boolean getMoreResults(int current) throws SQLException {
-        /*
-         * try { synchronized (con) { synchronized (this) { checkIsOpen();
-         *
-         * if (current_result_set != null) { current_result_set.close();
-         * current_result_set = null; }
-         *
-         * if (completed) { update_count = -1; return false; }
-         *
-         * if (result_index == result_info.length) { complete(); update_count =
-         * -1; return false; }
-         *
-         * if (result_index != 0) { u_stmt.nextResult(); error =
-         * u_stmt.getRecentError(); switch (error.getErrorCode()) { case
-         * UErrorCode.ER_NO_ERROR : break; default : throw new
-         * CUBRIDException(error); } }
-         *
-         * boolean result_type = result_info[result_index].isResultSet();
-         *
-         * if (result_type) { int rs_type = type; int rs_concurrency =
-         * concurrency; if (type == ResultSet.TYPE_SCROLL_SENSITIVE &&
-         * u_stmt.isOIDIncluded() == false) rs_type =
-         * ResultSet.TYPE_SCROLL_INSENSITIVE; if (concurrency ==
-         * ResultSet.CONCUR_UPDATABLE && u_stmt.isOIDIncluded() == false)
-         * rs_concurrency = ResultSet.CONCUR_READ_ONLY; current_result_set = new
-         * CUBRIDResultSet(con, this, rs_type, rs_concurrency); } else {
-         * update_count = result_info[result_index].getResultCount(); }
-         *
-         * result_index++; return result_type; } } } catch (NullPointerException
-         * e) { throw new CUBRIDException(CUBRIDJDBCErrorCode.statement_closed);
-         * }
-         */
-        throw new SQLException(new java.lang.UnsupportedOperationException());
+    public boolean getMoreResults(int current) throws SQLException {
+        lock.lock();
+        try {
+            /*
+             * try { synchronized (con) { synchronized (this) { checkIsOpen();
+             *
+             * if (current_result_set != null) { current_result_set.close();
+             * current_result_set = null; }
+             *
+             * if (completed) { update_count = -1; return false; }
+             *
+             * if (result_index == result_info.length) { complete(); update_count =
+             * -1; return false; }
+             *
+             * if (result_index != 0) { u_stmt.nextResult(); error =
+             * u_stmt.getRecentError(); switch (error.getErrorCode()) { case
+             * UErrorCode.ER_NO_ERROR : break; default : throw new
+             * CUBRIDException(error); } }
+             *
+             * boolean result_type = result_info[result_index].isResultSet();
+             *
+             * if (result_type) { int rs_type = type; int rs_concurrency =
+             * concurrency; if (type == ResultSet.TYPE_SCROLL_SENSITIVE &&
+             * u_stmt.isOIDIncluded() == false) rs_type =
+             * ResultSet.TYPE_SCROLL_INSENSITIVE; if (concurrency ==
+             * ResultSet.CONCUR_UPDATABLE && u_stmt.isOIDIncluded() == false)
+             * rs_concurrency = ResultSet.CONCUR_READ_ONLY; current_result_set = new
+             * CUBRIDResultSet(con, this, rs_type, rs_concurrency); } else {
+             * update_count = result_info[result_index].getResultCount(); }
+             *
+             * result_index++; return result_type; } } } catch (NullPointerException
+             * e) { throw new CUBRIDException(CUBRIDJDBCErrorCode.statement_closed);
+             * }
+             */
+            throw new SQLException(new java.lang.UnsupportedOperationException());
+        } finally {
+            lock.unlock();
+        }
     }
 
     int getHoldability() {
@@ -642,10 +788,15 @@ public class CUBRIDStatement implements Statement {
         else return ResultSet.CLOSE_CURSORS_AT_COMMIT;
     }
 
-    public synchronized int getResultSetHoldability() throws SQLException {
-        checkIsOpen();
+    public int getResultSetHoldability() throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
 
-        return getHoldability();
+            return getHoldability();
+        } finally {
+            lock.unlock();
+        }
     }
 
     // 3.0
@@ -664,27 +815,28 @@ public class CUBRIDStatement implements Statement {
      */
     public CUBRIDOID executeInsert(String sql) throws SQLException {
         try {
-            synchronized (con) {
-                synchronized (this) {
-                    setShardId(UShardInfo.SHARD_ID_INVALID);
-
-                    u_con.setBeginTime();
+            lock.lock();
+            try {
+                setShardId(UShardInfo.SHARD_ID_INVALID);
 
-                    checkIsOpen();
-                    if (!completed) {
-                        complete();
-                    }
-                    prepare(sql);
+                u_con.setBeginTime();
 
-                    if (autoGeneratedKeys == Statement.RETURN_GENERATED_KEYS
-                            && u_stmt.getCommandType() == CUBRIDCommandType.CUBRID_STMT_INSERT) {
-                        u_stmt.setAutoGeneratedKeys(true);
-                    }
-
-                    CUBRIDOID oid = executeInsertCore();
+                checkIsOpen();
+                if (!completed) {
                     complete();
-                    return oid;
                 }
+                prepare(sql);
+
+                if (autoGeneratedKeys == Statement.RETURN_GENERATED_KEYS
+                        && u_stmt.getCommandType() == CUBRIDCommandType.CUBRID_STMT_INSERT) {
+                    u_stmt.setAutoGeneratedKeys(true);
+                }
+
+                CUBRIDOID oid = executeInsertCore();
+                complete();
+                return oid;
+            } finally {
+                lock.unlock();
             }
         } catch (NullPointerException e) {
             throw con.createCUBRIDException(CUBRIDJDBCErrorCode.statement_closed, e);
@@ -776,22 +928,21 @@ public class CUBRIDStatement implements Statement {
     }
 
     protected CUBRIDOID executeInsertCore() throws SQLException {
-        CUBRIDCancelQueryThread t = null;
+        CUBRIDQueryTimer.Timeout t = null;
         completed = false;
         setCurrentTransaction(true);
 
         setShardId(UShardInfo.SHARD_ID_INVALID);
 
         if (query_timeout > 0) {
-            t = new CUBRIDCancelQueryThread(this, query_timeout);
-            t.start();
+            t = CUBRIDQueryTimer.start(this, query_timeout);
         }
 
         CUBRIDOID oid = u_stmt.executeInsert(false);
         setShardId(u_con.getShardId());
 
         if (query_timeout > 0) {
-            t.queryended();
+            t.end();
         }
 
         error = u_stmt.getRecentError();
@@ -820,7 +971,8 @@ public class CUBRIDStatement implements Statement {
         int[] errCode = batch_results.getErrorCode();
         BatchUpdateException bex = null;
         for (int i = 0; i < num_result; i++) {
-            if (result[i] < 0) {
+            /* rows of a rewritten batch succeed with SUCCESS_NO_INFO, which is negative too */
+            if (result[i] == Statement.EXECUTE_FAILED) {
                 if (bex == null)
                     bex = new BatchUpdateException(ErrorMsg[i], null, errCode[i], result);
                 else bex.setNextException(new SQLException(ErrorMsg[i], null, errCode[i]));
@@ -839,6 +991,10 @@ public class CUBRIDStatement implements Statement {
             executeCoreInternal(all, null);
         }
 
+        readExecuteResult();
+    }
+
+    void readExecuteResult() throws SQLException {
         result_info = u_stmt.getResultInfo();
         result_index = 0;
 
@@ -852,7 +1008,7 @@ public class CUBRIDStatement implements Statement {
 
     protected void executeCoreInternal(boolean all, UStatementCacheData cache_data)
             throws SQLException {
-        CUBRIDCancelQueryThread t = null;
+        CUBRIDQueryTimer.Timeout t = null;
 
         boolean is_holdable = false;
         boolean isQueryCancelThreadStarted = false;
@@ -862,8 +1018,7 @@ public class CUBRIDStatement implements Statement {
         if (query_timeout > 0
                 && (u_con.isConnectedToCubrid() == false
                         || u_con.protoVersionIsAbove(1) == false)) {
-            t = new CUBRIDCancelQueryThread(this, query_timeout);
-            t.start();
+            t = CUBRIDQueryTimer.start(this, query_timeout);
 
             isQueryCancelThreadStarted = true;
         }
@@ -885,7 +1040,7 @@ public class CUBRIDStatement implements Statement {
         setShardId(u_con.getShardId());
 
         if (isQueryCancelThreadStarted) {
-            t.queryended();
+            t.end();
         }
 
         error = u_stmt.getRecentError();
@@ -898,9 +1053,15 @@ public class CUBRIDStatement implements Statement {
 
         if (res_cache != null) cache_data = res_cache.getCacheData();
 
-        executeCoreInternal(all, cache_data);
+        boolean executed = false;
+        try {
+            executeCoreInternal(all, cache_data);
+            executed = true;
+        } finally {
+            if (res_cache != null && !executed) res_cache.discardCacheData(cache_data);
+        }
 
-        if (res_cache != null) res_cache.saveCacheData(cache_data);
+        if (res_cache != null) res_cache.saveCacheData(cache_data, u_con.getClientCacheTTL());
     }
 
     void complete() throws SQLException {
@@ -930,44 +1091,54 @@ public class CUBRIDStatement implements Statement {
         con.autoCommit();
     }
 
-    synchronized void resetGeneratedKeysResultSet() {
+    void resetGeneratedKeysResultSet() {
+        lock.lock();
         try {
-            if (auto_generatedkeys_result_set != null) {
-                auto_generatedkeys_result_set.close();
+            try {
+                if (auto_generatedkeys_result_set != null) {
+                    auto_generatedkeys_result_set.close();
+                    auto_generatedkeys_result_set = null;
+                }
+                if (auto_generatedkeys_stmt != null) {
+                    auto_generatedkeys_stmt.close(false);
+                    auto_generatedkeys_stmt = null;
+                }
+            } catch (Exception e) {
+            } finally {
                 auto_generatedkeys_result_set = null;
-            }
-            if (auto_generatedkeys_stmt != null) {
-                auto_generatedkeys_stmt.close(false);
                 auto_generatedkeys_stmt = null;
             }
-        } catch (Exception e) {
         } finally {
-            auto_generatedkeys_result_set = null;
-            auto_generatedkeys_stmt = null;
+            lock.unlock();
         }
     }
 
-    synchronized boolean MakeAutoGeneratedKeysResultSet() throws SQLException {
-        checkIsOpen();
+    boolean MakeAutoGeneratedKeysResultSet() throws SQLException {
+        lock.lock();
+        try {
+            checkIsOpen();
 
-        if (auto_generatedkeys_result_set != null) {
-            auto_generatedkeys_result_set.close();
-            auto_generatedkeys_result_set = null;
-        }
+            if (auto_generatedkeys_result_set != null) {
+                auto_generatedkeys_result_set.close();
+                auto_generatedkeys_result_set = null;
+            }
 
-        auto_generatedkeys_stmt = new UStatement(u_stmt);
-        if (!auto_generatedkeys_stmt.getGeneratedKeys()) return false;
-        error = auto_generatedkeys_stmt.getRecentError();
-        switch (error.getErrorCode()) {
-            case UErrorCode.ER_NO_ERROR:
-                break;
-            default:
-                throw con.createCUBRIDException(error);
-        }
+            auto_generatedkeys_stmt = new UStatement(u_stmt);
+            if (!auto_generatedkeys_stmt.getGeneratedKeys()) return false;
+            error = auto_generatedkeys_stmt.getRecentError();
+            switch (error.getErrorCode()) {
+                case UErrorCode.ER_NO_ERROR:
+                    break;
+                default:
+                    throw con.createCUBRIDException(error);
+            }
 
-        auto_generatedkeys_result_set = new CUBRIDResultSet(auto_generatedkeys_stmt);
+            auto_generatedkeys_result_set = new CUBRIDResultSet(auto_generatedkeys_stmt);
 
-        return true;
+            return true;
+        } finally {
+            lock.unlock();
+        }
     }
 
     private void checkIsOpen() throws SQLException {
@@ -981,6 +1152,26 @@ public class CUBRIDStatement implements Statement {
     }
 
     private void prepare(String sql) throws SQLException {
+        u_stmt = con.prepare(sql, getPrepareFlag());
+    }
+
+    /*
+     * With usePrepareAndExecute, the PREPARE of literal SQL goes out together with its EXECUTE,
+     * so nothing about the statement is known until it is executed. Only execute() takes this
+     * path: it accepts any statement and tells a result set from an update count by the statement
+     * type of the reply. executeQuery() and executeUpdate() must reject the wrong type before it
+     * runs, so they prepare first.
+     */
+    private void prepareWithExecute(String sql) throws SQLException {
+        if (autoGeneratedKeys == Statement.RETURN_GENERATED_KEYS
+                || !u_con.supportPrepareAndExecute()) {
+            prepare(sql);
+            return;
+        }
+        u_stmt = con.prepareWithExecute(sql, getPrepareFlag());
+    }
+
+    private byte getPrepareFlag() {
         byte prepareFlag = (byte) 0;
 
         if (is_updatable || is_sensitive) {
@@ -992,10 +1183,10 @@ public class CUBRIDStatement implements Statement {
         if (is_holdable) {
             prepareFlag |= UConnection.PREPARE_HOLDABLE;
         }
-        u_stmt = con.prepare(sql, prepareFlag);
+        return prepareFlag;
     }
 
-    private void checkExecuteError() throws SQLException {
+    void checkExecuteError() throws SQLException {
         switch (error.getErrorCode()) {
             case UErrorCode.ER_NO_ERROR:
                 break;
@@ -157,10 +157,13 @@ public class CUBRIDXAResource implements XAResource {
             UConnection ucon = xidInfo.ucon;
             if (ucon == null) throw new XAException(XAException.XAER_RMERR);
 
-            synchronized (ucon) {
+            ucon.lock();
+            try {
                 ucon.xa_prepare(xid);
                 if (ucon.getRecentError().getErrorCode() != UErrorCode.ER_NO_ERROR)
                     throw new XAException(XAException.XAER_RMERR);
+            } finally {
+                ucon.unlock();
             }
 
             xidInfo.status = CUBRIDXidInfo.STATUS_PREPARED;
@@ -279,18 +282,24 @@ public class CUBRIDXAResource implements XAResource {
             }
         }
 
-        synchronized (ucon) {
+        ucon.lock();
+        try {
             if (status == CUBRIDXidInfo.STATUS_RECOVERED) ucon.xa_endTransaction(xid, type);
             else ucon.endTransaction(type);
 
             if (ucon.getRecentError().getErrorCode() != UErrorCode.ER_NO_ERROR)
                 throw new XAException(XAException.XAER_RMFAIL);
+        } finally {
+            ucon.unlock();
         }
 
         ucon = xacon.xa_end_tran(ucon);
         if (ucon != null) {
-            synchronized (ucon) {
+            ucon.lock();
+            try {
                 ucon.close();
+            } finally {
+                ucon.unlock();
             }
         }
     }
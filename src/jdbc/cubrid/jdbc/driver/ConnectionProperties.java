@@ -335,6 +335,24 @@ public class ConnectionProperties {
         }
     }
 
+    class TransportConnectionProperty extends StringConnectionProperty {
+        TransportConnectionProperty(String propertyName, Object defaultValue) {
+            super(propertyName, defaultValue);
+        }
+
+        @Override
+        boolean validateValue(Object o) {
+            if (o instanceof String) {
+                String transport = (String) o;
+                if (transport.equals(UConnection.TRANSPORT_SOCKET)
+                        || transport.equals(UConnection.TRANSPORT_NIO)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
     BooleanConnectionProperty logOnException =
             new BooleanConnectionProperty("logOnException", false);
 
@@ -393,6 +411,15 @@ public class ConnectionProperties {
     IntegerConnectionProperty clientCacheSize =
             new IntegerConnectionProperty("clientCacheSize", 1, 1, 1024);
 
+    BooleanConnectionProperty clientCacheOffHeap =
+            new BooleanConnectionProperty("clientCacheOffHeap", false);
+
+    IntegerConnectionProperty clientCacheTTL =
+            new IntegerConnectionProperty("clientCacheTTL", 0, 0, Integer.MAX_VALUE);
+
+    BooleanConnectionProperty clientCacheInvalidateOnUpdate =
+            new BooleanConnectionProperty("clientCacheInvalidateOnUpdate", false);
+
     BooleanConnectionProperty holdCursor = new BooleanConnectionProperty("hold_cursor", true);
 
     BooleanConnectionProperty usePreparedStmtCache =
@@ -401,9 +428,45 @@ public class ConnectionProperties {
     IntegerConnectionProperty preparedStmtCacheSize =
             new IntegerConnectionProperty("preparedStmtCacheSize", 25, 1, Integer.MAX_VALUE);
 
+    IntegerConnectionProperty preparedStmtCacheMemory =
+            new IntegerConnectionProperty("preparedStmtCacheMemory", 4096, 1, Integer.MAX_VALUE);
+
     IntegerConnectionProperty preparedStmtCacheSqlLimit =
             new IntegerConnectionProperty("preparedStmtCacheSqlLimit", 256, 1, Integer.MAX_VALUE);
 
+    TransportConnectionProperty transport =
+            new TransportConnectionProperty("transport", UConnection.TRANSPORT_SOCKET);
+
+    IntegerConnectionProperty responseBufferRetainSize =
+            new IntegerConnectionProperty("responseBufferRetainSize", 1024, 4, 1024 * 1024);
+
+    IntegerConnectionProperty responseBufferIdleTime =
+            new IntegerConnectionProperty("responseBufferIdleTime", 60, 0, Integer.MAX_VALUE);
+
+    BooleanConnectionProperty usePrepareAndExecute =
+            new BooleanConnectionProperty("usePrepareAndExecute", false);
+
+    IntegerConnectionProperty fetchReadAheadPercent =
+            new IntegerConnectionProperty("fetchReadAheadPercent", 0, 0, 100);
+
+    BooleanConnectionProperty adaptiveFetchSize =
+            new BooleanConnectionProperty("adaptiveFetchSize", false);
+
+    IntegerConnectionProperty adaptiveFetchTargetSize =
+            new IntegerConnectionProperty("adaptiveFetchTargetSize", 1024, 1, 1024 * 1024);
+
+    IntegerConnectionProperty adaptiveFetchTargetTime =
+            new IntegerConnectionProperty("adaptiveFetchTargetTime", 100, 1, Integer.MAX_VALUE);
+
+    IntegerConnectionProperty batchChunkRows =
+            new IntegerConnectionProperty("batchChunkRows", 4096, 0, Integer.MAX_VALUE);
+
+    IntegerConnectionProperty batchChunkSize =
+            new IntegerConnectionProperty("batchChunkSize", 8192, 0, 1024 * 1024);
+
+    BooleanConnectionProperty rewriteBatchedInserts =
+            new BooleanConnectionProperty("rewriteBatchedInserts", false);
+
     public boolean getLogOnException() {
         return logOnException.getValueAsBoolean();
     }
@@ -472,6 +535,18 @@ public class ConnectionProperties {
         return clientCacheSize.getValueAsInteger();
     }
 
+    public boolean getClientCacheOffHeap() {
+        return clientCacheOffHeap.getValueAsBoolean();
+    }
+
+    public int getClientCacheTTL() {
+        return clientCacheTTL.getValueAsInteger();
+    }
+
+    public boolean getClientCacheInvalidateOnUpdate() {
+        return clientCacheInvalidateOnUpdate.getValueAsBoolean();
+    }
+
     public int getHoldCursor() {
         int holdability = ResultSet.HOLD_CURSORS_OVER_COMMIT;
         if (holdCursor.getValueAsBoolean() == false) {
@@ -488,7 +563,55 @@ public class ConnectionProperties {
         return preparedStmtCacheSize.getValueAsInteger();
     }
 
+    public int getPrepStmtCacheMemory() {
+        return preparedStmtCacheMemory.getValueAsInteger();
+    }
+
     public int getPrepStmtCacheSqlLimit() {
         return preparedStmtCacheSqlLimit.getValueAsInteger();
     }
+
+    public String getTransport() {
+        return transport.getValueAsString();
+    }
+
+    public int getResponseBufferRetainSize() {
+        return responseBufferRetainSize.getValueAsInteger();
+    }
+
+    public int getResponseBufferIdleTime() {
+        return responseBufferIdleTime.getValueAsInteger();
+    }
+
+    public boolean getUsePrepareAndExecute() {
+        return usePrepareAndExecute.getValueAsBoolean();
+    }
+
+    public int getFetchReadAheadPercent() {
+        return fetchReadAheadPercent.getValueAsInteger();
+    }
+
+    public boolean getAdaptiveFetchSize() {
+        return adaptiveFetchSize.getValueAsBoolean();
+    }
+
+    public int getAdaptiveFetchTargetSize() {
+        return adaptiveFetchTargetSize.getValueAsInteger();
+    }
+
+    public int getAdaptiveFetchTargetTime() {
+        return adaptiveFetchTargetTime.getValueAsInteger();
+    }
+
+    public int getBatchChunkRows() {
+        return batchChunkRows.getValueAsInteger();
+    }
+
+    public int getBatchChunkSize() {
+        return batchChunkSize.getValueAsInteger();
+    }
+
+    public boolean getRewriteBatchedInserts() {
+        return rewriteBatchedInserts.getValueAsBoolean();
+    }
 }
@@ -0,0 +1,134 @@
+/*
+ * Copyright (C) 2008 Search Solution Corporation.
+ * Copyright (c) 2016 CUBRID Corporation.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ *
+ * - Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * - Neither the name of the <ORGANIZATION> nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software without
+ *   specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING,
+ * BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA,
+ * OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY
+ * OF SUCH DAMAGE.
+ *
+ */
+
+
+package cubrid.jdbc.jci;
+
+/*
+ * A batched INSERT rewritten as one statement for many rows. Only a plain
+ * "INSERT ... VALUES (...)" with all of its parameters in the one row of values is rewritten; the
+ * row is repeated so that "INSERT INTO t VALUES (?, ?)" becomes
+ * "INSERT INTO t VALUES (?, ?), (?, ?), ..." and the serialized bind values of the batched rows
+ * follow one another as the parameters of the rewritten statement.
+ */
+final class UBatchInsertRewrite {
+    private final String prefix;
+    private final String values;
+
+    private UBatchInsertRewrite(String prefix, String values) {
+        this.prefix = prefix;
+        this.values = values;
+    }
+
+    /* the statement for the given number of rows */
+    String getSql(int rows) {
+        StringBuilder sql = new StringBuilder(prefix.length() + (values.length() + 2) * rows);
+        sql.append(prefix);
+        for (int i = 1; i < rows; i++) {
+            sql.append(", ").append(values);
+        }
+        return sql.toString();
+    }
+
+    /* returns null if the statement is not a plain INSERT ... VALUES of parameterNumber markers */
+    static UBatchInsertRewrite parse(String sql, int parameterNumber) {
+        if (sql == null || parameterNumber <= 0) return null;
+
+        int length = sql.length();
+        int start = skipSpaces(sql, 0);
+        if (!matchesWord(sql, start, "insert")) return null;
+
+        int valuesAt = -1;
+        int open = -1;
+        int close = -1;
+        int depth = 0;
+        int markers = 0;
+        int i = start;
+        while (i < length) {
+            char c = sql.charAt(i);
+            if (close >= 0) {
+                /* only a closing semicolon may follow the row of values */
+                if (c != ';' && !Character.isWhitespace(c)) return null;
+            } else if (valuesAt >= 0 && open < 0) {
+                if (c == '(') {
+                    open = i;
+                    depth++;
+                } else if (!Character.isWhitespace(c)) {
+                    return null;
+                }
+            } else if (c == '\'' || c == '"' || c == '`') {
+                i = sql.indexOf(c, i + 1);
+                if (i < 0) return null;
+            } else if (c == '[' && valuesAt < 0) {
+                /* a bracketed identifier */
+                i = sql.indexOf(']', i + 1);
+                if (i < 0) return null;
+            } else if ((c == '-' || c == '/') && i + 1 < length && sql.charAt(i + 1) == c) {
+                return null;
+            } else if (c == '/' && i + 1 < length && sql.charAt(i + 1) == '*') {
+                return null;
+            } else if (c == '?') {
+                if (open < 0) return null;
+                markers++;
+            } else if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+                if (depth < 0) return null;
+                if (open >= 0 && depth == 0) close = i;
+            } else if (depth == 0
+                    && valuesAt < 0
+                    && matchesWord(sql, i, "values")
+                    && !Character.isJavaIdentifierPart(sql.charAt(i - 1))) {
+                valuesAt = i;
+                i += "values".length() - 1;
+            }
+            i++;
+        }
+
+        if (close < 0 || markers != parameterNumber) return null;
+        return new UBatchInsertRewrite(
+                sql.substring(0, close + 1), sql.substring(open, close + 1));
+    }
+
+    private static int skipSpaces(String sql, int from) {
+        while (from < sql.length() && Character.isWhitespace(sql.charAt(from))) from++;
+        return from;
+    }
+
+    private static boolean matchesWord(String sql, int from, String word) {
+        int end = from + word.length();
+        if (end > sql.length() || !sql.regionMatches(true, from, word, 0, word.length())) {
+            return false;
+        }
+        return end == sql.length() || !Character.isJavaIdentifierPart(sql.charAt(end));
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (C) 2008 Search Solution Corporation.
+ * Copyright (c) 2016 CUBRID Corporation.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ *
+ * - Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * - Neither the name of the <ORGANIZATION> nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software without
+ *   specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING,
+ * BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA,
+ * OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY
+ * OF SUCH DAMAGE.
+ *
+ */
+
+
+package cubrid.jdbc.jci;
+
+import cubrid.jdbc.util.ByteArrayBuffer;
+import java.io.IOException;
+import java.util.ArrayList;
+
+/*
+ * The rows of a prepared statement batch, kept as the bind values are written in an
+ * EXECUTE_BATCH request. Each row is serialized once when it is added and copied into the request
+ * as it is, so a batched row costs its encoded bytes plus three ints instead of a UBindParameter
+ * with its arrays and boxed values. Rows are packed into blocks that start at MIN_BLOCK_SIZE bytes
+ * and double up to MAX_BLOCK_SIZE, so a small batch stays small; a row larger than the next block
+ * gets a block of its own.
+ */
+final class UBatchRows {
+    private static final int MIN_BLOCK_SIZE = 4 * 1024;
+    private static final int MAX_BLOCK_SIZE = 256 * 1024;
+    private static final int INITIAL_ROWS = 64;
+
+    private final ArrayList<byte[]> blocks = new ArrayList<byte[]>();
+    private byte[] block;
+    private int blockPos;
+
+    private int rowBlock[] = new int[INITIAL_ROWS];
+    private int rowOffset[] = new int[INITIAL_ROWS];
+    private int rowLength[] = new int[INITIAL_ROWS];
+    private int count;
+    private long bytes;
+
+    int size() {
+        return count;
+    }
+
+    /* the serialized size of all rows */
+    long byteSize() {
+        return bytes;
+    }
+
+    void add(ByteArrayBuffer row) {
+        int len = row.size();
+        if (block == null || block.length - blockPos < len) {
+            int size =
+                    (block == null) ? MIN_BLOCK_SIZE : Math.min(block.length * 2, MAX_BLOCK_SIZE);
+            block = new byte[Math.max(size, len)];
+            blocks.add(block);
+            blockPos = 0;
+        }
+
+        if (count == rowLength.length) {
+            int capacity = count * 2;
+            rowBlock = copyOf(rowBlock, capacity);
+            rowOffset = copyOf(rowOffset, capacity);
+            rowLength = copyOf(rowLength, capacity);
+        }
+
+        row.copyTo(block, blockPos);
+        rowBlock[count] = blocks.size() - 1;
+        rowOffset[count] = blockPos;
+        rowLength[count] = len;
+        count++;
+        blockPos += len;
+        bytes += len;
+    }
+
+    int rowSize(int index) {
+        return rowLength[index];
+    }
+
+    void writeRow(int index, UOutputBuffer outBuffer) throws IOException {
+        outBuffer.writeRaw(blocks.get(rowBlock[index]), rowOffset[index], rowLength[index]);
+    }
+
+    void clear() {
+        blocks.clear();
+        block = null;
+        blockPos = 0;
+        count = 0;
+        bytes = 0;
+    }
+
+    private static int[] copyOf(int[] src, int length) {
+        int[] dst = new int[length];
+        System.arraycopy(src, 0, dst, 0, src.length);
+        return dst;
+    }
+}
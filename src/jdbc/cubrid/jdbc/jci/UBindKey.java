@@ -31,10 +31,15 @@
 
 package cubrid.jdbc.jci;
 
+import java.util.Arrays;
+
 public class UBindKey {
 
     private int num_key;
     private Object[] values;
+    /* the serialized bind values; compared instead of values when set */
+    private byte[] bytes;
+    private int hash;
 
     public UBindKey(Object[] values) {
         if (values == null) num_key = 0;
@@ -42,16 +47,30 @@ public class UBindKey {
             num_key = values.length;
             this.values = (Object[]) values.clone();
         }
+        hash = Arrays.hashCode(this.values);
+    }
+
+    /*
+     * The key of bind values as UBindParameter writes them to the broker, so two keys are equal
+     * exactly when the requests carry the same values, whatever Java types were bound.
+     */
+    static UBindKey fromBytes(byte[] bytes) {
+        UBindKey key = new UBindKey(null);
+        key.bytes = bytes;
+        key.num_key = -1;
+        key.hash = Arrays.hashCode(bytes);
+        return key;
     }
 
     public int hashCode() {
-        if (num_key == 0) return 0;
-        return values[0].hashCode();
+        return hash;
     }
 
     public boolean equals(Object obj) {
         if (obj instanceof UBindKey) {
             UBindKey k = (UBindKey) obj;
+            if (hash != k.hash) return false;
+            if (bytes != null || k.bytes != null) return Arrays.equals(bytes, k.bytes);
             if (num_key == k.num_key) {
                 for (int i = 0; i < num_key; i++) {
                     if (values[i].equals(k.values[i]) == false) return false;
@@ -61,7 +80,7 @@ public class UBindKey {
                 return false;
             }
         } else {
-            return obj.equals(this);
+            return false;
         }
     }
 }
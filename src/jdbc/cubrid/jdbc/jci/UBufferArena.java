@@ -0,0 +1,108 @@
+/*
+ * Copyright (C) 2008 Search Solution Corporation.
+ * Copyright (c) 2016 CUBRID Corporation.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ *
+ * - Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * - Neither the name of the <ORGANIZATION> nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software without
+ *   specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING,
+ * BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA,
+ * OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY
+ * OF SUCH DAMAGE.
+ *
+ */
+
+/**
+ * Title: CUBRID Java Client Interface
+ *
+ * <p>Description: CUBRID Java Client Interface
+ *
+ * <p>
+ *
+ * @version 2.0
+ */
+package cubrid.jdbc.jci;
+
+/**
+ * Per connection storage for the response buffers used by {@link UInputBuffer}. The data buffer is
+ * reused and grown across messages. A buffer larger than the retain size is released when no
+ * message needed it for the idle time, and at once when a pooled connection is returned to the
+ * pool.
+ *
+ * <p>Data read into the buffer is valid only until the next message is received on the same
+ * connection.
+ */
+class UBufferArena {
+    private static final int MIN_BUFFER_SIZE = 4096;
+    private static final int CAS_INFO_SIZE = 4;
+
+    private final int retainSize;
+    private final long idleTime;
+
+    private byte[] buffer;
+    private long lastLargeUseTime;
+    private final byte[] header = new byte[8];
+    private final byte[][] casInfo = {new byte[CAS_INFO_SIZE], new byte[CAS_INFO_SIZE]};
+
+    UBufferArena(int retainSize, long idleTime) {
+        this.retainSize = retainSize;
+        this.idleTime = idleTime;
+    }
+
+    byte[] getHeader() {
+        return header;
+    }
+
+    /*
+     * The two cas info arrays are used alternately so that the one kept by the connection for the
+     * previous message is not overwritten.
+     */
+    byte[] getCasInfo(byte[] current) {
+        return (current == casInfo[0]) ? casInfo[1] : casInfo[0];
+    }
+
+    byte[] getBuffer(int capacity) {
+        long now = System.currentTimeMillis();
+
+        if (buffer != null && buffer.length > retainSize && now - lastLargeUseTime > idleTime) {
+            buffer = null;
+        }
+
+        if (buffer == null || buffer.length < capacity) {
+            int size = capacity;
+            if (capacity <= retainSize) {
+                int grown = (buffer == null) ? MIN_BUFFER_SIZE : buffer.length * 2;
+                size = Math.max(capacity, Math.min(grown, retainSize));
+            }
+            buffer = new byte[size];
+        }
+
+        if (capacity > retainSize) {
+            lastLargeUseTime = now;
+        }
+        return buffer;
+    }
+
+    void trim() {
+        if (buffer != null && buffer.length > retainSize) {
+            buffer = null;
+        }
+    }
+}
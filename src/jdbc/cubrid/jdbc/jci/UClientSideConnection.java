@@ -146,23 +146,28 @@ public class UClientSideConnection extends UConnection {
     }
 
     @Override
-    public synchronized void setAutoCommit(boolean autoCommit) {
-        if (lastAutoCommit != autoCommit) {
-            lastAutoCommit = autoCommit;
-        }
+    public void setAutoCommit(boolean autoCommit) {
+        lock.lock();
+        try {
+            if (lastAutoCommit != autoCommit) {
+                lastAutoCommit = autoCommit;
+            }
 
-        /*
-         * errorHandler = new UError(); if (isClosed == true){
-         * errorHandler.setErrorCode(UErrorCode.ER_IS_CLOSED); return; } try{
-         * checkReconnect(); if (errorHandler.getErrorCode() !=
-         * UErrorCode.ER_NO_ERROR) return; outBuffer.newRequest(out,
-         * UFunctionCode.SET_DB_PARAMETER);
-         * outBuffer.addInt(DB_PARAM_AUTO_COMMIT); outBuffer.addInt(autoCommit ?
-         * 1 : 0 ); UInputBuffer inBuffer; inBuffer = send_recv_msg();
-         * lastAutoCommit = autoCommit; }catch(UJciException e){
-         * e.toUError(errorHandler); }catch(IOException e){
-         * errorHandler.setErrorCode(UErrorCode.ER_COMMUNICATION); }
-         */
+            /*
+             * errorHandler = new UError(); if (isClosed == true){
+             * errorHandler.setErrorCode(UErrorCode.ER_IS_CLOSED); return; } try{
+             * checkReconnect(); if (errorHandler.getErrorCode() !=
+             * UErrorCode.ER_NO_ERROR) return; outBuffer.newRequest(out,
+             * UFunctionCode.SET_DB_PARAMETER);
+             * outBuffer.addInt(DB_PARAM_AUTO_COMMIT); outBuffer.addInt(autoCommit ?
+             * 1 : 0 ); UInputBuffer inBuffer; inBuffer = send_recv_msg();
+             * lastAutoCommit = autoCommit; }catch(UJciException e){
+             * e.toUError(errorHandler); }catch(IOException e){
+             * errorHandler.setErrorCode(UErrorCode.ER_COMMUNICATION); }
+             */
+        } finally {
+            lock.unlock();
+        }
     }
 
     @Override
@@ -258,15 +263,34 @@ public class UClientSideConnection extends UConnection {
 
         int timeout = connectionProperties.getConnectTimeout() * 1000;
         boolean useSSL = connectionProperties.getUseSSL();
-        client =
-                BrokerHandler.connectBroker(
-                        casIp, casPort, useSSL, getTimeout(endTimestamp, timeout));
-        output = new DataOutputStream(client.getOutputStream());
+        if (isNioTransport()) {
+            channel =
+                    BrokerHandler.connectBrokerChannel(
+                            casIp, casPort, getTimeout(endTimestamp, timeout));
+            client = channel.socket();
+            output = new DataOutputStream(channel.getOutputStream());
+        } else {
+            client =
+                    BrokerHandler.connectBroker(
+                            casIp, casPort, useSSL, getTimeout(endTimestamp, timeout));
+            output = new DataOutputStream(client.getOutputStream());
+        }
         connectDB(getTimeout(endTimestamp, timeout));
 
-        input =
-                new UTimedDataInputStream(
-                        client.getInputStream(), casIp, casPort, casProcessId, sessionId, timeout);
+        if (channel != null) {
+            input =
+                    new UTimedDataInputStream(
+                            channel, casIp, casPort, casProcessId, sessionId, timeout);
+        } else {
+            input =
+                    new UTimedDataInputStream(
+                            client.getInputStream(),
+                            casIp,
+                            casPort,
+                            casProcessId,
+                            sessionId,
+                            timeout);
+        }
 
         client.setTcpNoDelay(true);
         client.setSoTimeout(SOCKET_TIMEOUT);
@@ -301,90 +325,101 @@ public class UClientSideConnection extends UConnection {
     }
 
     @Override
-    public synchronized void endTransaction(boolean type) {
-        errorHandler = new UError(this);
+    public void endTransaction(boolean type) {
+        lock.lock();
+        try {
+            errorHandler = new UError(this);
 
-        if (isClosed == true) {
-            errorHandler.setErrorCode(UErrorCode.ER_IS_CLOSED);
-            return;
-        }
+            if (isClosed == true) {
+                errorHandler.setErrorCode(UErrorCode.ER_IS_CLOSED);
+                return;
+            }
 
-        if (needReconnection == true) return;
+            if (needReconnection == true) return;
 
-        try {
-            if (client != null && getCASInfoStatus() != CAS_INFO_STATUS_INACTIVE) {
-                setBeginTime();
-                checkReconnect();
-                if (errorHandler.getErrorCode() != UErrorCode.ER_NO_ERROR) return;
-
-                if (getCASInfoStatus() == CAS_INFO_STATUS_ACTIVE) {
-                    if (UJCIUtil.isConsoleDebug()) {
-                        if (!getAutoCommit() || getAutoCommitBySelf() || type == false) {
-                            // this is ok;
-                        } else {
-                            // we need check
-                            throw new Exception("Check It Out!");
+            try {
+                if (client != null && getCASInfoStatus() != CAS_INFO_STATUS_INACTIVE) {
+                    setBeginTime();
+                    checkReconnect();
+                    if (errorHandler.getErrorCode() != UErrorCode.ER_NO_ERROR) return;
+
+                    if (getCASInfoStatus() == CAS_INFO_STATUS_ACTIVE) {
+                        if (UJCIUtil.isConsoleDebug()) {
+                            if (!getAutoCommit() || getAutoCommitBySelf() || type == false) {
+                                // this is ok;
+                            } else {
+                                // we need check
+                                throw new Exception("Check It Out!");
+                            }
                         }
-                    }
-                    outBuffer.newRequest(output, UFunctionCode.END_TRANSACTION);
-                    outBuffer.addByte((type == true) ? END_TRAN_COMMIT : END_TRAN_ROLLBACK);
+                        outBuffer.newRequest(output, UFunctionCode.END_TRANSACTION);
+                        outBuffer.addByte((type == true) ? END_TRAN_COMMIT : END_TRAN_ROLLBACK);
 
-                    send_recv_msg();
-                    if (getAutoCommit()) {
-                        turnOffAutoCommitBySelf();
+                        send_recv_msg();
+                        if (getAutoCommit()) {
+                            turnOffAutoCommitBySelf();
+                        }
                     }
                 }
+            } catch (UJciException e) {
+                logException(e);
+                e.toUError(errorHandler);
+            } catch (IOException e) {
+                logException(e);
+                errorHandler.setErrorCode(UErrorCode.ER_COMMUNICATION);
+            } catch (Exception e) {
+                logException(e);
+                errorHandler.setErrorMessage(UErrorCode.ER_UNKNOWN, e.getMessage());
             }
-        } catch (UJciException e) {
-            logException(e);
-            e.toUError(errorHandler);
-        } catch (IOException e) {
-            logException(e);
-            errorHandler.setErrorCode(UErrorCode.ER_COMMUNICATION);
-        } catch (Exception e) {
-            logException(e);
-            errorHandler.setErrorMessage(UErrorCode.ER_UNKNOWN, e.getMessage());
-        }
 
-        /*
-         * if (transactionList == null || transactionList.size() == 0)
-         * errorHandler.clear();
-         */
+            /*
+             * if (transactionList == null || transactionList.size() == 0)
+             * errorHandler.clear();
+             */
 
-        boolean keepConnection = true;
-        long currentTime = System.currentTimeMillis() / 1000;
-        int reconnectTime = connectionProperties.getReconnectTime();
-        UUnreachableHostList unreachableHosts = UUnreachableHostList.getInstance();
-
-        if (connectedHostId > 0
-                && lastFailureTime != 0
-                && reconnectTime > 0
-                && currentTime - lastFailureTime > reconnectTime) {
-            if (!unreachableHosts.contains(altHosts.get(0))) {
-                keepConnection = false;
-                lastFailureTime = 0;
+            boolean keepConnection = true;
+            long currentTime = System.currentTimeMillis() / 1000;
+            int reconnectTime = connectionProperties.getReconnectTime();
+            UUnreachableHostList unreachableHosts = UUnreachableHostList.getInstance();
+
+            if (connectedHostId > 0
+                    && lastFailureTime != 0
+                    && reconnectTime > 0
+                    && currentTime - lastFailureTime > reconnectTime) {
+                if (!unreachableHosts.contains(altHosts.get(0))) {
+                    keepConnection = false;
+                    lastFailureTime = 0;
+                }
             }
-        }
 
-        if (errorHandler.getErrorCode() != UErrorCode.ER_NO_ERROR
-                || keepConnection == false) // jci 3.0
-        {
-            if (type == false) {
-                errorHandler.clear();
+            if (errorHandler.getErrorCode() != UErrorCode.ER_NO_ERROR
+                    || keepConnection == false) // jci 3.0
+            {
+                if (type == false) {
+                    errorHandler.clear();
+                }
+
+                clientSocketClose();
+                needReconnection = true;
             }
 
-            clientSocketClose();
-            needReconnection = true;
+            casInfo[CAS_INFO_STATUS] = CAS_INFO_STATUS_INACTIVE;
+            update_executed = false;
+        } finally {
+            lock.unlock();
         }
-
-        casInfo[CAS_INFO_STATUS] = CAS_INFO_STATUS_INACTIVE;
-        update_executed = false;
     }
 
     private void connectDB(int timeout) throws IOException, UJciException {
-        UTimedDataInputStream is =
-                new UTimedDataInputStream(client.getInputStream(), casIp, casPort, timeout);
-        DataOutputStream os = new DataOutputStream(client.getOutputStream());
+        UTimedDataInputStream is;
+        DataOutputStream os;
+        if (channel != null) {
+            is = new UTimedDataInputStream(channel, casIp, casPort, timeout);
+            os = new DataOutputStream(channel.getOutputStream());
+        } else {
+            is = new UTimedDataInputStream(client.getInputStream(), casIp, casPort, timeout);
+            os = new DataOutputStream(client.getOutputStream());
+        }
 
         // send database information
         os.write(dbInfo);
@@ -0,0 +1,125 @@
+/*
+ * Copyright (C) 2008 Search Solution Corporation.
+ * Copyright (c) 2016 CUBRID Corporation.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ *
+ * - Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * - Neither the name of the <ORGANIZATION> nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software without
+ *   specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING,
+ * BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA,
+ * OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY
+ * OF SUCH DAMAGE.
+ *
+ */
+
+
+package cubrid.jdbc.jci;
+
+import java.util.HashMap;
+
+/*
+ * The column metadata of PREPARE and EXECUTE replies, shared by the statements of all connections
+ * in the JVM. A reply is looked up by the bytes of its column metadata together with the charset
+ * they were decoded with, so a statement whose columns changed on the server gets metadata of its
+ * own. The shared column infos and name maps are never modified once they are in the cache.
+ */
+final class UColumnMetadata {
+    private static final int MAX_CACHE_SIZE = 4096;
+    private static final long MAX_MEMORY_SIZE = 16 * 1024 * 1024; /* 16 MByte */
+
+    private static final UPreparedStatementCache<Key, UColumnMetadata> cache =
+            new UPreparedStatementCache<Key, UColumnMetadata>(MAX_CACHE_SIZE, MAX_MEMORY_SIZE);
+
+    final UColumnInfo[] columnInfo;
+    final HashMap<String, Integer> colNameToIndex;
+
+    private UColumnMetadata(UColumnInfo[] columnInfo, HashMap<String, Integer> colNameToIndex) {
+        this.columnInfo = columnInfo;
+        this.colNameToIndex = colNameToIndex;
+    }
+
+    static UColumnMetadata get(
+            byte[] data, int offset, int length, byte statementType, String charset) {
+        return cache.get(new Key(data, offset, length, statementType, charset));
+    }
+
+    static void put(
+            byte[] data,
+            int offset,
+            int length,
+            byte statementType,
+            String charset,
+            UColumnInfo[] columnInfo,
+            HashMap<String, Integer> colNameToIndex) {
+        byte[] copy = new byte[length];
+        System.arraycopy(data, offset, copy, 0, length);
+        Key key = new Key(copy, 0, length, statementType, charset);
+        /* the decoded strings take about twice the bytes they come from */
+        int size = length * 3 + columnInfo.length * 128;
+        cache.put(key, new UColumnMetadata(columnInfo, colNameToIndex), size);
+    }
+
+    private static final class Key {
+        private final byte[] data;
+        private final int offset;
+        private final int length;
+        private final byte statementType;
+        private final String charset;
+        private final int hash;
+
+        Key(byte[] data, int offset, int length, byte statementType, String charset) {
+            this.data = data;
+            this.offset = offset;
+            this.length = length;
+            this.statementType = statementType;
+            this.charset = charset;
+
+            int h = 1;
+            for (int i = offset; i < offset + length; i++) {
+                h = 31 * h + data[i];
+            }
+            h = 31 * h + statementType;
+            this.hash = 31 * h + ((charset == null) ? 0 : charset.hashCode());
+        }
+
+        public int hashCode() {
+            return hash;
+        }
+
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (!(obj instanceof Key)) return false;
+
+            Key other = (Key) obj;
+            if (hash != other.hash
+                    || length != other.length
+                    || statementType != other.statementType) {
+                return false;
+            }
+            if (charset == null ? other.charset != null : !charset.equals(other.charset)) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                if (data[offset + i] != other.data[other.offset + i]) return false;
+            }
+            return true;
+        }
+    }
+}
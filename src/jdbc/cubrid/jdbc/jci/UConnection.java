@@ -54,8 +54,13 @@ import java.io.OutputStream;
 import java.net.Socket;
 import java.sql.SQLException;
 import java.text.SimpleDateFormat;
+import java.util.ArrayDeque;
+import java.util.Collections;
 import java.util.Date;
+import java.util.Set;
 import java.util.Vector;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
 import javax.transaction.xa.Xid;
 
 public abstract class UConnection {
@@ -177,6 +182,12 @@ public abstract class UConnection {
     public static final String RESULT_WITH_CUBRID_TYPES_YES = "yes";
     public static final String RESULT_WITH_CUBRID_TYPES_NO = "no";
 
+    public static final String TRANSPORT_SOCKET = "socket";
+    public static final String TRANSPORT_NIO = "nio";
+
+    /* requests written ahead of their replies by executePipelined() */
+    public static final int PIPELINE_DEPTH = 32;
+
     public static final int SESSION_ID_SIZE = 20;
 
     public static final int MAX_QUERY_TIMEOUT = 2000000;
@@ -220,9 +231,12 @@ public abstract class UConnection {
     protected CUBRIDConnection cubridcon;
 
     protected Socket client;
+    protected UTimedChannel channel;
     protected UTimedDataInputStream input;
     protected DataOutputStream output;
     protected UOutputBuffer outBuffer;
+    private UBufferArena bufferArena;
+    private UReadAhead readAhead;
 
     // jci 3.0
 
@@ -255,8 +269,10 @@ public abstract class UConnection {
     protected byte sessionId[] = createNullSession();
     protected int oldSessionId = 0;
 
+    final ReentrantLock lock = new ReentrantLock();
+
     boolean skip_checkcas = false;
-    Vector<UStatement> pooled_ustmts;
+    Set<UStatement> pooled_ustmts;
     Vector<Integer> deferred_close_handle;
 
     private long beginTime;
@@ -278,1011 +294,1278 @@ public abstract class UConnection {
      */
 
     // UFunctionCode.CHECK_CAS
-    public synchronized boolean check_cas() {
-        if (isClosed == true) return true;
-        if (client == null || needReconnection == true) return true;
+    public boolean check_cas() {
+        lock.lock();
+        try {
+            if (isClosed == true) return true;
+            if (client == null || needReconnection == true) return true;
 
-        if (skip_checkcas) {
-            return true;
-        }
+            if (skip_checkcas) {
+                return true;
+            }
 
-        try {
-            outBuffer.newRequest(output, UFunctionCode.CHECK_CAS);
-            send_recv_msg();
-        } catch (IOException e) {
-            logException(e);
-            return false;
-        } catch (UJciException e) {
-            logException(e);
-            return false;
-        }
+            try {
+                outBuffer.newRequest(output, UFunctionCode.CHECK_CAS);
+                send_recv_msg();
+            } catch (IOException e) {
+                logException(e);
+                return false;
+            } catch (UJciException e) {
+                logException(e);
+                return false;
+            }
 
-        return true;
+            return true;
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized boolean check_cas(String msg) {
+    public boolean check_cas(String msg) {
+        lock.lock();
         try {
-            outBuffer.newRequest(output, UFunctionCode.CHECK_CAS);
-            outBuffer.addStringWithNull(msg);
-            send_recv_msg();
-        } catch (Exception e) {
-            return false;
-        }
+            try {
+                outBuffer.newRequest(output, UFunctionCode.CHECK_CAS);
+                outBuffer.addStringWithNull(msg);
+                send_recv_msg();
+            } catch (Exception e) {
+                return false;
+            }
 
-        return true;
+            return true;
+        } finally {
+            lock.unlock();
+        }
     }
 
     // UFunctionCode.CON_CLOSE
-    public synchronized void close() {
-        errorHandler = new UError(this);
-        if (isClosed == true) {
-            errorHandler.setErrorCode(UErrorCode.ER_IS_CLOSED);
-            return;
-        }
+    public void close() {
+        lock.lock();
+        try {
+            errorHandler = new UError(this);
+            if (isClosed == true) {
+                errorHandler.setErrorCode(UErrorCode.ER_IS_CLOSED);
+                return;
+            }
 
-        closeInternal();
+            closeInternal();
+        } finally {
+            lock.unlock();
+        }
     }
 
     // UFunctionCode.END_TRANSACTION
     public abstract void endTransaction(boolean type);
 
     // UFunctionCode.END_SESSION
-    public synchronized void closeSession() {
+    public void closeSession() {
+        lock.lock();
         try {
-            setBeginTime();
-            checkReconnect();
-            if (errorHandler.getErrorCode() != UErrorCode.ER_NO_ERROR) return;
-            outBuffer.newRequest(output, UFunctionCode.END_SESSION);
-            send_recv_msg();
-            sessionId = createNullSession();
-            oldSessionId = 0;
-        } catch (Exception e) {
+            try {
+                setBeginTime();
+                checkReconnect();
+                if (errorHandler.getErrorCode() != UErrorCode.ER_NO_ERROR) return;
+                outBuffer.newRequest(output, UFunctionCode.END_SESSION);
+                send_recv_msg();
+                sessionId = createNullSession();
+                oldSessionId = 0;
+            } catch (Exception e) {
+            }
+        } finally {
+            lock.unlock();
         }
     }
 
     // UFunctionCode.GET_BY_OID
-    public synchronized UStatement getByOID(CUBRIDOID oid, String[] attributeName) {
-        UStatement returnValue = null;
+    public UStatement getByOID(CUBRIDOID oid, String[] attributeName) {
+        lock.lock();
+        try {
+            UStatement returnValue = null;
 
-        errorHandler = new UError(this);
-        if (isClosed == true) {
-            errorHandler.setErrorCode(UErrorCode.ER_IS_CLOSED);
-            return null;
+            errorHandler = new UError(this);
+            if (isClosed == true) {
+                errorHandler.setErrorCode(UErrorCode.ER_IS_CLOSED);
+                return null;
+            }
+            try {
+                setBeginTime();
+                checkReconnect();
+                if (errorHandler.getErrorCode() != UErrorCode.ER_NO_ERROR) return null;
+
+                outBuffer.newRequest(output, UFunctionCode.GET_BY_OID);
+                outBuffer.addOID(oid);
+                for (int i = 0; attributeName != null && i < attributeName.length; i++) {
+                    if (attributeName[i] != null) outBuffer.addStringWithNull(attributeName[i]);
+                    else outBuffer.addNull();
+                }
+
+                UInputBuffer inBuffer;
+                inBuffer = send_recv_msg();
+
+                returnValue = new UStatement(this, oid, attributeName, inBuffer);
+            } catch (UJciException e) {
+                logException(e);
+                e.toUError(errorHandler);
+                return null;
+            } catch (IOException e) {
+                logException(e);
+                errorHandler.setErrorCode(UErrorCode.ER_COMMUNICATION);
+                return null;
+            }
+            if (returnValue.getRecentError().getErrorCode() != UErrorCode.ER_NO_ERROR) {
+                errorHandler.copyValue(returnValue.getRecentError());
+                return null;
+            }
+            return returnValue;
+        } finally {
+            lock.unlock();
         }
+    }
+
+    /**
+     * Executes the statements writing up to PIPELINE_DEPTH EXECUTE requests before reading their
+     * replies. The replies are matched to the statements in order, and the result or the error of
+     * each request is kept in its statement. In auto commit mode the requests are not pipelined,
+     * because the CAS may be released at the end of each transaction.
+     */
+    public void executePipelined(UStatement[] stmts, int queryTimeout) {
+        lock.lock();
         try {
-            setBeginTime();
-            checkReconnect();
-            if (errorHandler.getErrorCode() != UErrorCode.ER_NO_ERROR) return null;
+            errorHandler = new UError(this);
+            setShardId(UShardInfo.SHARD_ID_INVALID);
 
-            outBuffer.newRequest(output, UFunctionCode.GET_BY_OID);
-            outBuffer.addOID(oid);
-            for (int i = 0; attributeName != null && i < attributeName.length; i++) {
-                if (attributeName[i] != null) outBuffer.addStringWithNull(attributeName[i]);
-                else outBuffer.addNull();
+            if (stmts == null) {
+                errorHandler.setErrorCode(UErrorCode.ER_INVALID_ARGUMENT);
+                return;
+            }
+            if (isClosed == true) {
+                errorHandler.setErrorCode(UErrorCode.ER_IS_CLOSED);
+                setPipelineError(stmts, 0);
+                return;
+            }
+            try {
+                checkReconnect();
+            } catch (UJciException e) {
+                logException(e);
+                e.toUError(errorHandler);
+            } catch (IOException e) {
+                logException(e);
+                errorHandler.setErrorCode(UErrorCode.ER_COMMUNICATION);
+            }
+            if (errorHandler.getErrorCode() != UErrorCode.ER_NO_ERROR) {
+                setPipelineError(stmts, 0);
+                return;
             }
 
-            UInputBuffer inBuffer;
-            inBuffer = send_recv_msg();
+            int depth = getAutoCommit() ? 1 : PIPELINE_DEPTH;
+            ArrayDeque<UStatement> inFlight = new ArrayDeque<UStatement>();
+            int next = 0;
+
+            while (next < stmts.length || !inFlight.isEmpty()) {
+                if (next < stmts.length && inFlight.size() < depth) {
+                    UStatement stmt = stmts[next++];
+                    try {
+                        if (stmt.sendPipelinedExecute(queryTimeout)) {
+                            inFlight.add(stmt);
+                        }
+                        continue;
+                    } catch (IOException e) {
+                        logException(e);
+                        inFlight.add(stmt);
+                    }
+                } else if (inFlight.poll().receivePipelinedExecute(queryTimeout)) {
+                    continue;
+                }
 
-            returnValue = new UStatement(this, oid, attributeName, inBuffer);
-        } catch (UJciException e) {
-            logException(e);
-            e.toUError(errorHandler);
-            return null;
-        } catch (IOException e) {
-            logException(e);
-            errorHandler.setErrorCode(UErrorCode.ER_COMMUNICATION);
-            return null;
+                /* the connection is broken, the remaining requests fail */
+                errorHandler.setErrorCode(UErrorCode.ER_COMMUNICATION);
+                for (UStatement stmt : inFlight) {
+                    stmt.setPipelineError(errorHandler);
+                }
+                setPipelineError(stmts, next);
+                clientSocketClose();
+                return;
+            }
+
+            /* a statement dropped from the statement pool is prepared again and executed alone */
+            for (int i = 0; i < stmts.length; i++) {
+                if (brokerInfoStatementPooling()
+                        && stmts[i].getRecentError().getJdbcErrorCode()
+                                == UErrorCode.CAS_ER_STMT_POOLING) {
+                    stmts[i].execute(
+                            false,
+                            0,
+                            0,
+                            false,
+                            false,
+                            false,
+                            false,
+                            false,
+                            false,
+                            null,
+                            queryTimeout);
+                }
+            }
+        } finally {
+            lock.unlock();
         }
-        if (returnValue.getRecentError().getErrorCode() != UErrorCode.ER_NO_ERROR) {
-            errorHandler.copyValue(returnValue.getRecentError());
-            return null;
+    }
+
+    private void setPipelineError(UStatement[] stmts, int from) {
+        for (int i = from; i < stmts.length; i++) {
+            stmts[i].setPipelineError(errorHandler);
         }
-        return returnValue;
     }
 
     // UFunctionCode.GET_DB_VERSION
-    public synchronized String getDatabaseProductVersion() {
-        errorHandler = new UError(this);
-        if (isClosed == true) {
-            errorHandler.setErrorCode(UErrorCode.ER_IS_CLOSED);
-            return null;
-        }
+    public String getDatabaseProductVersion() {
+        lock.lock();
         try {
-            setBeginTime();
-            checkReconnect();
-            if (errorHandler.getErrorCode() != UErrorCode.ER_NO_ERROR) return null;
+            errorHandler = new UError(this);
+            if (isClosed == true) {
+                errorHandler.setErrorCode(UErrorCode.ER_IS_CLOSED);
+                return null;
+            }
+            try {
+                setBeginTime();
+                checkReconnect();
+                if (errorHandler.getErrorCode() != UErrorCode.ER_NO_ERROR) return null;
 
-            outBuffer.newRequest(output, UFunctionCode.GET_DB_VERSION);
-            outBuffer.addByte(getAutoCommit() ? (byte) 1 : (byte) 0);
+                outBuffer.newRequest(output, UFunctionCode.GET_DB_VERSION);
+                outBuffer.addByte(getAutoCommit() ? (byte) 1 : (byte) 0);
 
-            UInputBuffer inBuffer;
-            inBuffer = send_recv_msg();
+                UInputBuffer inBuffer;
+                inBuffer = send_recv_msg();
 
-            return inBuffer.readString(inBuffer.remainedCapacity(), UJCIManager.sysCharsetName);
-        } catch (UJciException e) {
-            logException(e);
-            e.toUError(errorHandler);
-        } catch (IOException e) {
-            logException(e);
-            errorHandler.setErrorCode(UErrorCode.ER_COMMUNICATION);
+                return inBuffer.readString(inBuffer.remainedCapacity(), UJCIManager.sysCharsetName);
+            } catch (UJciException e) {
+                logException(e);
+                e.toUError(errorHandler);
+            } catch (IOException e) {
+                logException(e);
+                errorHandler.setErrorCode(UErrorCode.ER_COMMUNICATION);
+            }
+            return null;
+        } finally {
+            lock.unlock();
         }
-        return null;
     }
 
     // UFunctionCode.GET_DB_PARAMETER
-    public synchronized int getIsolationLevel() {
-        errorHandler = new UError(this);
+    public int getIsolationLevel() {
+        lock.lock();
+        try {
+            errorHandler = new UError(this);
 
-        if (lastIsolationLevel != CUBRIDIsolationLevel.TRAN_UNKNOWN_ISOLATION) {
-            return lastIsolationLevel;
-        }
+            if (lastIsolationLevel != CUBRIDIsolationLevel.TRAN_UNKNOWN_ISOLATION) {
+                return lastIsolationLevel;
+            }
 
-        if (isClosed == true) {
-            errorHandler.setErrorCode(UErrorCode.ER_IS_CLOSED);
-            return CUBRIDIsolationLevel.TRAN_UNKNOWN_ISOLATION;
-        }
-        try {
-            setBeginTime();
-            checkReconnect();
-            if (errorHandler.getErrorCode() != UErrorCode.ER_NO_ERROR)
+            if (isClosed == true) {
+                errorHandler.setErrorCode(UErrorCode.ER_IS_CLOSED);
                 return CUBRIDIsolationLevel.TRAN_UNKNOWN_ISOLATION;
+            }
+            try {
+                setBeginTime();
+                checkReconnect();
+                if (errorHandler.getErrorCode() != UErrorCode.ER_NO_ERROR)
+                    return CUBRIDIsolationLevel.TRAN_UNKNOWN_ISOLATION;
 
-            outBuffer.newRequest(output, UFunctionCode.GET_DB_PARAMETER);
-            outBuffer.addInt(DB_PARAM_ISOLATION_LEVEL);
+                outBuffer.newRequest(output, UFunctionCode.GET_DB_PARAMETER);
+                outBuffer.addInt(DB_PARAM_ISOLATION_LEVEL);
 
-            UInputBuffer inBuffer;
-            inBuffer = send_recv_msg();
+                UInputBuffer inBuffer;
+                inBuffer = send_recv_msg();
 
-            lastIsolationLevel = inBuffer.readInt();
-            return lastIsolationLevel;
-        } catch (UJciException e) {
-            logException(e);
-            e.toUError(errorHandler);
-        } catch (IOException e) {
-            logException(e);
-            errorHandler.setErrorCode(UErrorCode.ER_COMMUNICATION);
+                lastIsolationLevel = inBuffer.readInt();
+                return lastIsolationLevel;
+            } catch (UJciException e) {
+                logException(e);
+                e.toUError(errorHandler);
+            } catch (IOException e) {
+                logException(e);
+                errorHandler.setErrorCode(UErrorCode.ER_COMMUNICATION);
+            }
+            return CUBRIDIsolationLevel.TRAN_UNKNOWN_ISOLATION;
+        } finally {
+            lock.unlock();
         }
-        return CUBRIDIsolationLevel.TRAN_UNKNOWN_ISOLATION;
     }
 
     // UFunctionCode.GET_QUERY_INFO
-    public synchronized String getQueryplanOnly(String sql) {
-        String ret_val;
+    public String getQueryplanOnly(String sql) {
+        lock.lock();
+        try {
+            String ret_val;
 
-        if (sql == null) return null;
+            if (sql == null) return null;
 
-        errorHandler = new UError(this);
-        if (isClosed == true) {
-            errorHandler.setErrorCode(UErrorCode.ER_IS_CLOSED);
-            return null;
-        }
+            errorHandler = new UError(this);
+            if (isClosed == true) {
+                errorHandler.setErrorCode(UErrorCode.ER_IS_CLOSED);
+                return null;
+            }
 
-        try {
-            setBeginTime();
-            checkReconnect();
-            outBuffer.newRequest(UFunctionCode.GET_QUERY_INFO);
-            outBuffer.addInt(0);
-            outBuffer.addByte(UStatement.QUERY_INFO_PLAN);
-            outBuffer.addStringWithNull(sql);
+            try {
+                setBeginTime();
+                checkReconnect();
+                outBuffer.newRequest(UFunctionCode.GET_QUERY_INFO);
+                outBuffer.addInt(0);
+                outBuffer.addByte(UStatement.QUERY_INFO_PLAN);
+                outBuffer.addStringWithNull(sql);
 
-            UInputBuffer inBuffer;
-            inBuffer = send_recv_msg();
+                UInputBuffer inBuffer;
+                inBuffer = send_recv_msg();
 
-            ret_val =
-                    inBuffer.readString(
-                            inBuffer.remainedCapacity(), connectionProperties.getCharSet());
-        } catch (UJciException e) {
-            logException(e);
-            e.toUError(errorHandler);
-            return null;
-        } catch (IOException e) {
-            logException(e);
-            if (errorHandler.getErrorCode() != UErrorCode.ER_CONNECTION)
-                errorHandler.setErrorCode(UErrorCode.ER_COMMUNICATION);
-            return null;
-        }
+                ret_val =
+                        inBuffer.readString(
+                                inBuffer.remainedCapacity(), connectionProperties.getCharSet());
+            } catch (UJciException e) {
+                logException(e);
+                e.toUError(errorHandler);
+                return null;
+            } catch (IOException e) {
+                logException(e);
+                if (errorHandler.getErrorCode() != UErrorCode.ER_CONNECTION)
+                    errorHandler.setErrorCode(UErrorCode.ER_COMMUNICATION);
+                return null;
+            }
 
-        if (errorHandler.getErrorCode() != UErrorCode.ER_NO_ERROR) {
-            return null;
-        }
+            if (errorHandler.getErrorCode() != UErrorCode.ER_NO_ERROR) {
+                return null;
+            }
 
-        return ret_val;
+            return ret_val;
+        } finally {
+            lock.unlock();
+        }
     }
 
     // UFunctionCode.GET_SCHEMA_INFO
-    public synchronized UStatement getSchemaInfo(
+    public UStatement getSchemaInfo(
             int type, String arg1, String arg2, byte flag, int shard_id) {
-        UStatement returnValue = null;
-
-        errorHandler = new UError(this);
-        if (isClosed == true) {
-            errorHandler.setErrorCode(UErrorCode.ER_IS_CLOSED);
-            return null;
-        }
-        if (type < USchType.SCH_MIN || type > USchType.SCH_MAX) {
-            errorHandler.setErrorCode(UErrorCode.ER_SCHEMA_TYPE);
-            return null;
-        }
-        if (flag < 0 || flag > 3) {
-            errorHandler.setErrorCode(UErrorCode.ER_ILLEGAL_FLAG);
-            return null;
-        }
+        lock.lock();
         try {
-            setBeginTime();
-            checkReconnect();
-            if (errorHandler.getErrorCode() != UErrorCode.ER_NO_ERROR) return null;
-
-            outBuffer.newRequest(output, UFunctionCode.GET_SCHEMA_INFO);
-            outBuffer.addInt(type);
-            if (arg1 == null) outBuffer.addNull();
-            else outBuffer.addStringWithNull(arg1);
-            if (arg2 == null) outBuffer.addNull();
-            else outBuffer.addStringWithNull(arg2);
-            outBuffer.addByte(flag);
+            UStatement returnValue = null;
 
-            if (protoVersionIsAbove(PROTOCOL_V5)) {
-                outBuffer.addInt(shard_id);
+            errorHandler = new UError(this);
+            if (isClosed == true) {
+                errorHandler.setErrorCode(UErrorCode.ER_IS_CLOSED);
+                return null;
+            }
+            if (type < USchType.SCH_MIN || type > USchType.SCH_MAX) {
+                errorHandler.setErrorCode(UErrorCode.ER_SCHEMA_TYPE);
+                return null;
+            }
+            if (flag < 0 || flag > 3) {
+                errorHandler.setErrorCode(UErrorCode.ER_ILLEGAL_FLAG);
+                return null;
             }
+            try {
+                setBeginTime();
+                checkReconnect();
+                if (errorHandler.getErrorCode() != UErrorCode.ER_NO_ERROR) return null;
+
+                outBuffer.newRequest(output, UFunctionCode.GET_SCHEMA_INFO);
+                outBuffer.addInt(type);
+                if (arg1 == null) outBuffer.addNull();
+                else outBuffer.addStringWithNull(arg1);
+                if (arg2 == null) outBuffer.addNull();
+                else outBuffer.addStringWithNull(arg2);
+                outBuffer.addByte(flag);
+
+                if (protoVersionIsAbove(PROTOCOL_V5)) {
+                    outBuffer.addInt(shard_id);
+                }
 
-            UInputBuffer inBuffer;
-            inBuffer = send_recv_msg();
+                UInputBuffer inBuffer;
+                inBuffer = send_recv_msg();
 
-            returnValue = new UStatement(this, arg1, arg2, type, inBuffer);
-        } catch (UJciException e) {
-            logException(e);
-            e.toUError(errorHandler);
-            return null;
-        } catch (IOException e) {
-            logException(e);
-            if (errorHandler.getErrorCode() != UErrorCode.ER_CONNECTION)
-                errorHandler.setErrorCode(UErrorCode.ER_COMMUNICATION);
-            return null;
-        }
-        if (returnValue.getRecentError().getErrorCode() != UErrorCode.ER_NO_ERROR) {
-            errorHandler.copyValue(returnValue.getRecentError());
-            return null;
+                returnValue = new UStatement(this, arg1, arg2, type, inBuffer);
+            } catch (UJciException e) {
+                logException(e);
+                e.toUError(errorHandler);
+                return null;
+            } catch (IOException e) {
+                logException(e);
+                if (errorHandler.getErrorCode() != UErrorCode.ER_CONNECTION)
+                    errorHandler.setErrorCode(UErrorCode.ER_COMMUNICATION);
+                return null;
+            }
+            if (returnValue.getRecentError().getErrorCode() != UErrorCode.ER_NO_ERROR) {
+                errorHandler.copyValue(returnValue.getRecentError());
+                return null;
+            }
+            // transactionList.add(returnValue);
+            return returnValue;
+        } finally {
+            lock.unlock();
         }
-        // transactionList.add(returnValue);
-        return returnValue;
     }
 
     // UFunctionCode.EXECUTE_BATCH_STATEMENT
-    public synchronized UBatchResult batchExecute(String batchSqlStmt[], int queryTimeout) {
-        errorHandler = new UError(this);
-        setShardId(UShardInfo.SHARD_ID_INVALID);
-
-        if (isClosed == true) {
-            errorHandler.setErrorCode(UErrorCode.ER_IS_CLOSED);
-            return null;
-        }
-        if (batchSqlStmt == null) {
-            errorHandler.setErrorCode(UErrorCode.ER_INVALID_ARGUMENT);
-            return null;
-        }
+    public UBatchResult batchExecute(String batchSqlStmt[], int queryTimeout) {
+        lock.lock();
         try {
-            checkReconnect();
-            if (errorHandler.getErrorCode() != UErrorCode.ER_NO_ERROR) return null;
-
-            outBuffer.newRequest(output, UFunctionCode.EXECUTE_BATCH_STATEMENT);
-            outBuffer.addByte(getAutoCommit() ? (byte) 1 : (byte) 0);
-            if (protoVersionIsAbove(UConnection.PROTOCOL_V4)) {
-                long remainingTime = getRemainingTime(queryTimeout * 1000);
-                if (queryTimeout > 0 && remainingTime <= 0) {
-                    throw createJciException(UErrorCode.ER_TIMEOUT);
-                }
-                outBuffer.addInt((int) remainingTime);
-            }
+            errorHandler = new UError(this);
+            setShardId(UShardInfo.SHARD_ID_INVALID);
 
-            for (int i = 0; i < batchSqlStmt.length; i++) {
-                if (batchSqlStmt[i] != null) outBuffer.addStringWithNull(batchSqlStmt[i]);
-                else outBuffer.addNull();
+            if (isClosed == true) {
+                errorHandler.setErrorCode(UErrorCode.ER_IS_CLOSED);
+                return null;
             }
+            if (batchSqlStmt == null) {
+                errorHandler.setErrorCode(UErrorCode.ER_INVALID_ARGUMENT);
+                return null;
+            }
+            try {
+                checkReconnect();
+                if (errorHandler.getErrorCode() != UErrorCode.ER_NO_ERROR) return null;
+
+                outBuffer.newRequest(output, UFunctionCode.EXECUTE_BATCH_STATEMENT);
+                outBuffer.addByte(getAutoCommit() ? (byte) 1 : (byte) 0);
+                if (protoVersionIsAbove(UConnection.PROTOCOL_V4)) {
+                    long remainingTime = getRemainingTime(queryTimeout * 1000);
+                    if (queryTimeout > 0 && remainingTime <= 0) {
+                        throw createJciException(UErrorCode.ER_TIMEOUT);
+                    }
+                    outBuffer.addInt((int) remainingTime);
+                }
 
-            UInputBuffer inBuffer;
-            inBuffer = send_recv_msg(queryTimeout);
+                for (int i = 0; i < batchSqlStmt.length; i++) {
+                    if (batchSqlStmt[i] != null) outBuffer.addStringWithNull(batchSqlStmt[i]);
+                    else outBuffer.addNull();
+                }
 
-            int result;
-            UBatchResult batchResult = new UBatchResult(inBuffer.readInt());
-            for (int i = 0; i < batchResult.getResultNumber(); i++) {
-                batchResult.setStatementType(i, inBuffer.readByte());
-                result = inBuffer.readInt();
-                if (result < 0) {
-                    int err_code = inBuffer.readInt();
-                    batchResult.setResultError(
-                            i,
-                            err_code,
-                            inBuffer.readString(inBuffer.readInt(), UJCIManager.sysCharsetName));
-                } else {
-                    batchResult.setResult(i, result);
-                    // jci 3.0
-                    inBuffer.readInt();
-                    inBuffer.readShort();
-                    inBuffer.readShort();
+                UInputBuffer inBuffer;
+                inBuffer = send_recv_msg(queryTimeout);
+
+                int result;
+                UBatchResult batchResult = new UBatchResult(inBuffer.readInt());
+                for (int i = 0; i < batchResult.getResultNumber(); i++) {
+                    batchResult.setStatementType(i, inBuffer.readByte());
+                    result = inBuffer.readInt();
+                    if (result < 0) {
+                        int err_code = inBuffer.readInt();
+                        batchResult.setResultError(
+                                i,
+                                err_code,
+                                inBuffer.readString(
+                                        inBuffer.readInt(), UJCIManager.sysCharsetName));
+                    } else {
+                        batchResult.setResult(i, result);
+                        // jci 3.0
+                        inBuffer.readInt();
+                        inBuffer.readShort();
+                        inBuffer.readShort();
+                    }
                 }
-            }
 
-            if (protoVersionIsAbove(UConnection.PROTOCOL_V5)) {
-                setShardId(inBuffer.readInt());
-            }
+                if (protoVersionIsAbove(UConnection.PROTOCOL_V5)) {
+                    setShardId(inBuffer.readInt());
+                }
 
-            update_executed = true;
-            return batchResult;
-        } catch (UJciException e) {
-            logException(e);
-            e.toUError(errorHandler);
-        } catch (IOException e) {
-            logException(e);
-            errorHandler.setErrorCode(UErrorCode.ER_COMMUNICATION);
+                for (int i = 0; i < batchSqlStmt.length; i++) {
+                    updateExecuted(batchSqlStmt[i]);
+                }
+                return batchResult;
+            } catch (UJciException e) {
+                logException(e);
+                e.toUError(errorHandler);
+            } catch (IOException e) {
+                logException(e);
+                errorHandler.setErrorCode(UErrorCode.ER_COMMUNICATION);
+            }
+            return null;
+        } finally {
+            lock.unlock();
         }
-        return null;
     }
 
     // UFunctionCode.RELATED_TO_COLLECTION
-    public synchronized void addElementToSet(CUBRIDOID oid, String attributeName, Object value) {
-        errorHandler = new UError(this);
-        if (isClosed == true) {
-            errorHandler.setErrorCode(UErrorCode.ER_IS_CLOSED);
-            return;
-        }
+    public void addElementToSet(CUBRIDOID oid, String attributeName, Object value) {
+        lock.lock();
         try {
-            manageElementOfSet(oid, attributeName, value, UConnection.ADD_ELEMENT_TO_SET);
-        } catch (UJciException e) {
-            logException(e);
-            e.toUError(errorHandler);
-            return;
-        } catch (IOException e) {
-            logException(e);
-            errorHandler.setErrorCode(UErrorCode.ER_COMMUNICATION);
-            return;
+            errorHandler = new UError(this);
+            if (isClosed == true) {
+                errorHandler.setErrorCode(UErrorCode.ER_IS_CLOSED);
+                return;
+            }
+            try {
+                manageElementOfSet(oid, attributeName, value, UConnection.ADD_ELEMENT_TO_SET);
+            } catch (UJciException e) {
+                logException(e);
+                e.toUError(errorHandler);
+                return;
+            } catch (IOException e) {
+                logException(e);
+                errorHandler.setErrorCode(UErrorCode.ER_COMMUNICATION);
+                return;
+            }
+        } finally {
+            lock.unlock();
         }
     }
 
-    public synchronized void dropElementInSet(CUBRIDOID oid, String attributeName, Object value) {
-        errorHandler = new UError(this);
-        if (isClosed == true) {
-            errorHandler.setErrorCode(UErrorCode.ER_IS_CLOSED);
-            return;
-        }
+    public void dropElementInSet(CUBRIDOID oid, String attributeName, Object value) {
+        lock.lock();
         try {
-            manageElementOfSet(oid, attributeName, value, UConnection.DROP_ELEMENT_IN_SET);
-        } catch (UJciException e) {
-            logException(e);
-            e.toUError(errorHandler);
-            return;
-        } catch (IOException e) {
-            logException(e);
-            errorHandler.setErrorCode(UErrorCode.ER_COMMUNICATION);
-            return;
+            errorHandler = new UError(this);
+            if (isClosed == true) {
+                errorHandler.setErrorCode(UErrorCode.ER_IS_CLOSED);
+                return;
+            }
+            try {
+                manageElementOfSet(oid, attributeName, value, UConnection.DROP_ELEMENT_IN_SET);
+            } catch (UJciException e) {
+                logException(e);
+                e.toUError(errorHandler);
+                return;
+            } catch (IOException e) {
+                logException(e);
+                errorHandler.setErrorCode(UErrorCode.ER_COMMUNICATION);
+                return;
+            }
+        } finally {
+            lock.unlock();
         }
     }
 
-    public synchronized void putElementInSequence(
+    public void putElementInSequence(
             CUBRIDOID oid, String attributeName, int index, Object value) {
-        errorHandler = new UError(this);
-        if (isClosed == true) {
-            errorHandler.setErrorCode(UErrorCode.ER_IS_CLOSED);
-            return;
-        }
+        lock.lock();
         try {
-            manageElementOfSequence(
-                    oid, attributeName, index, value, UConnection.PUT_ELEMENT_ON_SEQUENCE);
-        } catch (UJciException e) {
-            logException(e);
-            e.toUError(errorHandler);
-            return;
-        } catch (IOException e) {
-            logException(e);
-            if (errorHandler.getErrorCode() != UErrorCode.ER_CONNECTION)
-                errorHandler.setErrorCode(UErrorCode.ER_COMMUNICATION);
-            return;
+            errorHandler = new UError(this);
+            if (isClosed == true) {
+                errorHandler.setErrorCode(UErrorCode.ER_IS_CLOSED);
+                return;
+            }
+            try {
+                manageElementOfSequence(
+                        oid, attributeName, index, value, UConnection.PUT_ELEMENT_ON_SEQUENCE);
+            } catch (UJciException e) {
+                logException(e);
+                e.toUError(errorHandler);
+                return;
+            } catch (IOException e) {
+                logException(e);
+                if (errorHandler.getErrorCode() != UErrorCode.ER_CONNECTION)
+                    errorHandler.setErrorCode(UErrorCode.ER_COMMUNICATION);
+                return;
+            }
+        } finally {
+            lock.unlock();
         }
     }
 
-    public synchronized void insertElementIntoSequence(
+    public void insertElementIntoSequence(
             CUBRIDOID oid, String attributeName, int index, Object value) {
-        errorHandler = new UError(this);
-        if (isClosed == true) {
-            errorHandler.setErrorCode(UErrorCode.ER_IS_CLOSED);
-            return;
-        }
+        lock.lock();
         try {
-            manageElementOfSequence(
-                    oid, attributeName, index, value, UConnection.INSERT_ELEMENT_INTO_SEQUENCE);
-        } catch (UJciException e) {
-            logException(e);
-            e.toUError(errorHandler);
-            return;
-        } catch (IOException e) {
-            logException(e);
-            if (errorHandler.getErrorCode() != UErrorCode.ER_CONNECTION)
-                errorHandler.setErrorCode(UErrorCode.ER_COMMUNICATION);
-            return;
+            errorHandler = new UError(this);
+            if (isClosed == true) {
+                errorHandler.setErrorCode(UErrorCode.ER_IS_CLOSED);
+                return;
+            }
+            try {
+                manageElementOfSequence(
+                        oid, attributeName, index, value, UConnection.INSERT_ELEMENT_INTO_SEQUENCE);
+            } catch (UJciException e) {
+                logException(e);
+                e.toUError(errorHandler);
+                return;
+            } catch (IOException e) {
+                logException(e);
+                if (errorHandler.getErrorCode() != UErrorCode.ER_CONNECTION)
+                    errorHandler.setErrorCode(UErrorCode.ER_COMMUNICATION);
+                return;
+            }
+        } finally {
+            lock.unlock();
         }
     }
 
-    public synchronized void dropElementInSequence(CUBRIDOID oid, String attributeName, int index) {
-        errorHandler = new UError(this);
-        if (isClosed == true) {
-            errorHandler.setErrorCode(UErrorCode.ER_IS_CLOSED);
-            return;
-        }
+    public void dropElementInSequence(CUBRIDOID oid, String attributeName, int index) {
+        lock.lock();
         try {
-            setBeginTime();
-            checkReconnect();
-            if (errorHandler.getErrorCode() != UErrorCode.ER_NO_ERROR) return;
+            errorHandler = new UError(this);
+            if (isClosed == true) {
+                errorHandler.setErrorCode(UErrorCode.ER_IS_CLOSED);
+                return;
+            }
+            try {
+                setBeginTime();
+                checkReconnect();
+                if (errorHandler.getErrorCode() != UErrorCode.ER_NO_ERROR) return;
 
-            outBuffer.newRequest(output, UFunctionCode.RELATED_TO_COLLECTION);
-            outBuffer.addByte(UConnection.DROP_ELEMENT_IN_SEQUENCE);
-            outBuffer.addOID(oid);
-            outBuffer.addInt(index);
-            if (attributeName == null) outBuffer.addNull();
-            else outBuffer.addStringWithNull(attributeName);
+                outBuffer.newRequest(output, UFunctionCode.RELATED_TO_COLLECTION);
+                outBuffer.addByte(UConnection.DROP_ELEMENT_IN_SEQUENCE);
+                outBuffer.addOID(oid);
+                outBuffer.addInt(index);
+                if (attributeName == null) outBuffer.addNull();
+                else outBuffer.addStringWithNull(attributeName);
 
-            send_recv_msg();
-        } catch (UJciException e) {
-            logException(e);
-            e.toUError(errorHandler);
-        } catch (IOException e) {
-            logException(e);
-            errorHandler.setErrorCode(UErrorCode.ER_COMMUNICATION);
+                send_recv_msg();
+            } catch (UJciException e) {
+                logException(e);
+                e.toUError(errorHandler);
+            } catch (IOException e) {
+                logException(e);
+                errorHandler.setErrorCode(UErrorCode.ER_COMMUNICATION);
+            }
+        } finally {
+            lock.unlock();
         }
     }
 
-    public synchronized int getSizeOfCollection(CUBRIDOID oid, String attributeName) {
-        errorHandler = new UError(this);
-        if (isClosed == true) {
-            errorHandler.setErrorCode(UErrorCode.ER_IS_CLOSED);
-            return 0;
-        }
+    public int getSizeOfCollection(CUBRIDOID oid, String attributeName) {
+        lock.lock();
         try {
-            setBeginTime();
-            checkReconnect();
-            if (errorHandler.getErrorCode() != UErrorCode.ER_NO_ERROR) return 0;
+            errorHandler = new UError(this);
+            if (isClosed == true) {
+                errorHandler.setErrorCode(UErrorCode.ER_IS_CLOSED);
+                return 0;
+            }
+            try {
+                setBeginTime();
+                checkReconnect();
+                if (errorHandler.getErrorCode() != UErrorCode.ER_NO_ERROR) return 0;
 
-            outBuffer.newRequest(output, UFunctionCode.RELATED_TO_COLLECTION);
-            outBuffer.addByte(UConnection.GET_SIZE_OF_COLLECTION);
-            outBuffer.addOID(oid);
-            if (attributeName == null) outBuffer.addNull();
-            else outBuffer.addStringWithNull(attributeName);
+                outBuffer.newRequest(output, UFunctionCode.RELATED_TO_COLLECTION);
+                outBuffer.addByte(UConnection.GET_SIZE_OF_COLLECTION);
+                outBuffer.addOID(oid);
+                if (attributeName == null) outBuffer.addNull();
+                else outBuffer.addStringWithNull(attributeName);
 
-            UInputBuffer inBuffer;
-            inBuffer = send_recv_msg();
+                UInputBuffer inBuffer;
+                inBuffer = send_recv_msg();
 
-            return inBuffer.readInt();
-        } catch (UJciException e) {
-            logException(e);
-            e.toUError(errorHandler);
-        } catch (IOException e) {
-            logException(e);
-            errorHandler.setErrorCode(UErrorCode.ER_COMMUNICATION);
+                return inBuffer.readInt();
+            } catch (UJciException e) {
+                logException(e);
+                e.toUError(errorHandler);
+            } catch (IOException e) {
+                logException(e);
+                errorHandler.setErrorCode(UErrorCode.ER_COMMUNICATION);
+            }
+            return 0;
+        } finally {
+            lock.unlock();
         }
-        return 0;
     }
 
     // UFunctionCode.RELATED_TO_OID
-    public synchronized Object oidCmd(CUBRIDOID oid, byte cmd) {
-        errorHandler = new UError(this);
-        if (isClosed == true) {
-            errorHandler.setErrorCode(UErrorCode.ER_IS_CLOSED);
-            return null;
-        }
+    public Object oidCmd(CUBRIDOID oid, byte cmd) {
+        lock.lock();
         try {
-            setBeginTime();
-            checkReconnect();
-            if (errorHandler.getErrorCode() != UErrorCode.ER_NO_ERROR) return null;
+            errorHandler = new UError(this);
+            if (isClosed == true) {
+                errorHandler.setErrorCode(UErrorCode.ER_IS_CLOSED);
+                return null;
+            }
+            try {
+                setBeginTime();
+                checkReconnect();
+                if (errorHandler.getErrorCode() != UErrorCode.ER_NO_ERROR) return null;
 
-            outBuffer.newRequest(output, UFunctionCode.RELATED_TO_OID);
-            outBuffer.addByte(cmd);
-            outBuffer.addOID(oid);
+                outBuffer.newRequest(output, UFunctionCode.RELATED_TO_OID);
+                outBuffer.addByte(cmd);
+                outBuffer.addOID(oid);
 
-            UInputBuffer inBuffer;
-            inBuffer = send_recv_msg();
+                UInputBuffer inBuffer;
+                inBuffer = send_recv_msg();
 
-            int res_code;
-            res_code = inBuffer.getResCode();
+                int res_code;
+                res_code = inBuffer.getResCode();
 
-            if (cmd == IS_INSTANCE) {
-                if (res_code == 1) return oid;
-            } else if (cmd == GET_CLASS_NAME_BY_OID) {
-                return inBuffer.readString(
-                        inBuffer.remainedCapacity(), connectionProperties.getCharSet());
+                if (cmd == IS_INSTANCE) {
+                    if (res_code == 1) return oid;
+                } else if (cmd == GET_CLASS_NAME_BY_OID) {
+                    return inBuffer.readString(
+                            inBuffer.remainedCapacity(), connectionProperties.getCharSet());
+                }
+            } catch (UJciException e) {
+                logException(e);
+                e.toUError(errorHandler);
+            } catch (IOException e) {
+                logException(e);
+                errorHandler.setErrorCode(UErrorCode.ER_COMMUNICATION);
             }
-        } catch (UJciException e) {
-            logException(e);
-            e.toUError(errorHandler);
-        } catch (IOException e) {
-            logException(e);
-            errorHandler.setErrorCode(UErrorCode.ER_COMMUNICATION);
-        }
-
-        return null;
-    }
 
-    // UFunctionCode.PREPARE
-    public synchronized UStatement prepare(String sql, byte flag) {
-        return prepare(sql, flag, false);
-    }
-
-    public synchronized UStatement prepare(String sql, byte flag, boolean recompile) {
-        errorHandler = new UError(this);
-        if (isClosed) {
-            errorHandler.setErrorCode(UErrorCode.ER_IS_CLOSED);
             return null;
+        } finally {
+            lock.unlock();
         }
+    }
 
-        UStatement stmt = null;
-        boolean isFirstPrepareInTran = !isActive();
-
-        skip_checkcas = true;
-
-        // first
+    // UFunctionCode.PREPARE
+    public UStatement prepare(String sql, byte flag) {
+        lock.lock();
         try {
-            checkReconnect();
-            stmt = prepareInternal(sql, flag, recompile);
-            return stmt;
-        } catch (UJciException e) {
-            logException(e);
-            e.toUError(errorHandler);
-        } catch (IOException e) {
-            logException(e);
-            errorHandler.setErrorCode(UErrorCode.ER_COMMUNICATION);
-            errorHandler.setStackTrace(e.getStackTrace());
+            return prepare(sql, flag, false);
         } finally {
-            skip_checkcas = false;
-        }
-
-        if (isActive() && !isFirstPrepareInTran) {
-            return null;
+            lock.unlock();
         }
+    }
 
-        // second loop
-        while (isErrorToReconnect(errorHandler.getJdbcErrorCode())) {
-            if (!brokerInfoReconnectWhenServerDown()
-                    || isErrorCommunication(errorHandler.getJdbcErrorCode())) {
-                clientSocketClose();
+    public UStatement prepare(String sql, byte flag, boolean recompile) {
+        lock.lock();
+        try {
+            errorHandler = new UError(this);
+            if (isClosed) {
+                errorHandler.setErrorCode(UErrorCode.ER_IS_CLOSED);
+                return null;
             }
 
+            UStatement stmt = null;
+            boolean isFirstPrepareInTran = !isActive();
+
+            skip_checkcas = true;
+
+            // first
             try {
-                errorHandler.clear();
                 checkReconnect();
-                if (errorHandler.getErrorCode() != UErrorCode.ER_NO_ERROR) {
-                    return null;
-                }
+                stmt = prepareInternal(sql, flag, recompile);
+                return stmt;
             } catch (UJciException e) {
                 logException(e);
                 e.toUError(errorHandler);
-                return null;
             } catch (IOException e) {
                 logException(e);
                 errorHandler.setErrorCode(UErrorCode.ER_COMMUNICATION);
                 errorHandler.setStackTrace(e.getStackTrace());
+            } finally {
+                skip_checkcas = false;
+            }
+
+            if (isActive() && !isFirstPrepareInTran) {
                 return null;
             }
 
-            try {
-                stmt = prepareInternal(sql, flag, recompile);
-                return stmt;
-            } catch (UJciException e) {
-                logException(e);
-                e.toUError(errorHandler);
-            } catch (IOException e) {
-                logException(e);
-                errorHandler.setErrorCode(UErrorCode.ER_COMMUNICATION);
-                errorHandler.setStackTrace(e.getStackTrace());
+            // second loop
+            while (isErrorToReconnect(errorHandler.getJdbcErrorCode())) {
+                if (!brokerInfoReconnectWhenServerDown()
+                        || isErrorCommunication(errorHandler.getJdbcErrorCode())) {
+                    clientSocketClose();
+                }
+
+                try {
+                    errorHandler.clear();
+                    checkReconnect();
+                    if (errorHandler.getErrorCode() != UErrorCode.ER_NO_ERROR) {
+                        return null;
+                    }
+                } catch (UJciException e) {
+                    logException(e);
+                    e.toUError(errorHandler);
+                    return null;
+                } catch (IOException e) {
+                    logException(e);
+                    errorHandler.setErrorCode(UErrorCode.ER_COMMUNICATION);
+                    errorHandler.setStackTrace(e.getStackTrace());
+                    return null;
+                }
+
+                try {
+                    stmt = prepareInternal(sql, flag, recompile);
+                    return stmt;
+                } catch (UJciException e) {
+                    logException(e);
+                    e.toUError(errorHandler);
+                } catch (IOException e) {
+                    logException(e);
+                    errorHandler.setErrorCode(UErrorCode.ER_COMMUNICATION);
+                    errorHandler.setStackTrace(e.getStackTrace());
+                }
             }
+
+            return null;
+        } finally {
+            lock.unlock();
         }
+    }
+
+    // UFunctionCode.PREPARE_AND_EXECUTE
+    public UStatement prepareWithExecute(String sql, byte flag) {
+        lock.lock();
+        try {
+            errorHandler = new UError(this);
+            if (isClosed) {
+                errorHandler.setErrorCode(UErrorCode.ER_IS_CLOSED);
+                return null;
+            }
 
-        return null;
+            /* the PREPARE is sent together with the first EXECUTE of the statement */
+            return new UStatement(this, sql, flag);
+        } finally {
+            lock.unlock();
+        }
     }
 
     // UFunctionCode.PUT_BY_OID
-    public synchronized void putByOID(CUBRIDOID oid, String attributeName[], Object values[]) {
-        errorHandler = new UError(this);
-        if (isClosed == true) {
-            errorHandler.setErrorCode(UErrorCode.ER_IS_CLOSED);
-            return;
-        }
-        if (attributeName == null && values == null) {
-            errorHandler.setErrorCode(UErrorCode.ER_INVALID_ARGUMENT);
-            return;
-        }
+    public void putByOID(CUBRIDOID oid, String attributeName[], Object values[]) {
+        lock.lock();
         try {
-            UPutByOIDParameter putParameter = null;
+            errorHandler = new UError(this);
+            if (isClosed == true) {
+                errorHandler.setErrorCode(UErrorCode.ER_IS_CLOSED);
+                return;
+            }
+            if (attributeName == null && values == null) {
+                errorHandler.setErrorCode(UErrorCode.ER_INVALID_ARGUMENT);
+                return;
+            }
+            try {
+                UPutByOIDParameter putParameter = null;
 
-            if (values != null) putParameter = new UPutByOIDParameter(attributeName, values);
+                if (values != null) putParameter = new UPutByOIDParameter(attributeName, values);
 
-            setBeginTime();
-            checkReconnect();
-            if (errorHandler.getErrorCode() != UErrorCode.ER_NO_ERROR) return;
+                setBeginTime();
+                checkReconnect();
+                if (errorHandler.getErrorCode() != UErrorCode.ER_NO_ERROR) return;
 
-            outBuffer.newRequest(output, UFunctionCode.PUT_BY_OID);
-            outBuffer.addOID(oid);
-            if (putParameter != null) putParameter.writeParameter(outBuffer);
+                outBuffer.newRequest(output, UFunctionCode.PUT_BY_OID);
+                outBuffer.addOID(oid);
+                if (putParameter != null) putParameter.writeParameter(outBuffer);
 
-            send_recv_msg();
-            if (getAutoCommit()) {
-                turnOnAutoCommitBySelf();
+                send_recv_msg();
+                if (getAutoCommit()) {
+                    turnOnAutoCommitBySelf();
+                }
+            } catch (UJciException e) {
+                logException(e);
+                e.toUError(errorHandler);
+            } catch (IOException e) {
+                logException(e);
+                errorHandler.setErrorCode(UErrorCode.ER_COMMUNICATION);
             }
-        } catch (UJciException e) {
-            logException(e);
-            e.toUError(errorHandler);
-        } catch (IOException e) {
-            logException(e);
-            errorHandler.setErrorCode(UErrorCode.ER_COMMUNICATION);
+        } finally {
+            lock.unlock();
         }
     }
 
     // UFunctionCode.SET_DB_PARAMETER
-    public synchronized void setIsolationLevel(int level) {
-        errorHandler = new UError(this);
+    public void setIsolationLevel(int level) {
+        lock.lock();
+        try {
+            errorHandler = new UError(this);
 
-        if (lastIsolationLevel != CUBRIDIsolationLevel.TRAN_UNKNOWN_ISOLATION
-                && lastIsolationLevel == level) {
-            return;
-        }
+            if (lastIsolationLevel != CUBRIDIsolationLevel.TRAN_UNKNOWN_ISOLATION
+                    && lastIsolationLevel == level) {
+                return;
+            }
 
-        if (isClosed == true) {
-            errorHandler.setErrorCode(UErrorCode.ER_IS_CLOSED);
-            return;
-        }
-        if (level < getIsolationLevelMin() || level > getIsolationLevelMax()) {
-            errorHandler.setErrorCode(UErrorCode.ER_ISO_TYPE);
-            return;
-        }
-        try {
-            setBeginTime();
-            checkReconnect();
-            if (errorHandler.getErrorCode() != UErrorCode.ER_NO_ERROR) return;
+            if (isClosed == true) {
+                errorHandler.setErrorCode(UErrorCode.ER_IS_CLOSED);
+                return;
+            }
+            if (level < getIsolationLevelMin() || level > getIsolationLevelMax()) {
+                errorHandler.setErrorCode(UErrorCode.ER_ISO_TYPE);
+                return;
+            }
+            try {
+                setBeginTime();
+                checkReconnect();
+                if (errorHandler.getErrorCode() != UErrorCode.ER_NO_ERROR) return;
 
-            outBuffer.newRequest(output, UFunctionCode.SET_DB_PARAMETER);
-            outBuffer.addInt(DB_PARAM_ISOLATION_LEVEL);
-            outBuffer.addInt(level);
+                outBuffer.newRequest(output, UFunctionCode.SET_DB_PARAMETER);
+                outBuffer.addInt(DB_PARAM_ISOLATION_LEVEL);
+                outBuffer.addInt(level);
 
-            send_recv_msg();
+                send_recv_msg();
 
-            lastIsolationLevel = level;
-        } catch (UJciException e) {
-            logException(e);
-            e.toUError(errorHandler);
-        } catch (IOException e) {
-            logException(e);
-            errorHandler.setErrorCode(UErrorCode.ER_COMMUNICATION);
+                lastIsolationLevel = level;
+            } catch (UJciException e) {
+                logException(e);
+                e.toUError(errorHandler);
+            } catch (IOException e) {
+                logException(e);
+                errorHandler.setErrorCode(UErrorCode.ER_COMMUNICATION);
+            }
+        } finally {
+            lock.unlock();
         }
     }
 
-    public synchronized void setLockTimeout(int timeout) {
-        errorHandler = new UError(this);
+    public void setLockTimeout(int timeout) {
+        lock.lock();
+        try {
+            errorHandler = new UError(this);
 
-        if (lastLockTimeout != LOCK_TIMEOUT_NOT_USED && lastLockTimeout == timeout) {
-            return;
-        }
+            if (lastLockTimeout != LOCK_TIMEOUT_NOT_USED && lastLockTimeout == timeout) {
+                return;
+            }
 
-        if (isClosed == true) {
-            errorHandler.setErrorCode(UErrorCode.ER_IS_CLOSED);
-            return;
-        }
+            if (isClosed == true) {
+                errorHandler.setErrorCode(UErrorCode.ER_IS_CLOSED);
+                return;
+            }
 
-        try {
-            setBeginTime();
-            checkReconnect();
-            if (errorHandler.getErrorCode() != UErrorCode.ER_NO_ERROR) return;
+            try {
+                setBeginTime();
+                checkReconnect();
+                if (errorHandler.getErrorCode() != UErrorCode.ER_NO_ERROR) return;
 
-            outBuffer.newRequest(output, UFunctionCode.SET_DB_PARAMETER);
-            outBuffer.addInt(DB_PARAM_LOCK_TIMEOUT);
-            outBuffer.addInt(timeout);
+                outBuffer.newRequest(output, UFunctionCode.SET_DB_PARAMETER);
+                outBuffer.addInt(DB_PARAM_LOCK_TIMEOUT);
+                outBuffer.addInt(timeout);
 
-            send_recv_msg();
+                send_recv_msg();
 
-            if (timeout < 0) lastLockTimeout = LOCK_TIMEOUT_INFINITE;
-            else lastLockTimeout = timeout;
-        } catch (UJciException e) {
-            logException(e);
-            e.toUError(errorHandler);
-        } catch (IOException e) {
-            logException(e);
-            errorHandler.setErrorCode(UErrorCode.ER_COMMUNICATION);
+                if (timeout < 0) lastLockTimeout = LOCK_TIMEOUT_INFINITE;
+                else lastLockTimeout = timeout;
+            } catch (UJciException e) {
+                logException(e);
+                e.toUError(errorHandler);
+            } catch (IOException e) {
+                logException(e);
+                errorHandler.setErrorCode(UErrorCode.ER_COMMUNICATION);
+            }
+        } finally {
+            lock.unlock();
         }
     }
 
     // UFunctionCode.SET_CAS_CHANGE_MODE
-    public synchronized int setCASChangeMode(int mode) {
-        errorHandler = new UError(this);
-
-        if (isClosed == true) {
-            errorHandler.setErrorCode(UErrorCode.ER_IS_CLOSED);
-            return errorHandler.getJdbcErrorCode();
-        }
-
+    public int setCASChangeMode(int mode) {
+        lock.lock();
         try {
-            setBeginTime();
-            checkReconnect();
-            if (errorHandler.getErrorCode() != UErrorCode.ER_NO_ERROR) {
+            errorHandler = new UError(this);
+
+            if (isClosed == true) {
+                errorHandler.setErrorCode(UErrorCode.ER_IS_CLOSED);
                 return errorHandler.getJdbcErrorCode();
             }
 
-            outBuffer.newRequest(output, UFunctionCode.SET_CAS_CHANGE_MODE);
-            outBuffer.addInt(mode);
+            try {
+                setBeginTime();
+                checkReconnect();
+                if (errorHandler.getErrorCode() != UErrorCode.ER_NO_ERROR) {
+                    return errorHandler.getJdbcErrorCode();
+                }
+
+                outBuffer.newRequest(output, UFunctionCode.SET_CAS_CHANGE_MODE);
+                outBuffer.addInt(mode);
 
-            UInputBuffer inBuffer;
-            inBuffer = send_recv_msg();
+                UInputBuffer inBuffer;
+                inBuffer = send_recv_msg();
 
-            return inBuffer.readInt();
-        } catch (UJciException e) {
-            logException(e);
-            e.toUError(errorHandler);
-        } catch (IOException e) {
-            logException(e);
-            errorHandler.setErrorCode(UErrorCode.ER_COMMUNICATION);
-        }
+                return inBuffer.readInt();
+            } catch (UJciException e) {
+                logException(e);
+                e.toUError(errorHandler);
+            } catch (IOException e) {
+                logException(e);
+                errorHandler.setErrorCode(UErrorCode.ER_COMMUNICATION);
+            }
 
-        return errorHandler.getJdbcErrorCode();
+            return errorHandler.getJdbcErrorCode();
+        } finally {
+            lock.unlock();
+        }
     }
 
     /* LOB protocols */
     // UFunctionCode.NEW_LOB
-    public synchronized byte[] lobNew(int lob_type) {
-        errorHandler = new UError(this);
-        if (isClosed == true) {
-            errorHandler.setErrorCode(UErrorCode.ER_IS_CLOSED);
-            return null;
-        }
+    public byte[] lobNew(int lob_type) {
+        lock.lock();
         try {
-            setBeginTime();
-            checkReconnect();
-            if (errorHandler.getErrorCode() != UErrorCode.ER_NO_ERROR) return null;
+            errorHandler = new UError(this);
+            if (isClosed == true) {
+                errorHandler.setErrorCode(UErrorCode.ER_IS_CLOSED);
+                return null;
+            }
+            try {
+                setBeginTime();
+                checkReconnect();
+                if (errorHandler.getErrorCode() != UErrorCode.ER_NO_ERROR) return null;
+
+                outBuffer.newRequest(output, UFunctionCode.NEW_LOB);
+                outBuffer.addInt(lob_type);
 
-            outBuffer.newRequest(output, UFunctionCode.NEW_LOB);
-            outBuffer.addInt(lob_type);
+                UInputBuffer inBuffer;
+                inBuffer = send_recv_msg();
 
-            UInputBuffer inBuffer;
-            inBuffer = send_recv_msg();
+                int res_code;
+                res_code = inBuffer.getResCode();
+                if (res_code < 0) {
+                    errorHandler.setErrorCode(UErrorCode.ER_UNKNOWN);
+                    return null;
+                }
 
-            int res_code;
-            res_code = inBuffer.getResCode();
-            if (res_code < 0) {
+                byte[] packedLobHandle = new byte[res_code];
+                inBuffer.readBytes(packedLobHandle);
+                return packedLobHandle;
+            } catch (UJciException e) {
+                logException(e);
+                e.toUError(errorHandler);
+            } catch (IOException e) {
+                logException(e);
+                errorHandler.setErrorCode(UErrorCode.ER_COMMUNICATION);
+            } catch (Exception e) {
+                logException(e);
                 errorHandler.setErrorCode(UErrorCode.ER_UNKNOWN);
-                return null;
             }
-
-            byte[] packedLobHandle = new byte[res_code];
-            inBuffer.readBytes(packedLobHandle);
-            return packedLobHandle;
-        } catch (UJciException e) {
-            logException(e);
-            e.toUError(errorHandler);
-        } catch (IOException e) {
-            logException(e);
-            errorHandler.setErrorCode(UErrorCode.ER_COMMUNICATION);
-        } catch (Exception e) {
-            logException(e);
-            errorHandler.setErrorCode(UErrorCode.ER_UNKNOWN);
+            return null;
+        } finally {
+            lock.unlock();
         }
-        return null;
     }
 
     // UFunctionCode.WRITE_LOB
-    public synchronized int lobWrite(
+    public int lobWrite(
             byte[] packedLobHandle, long offset, byte[] buf, int start, int len) {
-        errorHandler = new UError(this);
-        if (isClosed == true) {
-            errorHandler.setErrorCode(UErrorCode.ER_IS_CLOSED);
-            return -1;
-        }
+        lock.lock();
         try {
-            setBeginTime();
-            checkReconnect();
-            if (errorHandler.getErrorCode() != UErrorCode.ER_NO_ERROR) return -1;
+            errorHandler = new UError(this);
+            if (isClosed == true) {
+                errorHandler.setErrorCode(UErrorCode.ER_IS_CLOSED);
+                return -1;
+            }
+            try {
+                setBeginTime();
+                checkReconnect();
+                if (errorHandler.getErrorCode() != UErrorCode.ER_NO_ERROR) return -1;
 
-            outBuffer.newRequest(output, UFunctionCode.WRITE_LOB);
-            outBuffer.addBytes(packedLobHandle);
-            outBuffer.addLong(offset);
-            outBuffer.addBytes(buf, start, len);
+                outBuffer.newRequest(output, UFunctionCode.WRITE_LOB);
+                outBuffer.addBytes(packedLobHandle);
+                outBuffer.addLong(offset);
+                outBuffer.addBytes(buf, start, len);
 
-            UInputBuffer inBuffer;
-            inBuffer = send_recv_msg();
+                UInputBuffer inBuffer;
+                inBuffer = send_recv_msg();
 
-            int res_code;
-            res_code = inBuffer.getResCode();
-            if (res_code < 0) {
+                int res_code;
+                res_code = inBuffer.getResCode();
+                if (res_code < 0) {
+                    errorHandler.setErrorCode(UErrorCode.ER_UNKNOWN);
+                }
+                return res_code;
+            } catch (UJciException e) {
+                logException(e);
+                e.toUError(errorHandler);
+            } catch (IOException e) {
+                logException(e);
+                errorHandler.setErrorCode(UErrorCode.ER_COMMUNICATION);
+            } catch (Exception e) {
+                logException(e);
                 errorHandler.setErrorCode(UErrorCode.ER_UNKNOWN);
             }
-            return res_code;
-        } catch (UJciException e) {
-            logException(e);
-            e.toUError(errorHandler);
-        } catch (IOException e) {
-            logException(e);
-            errorHandler.setErrorCode(UErrorCode.ER_COMMUNICATION);
-        } catch (Exception e) {
-            logException(e);
-            errorHandler.setErrorCode(UErrorCode.ER_UNKNOWN);
+            return -1;
+        } finally {
+            lock.unlock();
         }
-        return -1;
     }
 
     // UFunctionCode.READ_LOB
-    public synchronized int lobRead(
+    public int lobRead(
             byte[] packedLobHandle, long offset, byte[] buf, int start, int len) {
-        errorHandler = new UError(this);
-        if (isClosed == true) {
-            errorHandler.setErrorCode(UErrorCode.ER_IS_CLOSED);
-            return -1;
-        }
+        lock.lock();
         try {
-            setBeginTime();
-            checkReconnect();
-            if (errorHandler.getErrorCode() != UErrorCode.ER_NO_ERROR) return -1;
+            errorHandler = new UError(this);
+            if (isClosed == true) {
+                errorHandler.setErrorCode(UErrorCode.ER_IS_CLOSED);
+                return -1;
+            }
+            try {
+                setBeginTime();
+                checkReconnect();
+                if (errorHandler.getErrorCode() != UErrorCode.ER_NO_ERROR) return -1;
+
+                outBuffer.newRequest(output, UFunctionCode.READ_LOB);
+                outBuffer.addBytes(packedLobHandle);
+                outBuffer.addLong(offset);
+                outBuffer.addInt(len);
 
-            outBuffer.newRequest(output, UFunctionCode.READ_LOB);
-            outBuffer.addBytes(packedLobHandle);
-            outBuffer.addLong(offset);
-            outBuffer.addInt(len);
+                UInputBuffer inBuffer;
+                inBuffer = send_recv_msg();
 
-            UInputBuffer inBuffer;
-            inBuffer = send_recv_msg();
+                int res_code;
+                res_code = inBuffer.getResCode();
+                if (res_code < 0) {
+                    errorHandler.setErrorCode(UErrorCode.ER_UNKNOWN);
+                } else {
+                    inBuffer.readBytes(buf, start, res_code);
+                }
 
-            int res_code;
-            res_code = inBuffer.getResCode();
-            if (res_code < 0) {
+                return res_code;
+            } catch (UJciException e) {
+                logException(e);
+                e.toUError(errorHandler);
+            } catch (IOException e) {
+                logException(e);
+                errorHandler.setErrorCode(UErrorCode.ER_COMMUNICATION);
+            } catch (Exception e) {
+                logException(e);
                 errorHandler.setErrorCode(UErrorCode.ER_UNKNOWN);
-            } else {
-                inBuffer.readBytes(buf, start, res_code);
             }
-
-            return res_code;
-        } catch (UJciException e) {
-            logException(e);
-            e.toUError(errorHandler);
-        } catch (IOException e) {
-            logException(e);
-            errorHandler.setErrorCode(UErrorCode.ER_COMMUNICATION);
-        } catch (Exception e) {
-            logException(e);
-            errorHandler.setErrorCode(UErrorCode.ER_UNKNOWN);
+            return -1;
+        } finally {
+            lock.unlock();
         }
-        return -1;
     }
 
     /* XA protocols */
     // UFunctionCode.XA_END_TRAN
-    public synchronized void xa_endTransaction(Xid xid, boolean type) {
-        errorHandler = new UError(this);
+    public void xa_endTransaction(Xid xid, boolean type) {
+        lock.lock();
+        try {
+            errorHandler = new UError(this);
 
-        if (isClosed == true) {
-            errorHandler.setErrorCode(UErrorCode.ER_IS_CLOSED);
-            return;
-        }
+            if (isClosed == true) {
+                errorHandler.setErrorCode(UErrorCode.ER_IS_CLOSED);
+                return;
+            }
 
-        try {
-            setBeginTime();
-            checkReconnect();
-            if (errorHandler.getErrorCode() != UErrorCode.ER_NO_ERROR) return;
+            try {
+                setBeginTime();
+                checkReconnect();
+                if (errorHandler.getErrorCode() != UErrorCode.ER_NO_ERROR) return;
 
-            outBuffer.newRequest(output, UFunctionCode.XA_END_TRAN);
-            outBuffer.addXid(xid);
-            outBuffer.addByte((type == true) ? END_TRAN_COMMIT : END_TRAN_ROLLBACK);
+                outBuffer.newRequest(output, UFunctionCode.XA_END_TRAN);
+                outBuffer.addXid(xid);
+                outBuffer.addByte((type == true) ? END_TRAN_COMMIT : END_TRAN_ROLLBACK);
 
-            send_recv_msg();
-        } catch (Exception e) {
-            errorHandler.setErrorCode(UErrorCode.ER_UNKNOWN);
+                send_recv_msg();
+            } catch (Exception e) {
+                errorHandler.setErrorCode(UErrorCode.ER_UNKNOWN);
+            } finally {
+                clientSocketClose();
+                needReconnection = true;
+            }
         } finally {
-            clientSocketClose();
-            needReconnection = true;
+            lock.unlock();
         }
     }
 
     // UFunctionCode.XA_PREPARE
-    public synchronized void xa_prepare(Xid xid) {
-        errorHandler = new UError(this);
+    public void xa_prepare(Xid xid) {
+        lock.lock();
+        try {
+            errorHandler = new UError(this);
 
-        if (isClosed == true) {
-            errorHandler.setErrorCode(UErrorCode.ER_IS_CLOSED);
-            return;
-        }
+            if (isClosed == true) {
+                errorHandler.setErrorCode(UErrorCode.ER_IS_CLOSED);
+                return;
+            }
 
-        try {
-            setBeginTime();
-            checkReconnect();
-            if (errorHandler.getErrorCode() != UErrorCode.ER_NO_ERROR) return;
+            try {
+                setBeginTime();
+                checkReconnect();
+                if (errorHandler.getErrorCode() != UErrorCode.ER_NO_ERROR) return;
 
-            outBuffer.newRequest(output, UFunctionCode.XA_PREPARE);
-            outBuffer.addXid(xid);
+                outBuffer.newRequest(output, UFunctionCode.XA_PREPARE);
+                outBuffer.addXid(xid);
 
-            send_recv_msg();
-        } catch (Exception e) {
-            errorHandler.setErrorCode(UErrorCode.ER_UNKNOWN);
+                send_recv_msg();
+            } catch (Exception e) {
+                errorHandler.setErrorCode(UErrorCode.ER_UNKNOWN);
+            }
+        } finally {
+            lock.unlock();
         }
     }
 
     // UFunctionCode.XA_RECOVER
-    public synchronized Xid[] xa_recover() {
-        errorHandler = new UError(this);
+    public Xid[] xa_recover() {
+        lock.lock();
+        try {
+            errorHandler = new UError(this);
 
-        if (isClosed == true) {
-            errorHandler.setErrorCode(UErrorCode.ER_IS_CLOSED);
-            return null;
-        }
+            if (isClosed == true) {
+                errorHandler.setErrorCode(UErrorCode.ER_IS_CLOSED);
+                return null;
+            }
 
-        try {
-            setBeginTime();
-            checkReconnect();
-            if (errorHandler.getErrorCode() != UErrorCode.ER_NO_ERROR) return null;
+            try {
+                setBeginTime();
+                checkReconnect();
+                if (errorHandler.getErrorCode() != UErrorCode.ER_NO_ERROR) return null;
 
-            outBuffer.newRequest(output, UFunctionCode.XA_RECOVER);
+                outBuffer.newRequest(output, UFunctionCode.XA_RECOVER);
 
-            UInputBuffer inBuffer;
-            inBuffer = send_recv_msg();
+                UInputBuffer inBuffer;
+                inBuffer = send_recv_msg();
 
-            int num_xid = inBuffer.getResCode();
+                int num_xid = inBuffer.getResCode();
 
-            CUBRIDXid[] xid;
-            xid = new CUBRIDXid[num_xid];
-            for (int i = 0; i < num_xid; i++) {
-                xid[i] = inBuffer.readXid();
+                CUBRIDXid[] xid;
+                xid = new CUBRIDXid[num_xid];
+                for (int i = 0; i < num_xid; i++) {
+                    xid[i] = inBuffer.readXid();
+                }
+                return xid;
+            } catch (Exception e) {
+                errorHandler.setErrorCode(UErrorCode.ER_UNKNOWN);
+                return null;
             }
-            return xid;
-        } catch (Exception e) {
-            errorHandler.setErrorCode(UErrorCode.ER_UNKNOWN);
-            return null;
+        } finally {
+            lock.unlock();
         }
     }
 
     // UFunctionCode.GET_SHARD_INFO
-    public synchronized int shardInfo() {
-        errorHandler = new UError(this);
-
-        if (isClosed == true) {
-            errorHandler.setErrorCode(UErrorCode.ER_IS_CLOSED);
-            return 0;
-        }
-
-        if (isConnectedToProxy() == false) {
-            errorHandler.setErrorCode(UErrorCode.ER_NO_SHARD_AVAILABLE);
-            return 0;
-        }
+    public int shardInfo() {
+        lock.lock();
+        try {
+            errorHandler = new UError(this);
 
-        if (numShard > 0) {
-            return numShard; // return cached shard info
-        }
+            if (isClosed == true) {
+                errorHandler.setErrorCode(UErrorCode.ER_IS_CLOSED);
+                return 0;
+            }
 
-        try {
-            setBeginTime();
-            checkReconnect();
-            if (errorHandler.getErrorCode() != UErrorCode.ER_NO_ERROR) {
+            if (isConnectedToProxy() == false) {
+                errorHandler.setErrorCode(UErrorCode.ER_NO_SHARD_AVAILABLE);
                 return 0;
             }
 
-            outBuffer.newRequest(output, UFunctionCode.GET_SHARD_INFO);
+            if (numShard > 0) {
+                return numShard; // return cached shard info
+            }
+
+            try {
+                setBeginTime();
+                checkReconnect();
+                if (errorHandler.getErrorCode() != UErrorCode.ER_NO_ERROR) {
+                    return 0;
+                }
+
+                outBuffer.newRequest(output, UFunctionCode.GET_SHARD_INFO);
+
+                UInputBuffer inBuffer;
+                inBuffer = send_recv_msg();
 
-            UInputBuffer inBuffer;
-            inBuffer = send_recv_msg();
+                int num_shard = inBuffer.getResCode();
+                if (num_shard > 0) {
+                    shardInfo = new UShardInfo[num_shard];
 
-            int num_shard = inBuffer.getResCode();
-            if (num_shard > 0) {
-                shardInfo = new UShardInfo[num_shard];
+                    for (int i = 0; i < num_shard; i++) {
+                        shardInfo[i] = new UShardInfo(inBuffer.readInt());
 
-                for (int i = 0; i < num_shard; i++) {
-                    shardInfo[i] = new UShardInfo(inBuffer.readInt());
+                        shardInfo[i].setDBName(
+                                inBuffer.readString(
+                                        inBuffer.readInt(), UJCIManager.sysCharsetName));
+                        shardInfo[i].setDBServer(
+                                inBuffer.readString(
+                                        inBuffer.readInt(), UJCIManager.sysCharsetName));
+                    }
 
-                    shardInfo[i].setDBName(
-                            inBuffer.readString(inBuffer.readInt(), UJCIManager.sysCharsetName));
-                    shardInfo[i].setDBServer(
-                            inBuffer.readString(inBuffer.readInt(), UJCIManager.sysCharsetName));
+                    numShard = num_shard;
                 }
 
-                numShard = num_shard;
+            } catch (UJciException e) {
+                logException(e);
+                e.toUError(errorHandler);
+            } catch (IOException e) {
+                logException(e);
+                errorHandler.setErrorCode(UErrorCode.ER_COMMUNICATION);
             }
 
-        } catch (UJciException e) {
-            logException(e);
-            e.toUError(errorHandler);
-        } catch (IOException e) {
-            logException(e);
-            errorHandler.setErrorCode(UErrorCode.ER_COMMUNICATION);
+            return numShard;
+        } finally {
+            lock.unlock();
         }
-
-        return numShard;
     }
 
     /*
@@ -1448,8 +1731,11 @@ public abstract class UConnection {
             b.append('\n');
         }
 
-        synchronized (this) {
+        lock.lock();
+        try {
             getLogger().logInfo(b.toString());
+        } finally {
+            lock.unlock();
         }
     }
 
@@ -1495,6 +1781,15 @@ public abstract class UConnection {
         return connectionProperties.getClientCacheSize() * 1024 * 1024;
     }
 
+    public boolean getClientCacheOffHeap() {
+        return connectionProperties.getClientCacheOffHeap();
+    }
+
+    public int getClientCacheTTL() {
+        /* unit = second */
+        return connectionProperties.getClientCacheTTL();
+    }
+
     public boolean getPrepStmtCache() {
         return connectionProperties.getPrepStmtCache();
     }
@@ -1503,10 +1798,80 @@ public abstract class UConnection {
         return connectionProperties.getPrepStmtCacheSize();
     }
 
+    public long getPrepStmtCacheMemory() {
+        /* unit = KByte */
+        return connectionProperties.getPrepStmtCacheMemory() * 1024L;
+    }
+
     public int getPrepStmtCacheSqlLimit() {
         return connectionProperties.getPrepStmtCacheSqlLimit();
     }
 
+    public int getResponseBufferRetainSize() {
+        /* unit = KByte */
+        return connectionProperties.getResponseBufferRetainSize() * 1024;
+    }
+
+    public int getResponseBufferIdleTime() {
+        /* unit = second */
+        return connectionProperties.getResponseBufferIdleTime();
+    }
+
+    public String getTransport() {
+        return connectionProperties.getTransport();
+    }
+
+    /* unit = percent of the current batch, 0 = no read-ahead */
+    public int getFetchReadAheadPercent() {
+        return connectionProperties.getFetchReadAheadPercent();
+    }
+
+    public boolean getAdaptiveFetchSize() {
+        return connectionProperties.getAdaptiveFetchSize();
+    }
+
+    public int getAdaptiveFetchTargetSize() {
+        /* unit = KByte */
+        return connectionProperties.getAdaptiveFetchTargetSize() * 1024;
+    }
+
+    public int getAdaptiveFetchTargetTime() {
+        /* unit = millisecond */
+        return connectionProperties.getAdaptiveFetchTargetTime();
+    }
+
+    /* unit = rows, 0 = no limit */
+    public int getBatchChunkRows() {
+        return connectionProperties.getBatchChunkRows();
+    }
+
+    public int getBatchChunkSize() {
+        /* unit = KByte, 0 = no limit */
+        return connectionProperties.getBatchChunkSize() * 1024;
+    }
+
+    public boolean getRewriteBatchedInserts() {
+        return connectionProperties.getRewriteBatchedInserts();
+    }
+
+    /* SSL is provided by SSLSocket, so SSL connections always use the socket transport */
+    boolean isNioTransport() {
+        return TRANSPORT_NIO.equals(getTransport()) && !connectionProperties.getUseSSL();
+    }
+
+    UTimedChannel getChannel() {
+        return channel;
+    }
+
+    UBufferArena getBufferArena() {
+        if (bufferArena == null) {
+            bufferArena =
+                    new UBufferArena(
+                            getResponseBufferRetainSize(), getResponseBufferIdleTime() * 1000L);
+        }
+        return bufferArena;
+    }
+
     public boolean isPrepStmtCache(String sql) {
         boolean isCacheable = false;
         if (connectionProperties.getPrepStmtCache()
@@ -1552,20 +1917,47 @@ public abstract class UConnection {
 
     public abstract boolean getAutoCommit();
 
-    public synchronized void turnOnAutoCommitBySelf() {
-        isAutoCommitBySelf = true;
+    public void turnOnAutoCommitBySelf() {
+        lock.lock();
+        try {
+            isAutoCommitBySelf = true;
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized void turnOffAutoCommitBySelf() {
-        isAutoCommitBySelf = false;
+    public void turnOffAutoCommitBySelf() {
+        lock.lock();
+        try {
+            isAutoCommitBySelf = false;
+        } finally {
+            lock.unlock();
+        }
     }
 
     public boolean getAutoCommitBySelf() {
         return isAutoCommitBySelf;
     }
 
-    public synchronized OutputStream getOutputStream() {
-        return output;
+    public OutputStream getOutputStream() {
+        lock.lock();
+        try {
+            return output;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /*
+     * Network round trips happen while this lock is held, so it is a ReentrantLock rather than
+     * the object monitor to let virtual threads unmount while they wait on the broker.
+     */
+    public void lock() {
+        lock.lock();
+    }
+
+    public void unlock() {
+        lock.unlock();
     }
 
     public UError getRecentError() {
@@ -1712,6 +2104,17 @@ public abstract class UConnection {
         return false;
     }
 
+    public boolean supportPrepareAndExecute() {
+        /* function code 41 is CURSOR_CLOSE on PROTOCOL_V2 */
+        if (connectionProperties.getUsePrepareAndExecute()
+                && isConnectedToCubrid()
+                && protoVersionIsAbove(UConnection.PROTOCOL_V3)) {
+            return true;
+        }
+
+        return false;
+    }
+
     public boolean isOracleCompatNumberBehavior() {
         if (protoVersionIsAbove(PROTOCOL_V12)) {
             if (brokerInfo == null) return false;
@@ -1741,14 +2144,34 @@ public abstract class UConnection {
         }
     }
 
-    public synchronized void resetConnection() {
+    /* releases a response buffer above the retain size while the connection is not in use */
+    public void trimResponseBuffer() {
+        lock.lock();
         try {
-            if (client != null) client.close();
-        } catch (Exception e) {
+            if (bufferArena != null) {
+                bufferArena.trim();
+            }
+        } finally {
+            lock.unlock();
         }
+    }
 
-        client = null;
-        needReconnection = true;
+    public void resetConnection() {
+        lock.lock();
+        try {
+            try {
+                if (client != null) client.close();
+                if (channel != null) channel.close();
+            } catch (Exception e) {
+            }
+
+            client = null;
+            channel = null;
+            readAhead = null;
+            needReconnection = true;
+        } finally {
+            lock.unlock();
+        }
     }
 
     public int currentIsolationLevel() {
@@ -1816,28 +2239,24 @@ public abstract class UConnection {
                 client.close();
             }
             client = null;
+            if (channel != null) {
+                channel.close();
+            }
+            channel = null;
         } catch (IOException e) {
             logException(e);
         }
+        readAhead = null;
         clearPooledUStatements();
         deferred_close_handle.clear();
+        if (bufferArena != null) {
+            bufferArena.trim();
+        }
     }
 
     UInputBuffer send_recv_msg(boolean recv_result, int timeout) throws UJciException, IOException {
-        byte prev_casinfo[] = casInfo;
-        UInputBuffer inputBuffer;
         outBuffer.sendData();
-        /* set cas info to UConnection member variable and return InputBuffer */
-        if (timeout > 0) {
-            inputBuffer = new UInputBuffer(input, this, timeout * 1000 + READ_TIMEOUT);
-        } else {
-            inputBuffer = new UInputBuffer(input, this, 0);
-        }
-
-        if (UJCIUtil.isConsoleDebug()) {
-            printCasInfo(prev_casinfo, casInfo);
-        }
-        return inputBuffer;
+        return recv_msg(timeout);
     }
 
     UInputBuffer send_recv_msg(int timeout) throws UJciException, IOException {
@@ -1848,10 +2267,48 @@ public abstract class UConnection {
     }
 
     UInputBuffer send_recv_msg(boolean recv_result) throws UJciException, IOException {
-        byte prev_casinfo[] = casInfo;
+        return send_recv_msg(recv_result, 0);
+    }
+
+    /* writes the current request without waiting for its reply */
+    void send_msg() throws IOException {
         outBuffer.sendData();
+    }
+
+    /*
+     * Writes the current request and leaves its reply on the connection. The reply is read into
+     * the read-ahead before the reply of any later request, so replies are still read in the order
+     * the requests were sent. Only one read-ahead is outstanding at a time.
+     */
+    void send_read_ahead(UReadAhead ahead) throws IOException {
+        completeReadAhead();
+        outBuffer.sendData();
+        readAhead = ahead;
+    }
+
+    void completeReadAhead() {
+        UReadAhead ahead = readAhead;
+        if (ahead != null) {
+            readAhead = null;
+            ahead.receive(this);
+        }
+    }
+
+    UInputBuffer recv_msg(int timeout) throws UJciException, IOException {
+        return recv_msg(timeout, null);
+    }
+
+    UInputBuffer recv_msg(int timeout, byte[] spare) throws UJciException, IOException {
+        completeReadAhead();
+
+        byte prev_casinfo[] = casInfo;
+        UInputBuffer inputBuffer;
         /* set cas info to UConnection member variable and return InputBuffer */
-        UInputBuffer inputBuffer = new UInputBuffer(input, this, 0);
+        if (timeout > 0) {
+            inputBuffer = new UInputBuffer(input, this, timeout * 1000 + READ_TIMEOUT, spare);
+        } else {
+            inputBuffer = new UInputBuffer(input, this, 0, spare);
+        }
 
         if (UJCIUtil.isConsoleDebug()) {
             printCasInfo(prev_casinfo, casInfo);
@@ -1866,7 +2323,18 @@ public abstract class UConnection {
         return send_recv_msg(true);
     }
 
-    UUrlCache getUrlCache() {
+    /*
+     * Called when a statement that may have written is executed. With clientCacheInvalidateOnUpdate
+     * the cached results that may include the written rows are dropped as well.
+     */
+    void updateExecuted(String sql) {
+        update_executed = true;
+        if (connectionProperties.getClientCacheInvalidateOnUpdate()) {
+            getUrlCache().invalidateWritten(sql);
+        }
+    }
+
+    public UUrlCache getUrlCache() {
         if (url_cache == null) {
             UUrlHostKey key = new UUrlHostKey(casIp, casPort, dbname, user);
             url_cache = UJCIManager.getUrlCache(key);
@@ -1923,6 +2391,15 @@ public abstract class UConnection {
         return false;
     }
 
+    void checkReconnectForPrepare() throws IOException, UJciException {
+        skip_checkcas = true;
+        try {
+            checkReconnect();
+        } finally {
+            skip_checkcas = false;
+        }
+    }
+
     protected void checkReconnect() throws IOException, UJciException {
         if (dbInfo == null) {
             dbInfo = createDBInfo(dbname, user, passwd, url);
@@ -1947,7 +2424,8 @@ public abstract class UConnection {
         }
 
         if (pooled_ustmts == null) {
-            pooled_ustmts = new Vector<UStatement>();
+            pooled_ustmts =
+                    Collections.newSetFromMap(new ConcurrentHashMap<UStatement, Boolean>());
         }
 
         if (deferred_close_handle == null) {
@@ -1962,9 +2440,8 @@ public abstract class UConnection {
     private void clearPooledUStatements() {
         if (pooled_ustmts == null) return;
 
-        while (pooled_ustmts.isEmpty() != true) {
-            UStatement tmp_ustmt = (UStatement) pooled_ustmts.remove(0);
-            if (tmp_ustmt != null) tmp_ustmt.close(false);
+        for (UStatement tmp_ustmt : pooled_ustmts) {
+            if (pooled_ustmts.remove(tmp_ustmt)) tmp_ustmt.close(false);
         }
     }
 
@@ -1982,8 +2459,11 @@ public abstract class UConnection {
         b.append("DUMP EXCEPTION\n");
         b.append("[JCI EXCEPTION]");
 
-        synchronized (this) {
+        lock.lock();
+        try {
             getLogger().logInfo(b.toString(), e);
+        } finally {
+            lock.unlock();
         }
         return e;
     }
@@ -2003,8 +2483,11 @@ public abstract class UConnection {
         b.append("DUMP EXCEPTION\n");
         b.append("[" + t.getClass().getName() + "]");
 
-        synchronized (this) {
+        lock.lock();
+        try {
             getLogger().logInfo(b.toString(), t);
+        } finally {
+            lock.unlock();
         }
     }
 
@@ -2066,31 +2549,36 @@ public abstract class UConnection {
         return numShard;
     }
 
-    public synchronized UShardInfo getShardInfo(int shard_id) {
-        errorHandler = new UError(this);
+    public UShardInfo getShardInfo(int shard_id) {
+        lock.lock();
+        try {
+            errorHandler = new UError(this);
 
-        if (isClosed == true) {
-            errorHandler.setErrorCode(UErrorCode.ER_IS_CLOSED);
-            return null;
-        }
+            if (isClosed == true) {
+                errorHandler.setErrorCode(UErrorCode.ER_IS_CLOSED);
+                return null;
+            }
 
-        if (isConnectedToProxy() == false) {
-            errorHandler.setErrorCode(UErrorCode.ER_NO_SHARD_AVAILABLE);
-            return null;
-        }
+            if (isConnectedToProxy() == false) {
+                errorHandler.setErrorCode(UErrorCode.ER_NO_SHARD_AVAILABLE);
+                return null;
+            }
 
-        if (numShard == 0) {
-            int num_shard = shardInfo();
-            if (num_shard == 0 || errorHandler.getErrorCode() != UErrorCode.ER_NO_ERROR) {
+            if (numShard == 0) {
+                int num_shard = shardInfo();
+                if (num_shard == 0 || errorHandler.getErrorCode() != UErrorCode.ER_NO_ERROR) {
+                    return null;
+                }
+            }
+
+            if (shard_id < 0 || shard_id >= numShard) {
+                errorHandler.setErrorCode(UErrorCode.ER_INVALID_SHARD);
                 return null;
             }
-        }
 
-        if (shard_id < 0 || shard_id >= numShard) {
-            errorHandler.setErrorCode(UErrorCode.ER_INVALID_SHARD);
-            return null;
+            return shardInfo[shard_id];
+        } finally {
+            lock.unlock();
         }
-
-        return shardInfo[shard_id];
     }
 }
@@ -0,0 +1,165 @@
+/*
+ * Copyright (C) 2008 Search Solution Corporation.
+ * Copyright (c) 2016 CUBRID Corporation.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ *
+ * - Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * - Neither the name of the <ORGANIZATION> nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software without
+ *   specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING,
+ * BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA,
+ * OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY
+ * OF SUCH DAMAGE.
+ *
+ */
+
+/**
+ * Title: CUBRID Java Client Interface
+ *
+ * <p>Description: CUBRID Java Client Interface
+ *
+ * <p>
+ *
+ * @version 2.0
+ */
+package cubrid.jdbc.jci;
+
+/**
+ * Keeps the FETCH history of a statement and, when the connection is opened with
+ * adaptiveFetchSize, chooses the number of rows the next FETCH asks for.
+ *
+ * <p>The size is aimed at the number of rows that fill adaptiveFetchTargetSize at the observed
+ * row width. A FETCH that takes longer than adaptiveFetchTargetTime shrinks the size in proportion,
+ * so one round trip stays within that time. The size moves by at most a factor of two per FETCH,
+ * so a single odd batch does not swing it.
+ */
+public class UFetchSizeController {
+    static final int MIN_FETCH_SIZE = 10;
+    static final int MAX_FETCH_SIZE = 100000;
+
+    private boolean adaptive = false;
+    private long targetBytes;
+    private long targetMillis;
+    private int fetchSize;
+    private int minFetchSize;
+    private int maxFetchSize;
+
+    private long fetchCount;
+    private long rowCount;
+    private long byteCount;
+    private long timedFetchCount;
+    private long timedNanos;
+    private long lastFetchNanos = -1;
+
+    UFetchSizeController() {}
+
+    /* returns the size to use, the one chosen so far when the statement is executed again */
+    int start(int defaultSize, int targetBytes, int targetMillis) {
+        if (!adaptive) {
+            adaptive = true;
+            fetchSize = minFetchSize = maxFetchSize = defaultSize;
+        }
+        this.targetBytes = targetBytes;
+        this.targetMillis = targetMillis;
+        return fetchSize;
+    }
+
+    void stop() {
+        adaptive = false;
+    }
+
+    /*
+     * rows and bytes are those of one FETCH reply; nanos is the round trip of the FETCH, or -1 when
+     * the reply was read ahead and its time overlapped with the application
+     */
+    int observe(int requested, int rows, int bytes, long nanos) {
+        fetchCount++;
+        rowCount += rows;
+        byteCount += bytes;
+        if (nanos >= 0) {
+            timedFetchCount++;
+            timedNanos += nanos;
+            lastFetchNanos = nanos;
+        }
+
+        if (!adaptive || rows <= 0) {
+            return requested;
+        }
+
+        long rowBytes = Math.max(1, bytes / rows);
+        long size = targetBytes / rowBytes;
+        if (nanos >= 0) {
+            long millis = nanos / 1000000;
+            if (millis > targetMillis) {
+                size = Math.min(size, rows * targetMillis / millis);
+            }
+        }
+
+        size = Math.max(size, requested / 2);
+        size = Math.min(size, (long) requested * 2);
+        size = Math.max(size, MIN_FETCH_SIZE);
+        size = Math.min(size, MAX_FETCH_SIZE);
+
+        fetchSize = (int) size;
+        minFetchSize = Math.min(minFetchSize, fetchSize);
+        maxFetchSize = Math.max(maxFetchSize, fetchSize);
+        return fetchSize;
+    }
+
+    public boolean isAdaptive() {
+        return adaptive;
+    }
+
+    /* the size chosen for the next FETCH, 0 when the size is not adaptive */
+    public int getFetchSize() {
+        return adaptive ? fetchSize : 0;
+    }
+
+    public int getMinFetchSize() {
+        return adaptive ? minFetchSize : 0;
+    }
+
+    public int getMaxFetchSize() {
+        return adaptive ? maxFetchSize : 0;
+    }
+
+    public long getFetchCount() {
+        return fetchCount;
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    public long getByteCount() {
+        return byteCount;
+    }
+
+    public long getAverageRowSize() {
+        return (rowCount > 0) ? byteCount / rowCount : 0;
+    }
+
+    public long getLastFetchMillis() {
+        return (lastFetchNanos >= 0) ? lastFetchNanos / 1000000 : -1;
+    }
+
+    public long getAverageFetchMillis() {
+        return (timedFetchCount > 0) ? timedNanos / timedFetchCount / 1000000 : 0;
+    }
+}
@@ -65,71 +65,36 @@ class UInputBuffer {
     private static final int CAS_INFO_SIZE = 4;
     private UConnection uconn;
 
-    UInputBuffer(UTimedDataInputStream relatedI, UConnection con)
-            throws IOException, UJciException {
-        input = relatedI;
-        position = 0;
+    /* a view over data already received, positioned with wrap() */
+    UInputBuffer(UConnection con) {
         uconn = con;
+    }
 
-        int readLen = 0;
-        int totalReadLen = 0;
-        byte[] headerData = new byte[8];
-
-        while (totalReadLen < 8) {
-            readLen = input.read(headerData, totalReadLen, 8 - totalReadLen, 0);
-            if (readLen == -1) {
-                throw uconn.createJciException(UErrorCode.ER_ILLEGAL_DATA_SIZE);
-            }
-            totalReadLen = totalReadLen + readLen;
-        }
-
-        capacity = UJCIUtil.bytes2int(headerData, 0);
-        casinfo = new byte[CAS_INFO_SIZE];
-        System.arraycopy(headerData, 4, casinfo, 0, 4);
-        con.setCASInfo(casinfo);
-
-        if (capacity <= 0) {
-            resCode = 0;
-            capacity = 0;
-            return;
-        }
-
-        buffer = new byte[capacity];
-        readData();
-
-        resCode = readInt();
-
-        if (resCode < 0) {
-            int eCode = readInt();
-            String msg;
-
-            if (con.isRenewedSessionId()) {
-                byte[] newSessionId = new byte[20];
-
-                msg =
-                        readString(
-                                remainedCapacity() - newSessionId.length,
-                                UJCIManager.sysCharsetName);
-                readBytes(newSessionId);
-                con.setNewSessionId(newSessionId);
-            } else {
-                msg = readString(remainedCapacity(), UJCIManager.sysCharsetName);
-            }
-
-            eCode = convertErrorByVersion(resCode, eCode);
-            throw uconn.createJciException(UErrorCode.ER_DBMS, resCode, eCode, msg);
-        }
+    UInputBuffer(UTimedDataInputStream relatedI, UConnection con)
+            throws IOException, UJciException {
+        this(relatedI, con, 0);
     }
 
     UInputBuffer(UTimedDataInputStream relatedI, UConnection con, int timeout)
             throws IOException, UJciException {
+        this(relatedI, con, timeout, null);
+    }
+
+    /*
+     * With a spare buffer the message is read into a buffer owned by the caller instead of the
+     * connection's arena, so that it stays valid while other messages are received. The spare
+     * buffer is used when it is large enough.
+     */
+    UInputBuffer(UTimedDataInputStream relatedI, UConnection con, int timeout, byte[] spare)
+            throws IOException, UJciException {
         input = relatedI;
         position = 0;
         uconn = con;
 
         int readLen = 0;
         int totalReadLen = 0;
-        byte[] headerData = new byte[8];
+        UBufferArena arena = con.getBufferArena();
+        byte[] headerData = arena.getHeader();
 
         while (totalReadLen < 8) {
             readLen = input.read(headerData, totalReadLen, 8 - totalReadLen, timeout);
@@ -140,8 +105,8 @@ class UInputBuffer {
         }
 
         capacity = UJCIUtil.bytes2int(headerData, 0);
-        casinfo = new byte[CAS_INFO_SIZE];
-        System.arraycopy(headerData, 4, casinfo, 0, 4);
+        casinfo = arena.getCasInfo(con.getCASInfo());
+        System.arraycopy(headerData, 4, casinfo, 0, CAS_INFO_SIZE);
         con.setCASInfo(casinfo);
 
         if (capacity <= 0) {
@@ -150,7 +115,11 @@ class UInputBuffer {
             return;
         }
 
-        buffer = new byte[capacity];
+        if (spare == null) {
+            buffer = arena.getBuffer(capacity);
+        } else {
+            buffer = (spare.length >= capacity) ? spare : new byte[capacity];
+        }
         readData();
 
         resCode = readInt();
@@ -198,6 +167,46 @@ class UInputBuffer {
         return resCode;
     }
 
+    byte[] getBuffer() {
+        return buffer;
+    }
+
+    void wrap(byte[] data, int offset) {
+        buffer = data;
+        position = offset;
+        capacity = data.length;
+    }
+
+    int position() {
+        return position;
+    }
+
+    void position(int newPosition) {
+        position = newPosition;
+    }
+
+    void skipBytes(int len) throws UJciException {
+        if (position + len > capacity) {
+            throw uconn.createJciException(UErrorCode.ER_ILLEGAL_DATA_SIZE);
+        }
+
+        position += len;
+    }
+
+    /* skips a length-prefixed string the way readString(readInt(), ...) reads it */
+    void skipString() throws UJciException {
+        int size = readInt();
+        if (size > 0) skipBytes(size);
+    }
+
+    byte readLastByte() throws UJciException {
+        if (capacity <= 0) {
+            throw uconn.createJciException(UErrorCode.ER_ILLEGAL_DATA_SIZE);
+        }
+
+        return buffer[capacity - 1];
+    }
+
     byte readByte() throws UJciException {
         if (position >= capacity) {
             throw uconn.createJciException(UErrorCode.ER_ILLEGAL_DATA_SIZE);
@@ -41,31 +41,18 @@
 package cubrid.jdbc.jci;
 
 import java.util.ArrayList;
-import java.util.Hashtable;
+import java.util.concurrent.ConcurrentHashMap;
 
 public abstract class UJCIManager {
     // static Vector connectionList;
     static String sysCharsetName;
-    static Hashtable<UUrlHostKey, UUrlCache> url_cache_table;
-    static ArrayList<UUrlCache> url_cache_remove_list;
-    static JdbcCacheWorker CACHE_Manager;
+    static ConcurrentHashMap<UUrlHostKey, UUrlCache> url_cache_table;
     static boolean result_cache_enable = true;
 
     static {
         // connectionList = new Vector();
         sysCharsetName = System.getProperty("file.encoding");
-        url_cache_table = new Hashtable<UUrlHostKey, UUrlCache>(10);
-        url_cache_remove_list = new ArrayList<UUrlCache>(10);
-
-        try {
-            CACHE_Manager = new JdbcCacheWorker();
-            CACHE_Manager.setDaemon(true);
-            CACHE_Manager.setContextClassLoader(null);
-            CACHE_Manager.start();
-        } catch (Exception e) {
-            e.printStackTrace();
-            result_cache_enable = false;
-        }
+        url_cache_table = new ConcurrentHashMap<UUrlHostKey, UUrlCache>(10);
     }
 
     public static UConnection connect(
@@ -93,15 +80,10 @@ public abstract class UJCIManager {
         url_cache = url_cache_table.get(key);
         if (url_cache != null) return url_cache;
 
-        synchronized (url_cache_table) {
-            url_cache = url_cache_table.get(key);
-            if (url_cache == null) {
-                url_cache = new UUrlCache();
-                url_cache_table.put(key, url_cache);
-                synchronized (url_cache_remove_list) {
-                    url_cache_remove_list.add(url_cache);
-                }
-            }
+        UUrlCache created = new UUrlCache();
+        url_cache = url_cache_table.putIfAbsent(key, created);
+        if (url_cache == null) {
+            url_cache = created;
         }
 
         return url_cache;
@@ -116,27 +98,3 @@ public abstract class UJCIManager {
      * return connectionList.remove(element); }
      */
 }
-
-class JdbcCacheWorker extends Thread {
-    public void run() {
-        while (true) {
-            try {
-                long curTime = System.currentTimeMillis();
-                synchronized (UJCIManager.url_cache_remove_list) {
-                    for (int i = 0; i < UJCIManager.url_cache_remove_list.size(); i++) {
-                        UUrlCache uc = (UUrlCache) UJCIManager.url_cache_remove_list.get(i);
-                        if (uc.getCacheSize() > uc.getLimit()) {
-                            uc.remove_expired_stmt(curTime);
-                        }
-                    }
-                }
-            } catch (Exception e) {
-            }
-
-            try {
-                Thread.sleep(1000);
-            } catch (InterruptedException e) {
-            }
-        }
-    }
-}
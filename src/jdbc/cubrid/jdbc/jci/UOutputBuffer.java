@@ -60,6 +60,7 @@ class UOutputBuffer {
     private UConnection u_con;
     private OutputStream output;
     private ByteArrayBuffer dataBuffer;
+    private ByteArrayBuffer collectionBuffer;
 
     UOutputBuffer(UConnection ucon) throws IOException {
         this.u_con = ucon;
@@ -72,7 +73,12 @@ class UOutputBuffer {
     }
 
     void sendData() throws IOException {
-        dataBuffer.writeToStream(u_con.getCASInfo(), output);
+        UTimedChannel channel = u_con.getChannel();
+        if (channel != null && output == u_con.getOutputStream()) {
+            dataBuffer.writeToChannel(u_con.getCASInfo(), channel);
+        } else {
+            dataBuffer.writeToStream(u_con.getCASInfo(), output);
+        }
         initBuffer();
     }
 
@@ -82,6 +88,43 @@ class UOutputBuffer {
         dataBuffer.writeByte(func_code.getCode());
     }
 
+    /* the bind values as a request would carry them, without writing a request */
+    byte[] serializeParameter(UParameter param) throws UJciException, IOException {
+        initBuffer();
+        try {
+            param.writeParameter(this);
+            return dataBuffer.toByteArray();
+        } finally {
+            initBuffer();
+        }
+    }
+
+    /* the bytes of the current request written so far */
+    int size() {
+        return dataBuffer.size();
+    }
+
+    /* overwrites a byte already written to the current request, offset as given by size() */
+    void setByte(int offset, byte bValue) {
+        dataBuffer.setByte(offset, bValue);
+    }
+
+    /* adds the bind values to the rows of a batch, serialized as a request would carry them */
+    void serializeParameter(UParameter param, UBatchRows rows) throws UJciException, IOException {
+        initBuffer();
+        try {
+            param.writeParameter(this);
+            rows.add(dataBuffer);
+        } finally {
+            initBuffer();
+        }
+    }
+
+    /* appends bytes that are already in the request format, such as a serialized batch row */
+    void writeRaw(byte[] value, int offset, int len) {
+        dataBuffer.write(value, offset, len);
+    }
+
     void newRequest(UFunctionCode func_code) throws IOException {
         output = u_con.getOutputStream();
         initBuffer();
@@ -497,7 +540,12 @@ class UOutputBuffer {
 
         int collection_size = 1;
         ByteArrayBuffer saveBuffer = dataBuffer;
-        dataBuffer = new ByteArrayBuffer();
+        if (collectionBuffer == null) {
+            collectionBuffer = new ByteArrayBuffer();
+        }
+        /* the base type of a collection is never a collection, so this is not reentered */
+        dataBuffer = collectionBuffer;
+        dataBuffer.reset();
         dataBuffer.writeByte((byte) data.getBaseType());
 
         switch (data.getBaseType()) {
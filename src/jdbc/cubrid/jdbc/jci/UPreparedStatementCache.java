@@ -27,44 +27,221 @@
  * OF SUCH DAMAGE.
  *
  */
-
 package cubrid.jdbc.jci;
 
-import java.util.LinkedHashMap;
-import java.util.Map.Entry;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * A CLOCK cache bounded by the number of entries and by their estimated memory. Lookups read a
+ * ConcurrentHashMap and only set the reference bit of the entry, so they never block each other.
+ * The clock hand walks the entries in insertion order: an entry referenced since the hand last
+ * passed gets a second chance, the others are evicted. An entry replaced or removed is only marked
+ * and left for the hand to drop, like an evicted one; once the marked entries outnumber the live
+ * ones, the clock is swept of them in one pass.
+ */
+public class UPreparedStatementCache<K, V> {
+    /* the estimated memory of an entry besides what the caller accounts for */
+    private static final int ENTRY_OVERHEAD = 64;
+
+    /* states of a node: in the map, out of the map but still on the clock, off the clock */
+    private static final int LIVE = 0;
+    private static final int REMOVED = 1;
+    private static final int DROPPED = 2;
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicIntegerFieldUpdater<Node> STATE =
+            AtomicIntegerFieldUpdater.newUpdater(Node.class, "state");
 
-public class UPreparedStatementCache<K, V> extends LinkedHashMap<K, V> {
-    private static final long serialVersionUID = 1L;
     protected int maxCacheSize;
+    protected long maxMemorySize;
+
+    private final ConcurrentHashMap<K, Node<K, V>> map;
+    private final ConcurrentLinkedQueue<Node<K, V>> clock;
+    private final AtomicLong memorySize = new AtomicLong();
+    private final AtomicInteger removedCount = new AtomicInteger();
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong evictionCount = new AtomicLong();
 
     public UPreparedStatementCache(int maxCacheSize) {
-        super(maxCacheSize, 0.75F, true);
+        this(maxCacheSize, Long.MAX_VALUE);
+    }
+
+    public UPreparedStatementCache(int maxCacheSize, long maxMemorySize) {
         this.maxCacheSize = maxCacheSize;
+        this.maxMemorySize = maxMemorySize;
+        map = new ConcurrentHashMap<K, Node<K, V>>(Math.min(maxCacheSize, 1024));
+        clock = new ConcurrentLinkedQueue<Node<K, V>>();
     }
 
-    @Override
     public V get(Object key) {
-        synchronized (this) {
-            return super.get(key);
+        Node<K, V> node = map.get(key);
+        if (node == null) {
+            missCount.incrementAndGet();
+            return null;
         }
+
+        node.referenced = true;
+        hitCount.incrementAndGet();
+        return node.value;
+    }
+
+    /* looks up the entry without counting a hit or a miss and without referencing it */
+    public V peek(Object key) {
+        Node<K, V> node = map.get(key);
+        return (node == null) ? null : node.value;
     }
 
-    @Override
     public V put(K key, V value) {
-        synchronized (this) {
-            return super.put(key, value);
+        return put(key, value, 0);
+    }
+
+    /* size is the estimated memory the value holds */
+    public V put(K key, V value, int size) {
+        Node<K, V> node = new Node<K, V>(key, value, ENTRY_OVERHEAD + size);
+        memorySize.addAndGet(node.size);
+        Node<K, V> old = map.put(key, node);
+        clock.offer(node);
+        if (old != null) {
+            markRemoved(old);
         }
+
+        evict();
+        return (old == null) ? null : old.value;
     }
 
-    @Override
     public V remove(Object key) {
-        synchronized (this) {
-            return super.remove(key);
+        Node<K, V> node = map.remove(key);
+        if (node == null) {
+            return null;
+        }
+
+        markRemoved(node);
+        return node.value;
+    }
+
+    public void clear() {
+        Node<K, V> node;
+        while ((node = clock.poll()) != null) {
+            if (node.state == LIVE && map.remove(node.key, node)) {
+                memorySize.addAndGet(-node.size);
+            }
+            drop(node);
+        }
+    }
+
+    public int size() {
+        return map.size();
+    }
+
+    public int getMaxSize() {
+        return maxCacheSize;
+    }
+
+    public long getMaxMemorySize() {
+        return maxMemorySize;
+    }
+
+    public long getMemorySize() {
+        return memorySize.get();
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    public long getEvictionCount() {
+        return evictionCount.get();
+    }
+
+    private void evict() {
+        /* every entry gets one second chance at most, so the hand stops after two turns */
+        int chances = map.size() + 1;
+
+        while (map.size() > maxCacheSize || memorySize.get() > maxMemorySize) {
+            Node<K, V> node = clock.poll();
+            if (node == null) {
+                break;
+            }
+            /* replaced or removed, the map no longer holds it */
+            if (node.state != LIVE) {
+                drop(node);
+                continue;
+            }
+
+            if (node.referenced && chances-- > 0) {
+                node.referenced = false;
+                clock.offer(node);
+                continue;
+            }
+
+            if (map.remove(node.key, node)) {
+                memorySize.addAndGet(-node.size);
+                evictionCount.incrementAndGet();
+            }
+            drop(node);
+        }
+    }
+
+    /* called by the one thread that took the node out of the map */
+    private void markRemoved(Node<K, V> node) {
+        memorySize.addAndGet(-node.size);
+        /* the hand may have dropped it already, after losing the race for the map entry */
+        if (STATE.compareAndSet(node, LIVE, REMOVED)
+                && removedCount.incrementAndGet() > map.size()) {
+            sweep();
+        }
+    }
+
+    /* called once the node is off the clock */
+    private void drop(Node<K, V> node) {
+        if (!STATE.compareAndSet(node, LIVE, DROPPED)
+                && STATE.compareAndSet(node, REMOVED, DROPPED)) {
+            removedCount.decrementAndGet();
         }
     }
 
-    @Override
-    protected boolean removeEldestEntry(Entry<K, V> eldest) {
-        return (size() > this.maxCacheSize);
+    private void sweep() {
+        if (!sweeping.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            Iterator<Node<K, V>> it = clock.iterator();
+            while (it.hasNext()) {
+                Node<K, V> node = it.next();
+                if (node.state == REMOVED) {
+                    it.remove();
+                    drop(node);
+                }
+            }
+        } finally {
+            sweeping.set(false);
+        }
+    }
+
+    private static class Node<K, V> {
+        final K key;
+        final V value;
+        final int size;
+        volatile boolean referenced;
+        volatile int state = LIVE;
+
+        Node(K key, V value, int size) {
+            this.key = key;
+            this.value = value;
+            this.size = size;
+        }
     }
 }
@@ -29,60 +29,65 @@
  *
  */
 
-package cubrid.jdbc.driver;
-
-import java.sql.Connection;
-import java.sql.SQLException;
-import java.util.Vector;
-import javax.sql.ConnectionEvent;
-import javax.sql.ConnectionEventListener;
-import javax.sql.PooledConnection;
-
-class CUBRIDConnectionEventListener implements ConnectionEventListener {
-    private Vector<PooledConnection> availableConnections;
-    private CUBRIDConnectionPoolDataSource cpds;
-
-    CUBRIDConnectionEventListener(CUBRIDConnectionPoolDataSource ds) {
-        availableConnections = new Vector<PooledConnection>();
-        cpds = ds;
-    }
+/**
+ * Title: CUBRID Java Client Interface
+ *
+ * <p>Description: CUBRID Java Client Interface
+ *
+ * <p>
+ *
+ * @version 2.0
+ */
+package cubrid.jdbc.jci;
 
-    /*
-     * javax.sql.ConnectionEventListener interface
-     */
+import java.io.IOException;
 
-    public synchronized void connectionClosed(ConnectionEvent event) {
-        PooledConnection pc = (PooledConnection) event.getSource();
+/**
+ * A FETCH request written by a streaming {@link UStatement} before the rows are needed. Its reply
+ * is read when the statement reaches the rows, or earlier by {@link UConnection} when the reply of
+ * another request has to be read. The reply is read into a buffer of its own, so it survives the
+ * messages received after it.
+ */
+class UReadAhead {
+    private final int cursor;
+    private final byte[] spare;
 
-        if (pc == null) {
-            return;
-        }
+    private boolean received;
+    private UInputBuffer reply;
+    private UJciException jciException;
+    private IOException ioException;
 
-        availableConnections.add(pc);
+    UReadAhead(int cursor, byte[] spare) {
+        this.cursor = cursor;
+        this.spare = spare;
     }
 
-    public void connectionErrorOccurred(ConnectionEvent event) {
-        PooledConnection pc = (PooledConnection) event.getSource();
-
-        if (pc == null) return;
+    int getCursor() {
+        return cursor;
+    }
 
+    void receive(UConnection con) {
         try {
-            pc.close();
-        } catch (Exception e) {
+            reply = con.recv_msg(0, spare);
+        } catch (UJciException e) {
+            jciException = e;
+        } catch (IOException e) {
+            ioException = e;
         }
+        received = true;
     }
 
-    synchronized Connection getConnection(String user, String passwd) throws SQLException {
-        PooledConnection pc;
+    boolean isReceived() {
+        return received;
+    }
 
-        if (availableConnections.size() <= 0) {
-            pc = cpds.getPooledConnection(user, passwd);
-            pc.addConnectionEventListener(this);
-            availableConnections.add(pc);
+    UInputBuffer getReply() throws UJciException, IOException {
+        if (jciException != null) {
+            throw jciException;
         }
-
-        pc = (PooledConnection) availableConnections.remove(0);
-
-        return (pc.getConnection());
+        if (ioException != null) {
+            throw ioException;
+        }
+        return reply;
     }
 }
@@ -33,21 +33,38 @@ package cubrid.jdbc.jci;
 
 public class UResCache {
     UBindKey key;
+    UStmtCache stmt_cache;
 
-    private boolean inUse;
-    private UStatementCacheData cache_data;
+    /* the position in the segments of UUrlCache, guarded by its policy lock */
+    UResCache prev;
+    UResCache next;
+    int segment;
+    int weight;
+    int off_heap_size;
 
-    public UResCache(UBindKey key) {
+    private volatile UStatementCacheData cache_data;
+    /* 0 when the cached rows live until they are evicted */
+    private volatile long expire_time;
+
+    UResCache(UStmtCache stmt_cache, UBindKey key) {
+        this.stmt_cache = stmt_cache;
         this.key = key;
 
         cache_data = null;
-        inUse = true;
+        segment = UUrlCache.NOT_LINKED;
     }
 
     public UStatementCacheData getCacheData() {
-        inUse = true;
+        UStatementCacheData cd = cache_data;
+        if (cd != null && expire_time > 0 && System.currentTimeMillis() >= expire_time) {
+            expire(cd);
+            cd = null;
+        }
+        if (cd != null) {
+            stmt_cache.getUrlCache().touch(this);
+        }
 
-        return (new UStatementCacheData(cache_data));
+        return (new UStatementCacheData(cd));
     }
 
     public long getCacheTime() {
@@ -58,29 +75,60 @@ public class UResCache {
         return cache_data.size;
     }
 
-    public void saveCacheData(UStatementCacheData cd) {
-        if (cd.srvCacheTime <= 0) return;
+    /*
+     * defaultTtl is the lifetime in seconds when no TTL pattern of the cache matches, 0 = none.
+     * The rows kept off the heap of a result that is not saved, or that replaces another, are
+     * given back to the cache.
+     */
+    public void saveCacheData(UStatementCacheData cd, int defaultTtl) {
+        UStatementCacheData dropped = cd;
+        boolean linked = true;
 
         synchronized (this) {
-            if (cache_data == null || cd.srvCacheTime > cache_data.srvCacheTime) {
+            if (cd.srvCacheTime > 0
+                    && (cache_data == null || cd.srvCacheTime > cache_data.srvCacheTime)) {
+                int ttl = stmt_cache.getUrlCache().getTtl(stmt_cache.key, defaultTtl);
+                expire_time = (ttl > 0) ? System.currentTimeMillis() + ttl * 1000L : 0;
+                dropped = cache_data;
                 cache_data = cd;
+                int weight = UUrlCache.ENTRY_OVERHEAD + cd.size;
+                linked = stmt_cache.getUrlCache().resize(this, weight, cd.getPackedSize());
+            } else if (cd.sharesPackedData(cache_data)) {
+                /* a cache hit, whose rows are those of the entry */
+                dropped = null;
             }
         }
+
+        if (dropped != null) {
+            dropped.releasePackedData();
+        }
+        if (!linked) {
+            /* evicted before the rows were saved, nothing else will release them */
+            cd.releasePackedData();
+        }
     }
 
-    public void setExpire() {
-        inUse = false;
+    /* for a result that could not be read to the end */
+    public void discardCacheData(UStatementCacheData cd) {
+        if (cd != null && !cd.sharesPackedData(cache_data)) {
+            cd.releasePackedData();
+        }
     }
 
-    boolean isExpired(long checkTime) {
-        if (cache_data != null && !inUse) {
-            if (checkTime > cache_data.srvCacheTime) {
-                return true;
-            } else {
-                return false;
-            }
-        } else {
-            return false;
+    /* the entry left the cache; its rows kept off the heap go back to it */
+    void release() {
+        UStatementCacheData cd = cache_data;
+        cache_data = null;
+        if (cd != null) {
+            cd.releasePackedData();
+        }
+    }
+
+    private synchronized void expire(UStatementCacheData cd) {
+        if (cache_data == cd) {
+            cache_data = null;
+            stmt_cache.getUrlCache().resize(this, UUrlCache.ENTRY_OVERHEAD, 0);
+            cd.releasePackedData();
         }
     }
 }
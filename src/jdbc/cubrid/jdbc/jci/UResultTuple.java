@@ -47,6 +47,9 @@ class UResultTuple {
     private CUBRIDOID oid;
     // private boolean wasNull[] = {};
     private Object attributes[];
+    /* fetched bytes of the row; a column whose offset is not negative is not decoded yet */
+    private byte rawData[];
+    private int rawOffsets[];
 
     UResultTuple(int tupleIndex, int attributeNumber) {
         index = tupleIndex;
@@ -59,6 +62,8 @@ class UResultTuple {
         attributes = null;
         // wasNull = null;
         oid = null;
+        rawData = null;
+        rawOffsets = null;
     }
 
     Object getAttribute(int tIndex) {
@@ -86,6 +91,32 @@ class UResultTuple {
          */
 
         attributes[tIndex] = data;
+        if (rawOffsets != null) {
+            rawOffsets[tIndex] = -1;
+        }
+    }
+
+    void setRawData(byte[] data, int[] offsets) {
+        rawData = data;
+        rawOffsets = offsets;
+    }
+
+    /* moves the row into a copy of the bytes that starts at start of the original buffer */
+    void relocate(byte[] data, int start) {
+        for (int i = 0; i < rawOffsets.length; i++) {
+            if (rawOffsets[i] >= 0) {
+                rawOffsets[i] -= start;
+            }
+        }
+        rawData = data;
+    }
+
+    byte[] getRawData() {
+        return rawData;
+    }
+
+    int getRawOffset(int tIndex) {
+        return (rawOffsets == null) ? -1 : rawOffsets[tIndex];
     }
 
     void setOid(CUBRIDOID o) {
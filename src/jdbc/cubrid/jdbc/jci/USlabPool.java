@@ -0,0 +1,148 @@
+/*
+ * Copyright (C) 2008 Search Solution Corporation.
+ * Copyright (c) 2016 CUBRID Corporation.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ *
+ * - Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * - Neither the name of the <ORGANIZATION> nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software without
+ *   specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING,
+ * BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA,
+ * OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY
+ * OF SUCH DAMAGE.
+ *
+ */
+
+
+package cubrid.jdbc.jci;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.concurrent.locks.ReentrantLock;
+
+/*
+ * The direct memory of a result cache with clientCacheOffHeap. It is taken from the JVM in slabs
+ * of SLAB_SIZE bytes, never more than the limit of the cache in all, and the slabs of a result
+ * that is evicted, expired, invalidated or replaced come back here to be reused; a direct buffer
+ * left to the GC is only freed when the collector happens to find it. The JVM refuses direct
+ * memory past -XX:MaxDirectMemorySize, by default the maximum heap size, so it must be at least
+ * the clientCacheSize of every cache that keeps its rows off the heap. Rows that get no slabs,
+ * because the limit is reached or the JVM refused the memory, are kept on the heap instead.
+ */
+final class USlabPool {
+    static final int SLAB_SIZE = 16 * 1024;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ArrayList<ByteBuffer> free = new ArrayList<ByteBuffer>();
+    private int max_slabs;
+    /* the slabs taken from the JVM and not dropped, both free and in use */
+    private int allocated;
+
+    void setLimit(long limit) {
+        lock.lock();
+        try {
+            max_slabs = (int) Math.min((limit + SLAB_SIZE - 1) / SLAB_SIZE, Integer.MAX_VALUE);
+            while (allocated > max_slabs && !free.isEmpty()) {
+                free.remove(free.size() - 1);
+                allocated--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    static int slabCount(int length) {
+        return Math.max((length + SLAB_SIZE - 1) / SLAB_SIZE, 1);
+    }
+
+    /* true if the slabs in use leave room for length bytes */
+    boolean hasRoom(int length) {
+        lock.lock();
+        try {
+            return allocated - free.size() + slabCount(length) <= max_slabs;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /* the slabs to hold length bytes, or null if they cannot be had */
+    ByteBuffer[] allocate(int length) {
+        int count = slabCount(length);
+        ByteBuffer[] slabs = new ByteBuffer[count];
+        int reused = 0;
+
+        lock.lock();
+        try {
+            if (allocated - free.size() + count > max_slabs) {
+                return null;
+            }
+            while (reused < count && !free.isEmpty()) {
+                slabs[reused++] = free.remove(free.size() - 1);
+            }
+            allocated += count - reused;
+        } finally {
+            lock.unlock();
+        }
+
+        /* a new slab may wait for the GC to free direct memory, so the lock is not held */
+        int i = reused;
+        try {
+            for (; i < count; i++) {
+                slabs[i] = ByteBuffer.allocateDirect(SLAB_SIZE);
+            }
+        } catch (OutOfMemoryError e) {
+            lock.lock();
+            try {
+                allocated -= count - i;
+                for (int j = 0; j < i; j++) {
+                    free.add(slabs[j]);
+                }
+            } finally {
+                lock.unlock();
+            }
+            return null;
+        }
+        return slabs;
+    }
+
+    void release(ByteBuffer[] slabs) {
+        lock.lock();
+        try {
+            for (int i = 0; i < slabs.length; i++) {
+                if (allocated > max_slabs) {
+                    allocated--;
+                } else {
+                    free.add(slabs[i]);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /* the direct memory held, whether or not it holds rows now */
+    long getRetainedSize() {
+        lock.lock();
+        try {
+            return (long) allocated * SLAB_SIZE;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -53,10 +53,12 @@ import java.sql.Clob;
 import java.sql.Date;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.sql.Time;
 import java.sql.Timestamp;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.concurrent.locks.ReentrantLock;
 
 public class UStatement {
     public static final int CURSOR_SET = 0, CURSOR_CUR = 1, CURSOR_END = 2;
@@ -70,6 +72,13 @@ public class UStatement {
             GET_AUTOINCREMENT_KEYS = 3;
     private static final byte OLD_TRUE = -128, TRUE = 1, FALSE = 0;
     private static final int DEFAULT_FETCH_SIZE = 100;
+    /*
+     * the most rows of an EXECUTE_BATCH request whose reply may be pending while the next request
+     * is written: a reply takes 12 bytes per row and about 500 with an error message, which stays
+     * within the 64 KByte the socket buffers take
+     */
+    private static final int PIPELINE_MAX_ROWS = 128;
+    private static final int PREPARE_ARGUMENT_COUNT = 3;
 
     private static final byte EXEC_FLAG_ASYNC = 0x01,
             EXEC_FLAG_QUERY_ALL = 0x02,
@@ -96,7 +105,11 @@ public class UStatement {
     private int parameterNumber;
     private int columnNumber;
     private UBindParameter bindParameter;
-    private ArrayList<UBindParameter> batchParameter;
+    private UBatchRows batchParameter;
+    /* batched rows bound in place of bindParameter, see executeRows() */
+    private UBatchRows bindRows;
+    private int bindRowsFrom;
+    private int bindRowsTo;
     private UColumnInfo columnInfo[];
     private HashMap<String, Integer> colNameToIndex;
     private UResultInfo resultInfo[];
@@ -138,6 +151,31 @@ public class UStatement {
     private UStmtCache stmt_cache;
     private UStatementCacheData stmt_cache_data = null;
 
+    /* PREPARE has not been sent yet; it goes out with the first EXECUTE */
+    private boolean deferredPrepare = false;
+
+    /*
+     * streaming mode: the rows of a FETCH reply are indexed one at a time in the reply buffer,
+     * only the current row is kept and the next FETCH is sent while the application reads the
+     * current one
+     */
+    private static final byte[] NO_BUFFER = new byte[0];
+    private boolean streaming = false;
+    private UInputBuffer streamBuffer;
+    private int streamDecoded;
+    private byte[] spareBuffer;
+    private UReadAhead readAhead;
+
+    /* reads the values left undecoded in the fetched rows */
+    private UInputBuffer rowView;
+
+    /* FETCH history and, with adaptiveFetchSize, the size of the next FETCH */
+    private final UFetchSizeController fetchController = new UFetchSizeController();
+    /* the size the controller chose, 0 when FETCH asks for the fetchSize the user set */
+    private int adaptiveFetchSize;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
     UStatement(
             UConnection relatedC,
             UInputBuffer inBuffer,
@@ -155,6 +193,21 @@ public class UStatement {
             init(relatedC, inBuffer, sql, _prepare_flag, true);
         }
 
+        initStmtCache(relatedC, sql);
+    }
+
+    UStatement(UConnection relatedC, String sql, byte _prepare_flag) {
+        errorHandler = new UError(relatedC);
+        relatedConnection = relatedC;
+        outBuffer = relatedC.outBuffer;
+        statementType = NORMAL;
+        sql_stmt = sql;
+        prepare_flag = _prepare_flag;
+        isClosed = true;
+        deferredPrepare = true;
+    }
+
+    private void initStmtCache(UConnection relatedC, String sql) {
         if (result_cacheable
                 && (prepare_flag & UConnection.PREPARE_INCLUDE_OID) == 0
                 && (prepare_flag & UConnection.PREPARE_UPDATABLE) == 0) {
@@ -306,7 +359,8 @@ public class UStatement {
         // executeFlag = ASYNC_EXECUTE;
 
         UInputBuffer inBuffer;
-        synchronized (u_con) {
+        u_con.lock();
+        try {
             outBuffer.newRequest(UFunctionCode.MAKE_OUT_RS);
             if (UConnection.protoVersionIsLower(UConnection.PROTOCOL_V11)) {
                 outBuffer.addInt((int) id);
@@ -314,6 +368,8 @@ public class UStatement {
                 outBuffer.addLong(id);
             }
             inBuffer = u_con.send_recv_msg();
+        } finally {
+            u_con.unlock();
         }
 
         serverHandler = inBuffer.readInt();
@@ -345,7 +401,18 @@ public class UStatement {
 
         if (bindParameter == null) key = new UBindKey(null);
         else if (bindParameter.checkAllBinded() == false) return null;
-        else key = new UBindKey(bindParameter.values);
+        else {
+            relatedConnection.lock();
+            try {
+                key = UBindKey.fromBytes(outBuffer.serializeParameter(bindParameter));
+            } catch (UJciException e) {
+                return null;
+            } catch (IOException e) {
+                return null;
+            } finally {
+                relatedConnection.unlock();
+            }
+        }
 
         return ((UResCache) stmt_cache.get(key));
     }
@@ -535,11 +602,23 @@ public class UStatement {
         }
 
         if (batchParameter == null) {
-            batchParameter = new ArrayList<UBindParameter>();
+            batchParameter = new UBatchRows();
+        }
+
+        relatedConnection.lock();
+        try {
+            outBuffer.serializeParameter(bindParameter, batchParameter);
+        } catch (UJciException e) {
+            e.toUError(errorHandler);
+            return;
+        } catch (IOException e) {
+            errorHandler.setErrorCode(UErrorCode.ER_INVALID_ARGUMENT);
+            return;
+        } finally {
+            relatedConnection.unlock();
         }
-        batchParameter.add(bindParameter);
 
-        bindParameter = new UBindParameter(parameterNumber, relatedConnection.getDbmsType());
+        bindParameter.clear();
     }
 
     public void bindNull(int index) {
@@ -574,141 +653,183 @@ public class UStatement {
         }
     }
 
-    public synchronized void clearBind() {
-        errorHandler = new UError(relatedConnection);
-        if (bindParameter == null) return;
-        synchronized (bindParameter) {
-            bindParameter.clear();
+    public void clearBind() {
+        lock.lock();
+        try {
+            errorHandler = new UError(relatedConnection);
+            if (bindParameter == null) return;
+            synchronized (bindParameter) {
+                bindParameter.clear();
+            }
+        } finally {
+            lock.unlock();
         }
     }
 
-    public synchronized void close(boolean close_srv_handle) {
-        if (isClosed == true) {
-            errorHandler.setErrorCode(UErrorCode.ER_IS_CLOSED);
-            return;
-        }
-        relatedConnection.pooled_ustmts.remove(this);
-        currentFirstCursor = cursorPosition = totalTupleNumber = fetchedTupleNumber = 0;
-        isClosed = true;
-        if (stmt_cache != null) {
-            stmt_cache.decr_ref_count();
-        }
-
+    public void close(boolean close_srv_handle) {
+        lock.lock();
         try {
-            if (close_srv_handle
-                    && (relatedConnection.getAutoCommit() == false
-                            || relatedConnection.brokerInfoStatementPooling() == true
-                            || ((prepare_flag & UConnection.PREPARE_HOLDABLE) != 0))) {
-                if (getSqlType()) {
-                    synchronized (relatedConnection) {
-                        outBuffer.newRequest(UFunctionCode.CLOSE_USTATEMENT);
-                        outBuffer.addInt(serverHandler);
-                        outBuffer.addByte(relatedConnection.getAutoCommit() ? (byte) 1 : (byte) 0);
-                        relatedConnection.send_recv_msg();
-                    }
-                } else {
-                    relatedConnection.deferred_close_handle.add(new Integer(serverHandler));
-                }
+            if (isClosed == true) {
+                errorHandler.setErrorCode(UErrorCode.ER_IS_CLOSED);
+                return;
             }
-        } catch (UJciException e) {
-            if (relatedConnection.isActive()) {
-                e.setStackTrace(e.getStackTrace());
-                e.toUError(errorHandler);
+            relatedConnection.pooled_ustmts.remove(this);
+            currentFirstCursor = cursorPosition = totalTupleNumber = fetchedTupleNumber = 0;
+            isClosed = true;
+            resetStream();
+            if (stmt_cache != null) {
+                stmt_cache.decr_ref_count();
             }
-        } catch (IOException e) {
-            if (relatedConnection.isActive()) {
-                e.setStackTrace(e.getStackTrace());
-                errorHandler.setErrorCode(UErrorCode.ER_COMMUNICATION);
+
+            try {
+                if (close_srv_handle
+                        && (relatedConnection.getAutoCommit() == false
+                                || relatedConnection.brokerInfoStatementPooling() == true
+                                || ((prepare_flag & UConnection.PREPARE_HOLDABLE) != 0))) {
+                    if (getSqlType()) {
+                        relatedConnection.lock();
+                        try {
+                            outBuffer.newRequest(UFunctionCode.CLOSE_USTATEMENT);
+                            outBuffer.addInt(serverHandler);
+                            outBuffer.addByte(
+                                    relatedConnection.getAutoCommit() ? (byte) 1 : (byte) 0);
+                            relatedConnection.send_recv_msg();
+                        } finally {
+                            relatedConnection.unlock();
+                        }
+                    } else {
+                        relatedConnection.deferred_close_handle.add(new Integer(serverHandler));
+                    }
+                }
+            } catch (UJciException e) {
+                if (relatedConnection.isActive()) {
+                    e.setStackTrace(e.getStackTrace());
+                    e.toUError(errorHandler);
+                }
+            } catch (IOException e) {
+                if (relatedConnection.isActive()) {
+                    e.setStackTrace(e.getStackTrace());
+                    errorHandler.setErrorCode(UErrorCode.ER_COMMUNICATION);
+                }
+            } finally {
+                currentFirstCursor = cursorPosition = totalTupleNumber = fetchedTupleNumber = 0;
+                isClosed = true;
+                if (stmt_cache != null) stmt_cache.decr_ref_count();
             }
         } finally {
-            currentFirstCursor = cursorPosition = totalTupleNumber = fetchedTupleNumber = 0;
-            isClosed = true;
-            if (stmt_cache != null) stmt_cache.decr_ref_count();
+            lock.unlock();
         }
     }
 
-    public synchronized void close() {
-        close(true);
+    public void close() {
+        lock.lock();
+        try {
+            close(true);
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized boolean cursorIsInstance(int cursor) {
-        errorHandler = new UError(relatedConnection);
-        if (isClosed == true) {
-            errorHandler.setErrorCode(UErrorCode.ER_IS_CLOSED);
-            return false;
-        }
-        if ((currentFirstCursor < 0)
-                || (cursor < 0)
-                || (cursor >= 0
-                        && ((cursor < currentFirstCursor)
-                                || (cursor > currentFirstCursor + fetchedTupleNumber - 1)))) {
-            errorHandler.setErrorCode(UErrorCode.ER_INVALID_ARGUMENT);
-            return false;
-        }
-        if (tuples[cursorPosition - currentFirstCursor].oidIsIncluded() == false) {
-            errorHandler.setErrorCode(UErrorCode.ER_OID_IS_NOT_INCLUDED);
-            return false;
-        }
+    public boolean cursorIsInstance(int cursor) {
+        lock.lock();
+        try {
+            errorHandler = new UError(relatedConnection);
+            if (isClosed == true) {
+                errorHandler.setErrorCode(UErrorCode.ER_IS_CLOSED);
+                return false;
+            }
+            if ((currentFirstCursor < 0)
+                    || (cursor < 0)
+                    || (cursor >= 0
+                            && ((cursor < currentFirstCursor)
+                                    || (cursor > currentFirstCursor + fetchedTupleNumber - 1)))) {
+                errorHandler.setErrorCode(UErrorCode.ER_INVALID_ARGUMENT);
+                return false;
+            }
+            if (tuples[cursorPosition - currentFirstCursor].oidIsIncluded() == false) {
+                errorHandler.setErrorCode(UErrorCode.ER_OID_IS_NOT_INCLUDED);
+                return false;
+            }
 
-        Object instance_obj;
+            Object instance_obj;
 
-        synchronized (relatedConnection) {
-            instance_obj =
-                    relatedConnection.oidCmd(
-                            tuples[cursorPosition - currentFirstCursor].getOid(),
-                            UConnection.IS_INSTANCE);
+            relatedConnection.lock();
+            try {
+                instance_obj =
+                        relatedConnection.oidCmd(
+                                tuples[cursorPosition - currentFirstCursor].getOid(),
+                                UConnection.IS_INSTANCE);
+            } finally {
+                relatedConnection.unlock();
+            }
+            errorHandler.copyValue(relatedConnection.getRecentError());
+            if (instance_obj == null) return false;
+            else return true;
+        } finally {
+            lock.unlock();
         }
-        errorHandler.copyValue(relatedConnection.getRecentError());
-        if (instance_obj == null) return false;
-        else return true;
     }
 
-    public synchronized void closeCursor() {
-        if (relatedConnection.isConnectedToCubrid() == false) {
-            return;
-        }
-
+    public void closeCursor() {
+        lock.lock();
         try {
-            UFunctionCode code = UFunctionCode.CURSOR_CLOSE;
-            if (relatedConnection.protoVersionIsSame(UConnection.PROTOCOL_V2)) {
-                code = UFunctionCode.CURSOR_CLOSE_FOR_PROTOCOL_V2;
+            if (relatedConnection.isConnectedToCubrid() == false) {
+                return;
             }
-            outBuffer.newRequest(code);
-            outBuffer.addInt(serverHandler);
-            relatedConnection.send_recv_msg();
-        } catch (UJciException e) {
-            relatedConnection.logException(e);
-            e.toUError(errorHandler);
-        } catch (IOException e) {
-            relatedConnection.logException(e);
-            errorHandler.setErrorCode(UErrorCode.ER_COMMUNICATION);
+
+            try {
+                UFunctionCode code = UFunctionCode.CURSOR_CLOSE;
+                if (relatedConnection.protoVersionIsSame(UConnection.PROTOCOL_V2)) {
+                    code = UFunctionCode.CURSOR_CLOSE_FOR_PROTOCOL_V2;
+                }
+                outBuffer.newRequest(code);
+                outBuffer.addInt(serverHandler);
+                relatedConnection.send_recv_msg();
+            } catch (UJciException e) {
+                relatedConnection.logException(e);
+                e.toUError(errorHandler);
+            } catch (IOException e) {
+                relatedConnection.logException(e);
+                errorHandler.setErrorCode(UErrorCode.ER_COMMUNICATION);
+            }
+        } finally {
+            lock.unlock();
         }
     }
 
-    public synchronized void deleteCursor(int cursor) {
-        errorHandler = new UError(relatedConnection);
-        if (isClosed == true) {
-            errorHandler.setErrorCode(UErrorCode.ER_IS_CLOSED);
-            return;
-        }
-        if ((currentFirstCursor < 0)
-                || (cursor < 0)
-                || (cursor >= 0
-                        && ((cursor < currentFirstCursor)
-                                || (cursor > currentFirstCursor + fetchedTupleNumber - 1)))) {
-            errorHandler.setErrorCode(UErrorCode.ER_INVALID_ARGUMENT);
-            return;
-        }
-        if (tuples[cursorPosition - currentFirstCursor].oidIsIncluded() == false) {
-            errorHandler.setErrorCode(UErrorCode.ER_OID_IS_NOT_INCLUDED);
-            return;
-        }
+    public void deleteCursor(int cursor) {
+        lock.lock();
+        try {
+            errorHandler = new UError(relatedConnection);
+            if (isClosed == true) {
+                errorHandler.setErrorCode(UErrorCode.ER_IS_CLOSED);
+                return;
+            }
+            if ((currentFirstCursor < 0)
+                    || (cursor < 0)
+                    || (cursor >= 0
+                            && ((cursor < currentFirstCursor)
+                                    || (cursor > currentFirstCursor + fetchedTupleNumber - 1)))) {
+                errorHandler.setErrorCode(UErrorCode.ER_INVALID_ARGUMENT);
+                return;
+            }
+            if (tuples[cursorPosition - currentFirstCursor].oidIsIncluded() == false) {
+                errorHandler.setErrorCode(UErrorCode.ER_OID_IS_NOT_INCLUDED);
+                return;
+            }
 
-        synchronized (relatedConnection) {
-            relatedConnection.oidCmd(
-                    tuples[cursorPosition - currentFirstCursor].getOid(), UConnection.DROP_BY_OID);
+            relatedConnection.lock();
+            try {
+                relatedConnection.oidCmd(
+                        tuples[cursorPosition - currentFirstCursor].getOid(),
+                        UConnection.DROP_BY_OID);
+            } finally {
+                relatedConnection.unlock();
+            }
+            errorHandler.copyValue(relatedConnection.getRecentError());
+        } finally {
+            lock.unlock();
         }
-        errorHandler.copyValue(relatedConnection.getRecentError());
     }
 
     private void setExecuteOptions(
@@ -748,11 +869,26 @@ public class UStatement {
     private void writeExecuteRequest(
             int maxField, boolean isScrollable, int queryTimeout, UStatementCacheData cacheData)
             throws IOException, UJciException {
+        outBuffer.newRequest(UFunctionCode.EXECUTE);
+        outBuffer.addInt(serverHandler);
+        writeExecuteArgument(
+                maxField,
+                isScrollable,
+                queryTimeout,
+                cacheData,
+                firstStmtType == CUBRIDCommandType.CUBRID_STMT_SELECT);
+    }
+
+    private void writeExecuteArgument(
+            int maxField,
+            boolean isScrollable,
+            int queryTimeout,
+            UStatementCacheData cacheData,
+            boolean isFetch)
+            throws IOException, UJciException {
         byte is_auto_commit = (byte) 0, is_forward_only = (byte) 0;
         long remainingTime = 0;
 
-        outBuffer.newRequest(UFunctionCode.EXECUTE);
-        outBuffer.addInt(serverHandler);
         outBuffer.addByte(executeFlag);
         outBuffer.addInt(maxField < 0 ? 0 : maxField);
         outBuffer.addInt(0);
@@ -764,13 +900,14 @@ public class UStatement {
         }
 
         /* fetch flag */
-        if (firstStmtType == CUBRIDCommandType.CUBRID_STMT_SELECT) {
+        if (isFetch) {
             outBuffer.addByte((byte) 1);
         } else {
             outBuffer.addByte((byte) 0);
         }
 
-        if (relatedConnection.getAutoCommit() && !isGeneratedKeys) {
+        /* the rows of a rewritten batch are committed once, by the driver, after the batch */
+        if (relatedConnection.getAutoCommit() && !isGeneratedKeys && bindRows == null) {
             is_auto_commit = (byte) 1;
         }
         outBuffer.addByte(is_auto_commit);
@@ -795,11 +932,44 @@ public class UStatement {
         }
         outBuffer.addInt((int) remainingTime);
 
-        if (bindParameter != null) {
+        if (bindRows != null) {
+            for (int i = bindRowsFrom; i < bindRowsTo; i++) {
+                bindRows.writeRow(i, outBuffer);
+            }
+        } else if (bindParameter != null) {
             bindParameter.writeParameter(outBuffer);
         }
     }
 
+    /*
+     * Executes the statement with the serialized rows of a batch as its bind values, one row after
+     * another, and returns the number of rows affected. Used for the rewritten INSERT of
+     * executeRewrittenBatch(), which has the parameters of all those rows.
+     */
+    int executeRows(UBatchRows rows, int from, int to, int queryTimeout)
+            throws UJciException, IOException {
+        lock.lock();
+        try {
+            errorHandler = new UError(relatedConnection);
+            setExecuteOptions(0, false, false, false, false, false, false);
+            currentFirstCursor = -1;
+            fetchedTupleNumber = 0;
+            cursorPosition = -1;
+
+            bindRows = rows;
+            bindRowsFrom = from;
+            bindRowsTo = to;
+            try {
+                executeInternal(0, 0, false, queryTimeout, null);
+            } finally {
+                bindRows = null;
+            }
+            return executeResult;
+        } finally {
+            lock.unlock();
+        }
+    }
+
     private void readResultMeta(UInputBuffer inBuffer) throws UJciException {
         if (relatedConnection.protoVersionIsAbove(UConnection.PROTOCOL_V2)) {
             // include_column_info
@@ -817,9 +987,10 @@ public class UStatement {
         }
     }
 
-    private void fetchResultData(UInputBuffer inBuffer, UStatementCacheData cacheData)
+    private void fetchResultData(
+            UInputBuffer inBuffer, int resCode, UStatementCacheData cacheData)
             throws UJciException {
-        executeResult = inBuffer.getResCode();
+        executeResult = resCode;
         if (maxFetchSize > 0) {
             executeResult = Math.min(maxFetchSize, executeResult);
         }
@@ -835,18 +1006,32 @@ public class UStatement {
         }
         // --
 
+        int start = 0;
+        int size = 0;
         if (commandTypeIs == CUBRIDCommandType.CUBRID_STMT_SELECT && totalTupleNumber > 0) {
             inBuffer.readInt(); // fetch_rescode
+            start = inBuffer.position();
             read_fetch_data(inBuffer, UFunctionCode.FETCH);
+            size = inBuffer.position() - start;
         }
 
         // jdbc cache feature
         if (stmt_cache_data != null) {
-            int total_size = fetchedSize + relatedConnection.getUrlCache().getCacheSize();
-            if (total_size < relatedConnection.getUrlCache().getLimit()) {
-                stmt_cache_data.addCacheData(
-                        tuples, currentFirstCursor, fetchedTupleNumber, fetchedSize);
-                relatedConnection.getUrlCache().addCacheSize(fetchedSize);
+            /* the cache makes room for the rows when they are saved */
+            if (size < relatedConnection.getUrlCache().getLimit()) {
+                /* off the heap, the rows are kept as received and decoded again on a hit */
+                if (!relatedConnection.getClientCacheOffHeap()
+                        || columnInfo == null
+                        || !stmt_cache_data.addPackedData(
+                                relatedConnection.getUrlCache(),
+                                inBuffer.getBuffer(),
+                                start,
+                                size,
+                                currentFirstCursor,
+                                fetchedTupleNumber)) {
+                    stmt_cache_data.addCacheData(
+                            tuples, currentFirstCursor, fetchedTupleNumber, size);
+                }
             }
         }
         // --
@@ -863,19 +1048,82 @@ public class UStatement {
         errorHandler.clear();
         relatedConnection.setShardId(UShardInfo.SHARD_ID_INVALID);
 
-        synchronized (relatedConnection) {
+        relatedConnection.lock();
+        try {
             writeExecuteRequest(maxField, isScrollable, queryTimeout, cacheData);
             inBuffer = relatedConnection.send_recv_msg();
+        } finally {
+            relatedConnection.unlock();
+        }
+
+        readExecuteReply(inBuffer, inBuffer.getResCode(), cacheData);
+    }
+
+    /*
+     * PREPARE_AND_EXECUTE prepares and executes the statement in one round trip. The reply starts
+     * with the PREPARE reply, whose result code is the new server handle, and the EXECUTE reply
+     * follows with the execute result in its first int.
+     */
+    private void prepareAndExecuteInternal(
+            int maxField, boolean isScrollable, int queryTimeout, boolean clear_bind_info)
+            throws UJciException, IOException {
+        UInputBuffer inBuffer = null;
+        int maxRow = maxFetchSize;
+        errorHandler.clear();
+        relatedConnection.setShardId(UShardInfo.SHARD_ID_INVALID);
+
+        relatedConnection.lock();
+        try {
+            relatedConnection.checkReconnectForPrepare();
+            outBuffer = relatedConnection.outBuffer;
+
+            outBuffer.newRequest(UFunctionCode.PREPARE_AND_EXECUTE);
+            outBuffer.addInt(PREPARE_ARGUMENT_COUNT);
+            outBuffer.addStringWithNull(sql_stmt);
+            outBuffer.addByte(prepare_flag);
+            outBuffer.addByte(relatedConnection.getAutoCommit() ? (byte) 1 : (byte) 0);
+            /* the statement type is not known yet, the server fetches only for SELECT */
+            writeExecuteArgument(maxField, isScrollable, queryTimeout, null, true);
+            inBuffer = relatedConnection.send_recv_msg();
+        } finally {
+            relatedConnection.unlock();
+        }
+
+        init(relatedConnection, inBuffer, sql_stmt, prepare_flag, clear_bind_info);
+        if (deferredPrepare) {
+            deferredPrepare = false;
+            initStmtCache(relatedConnection, sql_stmt);
+        }
+        relatedConnection.pooled_ustmts.add(this);
+
+        maxFetchSize = maxRow;
+        currentFirstCursor = -1;
+        fetchedTupleNumber = 0;
+        if (firstStmtType == CUBRIDCommandType.CUBRID_STMT_CALL_SP) {
+            cursorPosition = 0;
+        } else {
+            cursorPosition = -1;
         }
 
+        readExecuteReply(inBuffer, inBuffer.readInt(), null);
+    }
+
+    private void readExecuteReply(
+            UInputBuffer inBuffer, int resCode, UStatementCacheData cacheData)
+            throws UJciException {
+        resetStream();
+
         // cache reusable
         byte cache_reusable = inBuffer.readByte();
         if (cacheData != null && cache_reusable == (byte) 1) {
             /* get data from cache */
+            relatedConnection.getUrlCache().recordHit();
             getCacheData(cacheData);
             stmt_cache_data = cacheData;
-            tuples = cacheData.getTuples(0);
+            tuples = getCachedTuples(0);
             return;
+        } else if (cacheData != null) {
+            relatedConnection.getUrlCache().recordMiss();
         }
         // --
 
@@ -886,31 +1134,24 @@ public class UStatement {
             relatedConnection.setShardId(inBuffer.readInt());
         }
 
-        fetchResultData(inBuffer, cacheData);
+        fetchResultData(inBuffer, resCode, cacheData);
 
         for (int i = 0; i < resultInfo.length; i++) {
             if (resultInfo[i].statementType != CUBRIDCommandType.CUBRID_STMT_SELECT) {
-                relatedConnection.update_executed = true;
+                relatedConnection.updateExecuted(sql_stmt);
                 break;
             }
         }
     }
 
-    public synchronized void execute(
-            boolean isAsync,
-            int maxRow,
-            int maxField,
-            boolean isExecuteAll,
-            boolean isSensitive,
-            boolean isScrollable,
-            boolean isQueryPlan,
-            boolean isOnlyPlan,
-            boolean isHoldable,
-            UStatementCacheData cacheData,
-            int queryTimeout) {
-        boolean loop;
-        byte additional_prepare_flag;
-
+    /*
+     * Pipelined execution, used by UConnection.executePipelined() while it holds the connection.
+     * sendPipelinedExecute() writes the EXECUTE request without reading the reply and returns
+     * false if the request could not be made, with the reason kept in the error handler.
+     * receivePipelinedExecute() reads the reply of the request, waiting as long as the query
+     * timeout allows, and returns false if the connection can no longer be used.
+     */
+    boolean sendPipelinedExecute(int queryTimeout) throws IOException {
         isFetchCompleted = false;
         flushLobStreams();
         errorHandler = new UError(relatedConnection);
@@ -921,25 +1162,20 @@ public class UStatement {
                     reset((byte) 0);
                 } catch (UJciException e) {
                     e.toUError(errorHandler);
-                    return;
+                    return false;
                 }
             } else {
                 errorHandler.setErrorCode(UErrorCode.ER_IS_CLOSED);
-                return;
+                return false;
             }
         }
 
-        if (statementType == GET_SCHEMA_INFO) {
-            return;
-        }
-
         if (bindParameter != null && !bindParameter.checkAllBinded()) {
             errorHandler.setErrorCode(UErrorCode.ER_NOT_BIND);
-            return;
+            return false;
         }
 
-        setExecuteOptions(
-                maxRow, isAsync, isExecuteAll, isQueryPlan, isOnlyPlan, isHoldable, isSensitive);
+        setExecuteOptions(0, false, false, false, false, false, false);
         currentFirstCursor = -1;
         fetchedTupleNumber = 0;
         if (firstStmtType == CUBRIDCommandType.CUBRID_STMT_CALL_SP) {
@@ -948,67 +1184,180 @@ public class UStatement {
             cursorPosition = -1;
         }
 
-        boolean isFirstExecInTran = !relatedConnection.isActive();
+        try {
+            writeExecuteRequest(0, false, queryTimeout, null);
+        } catch (UJciException e) {
+            relatedConnection.logException(e);
+            e.toUError(errorHandler);
+            return false;
+        }
+        relatedConnection.send_msg();
+        return true;
+    }
 
+    boolean receivePipelinedExecute(int queryTimeout) {
+        UInputBuffer inBuffer;
         try {
-            executeInternal(maxRow, maxField, isScrollable, queryTimeout, cacheData);
-            return;
+            inBuffer = relatedConnection.recv_msg(queryTimeout);
         } catch (UJciException e) {
             relatedConnection.logException(e);
             e.toUError(errorHandler);
+            return e.getJciError() == UErrorCode.ER_DBMS;
         } catch (IOException e) {
             relatedConnection.logException(e);
             errorHandler.setErrorCode(UErrorCode.ER_COMMUNICATION);
+            return false;
         }
 
-        if (relatedConnection.isErrorToReconnect(errorHandler.getJdbcErrorCode())) {
-            if (!relatedConnection.isActive() || isFirstExecInTran) {
-                if (!relatedConnection.brokerInfoReconnectWhenServerDown()
-                        || relatedConnection.isErrorCommunication(
-                                errorHandler.getJdbcErrorCode())) {
-                    relatedConnection.clientSocketClose();
-                }
-
-                try {
-                    reset((byte) 0);
-                    executeInternal(maxRow, maxField, isScrollable, queryTimeout, cacheData);
-                    return;
-                } catch (UJciException e) {
-                    relatedConnection.logException(e);
-                    e.toUError(errorHandler);
-                } catch (IOException e) {
-                    relatedConnection.logException(e);
-                    errorHandler.setErrorCode(UErrorCode.ER_COMMUNICATION);
-                }
-            }
+        try {
+            readExecuteReply(inBuffer, inBuffer.getResCode(), null);
+        } catch (UJciException e) {
+            relatedConnection.logException(e);
+            e.toUError(errorHandler);
         }
+        return true;
+    }
 
-        if (relatedConnection.protoVersionIsAbove(UConnection.PROTOCOL_V7)) {
-            loop = false; /* retry once more */
-            additional_prepare_flag = UConnection.PREPARE_XASL_CACHE_PINNED;
-        } else {
-            loop = true; /* infinitely */
-            additional_prepare_flag = (byte) 0;
-        }
+    void setPipelineError(UError error) {
+        errorHandler = new UError(relatedConnection);
+        errorHandler.copyValue(error);
+    }
 
-        do {
-            if (relatedConnection.brokerInfoStatementPooling()
-                    && errorHandler.getJdbcErrorCode() == UErrorCode.CAS_ER_STMT_POOLING) {
-                try {
-                    reset(additional_prepare_flag);
-                    executeInternal(maxRow, maxField, isScrollable, queryTimeout, cacheData);
+    public void execute(
+            boolean isAsync,
+            int maxRow,
+            int maxField,
+            boolean isExecuteAll,
+            boolean isSensitive,
+            boolean isScrollable,
+            boolean isQueryPlan,
+            boolean isOnlyPlan,
+            boolean isHoldable,
+            UStatementCacheData cacheData,
+            int queryTimeout) {
+        lock.lock();
+        try {
+            boolean loop;
+            byte additional_prepare_flag;
+
+            boolean isPrepareAndExecute = false;
+
+            isFetchCompleted = false;
+            flushLobStreams();
+            errorHandler = new UError(relatedConnection);
+
+            if (isClosed) {
+                if ((deferredPrepare || relatedConnection.brokerInfoStatementPooling())
+                        && cacheData == null
+                        && relatedConnection.supportPrepareAndExecute()) {
+                    isPrepareAndExecute = true;
+                } else if (relatedConnection.brokerInfoStatementPooling()) {
+                    try {
+                        reset((byte) 0);
+                    } catch (UJciException e) {
+                        e.toUError(errorHandler);
+                        return;
+                    }
+                } else {
+                    errorHandler.setErrorCode(UErrorCode.ER_IS_CLOSED);
                     return;
-                } catch (UJciException e) {
-                    relatedConnection.logException(e);
-                    e.toUError(errorHandler);
-                } catch (IOException e) {
-                    relatedConnection.logException(e);
-                    errorHandler.setErrorCode(UErrorCode.ER_COMMUNICATION);
                 }
             }
-        } while (loop
-                && relatedConnection.brokerInfoStatementPooling()
-                && errorHandler.getJdbcErrorCode() == UErrorCode.CAS_ER_STMT_POOLING);
+
+            if (statementType == GET_SCHEMA_INFO) {
+                return;
+            }
+
+            if (bindParameter != null && !bindParameter.checkAllBinded()) {
+                errorHandler.setErrorCode(UErrorCode.ER_NOT_BIND);
+                return;
+            }
+
+            setExecuteOptions(
+                    maxRow,
+                    isAsync,
+                    isExecuteAll,
+                    isQueryPlan,
+                    isOnlyPlan,
+                    isHoldable,
+                    isSensitive);
+            currentFirstCursor = -1;
+            fetchedTupleNumber = 0;
+            if (firstStmtType == CUBRIDCommandType.CUBRID_STMT_CALL_SP) {
+                cursorPosition = 0;
+            } else {
+                cursorPosition = -1;
+            }
+
+            boolean isFirstExecInTran = !relatedConnection.isActive();
+
+            try {
+                if (isPrepareAndExecute) {
+                    prepareAndExecuteInternal(
+                            maxField, isScrollable, queryTimeout, deferredPrepare);
+                } else {
+                    executeInternal(maxRow, maxField, isScrollable, queryTimeout, cacheData);
+                }
+                return;
+            } catch (UJciException e) {
+                relatedConnection.logException(e);
+                e.toUError(errorHandler);
+            } catch (IOException e) {
+                relatedConnection.logException(e);
+                errorHandler.setErrorCode(UErrorCode.ER_COMMUNICATION);
+            }
+
+            if (relatedConnection.isErrorToReconnect(errorHandler.getJdbcErrorCode())) {
+                if (!relatedConnection.isActive() || isFirstExecInTran) {
+                    if (!relatedConnection.brokerInfoReconnectWhenServerDown()
+                            || relatedConnection.isErrorCommunication(
+                                    errorHandler.getJdbcErrorCode())) {
+                        relatedConnection.clientSocketClose();
+                    }
+
+                    try {
+                        reset((byte) 0);
+                        executeInternal(maxRow, maxField, isScrollable, queryTimeout, cacheData);
+                        return;
+                    } catch (UJciException e) {
+                        relatedConnection.logException(e);
+                        e.toUError(errorHandler);
+                    } catch (IOException e) {
+                        relatedConnection.logException(e);
+                        errorHandler.setErrorCode(UErrorCode.ER_COMMUNICATION);
+                    }
+                }
+            }
+
+            if (relatedConnection.protoVersionIsAbove(UConnection.PROTOCOL_V7)) {
+                loop = false; /* retry once more */
+                additional_prepare_flag = UConnection.PREPARE_XASL_CACHE_PINNED;
+            } else {
+                loop = true; /* infinitely */
+                additional_prepare_flag = (byte) 0;
+            }
+
+            do {
+                if (relatedConnection.brokerInfoStatementPooling()
+                        && errorHandler.getJdbcErrorCode() == UErrorCode.CAS_ER_STMT_POOLING) {
+                    try {
+                        reset(additional_prepare_flag);
+                        executeInternal(maxRow, maxField, isScrollable, queryTimeout, cacheData);
+                        return;
+                    } catch (UJciException e) {
+                        relatedConnection.logException(e);
+                        e.toUError(errorHandler);
+                    } catch (IOException e) {
+                        relatedConnection.logException(e);
+                        errorHandler.setErrorCode(UErrorCode.ER_COMMUNICATION);
+                    }
+                }
+            } while (loop
+                    && relatedConnection.brokerInfoStatementPooling()
+                    && errorHandler.getJdbcErrorCode() == UErrorCode.CAS_ER_STMT_POOLING);
+        } finally {
+            lock.unlock();
+        }
     }
 
     private void reset(byte flag) throws UJciException {
@@ -1032,28 +1381,46 @@ public class UStatement {
         init(relatedConnection, tmp.tmp_inbuffer, sql_stmt, prepare_flag, false);
     }
 
-    public synchronized CUBRIDOID executeInsert(boolean isAsync) {
-        errorHandler = new UError(relatedConnection);
-        if (isClosed == true) {
-            errorHandler.setErrorCode(UErrorCode.ER_IS_CLOSED);
-            return null;
-        }
-        if (commandTypeIs != CUBRIDCommandType.CUBRID_STMT_INSERT) {
-            errorHandler.setErrorCode(UErrorCode.ER_CMD_IS_NOT_INSERT);
+    public CUBRIDOID executeInsert(boolean isAsync) {
+        lock.lock();
+        try {
+            errorHandler = new UError(relatedConnection);
+            if (isClosed == true) {
+                errorHandler.setErrorCode(UErrorCode.ER_IS_CLOSED);
+                return null;
+            }
+            if (commandTypeIs != CUBRIDCommandType.CUBRID_STMT_INSERT) {
+                errorHandler.setErrorCode(UErrorCode.ER_CMD_IS_NOT_INSERT);
+                return null;
+            }
+            execute(isAsync, 0, 0, false, false, false, false, false, false, null, 0);
+            if (errorHandler.getErrorCode() != UErrorCode.ER_NO_ERROR) return null;
+            if (resultInfo != null && resultInfo[0] != null) return resultInfo[0].getCUBRIDOID();
+            errorHandler.setErrorCode(UErrorCode.ER_OID_IS_NOT_INCLUDED);
             return null;
+        } finally {
+            lock.unlock();
         }
-        execute(isAsync, 0, 0, false, false, false, false, false, false, null, 0);
-        if (errorHandler.getErrorCode() != UErrorCode.ER_NO_ERROR) return null;
-        if (resultInfo != null && resultInfo[0] != null) return resultInfo[0].getCUBRIDOID();
-        errorHandler.setErrorCode(UErrorCode.ER_OID_IS_NOT_INCLUDED);
-        return null;
     }
 
-    public synchronized void setAutoCommit(boolean autoCommit) {
-        isAutoCommit = autoCommit;
+    public void setAutoCommit(boolean autoCommit) {
+        lock.lock();
+        try {
+            isAutoCommit = autoCommit;
+        } finally {
+            lock.unlock();
+        }
     }
 
-    private void writeExecuteBatchRequest(int queryTimeout) throws IOException, UJciException {
+    /*
+     * Writes the EXECUTE_BATCH request for the rows from the given one and returns the row the
+     * request stopped at. A request ends after maxRows rows or once it holds maxBytes bytes, 0
+     * meaning no limit. Only the request that carries the last row asks for auto-commit, so the
+     * rows of an auto-commit batch are committed once, as with a single request.
+     */
+    private int writeExecuteBatchRequest(
+            int queryTimeout, int from, int maxRows, int maxBytes)
+            throws IOException, UJciException {
         outBuffer.newRequest(
                 relatedConnection.getOutputStream(), UFunctionCode.EXECUTE_BATCH_PREPAREDSTATEMENT);
         outBuffer.addInt(serverHandler);
@@ -1064,44 +1431,274 @@ public class UStatement {
             }
             outBuffer.addInt((int) remainingTime);
         }
-        outBuffer.addByte(isAutoCommit ? (byte) 1 : (byte) 0);
+        outBuffer.addByte((byte) 0);
+        int autoCommitOffset = outBuffer.size() - 1;
 
+        int end = from;
         if (batchParameter != null) {
             synchronized (batchParameter) {
-                for (int i = 0; i < batchParameter.size(); i++) {
-                    UBindParameter b = (UBindParameter) batchParameter.get(i);
-                    b.writeParameter(outBuffer);
+                while (end < batchParameter.size()) {
+                    if (maxRows > 0 && end - from >= maxRows) break;
+                    if (maxBytes > 0 && end > from && outBuffer.size() >= maxBytes) break;
+
+                    batchParameter.writeRow(end++, outBuffer);
+                }
+                if (isAutoCommit && end == batchParameter.size()) {
+                    outBuffer.setByte(autoCommitOffset, (byte) 1);
                 }
             }
+        } else if (isAutoCommit) {
+            outBuffer.setByte(autoCommitOffset, (byte) 1);
         }
+        return end;
     }
 
+    /*
+     * A batch within batchChunkRows and batchChunkSize goes out in one request. A larger one goes
+     * out in requests of batchChunkRows rows and batchChunkSize bytes. While the client writes a
+     * request, the broker can only put its reply to the previous one in the socket buffers, so the
+     * next request is written before that reply is read only when the reply is sure to fit, with
+     * batchChunkRows of at most PIPELINE_MAX_ROWS; the broker then always has a request to run.
+     * Larger requests are sent one after the other, each once the reply to the previous is read.
+     *
+     * If a request fails as a whole after others have run, its rows and the rows never sent are
+     * reported as failed in the result instead, since the rows of the other requests were executed.
+     */
     private UBatchResult executeBatchInternal(int queryTimeout) throws IOException, UJciException {
-        UInputBuffer inBuffer = null;
         errorHandler.clear();
         relatedConnection.setShardId(UShardInfo.SHARD_ID_INVALID);
 
-        synchronized (relatedConnection) {
-            writeExecuteBatchRequest(queryTimeout);
-            inBuffer = relatedConnection.send_recv_msg();
+        if (relatedConnection.getRewriteBatchedInserts()
+                && commandTypeIs == CUBRIDCommandType.CUBRID_STMT_INSERT
+                && batchParameter != null
+                && batchParameter.size() > 1) {
+            UBatchInsertRewrite rewrite = UBatchInsertRewrite.parse(sql_stmt, parameterNumber);
+            UBatchResult batchResult =
+                    (rewrite == null) ? null : executeRewrittenBatch(rewrite, queryTimeout);
+            if (batchResult != null) {
+                return batchResult;
+            }
+        }
+
+        int total = (batchParameter == null) ? 0 : batchParameter.size();
+        int maxRows = relatedConnection.getBatchChunkRows();
+        int maxBytes = relatedConnection.getBatchChunkSize();
+        if ((maxRows <= 0 || total <= maxRows)
+                && (maxBytes <= 0 || total == 0 || batchParameter.byteSize() <= maxBytes)) {
+            maxRows = 0;
+            maxBytes = 0;
+        }
+        boolean pipelined = maxRows > 0 && maxRows <= PIPELINE_MAX_ROWS;
+
+        UBatchResult batchResult = new UBatchResult(total);
+        UJciException failure = null;
+        int failedFrom = 0;
+        int failedTo = 0;
+        int sent = 0;
+        boolean executed = false;
+
+        relatedConnection.lock();
+        try {
+            int pendingFrom = -1;
+            int pendingTo = -1;
+            do {
+                int next;
+                try {
+                    next = writeExecuteBatchRequest(queryTimeout, sent, maxRows, maxBytes);
+                } catch (UJciException e) {
+                    if (pendingFrom < 0 && !executed) throw e;
+                    failure = e;
+                    break;
+                }
+                relatedConnection.send_msg();
+
+                if (pendingFrom >= 0) {
+                    try {
+                        readBatchReply(batchResult, pendingFrom, queryTimeout);
+                        executed = true;
+                    } catch (UJciException e) {
+                        failure = e;
+                        failedFrom = pendingFrom;
+                        failedTo = pendingTo;
+                    }
+                }
+                pendingFrom = sent;
+                pendingTo = next;
+                sent = next;
+
+                if (!pipelined && sent < total && failure == null) {
+                    try {
+                        readBatchReply(batchResult, pendingFrom, queryTimeout);
+                        executed = true;
+                    } catch (UJciException e) {
+                        failure = e;
+                        failedFrom = pendingFrom;
+                        failedTo = pendingTo;
+                    }
+                    pendingFrom = -1;
+                }
+            } while (sent < total && failure == null);
+
+            if (pendingFrom >= 0) {
+                try {
+                    readBatchReply(batchResult, pendingFrom, queryTimeout);
+                    executed = true;
+                } catch (UJciException e) {
+                    if (failure == null) {
+                        failure = e;
+                        failedFrom = pendingFrom;
+                        failedTo = pendingTo;
+                    }
+                }
+            }
+        } finally {
+            relatedConnection.unlock();
+        }
+
+        if (executed) {
+            relatedConnection.updateExecuted(sql_stmt);
+        }
+
+        if (failure != null) {
+            if (!executed) throw failure;
+
+            UError error = new UError(relatedConnection);
+            failure.toUError(error);
+            for (int i = 0; i < total; i++) {
+                if ((i >= failedFrom && i < failedTo) || i >= sent) {
+                    batchResult.setStatementType(i, statementType);
+                    batchResult.setResultError(
+                            i, error.getJdbcErrorCode(), error.getErrorMsg(false));
+                }
+            }
         }
 
         batchParameter = null;
-        UBatchResult batchResult;
-        int result;
+        return batchResult;
+    }
+
+    /*
+     * With rewriteBatchedInserts, a batched INSERT runs as multi-row INSERT statements. Each takes
+     * as many rows as fit in batchChunkRows and batchChunkSize, rounded down to a power of two so
+     * that a batch prepares only a few distinct statements. A statement inserts its rows as one, so
+     * they all get the same result: 1 when every row was inserted, SUCCESS_NO_INFO otherwise, and
+     * the error when the statement failed.
+     *
+     * The statements never auto-commit; in auto-commit mode the driver commits once the batch has
+     * run, as it does for EXECUTE_BATCH. So nothing is committed before the batch returns, and
+     * once a statement has run, failures are reported per row and never thrown, since a retry of
+     * the whole batch would run those rows again. Until then, null is returned when a statement
+     * cannot be prepared or fails with other than a DBMS error, and the batch is sent as it is.
+     */
+    private UBatchResult executeRewrittenBatch(UBatchInsertRewrite rewrite, int queryTimeout)
+            throws IOException {
+        int total = batchParameter.size();
+        UBatchResult batchResult = new UBatchResult(total);
+        HashMap<Integer, UStatement> statements = new HashMap<Integer, UStatement>();
+        int maxRows = relatedConnection.getBatchChunkRows();
+        int maxBytes = relatedConnection.getBatchChunkSize();
+        boolean executed = false;
+
+        try {
+            int from = 0;
+            while (from < total) {
+                int rows = 0;
+                int bytes = 0;
+                while (from + rows < total) {
+                    if (maxRows > 0 && rows >= maxRows) break;
+                    bytes += batchParameter.rowSize(from + rows);
+                    if (maxBytes > 0 && rows > 0 && bytes > maxBytes) break;
+                    rows++;
+                }
+                rows = Integer.highestOneBit(rows);
+
+                try {
+                    UStatement stmt = statements.get(rows);
+                    if (stmt == null) {
+                        try {
+                            stmt = prepareRewritten(rewrite.getSql(rows));
+                        } catch (UJciException e) {
+                            if (!executed) return null;
+                            throw e;
+                        }
+                        statements.put(rows, stmt);
+                    }
+
+                    int count = stmt.executeRows(batchParameter, from, from + rows, queryTimeout);
+                    int result = (count == rows) ? 1 : Statement.SUCCESS_NO_INFO;
+                    for (int i = from; i < from + rows; i++) {
+                        batchResult.setStatementType(i, statementType);
+                        batchResult.setResult(i, result);
+                    }
+                    executed = true;
+                } catch (UJciException e) {
+                    if (!executed && e.getJciError() != UErrorCode.ER_DBMS) return null;
+
+                    setBatchError(batchResult, from, from + rows, e);
+                    executed = true;
+                } catch (IOException e) {
+                    if (!executed) throw e;
+
+                    /* the transaction of the rows that ran is lost with the connection */
+                    relatedConnection.logException(e);
+                    UJciException lost = new UJciException(UErrorCode.ER_COMMUNICATION);
+                    setBatchError(batchResult, 0, total, lost);
+                    break;
+                }
+                from += rows;
+            }
+        } finally {
+            for (UStatement stmt : statements.values()) {
+                stmt.close();
+            }
+        }
+
+        batchParameter = null;
+        return batchResult;
+    }
 
-        batchResult = new UBatchResult(inBuffer.readInt());
-        for (int i = 0; i < batchResult.getResultNumber(); i++) {
+    private void setBatchError(UBatchResult batchResult, int from, int to, UJciException e) {
+        UError error = new UError(relatedConnection);
+        e.toUError(error);
+        for (int i = from; i < to; i++) {
             batchResult.setStatementType(i, statementType);
+            batchResult.setResultError(i, error.getJdbcErrorCode(), error.getErrorMsg(false));
+        }
+    }
+
+    private UStatement prepareRewritten(String sql) throws UJciException {
+        UStatement stmt = relatedConnection.prepare(sql, prepare_flag);
+        if (stmt == null) {
+            UError err = relatedConnection.getRecentError();
+            int indicator =
+                    (err.getErrorCode() == UErrorCode.ER_DBMS)
+                            ? UErrorCode.DBMS_ERROR_INDICATOR
+                            : UErrorCode.CAS_ERROR_INDICATOR;
+
+            throw new UJciException(
+                    err.getErrorCode(), indicator, err.getJdbcErrorCode(), err.getErrorMsg(false));
+        }
+        return stmt;
+    }
+
+    private void readBatchReply(UBatchResult batchResult, int from, int queryTimeout)
+            throws IOException, UJciException {
+        UInputBuffer inBuffer = relatedConnection.recv_msg(queryTimeout);
+        int result;
+
+        int resultNumber = inBuffer.readInt();
+        for (int i = 0; i < resultNumber; i++) {
+            int index = from + i;
+            batchResult.setStatementType(index, statementType);
             result = inBuffer.readInt();
             if (result < 0) {
                 int err_code = inBuffer.readInt();
                 batchResult.setResultError(
-                        i,
+                        index,
                         err_code,
                         inBuffer.readString(inBuffer.readInt(), UJCIManager.sysCharsetName));
             } else {
-                batchResult.setResult(i, result);
+                batchResult.setResult(index, result);
                 // jci 3.0
                 inBuffer.readInt();
                 inBuffer.readShort();
@@ -1112,189 +1709,243 @@ public class UStatement {
         if (relatedConnection.protoVersionIsAbove(UConnection.PROTOCOL_V5)) {
             relatedConnection.setShardId(inBuffer.readInt());
         }
-
-        return batchResult;
     }
 
-    public synchronized UBatchResult executeBatch(int queryTimeout) {
-        UBatchResult batchResult;
-        boolean loop;
-        byte additional_prepare_flag;
+    public UBatchResult executeBatch(int queryTimeout) {
+        lock.lock();
+        try {
+            UBatchResult batchResult;
+            boolean loop;
+            byte additional_prepare_flag;
 
-        errorHandler = new UError(relatedConnection);
-        if (isClosed) {
-            if (relatedConnection.brokerInfoStatementPooling()) {
-                try {
-                    reset((byte) 0);
-                } catch (UJciException e) {
-                    e.toUError(errorHandler);
+            errorHandler = new UError(relatedConnection);
+            if (isClosed) {
+                if (relatedConnection.brokerInfoStatementPooling()) {
+                    try {
+                        reset((byte) 0);
+                    } catch (UJciException e) {
+                        e.toUError(errorHandler);
+                        return null;
+                    }
+                } else {
+                    errorHandler.setErrorCode(UErrorCode.ER_IS_CLOSED);
                     return null;
                 }
-            } else {
-                errorHandler.setErrorCode(UErrorCode.ER_IS_CLOSED);
-                return null;
             }
-        }
 
-        boolean isFirstExecInTran = !relatedConnection.isActive();
+            boolean isFirstExecInTran = !relatedConnection.isActive();
 
-        try {
-            batchResult = executeBatchInternal(queryTimeout);
-            return batchResult;
-        } catch (UJciException e) {
-            relatedConnection.logException(e);
-            e.toUError(errorHandler);
-        } catch (IOException e) {
-            relatedConnection.logException(e);
-            if (errorHandler.getErrorCode() != UErrorCode.ER_CONNECTION)
-                errorHandler.setErrorCode(UErrorCode.ER_COMMUNICATION);
-        }
+            try {
+                batchResult = executeBatchInternal(queryTimeout);
+                return batchResult;
+            } catch (UJciException e) {
+                relatedConnection.logException(e);
+                e.toUError(errorHandler);
+            } catch (IOException e) {
+                relatedConnection.logException(e);
+                if (errorHandler.getErrorCode() != UErrorCode.ER_CONNECTION)
+                    errorHandler.setErrorCode(UErrorCode.ER_COMMUNICATION);
+            }
 
-        if (relatedConnection.isErrorToReconnect(errorHandler.getJdbcErrorCode())) {
-            if (!relatedConnection.isActive() || isFirstExecInTran) {
-                if (!relatedConnection.brokerInfoReconnectWhenServerDown()
-                        || relatedConnection.isErrorCommunication(
-                                errorHandler.getJdbcErrorCode())) {
-                    relatedConnection.clientSocketClose();
-                }
+            if (relatedConnection.isErrorToReconnect(errorHandler.getJdbcErrorCode())) {
+                if (!relatedConnection.isActive() || isFirstExecInTran) {
+                    if (!relatedConnection.brokerInfoReconnectWhenServerDown()
+                            || relatedConnection.isErrorCommunication(
+                                    errorHandler.getJdbcErrorCode())) {
+                        relatedConnection.clientSocketClose();
+                    }
 
-                try {
-                    reset((byte) 0);
-                    batchResult = executeBatchInternal(queryTimeout);
-                    return batchResult;
-                } catch (UJciException e) {
-                    relatedConnection.logException(e);
-                    e.toUError(errorHandler);
-                } catch (IOException e) {
-                    relatedConnection.logException(e);
-                    errorHandler.setErrorCode(UErrorCode.ER_COMMUNICATION);
+                    try {
+                        reset((byte) 0);
+                        batchResult = executeBatchInternal(queryTimeout);
+                        return batchResult;
+                    } catch (UJciException e) {
+                        relatedConnection.logException(e);
+                        e.toUError(errorHandler);
+                    } catch (IOException e) {
+                        relatedConnection.logException(e);
+                        errorHandler.setErrorCode(UErrorCode.ER_COMMUNICATION);
+                    }
                 }
             }
-        }
 
-        if (relatedConnection.protoVersionIsAbove(UConnection.PROTOCOL_V7)) {
-            loop = false; /* retry once more */
-            additional_prepare_flag = UConnection.PREPARE_XASL_CACHE_PINNED;
-        } else {
-            loop = true; /* infinitely */
-            additional_prepare_flag = (byte) 0;
-        }
+            if (relatedConnection.protoVersionIsAbove(UConnection.PROTOCOL_V7)) {
+                loop = false; /* retry once more */
+                additional_prepare_flag = UConnection.PREPARE_XASL_CACHE_PINNED;
+            } else {
+                loop = true; /* infinitely */
+                additional_prepare_flag = (byte) 0;
+            }
 
-        do {
-            if (relatedConnection.brokerInfoStatementPooling()
-                    && errorHandler.getJdbcErrorCode() == UErrorCode.CAS_ER_STMT_POOLING) {
-                try {
-                    reset(additional_prepare_flag);
-                    batchResult = executeBatchInternal(queryTimeout);
-                    return batchResult;
-                } catch (UJciException e) {
-                    relatedConnection.logException(e);
-                    e.toUError(errorHandler);
-                } catch (IOException e) {
-                    relatedConnection.logException(e);
-                    errorHandler.setErrorCode(UErrorCode.ER_COMMUNICATION);
+            do {
+                if (relatedConnection.brokerInfoStatementPooling()
+                        && errorHandler.getJdbcErrorCode() == UErrorCode.CAS_ER_STMT_POOLING) {
+                    try {
+                        reset(additional_prepare_flag);
+                        batchResult = executeBatchInternal(queryTimeout);
+                        return batchResult;
+                    } catch (UJciException e) {
+                        relatedConnection.logException(e);
+                        e.toUError(errorHandler);
+                    } catch (IOException e) {
+                        relatedConnection.logException(e);
+                        errorHandler.setErrorCode(UErrorCode.ER_COMMUNICATION);
+                    }
                 }
-            }
-        } while (loop
-                && relatedConnection.brokerInfoStatementPooling()
-                && errorHandler.getJdbcErrorCode() == UErrorCode.CAS_ER_STMT_POOLING);
-        return null;
+            } while (loop
+                    && relatedConnection.brokerInfoStatementPooling()
+                    && errorHandler.getJdbcErrorCode() == UErrorCode.CAS_ER_STMT_POOLING);
+            return null;
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized void fetch() {
-        errorHandler = new UError(relatedConnection);
-        if (isClosed == true) {
-            errorHandler.setErrorCode(UErrorCode.ER_IS_CLOSED);
-            return;
-        }
-        realFetched = false;
+    public void fetch() {
+        lock.lock();
+        try {
+            errorHandler = new UError(relatedConnection);
+            if (isClosed == true) {
+                errorHandler.setErrorCode(UErrorCode.ER_IS_CLOSED);
+                return;
+            }
+            realFetched = false;
 
-        /* need not to fetch */
-        if (statementType == GET_BY_OID) return;
+            /* need not to fetch */
+            if (statementType == GET_BY_OID) return;
 
-        if (cursorPosition < 0 || (executeFlag != ASYNC_EXECUTE && totalTupleNumber <= 0)) {
-            errorHandler.setErrorCode(UErrorCode.ER_NO_MORE_DATA);
-            return;
-        }
+            if (cursorPosition < 0 || (executeFlag != ASYNC_EXECUTE && totalTupleNumber <= 0)) {
+                errorHandler.setErrorCode(UErrorCode.ER_NO_MORE_DATA);
+                return;
+            }
 
-        /* need not to fetch really */
-        if (currentFirstCursor >= 0
-                && currentFirstCursor <= cursorPosition
-                && cursorPosition <= currentFirstCursor + fetchedTupleNumber - 1) {
-            return;
-        }
+            /* need not to fetch really */
+            if (currentFirstCursor >= 0
+                    && currentFirstCursor <= cursorPosition
+                    && cursorPosition <= currentFirstCursor + fetchedTupleNumber - 1) {
+                readAheadIfDue();
+                return;
+            }
 
-        reFetch();
+            reFetch();
+            readAheadIfDue();
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized BigDecimal getBigDecimal(int index) {
-        errorHandler = new UError(relatedConnection);
+    public BigDecimal getBigDecimal(int index) {
+        lock.lock();
+        try {
+            errorHandler = new UError(relatedConnection);
 
-        Object obj = beforeGetXXX(index);
-        if (obj == null) return null;
+            Object obj = beforeGetXXX(index);
+            if (obj == null) return null;
 
-        try {
-            return (UGetTypeConvertedValue.getBigDecimal(obj));
-        } catch (UJciException e) {
-            e.toUError(errorHandler);
+            try {
+                return (UGetTypeConvertedValue.getBigDecimal(obj));
+            } catch (UJciException e) {
+                e.toUError(errorHandler);
+            }
+            return null;
+        } finally {
+            lock.unlock();
         }
-        return null;
     }
 
-    public synchronized boolean getBoolean(int index) {
-        errorHandler = new UError(relatedConnection);
+    public boolean getBoolean(int index) {
+        lock.lock();
+        try {
+            errorHandler = new UError(relatedConnection);
 
-        Object obj = beforeGetXXX(index);
-        if (obj == null) return false;
+            Object obj = beforeGetXXX(index);
+            if (obj == null) return false;
 
-        try {
-            return (UGetTypeConvertedValue.getBoolean(obj));
-        } catch (UJciException e) {
-            e.toUError(errorHandler);
+            try {
+                return (UGetTypeConvertedValue.getBoolean(obj));
+            } catch (UJciException e) {
+                e.toUError(errorHandler);
+            }
+            return false;
+        } finally {
+            lock.unlock();
         }
-        return false;
     }
 
-    public synchronized byte getByte(int index) {
-        errorHandler = new UError(relatedConnection);
+    public byte getByte(int index) {
+        lock.lock();
+        try {
+            errorHandler = new UError(relatedConnection);
 
-        Object obj = beforeGetXXX(index);
-        if (obj == null) return ((byte) 0);
+            Object obj = beforeGetXXX(index);
+            if (obj == null) return ((byte) 0);
 
-        try {
-            return (UGetTypeConvertedValue.getByte(obj));
-        } catch (UJciException e) {
-            e.toUError(errorHandler);
+            try {
+                return (UGetTypeConvertedValue.getByte(obj));
+            } catch (UJciException e) {
+                e.toUError(errorHandler);
+            }
+            return ((byte) 0);
+        } finally {
+            lock.unlock();
         }
-        return ((byte) 0);
     }
 
-    public synchronized byte[] getBytes(int index) {
-        errorHandler = new UError(relatedConnection);
+    public byte[] getBytes(int index) {
+        lock.lock();
+        try {
+            errorHandler = new UError(relatedConnection);
 
-        Object obj = beforeGetXXX(index);
-        if (obj == null) return null;
+            Object obj = beforeGetXXX(index);
+            if (obj == null) return null;
 
-        try {
-            return (UGetTypeConvertedValue.getBytes(obj));
-        } catch (UJciException e) {
-            e.toUError(errorHandler);
+            try {
+                return (UGetTypeConvertedValue.getBytes(obj));
+            } catch (UJciException e) {
+                e.toUError(errorHandler);
+            }
+            return null;
+        } finally {
+            lock.unlock();
         }
-        return null;
     }
 
-    public synchronized Object getCollection(int index) {
-        errorHandler = new UError(relatedConnection);
+    public Object getCollection(int index) {
+        lock.lock();
+        try {
+            errorHandler = new UError(relatedConnection);
 
-        Object obj = beforeGetXXX(index);
-        if (obj == null) return null;
+            Object obj = beforeGetXXX(index);
+            if (obj == null) return null;
 
-        if (!(obj instanceof CUBRIDArray)) {
-            errorHandler.setErrorCode(UErrorCode.ER_TYPE_CONVERSION);
-            return null;
+            if (!(obj instanceof CUBRIDArray)) {
+                errorHandler.setErrorCode(UErrorCode.ER_TYPE_CONVERSION);
+                return null;
+            }
+
+            return (((CUBRIDArray) obj).getArrayClone());
+        } finally {
+            lock.unlock();
         }
+    }
 
-        return (((CUBRIDArray) obj).getArrayClone());
+    /* an estimate of the memory the SQL and the column metadata of the statement hold */
+    public int getMetadataSize() {
+        int size = (sql_stmt == null) ? 0 : sql_stmt.length() * 2;
+        UColumnInfo[] columns = columnInfo;
+        if (columns != null) {
+            for (int i = 0; i < columns.length; i++) {
+                size += 128;
+                size += lengthOf(columns[i].getColumnName()) * 2;
+                size += lengthOf(columns[i].getClassName()) * 2;
+                size += lengthOf(columns[i].getRealColumnName()) * 2;
+            }
+        }
+        return size;
+    }
+
+    private static int lengthOf(String s) {
+        return (s == null) ? 0 : s.length();
     }
 
     public UColumnInfo[] getColumnInfo() {
@@ -1323,86 +1974,135 @@ public class UStatement {
         return colNameToIndex;
     }
 
-    public synchronized CUBRIDOID getColumnOID(int index) {
-        errorHandler = new UError(relatedConnection);
+    public CUBRIDOID getColumnOID(int index) {
+        lock.lock();
+        try {
+            errorHandler = new UError(relatedConnection);
 
-        Object obj = beforeGetXXX(index);
-        if (obj == null) return null;
+            Object obj = beforeGetXXX(index);
+            if (obj == null) return null;
 
-        if (!(obj instanceof CUBRIDOID)) {
-            errorHandler.setErrorCode(UErrorCode.ER_NOT_OBJECT);
-            return null;
-        }
+            if (!(obj instanceof CUBRIDOID)) {
+                errorHandler.setErrorCode(UErrorCode.ER_NOT_OBJECT);
+                return null;
+            }
 
-        return ((CUBRIDOID) obj);
+            return ((CUBRIDOID) obj);
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized CUBRIDOID getCursorOID() {
-        errorHandler = new UError(relatedConnection);
-        if (isClosed == true) {
-            errorHandler.setErrorCode(UErrorCode.ER_IS_CLOSED);
-            return null;
-        }
+    public CUBRIDOID getCursorOID() {
+        lock.lock();
+        try {
+            errorHandler = new UError(relatedConnection);
+            if (isClosed == true) {
+                errorHandler.setErrorCode(UErrorCode.ER_IS_CLOSED);
+                return null;
+            }
 
-        if (checkReFetch() != true) return null;
+            if (checkReFetch() != true) return null;
 
-        return (tuples[cursorPosition - currentFirstCursor].getOid());
+            try {
+                return (currentTuple().getOid());
+            } catch (UJciException e) {
+                e.toUError(errorHandler);
+                return null;
+            }
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized CUBRIDBlob getBlob(int index) {
-        errorHandler = new UError(relatedConnection);
+    public CUBRIDBlob getBlob(int index) {
+        lock.lock();
+        try {
+            errorHandler = new UError(relatedConnection);
 
-        Object obj = beforeGetXXX(index);
-        if (obj == null) return null;
+            Object obj = beforeGetXXX(index);
+            if (obj == null) return null;
 
-        try {
-            return (UGetTypeConvertedValue.getBlob(obj, relatedConnection.getCUBRIDConnection()));
-        } catch (UJciException e) {
-            e.toUError(errorHandler);
+            try {
+                return (UGetTypeConvertedValue.getBlob(
+                        obj, relatedConnection.getCUBRIDConnection()));
+            } catch (UJciException e) {
+                e.toUError(errorHandler);
+            }
+            return null;
+        } finally {
+            lock.unlock();
         }
-        return null;
     }
 
-    public synchronized CUBRIDClob getClob(int index) {
-        errorHandler = new UError(relatedConnection);
+    public CUBRIDClob getClob(int index) {
+        lock.lock();
+        try {
+            errorHandler = new UError(relatedConnection);
 
-        Object obj = beforeGetXXX(index);
-        if (obj == null) return null;
+            Object obj = beforeGetXXX(index);
+            if (obj == null) return null;
 
-        try {
-            return (UGetTypeConvertedValue.getClob(obj, relatedConnection.getCUBRIDConnection()));
-        } catch (UJciException e) {
-            e.toUError(errorHandler);
+            try {
+                return (UGetTypeConvertedValue.getClob(
+                        obj, relatedConnection.getCUBRIDConnection()));
+            } catch (UJciException e) {
+                e.toUError(errorHandler);
+            }
+            return null;
+        } finally {
+            lock.unlock();
         }
-        return null;
     }
 
-    public synchronized Date getDate(int index) {
-        errorHandler = new UError(relatedConnection);
+    public Date getDate(int index) {
+        lock.lock();
+        try {
+            errorHandler = new UError(relatedConnection);
 
-        Object obj = beforeGetXXX(index);
-        if (obj == null) return null;
+            Object obj = beforeGetXXX(index);
+            if (obj == null) return null;
 
-        try {
-            return (UGetTypeConvertedValue.getDate(obj));
-        } catch (UJciException e) {
-            e.toUError(errorHandler);
+            try {
+                return (UGetTypeConvertedValue.getDate(obj));
+            } catch (UJciException e) {
+                e.toUError(errorHandler);
+            }
+            return null;
+        } finally {
+            lock.unlock();
         }
-        return null;
     }
 
-    public synchronized double getDouble(int index) {
-        errorHandler = new UError(relatedConnection);
+    public double getDouble(int index) {
+        lock.lock();
+        try {
+            errorHandler = new UError(relatedConnection);
 
-        Object obj = beforeGetXXX(index);
-        if (obj == null) return ((double) 0);
+            UResultTuple tuple = beforeGetTuple(index);
+            if (tuple == null) return ((double) 0);
 
-        try {
-            return (UGetTypeConvertedValue.getDouble(obj));
-        } catch (UJciException e) {
-            e.toUError(errorHandler);
+            try {
+                int type = getPrimitiveType(tuple, index);
+                if (isIntegralType(type)) {
+                    return (double) readIntegral(tuple, index, type);
+                } else if (isFloatingType(type)) {
+                    return (double) readFloating(tuple, index, type);
+                }
+
+                Object obj = getTupleAttribute(tuple, index);
+                if (obj == null) {
+                    errorHandler.setErrorCode(UErrorCode.ER_WAS_NULL);
+                    return ((double) 0);
+                }
+                return (UGetTypeConvertedValue.getDouble(obj));
+            } catch (UJciException e) {
+                e.toUError(errorHandler);
+            }
+            return ((double) 0);
+        } finally {
+            lock.unlock();
         }
-        return ((double) 0);
     }
 
     public int getExecuteResult() {
@@ -1427,6 +2127,10 @@ public class UStatement {
         return fetchDirection;
     }
 
+    public UFetchSizeController getFetchSizeController() {
+        return fetchController;
+    }
+
     public int getFetchSize() {
         UError localError = new UError(relatedConnection);
         if (isClosed == true) {
@@ -1438,97 +2142,161 @@ public class UStatement {
         return fetchSize;
     }
 
-    public synchronized float getFloat(int index) {
-        errorHandler = new UError(relatedConnection);
+    public float getFloat(int index) {
+        lock.lock();
+        try {
+            errorHandler = new UError(relatedConnection);
 
-        Object obj = beforeGetXXX(index);
-        if (obj == null) return ((float) 0);
+            UResultTuple tuple = beforeGetTuple(index);
+            if (tuple == null) return ((float) 0);
 
-        try {
-            return (UGetTypeConvertedValue.getFloat(obj));
-        } catch (UJciException e) {
-            e.toUError(errorHandler);
+            try {
+                int type = getPrimitiveType(tuple, index);
+                if (isIntegralType(type)) {
+                    return (float) readIntegral(tuple, index, type);
+                } else if (isFloatingType(type)) {
+                    return (float) readFloating(tuple, index, type);
+                }
+
+                Object obj = getTupleAttribute(tuple, index);
+                if (obj == null) {
+                    errorHandler.setErrorCode(UErrorCode.ER_WAS_NULL);
+                    return ((float) 0);
+                }
+                return (UGetTypeConvertedValue.getFloat(obj));
+            } catch (UJciException e) {
+                e.toUError(errorHandler);
+            }
+            return ((float) 0);
+        } finally {
+            lock.unlock();
         }
-        return ((float) 0);
     }
 
-    public synchronized int getInt(int index) {
-        errorHandler = new UError(relatedConnection);
+    public int getInt(int index) {
+        lock.lock();
+        try {
+            errorHandler = new UError(relatedConnection);
 
-        Object obj = beforeGetXXX(index);
-        if (obj == null) return 0;
+            UResultTuple tuple = beforeGetTuple(index);
+            if (tuple == null) return 0;
 
-        try {
-            return (UGetTypeConvertedValue.getInt(obj));
-        } catch (UJciException e) {
-            e.toUError(errorHandler);
-        }
+            try {
+                int type = getPrimitiveType(tuple, index);
+                if (isIntegralType(type)) {
+                    return (int) readIntegral(tuple, index, type);
+                } else if (isFloatingType(type)) {
+                    return (int) readFloating(tuple, index, type);
+                }
 
-        return 0;
+                Object obj = getTupleAttribute(tuple, index);
+                if (obj == null) {
+                    errorHandler.setErrorCode(UErrorCode.ER_WAS_NULL);
+                    return 0;
+                }
+                return (UGetTypeConvertedValue.getInt(obj));
+            } catch (UJciException e) {
+                e.toUError(errorHandler);
+            }
+            return 0;
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized long getLong(int index) {
-        errorHandler = new UError(relatedConnection);
+    public long getLong(int index) {
+        lock.lock();
+        try {
+            errorHandler = new UError(relatedConnection);
 
-        Object obj = beforeGetXXX(index);
-        if (obj == null) return ((long) 0);
+            UResultTuple tuple = beforeGetTuple(index);
+            if (tuple == null) return ((long) 0);
 
-        try {
-            return (UGetTypeConvertedValue.getLong(obj));
-        } catch (UJciException e) {
-            e.toUError(errorHandler);
-        }
+            try {
+                int type = getPrimitiveType(tuple, index);
+                if (isIntegralType(type)) {
+                    return (long) readIntegral(tuple, index, type);
+                } else if (isFloatingType(type)) {
+                    return (long) readFloating(tuple, index, type);
+                }
 
-        return ((long) 0);
+                Object obj = getTupleAttribute(tuple, index);
+                if (obj == null) {
+                    errorHandler.setErrorCode(UErrorCode.ER_WAS_NULL);
+                    return ((long) 0);
+                }
+                return (UGetTypeConvertedValue.getLong(obj));
+            } catch (UJciException e) {
+                e.toUError(errorHandler);
+            }
+            return ((long) 0);
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized Object getObject(int index) {
-        errorHandler = new UError(relatedConnection);
+    public Object getObject(int index) {
+        lock.lock();
+        try {
+            errorHandler = new UError(relatedConnection);
 
-        Object obj = beforeGetXXX(index);
-        if (obj == null) return null;
+            Object obj = beforeGetXXX(index);
+            if (obj == null) return null;
 
-        Object retValue;
-        try {
-            if ((commandTypeIs != CUBRIDCommandType.CUBRID_STMT_CALL_SP)
-                    && (columnInfo[index].getColumnType() == UUType.U_TYPE_BIT)
-                    && (columnInfo[index].getColumnPrecision() == 8)) {
-                retValue = new Boolean(UGetTypeConvertedValue.getBoolean(obj));
-            } else if (obj instanceof CUBRIDArray) retValue = ((CUBRIDArray) obj).getArrayClone();
-            else if (obj instanceof byte[]) retValue = ((byte[]) obj).clone();
-            else if (obj instanceof Date) retValue = ((Date) obj).clone();
-            else if (obj instanceof Time) retValue = ((Time) obj).clone();
-            else if (obj instanceof Timestamp) {
-                if (relatedConnection
-                        .getResultWithCUBRIDTypes()
-                        .equals(UConnection.RESULT_WITH_CUBRID_TYPES_NO))
-                    retValue = new Timestamp(((Timestamp) obj).getTime());
-                else retValue = ((Timestamp) obj).clone();
-            } else if (obj instanceof CUBRIDOutResultSet) {
-                try {
-                    ((CUBRIDOutResultSet) obj).createInstance();
-                    retValue = obj;
-                } catch (Exception e) {
-                    retValue = null;
-                }
-            } else if (relatedConnection.isOracleCompatNumberBehavior()
-                    && (obj instanceof Double)) {
-                retValue =
-                        new BigDecimal(((Number) obj).doubleValue(), MathContext.DECIMAL64)
-                                .stripTrailingZeros()
-                                .toPlainString();
-            } else if (relatedConnection.isOracleCompatNumberBehavior() && (obj instanceof Float)) {
-                retValue =
-                        new BigDecimal(((Number) obj).floatValue(), MathContext.DECIMAL32)
-                                .stripTrailingZeros()
-                                .toPlainString();
-            } else retValue = obj;
-        } catch (UJciException e) {
-            e.toUError(errorHandler);
-            return null;
+            Object retValue;
+            try {
+                if ((commandTypeIs != CUBRIDCommandType.CUBRID_STMT_CALL_SP)
+                        && (columnInfo[index].getColumnType() == UUType.U_TYPE_BIT)
+                        && (columnInfo[index].getColumnPrecision() == 8)) {
+                    retValue = new Boolean(UGetTypeConvertedValue.getBoolean(obj));
+                } else if (obj instanceof CUBRIDArray)
+                    retValue = ((CUBRIDArray) obj).getArrayClone();
+                else if (obj instanceof byte[]) retValue = ((byte[]) obj).clone();
+                else if (obj instanceof Date) retValue = ((Date) obj).clone();
+                else if (obj instanceof Time) retValue = ((Time) obj).clone();
+                else if (obj instanceof Timestamp) {
+                    if (relatedConnection
+                            .getResultWithCUBRIDTypes()
+                            .equals(UConnection.RESULT_WITH_CUBRID_TYPES_NO))
+                        retValue = new Timestamp(((Timestamp) obj).getTime());
+                    else retValue = ((Timestamp) obj).clone();
+                } else if (obj instanceof CUBRIDOutResultSet) {
+                    try {
+                        ((CUBRIDOutResultSet) obj).createInstance();
+                        retValue = obj;
+                    } catch (Exception e) {
+                        retValue = null;
+                    }
+                } else if (relatedConnection.isOracleCompatNumberBehavior()
+                        && (obj instanceof Double)) {
+                    retValue =
+                            new BigDecimal(((Number) obj).doubleValue(), MathContext.DECIMAL64)
+                                    .stripTrailingZeros()
+                                    .toPlainString();
+                } else if (relatedConnection.isOracleCompatNumberBehavior()
+                        && (obj instanceof Float)) {
+                    retValue =
+                            new BigDecimal(((Number) obj).floatValue(), MathContext.DECIMAL32)
+                                    .stripTrailingZeros()
+                                    .toPlainString();
+                } else retValue = obj;
+            } catch (UJciException e) {
+                e.toUError(errorHandler);
+                return null;
+            }
+
+            return retValue;
+        } finally {
+            lock.unlock();
         }
+    }
 
-        return retValue;
+    public void lock() {
+        lock.lock();
+    }
+
+    public void unlock() {
+        lock.unlock();
     }
 
     public UError getRecentError() {
@@ -1548,18 +2316,35 @@ public class UStatement {
         return resultInfo;
     }
 
-    public synchronized short getShort(int index) {
-        errorHandler = new UError(relatedConnection);
+    public short getShort(int index) {
+        lock.lock();
+        try {
+            errorHandler = new UError(relatedConnection);
 
-        Object obj = beforeGetXXX(index);
-        if (obj == null) return ((short) 0);
+            UResultTuple tuple = beforeGetTuple(index);
+            if (tuple == null) return ((short) 0);
 
-        try {
-            return (UGetTypeConvertedValue.getShort(obj));
-        } catch (UJciException e) {
-            e.toUError(errorHandler);
+            try {
+                int type = getPrimitiveType(tuple, index);
+                if (isIntegralType(type)) {
+                    return (short) readIntegral(tuple, index, type);
+                } else if (isFloatingType(type)) {
+                    return (short) readFloating(tuple, index, type);
+                }
+
+                Object obj = getTupleAttribute(tuple, index);
+                if (obj == null) {
+                    errorHandler.setErrorCode(UErrorCode.ER_WAS_NULL);
+                    return ((short) 0);
+                }
+                return (UGetTypeConvertedValue.getShort(obj));
+            } catch (UJciException e) {
+                e.toUError(errorHandler);
+            }
+            return ((short) 0);
+        } finally {
+            lock.unlock();
         }
-        return ((short) 0);
     }
 
     public boolean getSqlType() {
@@ -1581,58 +2366,74 @@ public class UStatement {
         }
     }
 
-    public synchronized String getString(int index) {
-        String numString = null;
+    public String getString(int index) {
+        lock.lock();
+        try {
+            String numString = null;
 
-        errorHandler = new UError(relatedConnection);
+            errorHandler = new UError(relatedConnection);
 
-        Object obj = beforeGetXXX(index);
-        if (obj == null) return null;
+            Object obj = beforeGetXXX(index);
+            if (obj == null) return null;
 
-        try {
-            if (relatedConnection.isOracleCompatNumberBehavior() && (obj instanceof Double)) {
-                return new BigDecimal(((Number) obj).doubleValue(), MathContext.DECIMAL64)
-                        .stripTrailingZeros()
-                        .toPlainString();
-            } else if (relatedConnection.isOracleCompatNumberBehavior() && (obj instanceof Float)) {
-                return new BigDecimal(((Number) obj).floatValue(), MathContext.DECIMAL32)
-                        .stripTrailingZeros()
-                        .toPlainString();
-            } else {
-                return (UGetTypeConvertedValue.getString(obj));
+            try {
+                if (relatedConnection.isOracleCompatNumberBehavior() && (obj instanceof Double)) {
+                    return new BigDecimal(((Number) obj).doubleValue(), MathContext.DECIMAL64)
+                            .stripTrailingZeros()
+                            .toPlainString();
+                } else if (relatedConnection.isOracleCompatNumberBehavior()
+                        && (obj instanceof Float)) {
+                    return new BigDecimal(((Number) obj).floatValue(), MathContext.DECIMAL32)
+                            .stripTrailingZeros()
+                            .toPlainString();
+                } else {
+                    return (UGetTypeConvertedValue.getString(obj));
+                }
+            } catch (UJciException e) {
+                e.toUError(errorHandler);
             }
-        } catch (UJciException e) {
-            e.toUError(errorHandler);
+            return null;
+        } finally {
+            lock.unlock();
         }
-        return null;
     }
 
-    public synchronized Time getTime(int index) {
-        errorHandler = new UError(relatedConnection);
+    public Time getTime(int index) {
+        lock.lock();
+        try {
+            errorHandler = new UError(relatedConnection);
 
-        Object obj = beforeGetXXX(index);
-        if (obj == null) return null;
+            Object obj = beforeGetXXX(index);
+            if (obj == null) return null;
 
-        try {
-            return (UGetTypeConvertedValue.getTime(obj));
-        } catch (UJciException e) {
-            e.toUError(errorHandler);
+            try {
+                return (UGetTypeConvertedValue.getTime(obj));
+            } catch (UJciException e) {
+                e.toUError(errorHandler);
+            }
+            return null;
+        } finally {
+            lock.unlock();
         }
-        return null;
     }
 
-    public synchronized Timestamp getTimestamp(int index) {
-        errorHandler = new UError(relatedConnection);
+    public Timestamp getTimestamp(int index) {
+        lock.lock();
+        try {
+            errorHandler = new UError(relatedConnection);
 
-        Object obj = beforeGetXXX(index);
-        if (obj == null) return null;
+            Object obj = beforeGetXXX(index);
+            if (obj == null) return null;
 
-        try {
-            return (UGetTypeConvertedValue.getTimestamp(obj));
-        } catch (UJciException e) {
-            e.toUError(errorHandler);
+            try {
+                return (UGetTypeConvertedValue.getTimestamp(obj));
+            } catch (UJciException e) {
+                e.toUError(errorHandler);
+            }
+            return null;
+        } finally {
+            lock.unlock();
         }
-        return null;
     }
 
     public boolean isClosed() {
@@ -1650,124 +2451,140 @@ public class UStatement {
         return isUpdatable;
     }
 
-    public synchronized void moveCursor(int offset, int origin) {
-        UInputBuffer inBuffer;
-
-        errorHandler = new UError(relatedConnection);
-        if (isClosed == true) {
-            errorHandler.setErrorCode(UErrorCode.ER_IS_CLOSED);
-            return;
-        }
-        if ((origin != CURSOR_SET && origin != CURSOR_CUR && origin != CURSOR_END)
-                || (executeFlag != ASYNC_EXECUTE && totalTupleNumber == 0)) {
-            errorHandler.setErrorCode(UErrorCode.ER_NO_MORE_DATA);
-            return;
-        }
-
-        int currentCursor = cursorPosition;
+    public void moveCursor(int offset, int origin) {
+        lock.lock();
+        try {
+            UInputBuffer inBuffer;
 
-        if (origin == CURSOR_SET) cursorPosition = offset;
-        else if (origin == CURSOR_CUR) cursorPosition += offset;
-        if (origin == CURSOR_SET || origin == CURSOR_CUR) {
-            if (executeFlag == ASYNC_EXECUTE) {
-                if ((cursorPosition <= currentFirstCursor + fetchedTupleNumber - 1)
-                        || (totalTupleNumber != 0 && cursorPosition < totalTupleNumber)) return;
-            } else if (cursorPosition < totalTupleNumber) return;
-            else {
-                errorHandler.setErrorCode(UErrorCode.ER_NO_MORE_DATA);
-                cursorPosition = currentCursor;
+            errorHandler = new UError(relatedConnection);
+            if (isClosed == true) {
+                errorHandler.setErrorCode(UErrorCode.ER_IS_CLOSED);
                 return;
             }
-        }
-        if (origin == CURSOR_END && totalTupleNumber != 0) {
-            cursorPosition = totalTupleNumber - offset - 1;
-            if (cursorPosition >= 0) return;
-            else {
+            if ((origin != CURSOR_SET && origin != CURSOR_CUR && origin != CURSOR_END)
+                    || (executeFlag != ASYNC_EXECUTE && totalTupleNumber == 0)) {
                 errorHandler.setErrorCode(UErrorCode.ER_NO_MORE_DATA);
-                cursorPosition = currentCursor;
                 return;
             }
-        }
-        if (origin == CURSOR_CUR) {
-            origin = CURSOR_SET;
-            offset += currentCursor;
-        }
-        try {
-            synchronized (relatedConnection) {
-                outBuffer.newRequest(UFunctionCode.CURSOR);
-                outBuffer.addInt(serverHandler);
-                outBuffer.addInt(offset);
-                outBuffer.addInt(origin);
 
-                inBuffer = relatedConnection.send_recv_msg();
+            int currentCursor = cursorPosition;
+
+            if (origin == CURSOR_SET) cursorPosition = offset;
+            else if (origin == CURSOR_CUR) cursorPosition += offset;
+            if (origin == CURSOR_SET || origin == CURSOR_CUR) {
+                if (executeFlag == ASYNC_EXECUTE) {
+                    if ((cursorPosition <= currentFirstCursor + fetchedTupleNumber - 1)
+                            || (totalTupleNumber != 0 && cursorPosition < totalTupleNumber)) return;
+                } else if (cursorPosition < totalTupleNumber) return;
+                else {
+                    errorHandler.setErrorCode(UErrorCode.ER_NO_MORE_DATA);
+                    cursorPosition = currentCursor;
+                    return;
+                }
+            }
+            if (origin == CURSOR_END && totalTupleNumber != 0) {
+                cursorPosition = totalTupleNumber - offset - 1;
+                if (cursorPosition >= 0) return;
+                else {
+                    errorHandler.setErrorCode(UErrorCode.ER_NO_MORE_DATA);
+                    cursorPosition = currentCursor;
+                    return;
+                }
             }
+            if (origin == CURSOR_CUR) {
+                origin = CURSOR_SET;
+                offset += currentCursor;
+            }
+            try {
+                relatedConnection.lock();
+                try {
+                    outBuffer.newRequest(UFunctionCode.CURSOR);
+                    outBuffer.addInt(serverHandler);
+                    outBuffer.addInt(offset);
+                    outBuffer.addInt(origin);
+
+                    inBuffer = relatedConnection.send_recv_msg();
+                } finally {
+                    relatedConnection.unlock();
+                }
 
-            totalTupleNumber = inBuffer.readInt();
-        } catch (UJciException e) {
-            relatedConnection.logException(e);
-            cursorPosition = currentCursor;
-            e.toUError(errorHandler);
-            return;
-        } catch (IOException e) {
-            relatedConnection.logException(e);
-            cursorPosition = currentCursor;
-            errorHandler.setErrorCode(UErrorCode.ER_COMMUNICATION);
-            return;
-        }
+                totalTupleNumber = inBuffer.readInt();
+            } catch (UJciException e) {
+                relatedConnection.logException(e);
+                cursorPosition = currentCursor;
+                e.toUError(errorHandler);
+                return;
+            } catch (IOException e) {
+                relatedConnection.logException(e);
+                cursorPosition = currentCursor;
+                errorHandler.setErrorCode(UErrorCode.ER_COMMUNICATION);
+                return;
+            }
 
-        if (totalTupleNumber < 0) {
-            totalTupleNumber = 0;
-        } else if (totalTupleNumber <= cursorPosition) {
-            errorHandler.setErrorCode(UErrorCode.ER_NO_MORE_DATA);
-            cursorPosition = currentCursor;
+            if (totalTupleNumber < 0) {
+                totalTupleNumber = 0;
+            } else if (totalTupleNumber <= cursorPosition) {
+                errorHandler.setErrorCode(UErrorCode.ER_NO_MORE_DATA);
+                cursorPosition = currentCursor;
+            }
+        } finally {
+            lock.unlock();
         }
     }
 
-    public synchronized boolean nextResult() {
-        UInputBuffer inBuffer;
-
-        errorHandler = new UError(relatedConnection);
-        if (isClosed == true) {
-            errorHandler.setErrorCode(UErrorCode.ER_IS_CLOSED);
-            return false;
-        }
+    public boolean nextResult() {
+        lock.lock();
         try {
-            synchronized (relatedConnection) {
-                outBuffer.newRequest(UFunctionCode.NEXT_RESULT);
-                outBuffer.addInt(serverHandler);
-                // jci 3.0
-                outBuffer.addInt(0);
+            UInputBuffer inBuffer;
 
-                inBuffer = relatedConnection.send_recv_msg();
+            errorHandler = new UError(relatedConnection);
+            if (isClosed == true) {
+                errorHandler.setErrorCode(UErrorCode.ER_IS_CLOSED);
+                return false;
             }
+            try {
+                relatedConnection.lock();
+                try {
+                    outBuffer.newRequest(UFunctionCode.NEXT_RESULT);
+                    outBuffer.addInt(serverHandler);
+                    // jci 3.0
+                    outBuffer.addInt(0);
+
+                    inBuffer = relatedConnection.send_recv_msg();
+                } finally {
+                    relatedConnection.unlock();
+                }
 
-            executeResult = inBuffer.readInt();
-            commandTypeIs = inBuffer.readByte();
-            isUpdatable = (inBuffer.readByte() == 1) ? true : false;
-            columnNumber = inBuffer.readInt();
-            readColumnInfo(inBuffer);
-        } catch (UJciException e) {
-            relatedConnection.logException(e);
-            closeInternal();
-            e.toUError(errorHandler);
-            return false;
-        } catch (IOException e) {
-            relatedConnection.logException(e);
-            closeInternal();
-            errorHandler.setErrorCode(UErrorCode.ER_COMMUNICATION);
-            return false;
-        }
+                executeResult = inBuffer.readInt();
+                commandTypeIs = inBuffer.readByte();
+                isUpdatable = (inBuffer.readByte() == 1) ? true : false;
+                columnNumber = inBuffer.readInt();
+                readColumnInfo(inBuffer);
+            } catch (UJciException e) {
+                relatedConnection.logException(e);
+                closeInternal();
+                e.toUError(errorHandler);
+                return false;
+            } catch (IOException e) {
+                relatedConnection.logException(e);
+                closeInternal();
+                errorHandler.setErrorCode(UErrorCode.ER_COMMUNICATION);
+                return false;
+            }
 
-        fetchedTupleNumber = 0;
-        currentFirstCursor = cursorPosition = -1;
-        /* set max resultset row size */
-        totalTupleNumber =
-                executeResult =
-                        ((maxFetchSize > 0) && (executeResult > maxFetchSize))
-                                ? maxFetchSize
-                                : executeResult;
-        realFetched = false;
-        return true;
+            fetchedTupleNumber = 0;
+            currentFirstCursor = cursorPosition = -1;
+            /* set max resultset row size */
+            totalTupleNumber =
+                    executeResult =
+                            ((maxFetchSize > 0) && (executeResult > maxFetchSize))
+                                    ? maxFetchSize
+                                    : executeResult;
+            realFetched = false;
+            return true;
+        } finally {
+            lock.unlock();
+        }
     }
 
     /*
@@ -1800,6 +2617,31 @@ public class UStatement {
         return realFetched;
     }
 
+    /* the cached rows of a batch; rows kept off the heap are decoded for this statement */
+    private UResultTuple[] getCachedTuples(int cursorIdx) throws UJciException {
+        UResultTuple[] cached = stmt_cache_data.getTuples(cursorIdx);
+        if (cached != null) {
+            return cached;
+        }
+
+        byte[] data = stmt_cache_data.getPackedRows(cursorIdx);
+        if (data == null) {
+            /* the result was evicted since it was looked up */
+            throw new UJciException(UErrorCode.ER_NO_MORE_DATA);
+        }
+
+        UInputBuffer inBuffer = new UInputBuffer(relatedConnection);
+        inBuffer.wrap(data, 0);
+        inBuffer.readInt(); // the number of rows, as in the FETCH reply
+
+        int count = stmt_cache_data.getFetchNumber(cursorIdx);
+        tuples = new UResultTuple[count];
+        for (int i = 0; i < count; i++) {
+            readATuple(i, inBuffer);
+        }
+        return tuples;
+    }
+
     public boolean tryTofetchFromCache() {
         int fetch;
         int first;
@@ -1808,7 +2650,12 @@ public class UStatement {
             fetch = stmt_cache_data.getFetchNumber(i);
             first = stmt_cache_data.getFirstCursor(i);
             if (cursorPosition >= first && cursorPosition <= first + fetch - 1) {
-                tuples = stmt_cache_data.getTuples(i);
+                try {
+                    tuples = getCachedTuples(i);
+                } catch (UJciException e) {
+                    /* fetch the rows from the server instead */
+                    return false;
+                }
                 currentFirstCursor = first;
                 fetchedTupleNumber = fetch;
 
@@ -1819,115 +2666,386 @@ public class UStatement {
         return false;
     }
 
-    public synchronized void reFetch() {
-        UInputBuffer inBuffer;
+    public void reFetch() {
+        lock.lock();
+        try {
+            UInputBuffer inBuffer;
 
-        if (stmt_cache_data != null) {
-            if (tryTofetchFromCache()) {
+            if (stmt_cache_data != null) {
+                if (tryTofetchFromCache()) {
+                    return;
+                }
+            }
+
+            errorHandler = new UError(relatedConnection);
+            if (isClosed == true) {
+                errorHandler.setErrorCode(UErrorCode.ER_IS_CLOSED);
                 return;
             }
+
+            if (statementType == GET_BY_OID) return;
+
+            if (streaming) {
+                streamFetch();
+                return;
+            }
+
+            try {
+                boolean readAheadReply = false;
+                long elapsed = -1;
+                relatedConnection.lock();
+                try {
+                    inBuffer = takeReadAhead(cursorPosition);
+                    if (inBuffer != null) {
+                        readAheadReply = true;
+                    } else {
+                        long begin = System.nanoTime();
+                        inBuffer = fetchRequest();
+                        elapsed = System.nanoTime() - begin;
+                    }
+                } finally {
+                    relatedConnection.unlock();
+                }
+
+                int start = inBuffer.position();
+                read_fetch_data(inBuffer, UFunctionCode.FETCH);
+                int bytes = inBuffer.position() - start;
+                observeFetch(bytes, elapsed);
+                if (readAheadReply) {
+                    /* the rows were copied out, the buffer takes the next read-ahead reply */
+                    spareBuffer = inBuffer.getBuffer();
+                }
+                realFetched = true;
+            } catch (UJciException e) {
+                relatedConnection.logException(e);
+                e.toUError(errorHandler);
+            } catch (IOException e) {
+                relatedConnection.logException(e);
+                errorHandler.setErrorCode(UErrorCode.ER_COMMUNICATION);
+            }
+        } finally {
+            lock.unlock();
         }
+    }
 
-        errorHandler = new UError(relatedConnection);
-        if (isClosed == true) {
-            errorHandler.setErrorCode(UErrorCode.ER_IS_CLOSED);
-            return;
+    private UInputBuffer fetchRequest() throws UJciException, IOException {
+        outBuffer.newRequest(UFunctionCode.FETCH);
+        outBuffer.addInt(serverHandler);
+        if (fetchDirection == ResultSet.FETCH_REVERSE) {
+            int startPos = cursorPosition - nextFetchSize() + 2;
+            if (startPos < 1) startPos = 1;
+            outBuffer.addInt(startPos);
+        } else {
+            outBuffer.addInt(cursorPosition + 1);
         }
+        outBuffer.addInt(nextFetchSize());
+        outBuffer.addByte((isSensitive == true) ? (byte) 1 : (byte) 0);
+        // jci 3.0
+        outBuffer.addInt(0);
+        // outBuffer.addInt(resultset_index);
 
-        if (statementType == GET_BY_OID) return;
+        return relatedConnection.send_recv_msg();
+    }
 
+    /*
+     * Streaming is meant for forward-only scans of large results. The rows of the first batch come
+     * with the EXECUTE reply; from there on the statement keeps one FETCH ahead of the cursor.
+     */
+    public void setStreaming(boolean on) {
+        lock.lock();
         try {
-            synchronized (relatedConnection) {
-                outBuffer.newRequest(UFunctionCode.FETCH);
-                outBuffer.addInt(serverHandler);
-                if (fetchDirection == ResultSet.FETCH_REVERSE) {
-                    int startPos = cursorPosition - fetchSize + 2;
-                    if (startPos < 1) startPos = 1;
-                    outBuffer.addInt(startPos);
-                } else {
-                    outBuffer.addInt(cursorPosition + 1);
+            streaming = on && stmt_cache_data == null;
+            if (!streaming || isClosed || readAhead != null) {
+                return;
+            }
+
+            relatedConnection.lock();
+            try {
+                sendReadAhead();
+            } catch (IOException e) {
+                relatedConnection.logException(e);
+            } finally {
+                relatedConnection.unlock();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean isStreaming() {
+        return streaming;
+    }
+
+    private void streamFetch() {
+        try {
+            relatedConnection.lock();
+            try {
+                long elapsed = -1;
+                UInputBuffer inBuffer = takeReadAhead(cursorPosition);
+                if (inBuffer == null) {
+                    long begin = System.nanoTime();
+                    writeFetchRequest(cursorPosition);
+                    relatedConnection.send_msg();
+                    inBuffer = relatedConnection.recv_msg(0, takeSpareBuffer());
+                    elapsed = System.nanoTime() - begin;
                 }
-                outBuffer.addInt(fetchSize);
-                outBuffer.addByte((isSensitive == true) ? (byte) 1 : (byte) 0);
-                // jci 3.0
-                outBuffer.addInt(0);
-                // outBuffer.addInt(resultset_index);
 
-                inBuffer = relatedConnection.send_recv_msg();
+                readStreamData(inBuffer, cursorPosition);
+                int bytes = inBuffer.remainedCapacity();
+                observeFetch(bytes, elapsed);
+                sendReadAhead();
+            } finally {
+                relatedConnection.unlock();
             }
+            realFetched = true;
+        } catch (UJciException e) {
+            relatedConnection.logException(e);
+            e.toUError(errorHandler);
+        } catch (IOException e) {
+            relatedConnection.logException(e);
+            errorHandler.setErrorCode(UErrorCode.ER_COMMUNICATION);
+        }
+    }
+
+    /*
+     * Returns the reply of the pending read-ahead if it fetched the rows from the cursor. Any other
+     * read-ahead reply is drained and dropped, and null is returned so that the caller fetches.
+     */
+    private UInputBuffer takeReadAhead(int cursor) throws UJciException, IOException {
+        UReadAhead ahead = readAhead;
+        readAhead = null;
+        if (ahead == null) {
+            return null;
+        }
+
+        relatedConnection.completeReadAhead();
+        /* not received means the connection was reset */
+        if (!ahead.isReceived()) {
+            return null;
+        }
+        UInputBuffer reply = ahead.getReply();
+        return (ahead.getCursor() == cursor) ? reply : null;
+    }
+
+    /*
+     * Without streaming, the next batch is read ahead only when fetchReadAheadPercent is set: once
+     * the cursor has passed that share of the current batch, the FETCH for the following rows is
+     * sent and its reply is left on the connection until the cursor reaches them.
+     */
+    private void readAheadIfDue() {
+        if (errorHandler.getErrorCode() != UErrorCode.ER_NO_ERROR) {
+            return;
+        }
+        if (streaming
+                || readAhead != null
+                || statementType != NORMAL
+                || stmt_cache_data != null
+                || fetchDirection == ResultSet.FETCH_REVERSE
+                || isSensitive) {
+            return;
+        }
+
+        int percent = relatedConnection.getFetchReadAheadPercent();
+        int consumed = cursorPosition - currentFirstCursor + 1;
+        if (percent <= 0 || consumed * 100 < fetchedTupleNumber * percent) {
+            return;
+        }
+
+        relatedConnection.lock();
+        try {
+            sendReadAhead();
+        } catch (IOException e) {
+            relatedConnection.logException(e);
+        } finally {
+            relatedConnection.unlock();
+        }
+    }
+
+    /* the number of rows the next FETCH asks for */
+    private int nextFetchSize() {
+        return (adaptiveFetchSize > 0) ? adaptiveFetchSize : fetchSize;
+    }
+
+    private void observeFetch(int bytes, long elapsed) {
+        int size = fetchController.observe(nextFetchSize(), fetchedTupleNumber, bytes, elapsed);
+        if (fetchController.isAdaptive()) {
+            adaptiveFetchSize = size;
+        }
+    }
+
+    private void writeFetchRequest(int cursor) throws IOException {
+        outBuffer.newRequest(UFunctionCode.FETCH);
+        outBuffer.addInt(serverHandler);
+        outBuffer.addInt(cursor + 1);
+        outBuffer.addInt(nextFetchSize());
+        outBuffer.addByte((isSensitive == true) ? (byte) 1 : (byte) 0);
+        outBuffer.addInt(0);
+    }
+
+    /* the rows are left in the reply and decoded by currentTuple() */
+    private void readStreamData(UInputBuffer inBuffer, int cursor) throws UJciException {
+        fetchedTupleNumber = inBuffer.readInt();
+        if (fetchedTupleNumber < 0) {
+            fetchedTupleNumber = 0;
+        }
+
+        if (streamBuffer != null) {
+            spareBuffer = streamBuffer.getBuffer();
+        }
+        streamBuffer = inBuffer;
+        streamDecoded = 0;
+        tuples = new UResultTuple[fetchedTupleNumber];
+        currentFirstCursor = cursor;
 
-            read_fetch_data(inBuffer, UFunctionCode.FETCH);
-            realFetched = true;
-        } catch (UJciException e) {
-            relatedConnection.logException(e);
-            e.toUError(errorHandler);
-        } catch (IOException e) {
-            relatedConnection.logException(e);
-            errorHandler.setErrorCode(UErrorCode.ER_COMMUNICATION);
+        if (relatedConnection.protoVersionIsAbove(UConnection.PROTOCOL_V5)) {
+            isFetchCompleted = inBuffer.readLastByte() == 1 ? true : false;
         }
     }
 
-    public synchronized void setFetchDirection(int direction) {
-        errorHandler = new UError(relatedConnection);
-        if (isClosed == true) {
-            errorHandler.setErrorCode(UErrorCode.ER_IS_CLOSED);
+    private void sendReadAhead() throws IOException {
+        int next = currentFirstCursor + fetchedTupleNumber;
+
+        if (isFetchCompleted || currentFirstCursor < 0 || fetchedTupleNumber <= 0) {
             return;
         }
-        if (direction != ResultSet.FETCH_FORWARD
-                && direction != ResultSet.FETCH_REVERSE
-                && direction != ResultSet.FETCH_UNKNOWN) {
-            errorHandler.setErrorCode(UErrorCode.ER_INVALID_ARGUMENT);
+        if (executeFlag != ASYNC_EXECUTE && next >= totalTupleNumber) {
             return;
         }
-        fetchDirection = direction;
+
+        writeFetchRequest(next);
+        UReadAhead ahead = new UReadAhead(next, takeSpareBuffer());
+        relatedConnection.send_read_ahead(ahead);
+        readAhead = ahead;
     }
 
-    public synchronized void setFetchSize(int size) {
-        errorHandler = new UError(relatedConnection);
-        if (isClosed == true) {
-            errorHandler.setErrorCode(UErrorCode.ER_IS_CLOSED);
-            return;
+    private byte[] takeSpareBuffer() {
+        byte[] buffer = (spareBuffer != null) ? spareBuffer : NO_BUFFER;
+        spareBuffer = null;
+        return buffer;
+    }
+
+    private UResultTuple currentTuple() throws UJciException {
+        if (tuples == null) {
+            return null;
         }
 
-        if (size < 0) {
-            errorHandler.setErrorCode(UErrorCode.ER_INVALID_ARGUMENT);
-            return;
+        int index = cursorPosition - currentFirstCursor;
+        if (streamBuffer != null) {
+            /* rows behind the cursor are dropped, a forward-only cursor never returns to them */
+            while (streamDecoded <= index) {
+                if (streamDecoded > 0) {
+                    tuples[streamDecoded - 1] = null;
+                }
+                indexATuple(streamDecoded++, streamBuffer);
+            }
         }
+        return tuples[index];
+    }
 
-        if (size == 0) fetchSize = DEFAULT_FETCH_SIZE;
-        else fetchSize = size;
+    private void resetStream() {
+        streaming = false;
+        streamBuffer = null;
+        streamDecoded = 0;
+        spareBuffer = null;
+        readAhead = null;
     }
 
-    public synchronized void updateRows(int cursorPosition, int[] indexes, Object[] values) {
-        errorHandler = new UError(relatedConnection);
-        if (isClosed == true) {
-            errorHandler.setErrorCode(UErrorCode.ER_IS_CLOSED);
-            return;
+    public void setFetchDirection(int direction) {
+        lock.lock();
+        try {
+            errorHandler = new UError(relatedConnection);
+            if (isClosed == true) {
+                errorHandler.setErrorCode(UErrorCode.ER_IS_CLOSED);
+                return;
+            }
+            if (direction != ResultSet.FETCH_FORWARD
+                    && direction != ResultSet.FETCH_REVERSE
+                    && direction != ResultSet.FETCH_UNKNOWN) {
+                errorHandler.setErrorCode(UErrorCode.ER_INVALID_ARGUMENT);
+                return;
+            }
+            fetchDirection = direction;
+        } finally {
+            lock.unlock();
         }
+    }
+
+    public void setFetchSize(int size) {
+        lock.lock();
+        try {
+            errorHandler = new UError(relatedConnection);
+            if (isClosed == true) {
+                errorHandler.setErrorCode(UErrorCode.ER_IS_CLOSED);
+                return;
+            }
+
+            if (size < 0) {
+                errorHandler.setErrorCode(UErrorCode.ER_INVALID_ARGUMENT);
+                return;
+            }
 
-        UUpdateParameter updateParameter;
+            if (size == 0) {
+                fetchSize = DEFAULT_FETCH_SIZE;
+                if (relatedConnection.getAdaptiveFetchSize()) {
+                    adaptiveFetchSize =
+                            fetchController.start(
+                                    DEFAULT_FETCH_SIZE,
+                                    relatedConnection.getAdaptiveFetchTargetSize(),
+                                    relatedConnection.getAdaptiveFetchTargetTime());
+                }
+            } else {
+                fetchController.stop();
+                adaptiveFetchSize = 0;
+                fetchSize = size;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
 
+    public void updateRows(int cursorPosition, int[] indexes, Object[] values) {
+        lock.lock();
         try {
-            updateParameter = new UUpdateParameter(columnInfo, indexes, values);
-            synchronized (relatedConnection) {
-                outBuffer.newRequest(UFunctionCode.CURSOR_UPDATE);
-                outBuffer.addInt(serverHandler);
-                outBuffer.addInt(cursorPosition + 1);
-                updateParameter.writeParameter(outBuffer);
+            errorHandler = new UError(relatedConnection);
+            if (isClosed == true) {
+                errorHandler.setErrorCode(UErrorCode.ER_IS_CLOSED);
+                return;
+            }
 
-                relatedConnection.send_recv_msg();
+            UUpdateParameter updateParameter;
+
+            try {
+                updateParameter = new UUpdateParameter(columnInfo, indexes, values);
+                relatedConnection.lock();
+                try {
+                    outBuffer.newRequest(UFunctionCode.CURSOR_UPDATE);
+                    outBuffer.addInt(serverHandler);
+                    outBuffer.addInt(cursorPosition + 1);
+                    updateParameter.writeParameter(outBuffer);
+
+                    relatedConnection.send_recv_msg();
+                } finally {
+                    relatedConnection.unlock();
+                }
+            } catch (UJciException e) {
+                relatedConnection.logException(e);
+                e.toUError(errorHandler);
+            } catch (IOException e) {
+                relatedConnection.logException(e);
+                errorHandler.setErrorCode(UErrorCode.ER_COMMUNICATION);
             }
-        } catch (UJciException e) {
-            relatedConnection.logException(e);
-            e.toUError(errorHandler);
-        } catch (IOException e) {
-            relatedConnection.logException(e);
-            errorHandler.setErrorCode(UErrorCode.ER_COMMUNICATION);
+        } finally {
+            lock.unlock();
         }
     }
 
-    public synchronized byte getCommandType() {
-        return commandTypeIs;
+    public byte getCommandType() {
+        lock.lock();
+        try {
+            return commandTypeIs;
+        } finally {
+            lock.unlock();
+        }
     }
 
     /*
@@ -1948,79 +3066,97 @@ public class UStatement {
      * 3.0
      */
 
-    public synchronized String getQueryplan() {
-        String plan = null;
+    public String getQueryplan() {
+        lock.lock();
+        try {
+            String plan = null;
 
-        errorHandler = new UError(relatedConnection);
-        if (isClosed == true) {
-            errorHandler.setErrorCode(UErrorCode.ER_IS_CLOSED);
-            return null;
-        }
+            errorHandler = new UError(relatedConnection);
+            if (isClosed == true) {
+                errorHandler.setErrorCode(UErrorCode.ER_IS_CLOSED);
+                return null;
+            }
 
-        try {
-            UInputBuffer inBuffer;
+            try {
+                UInputBuffer inBuffer;
 
-            synchronized (relatedConnection) {
-                outBuffer.newRequest(UFunctionCode.GET_QUERY_INFO);
-                outBuffer.addInt(serverHandler);
-                outBuffer.addByte(QUERY_INFO_PLAN);
+                relatedConnection.lock();
+                try {
+                    outBuffer.newRequest(UFunctionCode.GET_QUERY_INFO);
+                    outBuffer.addInt(serverHandler);
+                    outBuffer.addByte(QUERY_INFO_PLAN);
+
+                    inBuffer = relatedConnection.send_recv_msg();
+                } finally {
+                    relatedConnection.unlock();
+                }
 
-                inBuffer = relatedConnection.send_recv_msg();
+                plan =
+                        inBuffer.readString(
+                                inBuffer.remainedCapacity(), relatedConnection.getCharset());
+            } catch (UJciException e) {
+                relatedConnection.logException(e);
+                closeInternal();
+                e.toUError(errorHandler);
+                return null;
+            } catch (IOException e) {
+                relatedConnection.logException(e);
+                closeInternal();
+                errorHandler.setErrorCode(UErrorCode.ER_COMMUNICATION);
+                return null;
             }
 
-            plan = inBuffer.readString(inBuffer.remainedCapacity(), relatedConnection.getCharset());
-        } catch (UJciException e) {
-            relatedConnection.logException(e);
-            closeInternal();
-            e.toUError(errorHandler);
-            return null;
-        } catch (IOException e) {
-            relatedConnection.logException(e);
-            closeInternal();
-            errorHandler.setErrorCode(UErrorCode.ER_COMMUNICATION);
-            return null;
+            return plan;
+        } finally {
+            lock.unlock();
         }
-
-        return plan;
     }
 
-    public synchronized boolean getGeneratedKeys() {
-        errorHandler = new UError(relatedConnection);
-        if (isClosed == true) {
-            errorHandler.setErrorCode(UErrorCode.ER_IS_CLOSED);
-            return false;
-        }
-
+    public boolean getGeneratedKeys() {
+        lock.lock();
         try {
-            UInputBuffer inBuffer;
+            errorHandler = new UError(relatedConnection);
+            if (isClosed == true) {
+                errorHandler.setErrorCode(UErrorCode.ER_IS_CLOSED);
+                return false;
+            }
 
-            synchronized (relatedConnection) {
-                outBuffer.newRequest(UFunctionCode.GET_GENERATED_KEYS);
-                outBuffer.addInt(serverHandler);
-                inBuffer = relatedConnection.send_recv_msg();
+            try {
+                UInputBuffer inBuffer;
 
-                commandTypeIs = inBuffer.readByte();
-                totalTupleNumber = inBuffer.readInt();
-                isUpdatable = (inBuffer.readByte() == 1) ? true : false;
-                columnNumber = inBuffer.readInt();
-                statementType = GET_AUTOINCREMENT_KEYS;
-                readColumnInfo(inBuffer);
-                executeResult = totalTupleNumber;
-                read_fetch_data(inBuffer, UFunctionCode.GET_GENERATED_KEYS);
+                relatedConnection.lock();
+                try {
+                    outBuffer.newRequest(UFunctionCode.GET_GENERATED_KEYS);
+                    outBuffer.addInt(serverHandler);
+                    inBuffer = relatedConnection.send_recv_msg();
+
+                    commandTypeIs = inBuffer.readByte();
+                    totalTupleNumber = inBuffer.readInt();
+                    isUpdatable = (inBuffer.readByte() == 1) ? true : false;
+                    columnNumber = inBuffer.readInt();
+                    statementType = GET_AUTOINCREMENT_KEYS;
+                    readColumnInfo(inBuffer);
+                    executeResult = totalTupleNumber;
+                    read_fetch_data(inBuffer, UFunctionCode.GET_GENERATED_KEYS);
+                } finally {
+                    relatedConnection.unlock();
+                }
+            } catch (UJciException e) {
+                relatedConnection.logException(e);
+                closeInternal();
+                e.toUError(errorHandler);
+                return false;
+            } catch (IOException e) {
+                relatedConnection.logException(e);
+                closeInternal();
+                errorHandler.setErrorCode(UErrorCode.ER_COMMUNICATION);
+                return false;
             }
-        } catch (UJciException e) {
-            relatedConnection.logException(e);
-            closeInternal();
-            e.toUError(errorHandler);
-            return false;
-        } catch (IOException e) {
-            relatedConnection.logException(e);
-            closeInternal();
-            errorHandler.setErrorCode(UErrorCode.ER_COMMUNICATION);
-            return false;
-        }
 
-        return true;
+            return true;
+        } finally {
+            lock.unlock();
+        }
     }
 
     private void bindValue(int index, byte type, Object data) {
@@ -2044,6 +3180,26 @@ public class UStatement {
     }
 
     private Object beforeGetXXX(int index) {
+        UResultTuple tuple = beforeGetTuple(index);
+        if (tuple == null) return null;
+
+        Object obj;
+        try {
+            obj = getTupleAttribute(tuple, index);
+        } catch (UJciException e) {
+            e.toUError(errorHandler);
+            return null;
+        }
+
+        if (obj == null) {
+            errorHandler.setErrorCode(UErrorCode.ER_WAS_NULL);
+            return null;
+        }
+
+        return obj;
+    }
+
+    private UResultTuple beforeGetTuple(int index) {
         if (isClosed == true) {
             errorHandler.setErrorCode(UErrorCode.ER_IS_CLOSED);
             return null;
@@ -2065,16 +3221,127 @@ public class UStatement {
          * null || tuples[cursorPosition-currentFirstCursor].wasNull(index) ==
          * true)
          */
-        Object obj;
-        if ((tuples == null)
-                || (tuples[cursorPosition - currentFirstCursor] == null)
-                || ((obj = tuples[cursorPosition - currentFirstCursor].getAttribute(index))
-                        == null)) {
+        UResultTuple tuple;
+        try {
+            tuple = currentTuple();
+        } catch (UJciException e) {
+            e.toUError(errorHandler);
+            return null;
+        }
+
+        if (tuple == null) {
             errorHandler.setErrorCode(UErrorCode.ER_WAS_NULL);
             return null;
         }
 
-        return obj;
+        return tuple;
+    }
+
+    /* returns the value of a column, decoding it from the fetched bytes on first access */
+    private Object getTupleAttribute(UResultTuple tuple, int index) throws UJciException {
+        int offset = tuple.getRawOffset(index);
+        if (offset >= 0) {
+            getRowView().wrap(tuple.getRawData(), offset);
+            /* the size was counted when the row was indexed */
+            int counted = fetchedSize;
+            tuple.setAttribute(index, readAAttribute(index, rowView));
+            fetchedSize = counted;
+        }
+        return tuple.getAttribute(index);
+    }
+
+    /*
+     * Returns the type of a SHORT, INT, BIGINT, FLOAT, DOUBLE or MONETARY column whose value is not
+     * null, or U_TYPE_NULL for any other column. The numeric getters read these columns as
+     * primitives, dispatching on the type instead of testing the class of a value object.
+     */
+    private int getPrimitiveType(UResultTuple tuple, int index) {
+        if (hasTypeInData(index)) {
+            return UUType.U_TYPE_NULL;
+        }
+
+        int type = columnInfo[index].getColumnType();
+        if (!isIntegralType(type) && !isFloatingType(type)) {
+            return UUType.U_TYPE_NULL;
+        }
+        if (tuple.getRawOffset(index) < 0 && tuple.getAttribute(index) == null) {
+            return UUType.U_TYPE_NULL;
+        }
+        return type;
+    }
+
+    private static boolean isIntegralType(int type) {
+        switch (type) {
+            case UUType.U_TYPE_SHORT:
+            case UUType.U_TYPE_USHORT:
+            case UUType.U_TYPE_INT:
+            case UUType.U_TYPE_UINT:
+            case UUType.U_TYPE_BIGINT:
+            case UUType.U_TYPE_UBIGINT:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static boolean isFloatingType(int type) {
+        switch (type) {
+            case UUType.U_TYPE_FLOAT:
+            case UUType.U_TYPE_DOUBLE:
+            case UUType.U_TYPE_MONETARY:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /* reads the value straight from the fetched bytes when it is not decoded yet */
+    private long readIntegral(UResultTuple tuple, int index, int type) throws UJciException {
+        int offset = tuple.getRawOffset(index);
+        if (offset < 0) {
+            return ((Number) tuple.getAttribute(index)).longValue();
+        }
+
+        getRowView().wrap(tuple.getRawData(), offset);
+        rowView.readInt(); // size
+        switch (type) {
+            case UUType.U_TYPE_BIGINT:
+            case UUType.U_TYPE_UBIGINT:
+                return rowView.readLong();
+            case UUType.U_TYPE_INT:
+            case UUType.U_TYPE_UINT:
+                return rowView.readInt();
+            default:
+                return rowView.readShort();
+        }
+    }
+
+    private double readFloating(UResultTuple tuple, int index, int type) throws UJciException {
+        int offset = tuple.getRawOffset(index);
+        if (offset < 0) {
+            return ((Number) tuple.getAttribute(index)).doubleValue();
+        }
+
+        getRowView().wrap(tuple.getRawData(), offset);
+        rowView.readInt(); // size
+        if (type == UUType.U_TYPE_FLOAT) {
+            return rowView.readFloat();
+        }
+        return rowView.readDouble();
+    }
+
+    private UInputBuffer getRowView() {
+        if (rowView == null) {
+            rowView = new UInputBuffer(relatedConnection);
+        }
+        return rowView;
+    }
+
+    private boolean hasTypeInData(int index) {
+        return (commandTypeIs == CUBRIDCommandType.CUBRID_STMT_CALL)
+                || (commandTypeIs == CUBRIDCommandType.CUBRID_STMT_EVALUATE)
+                || (commandTypeIs == CUBRIDCommandType.CUBRID_STMT_CALL_SP)
+                || (columnInfo[index].getColumnType() == UUType.U_TYPE_NULL);
     }
 
     private boolean checkReFetch() {
@@ -2096,10 +3363,7 @@ public class UStatement {
         /* first two bytes are reserverd for type value */
         typeInfo[2] = 0; /* this holds how many bytes we read for type */
         typeInfo[3] = DEFAULT_CHARSET; /* this holds charset id */
-        if ((commandTypeIs == CUBRIDCommandType.CUBRID_STMT_CALL)
-                || (commandTypeIs == CUBRIDCommandType.CUBRID_STMT_EVALUATE)
-                || (commandTypeIs == CUBRIDCommandType.CUBRID_STMT_CALL_SP)
-                || (columnInfo[index].getColumnType() == UUType.U_TYPE_NULL)) {
+        if (hasTypeInData(index)) {
             byte collectionByte, setType;
 
             collectionByte = inBuffer.readByte();
@@ -2128,12 +3392,8 @@ public class UStatement {
 
     private void closeInternal() {
         if (columnInfo != null) {
-            synchronized (columnInfo) {
-                for (int i = 0; i < columnInfo.length; i++) columnInfo[i] = null;
-            }
+            /* the column metadata may be shared with other statements, see UColumnMetadata */
             columnInfo = null;
-
-            colNameToIndex.clear();
             colNameToIndex = null;
         }
         if (bindParameter != null) {
@@ -2160,13 +3420,13 @@ public class UStatement {
     }
 
     public void closeResult() {
+        resetStream();
+
         if (stmt_cache_data != null) {
-            getResCache().setExpire();
             for (int n = stmt_cache_data.tuples.size(); n > 0; n--) {
                 if (tuples == stmt_cache_data.tuples.get(n - 1)) {
                     /* do not remove tuples is cached
-                    the tuples will be removed on a condition
-                    in daemon thread of driver
+                    the tuples are dropped when the cache evicts them
                     */
                     return;
                 }
@@ -2332,8 +3592,23 @@ public class UStatement {
 
         tuples = new UResultTuple[fetchedTupleNumber];
 
-        for (int i = 0; i < fetchedTupleNumber; i++) {
-            readATuple(i, inBuffer);
+        if (statementType == NORMAL && stmt_cache_data == null) {
+            /*
+             * the connection buffer is reused by the next message, so the rows are copied out
+             * with one copy for the whole batch
+             */
+            int start = inBuffer.position();
+            for (int i = 0; i < fetchedTupleNumber; i++) {
+                indexATuple(i, inBuffer);
+            }
+            byte[] data = Arrays.copyOfRange(inBuffer.getBuffer(), start, inBuffer.position());
+            for (int i = 0; i < fetchedTupleNumber; i++) {
+                tuples[i].relocate(data, start);
+            }
+        } else {
+            for (int i = 0; i < fetchedTupleNumber; i++) {
+                readATuple(i, inBuffer);
+            }
         }
 
         if (functionCode == UFunctionCode.GET_GENERATED_KEYS) {
@@ -2369,7 +3644,77 @@ public class UStatement {
         if (index == 0) currentFirstCursor = tuple.tupleNumber() - 1;
     }
 
+    /* records where each value of the row starts instead of decoding it */
+    private void indexATuple(int index, UInputBuffer inBuffer) throws UJciException {
+        UResultTuple tuple = new UResultTuple(inBuffer.readInt(), columnNumber);
+        tuples[index] = tuple;
+        tuple.setOid(inBuffer.readOID(relatedConnection.getCUBRIDConnection()));
+
+        int[] offsets = new int[columnNumber];
+        fetchedSize = 0;
+        for (int i = 0; i < columnNumber; i++) {
+            offsets[i] = inBuffer.position();
+            int size = inBuffer.readInt();
+            if (size < 0) {
+                offsets[i] = -1;
+            } else {
+                inBuffer.skipBytes(size);
+                fetchedSize += size;
+            }
+        }
+        tuple.setRawData(inBuffer.getBuffer(), offsets);
+
+        if (index == 0) currentFirstCursor = tuple.tupleNumber() - 1;
+    }
+
     private void readColumnInfo(UInputBuffer inBuffer) throws UJciException {
+        int start = inBuffer.position();
+        skipColumnInfo(inBuffer);
+        int end = inBuffer.position();
+
+        String connCharset = relatedConnection.getCharset();
+        UColumnMetadata shared =
+                UColumnMetadata.get(
+                        inBuffer.getBuffer(), start, end - start, statementType, connCharset);
+        if (shared != null) {
+            columnInfo = shared.columnInfo;
+            colNameToIndex = shared.colNameToIndex;
+            return;
+        }
+
+        inBuffer.position(start);
+        decodeColumnInfo(inBuffer);
+        UColumnMetadata.put(
+                inBuffer.getBuffer(),
+                start,
+                end - start,
+                statementType,
+                connCharset,
+                columnInfo,
+                colNameToIndex);
+    }
+
+    /* walks over the column metadata without decoding it, in the order decodeColumnInfo reads it */
+    private void skipColumnInfo(UInputBuffer inBuffer) throws UJciException {
+        for (int i = 0; i < columnNumber; i++) {
+            byte collectionByte = inBuffer.readByte();
+            if ((byte) (collectionByte & MASK_TYPE_HAS_2_BYTES) != 0) {
+                inBuffer.skipBytes(1);
+            }
+
+            inBuffer.skipBytes(2 + 4); /* scale, precision */
+            inBuffer.skipString(); /* name */
+            if (statementType == NORMAL) {
+                inBuffer.skipString(); /* attribute name */
+                inBuffer.skipString(); /* class name */
+                inBuffer.skipBytes(1); /* nullable */
+                inBuffer.skipString(); /* default value */
+                inBuffer.skipBytes(7); /* AI, UK, PK, RI, RU, FK, shared */
+            }
+        }
+    }
+
+    private void decodeColumnInfo(UInputBuffer inBuffer) throws UJciException {
         byte type, collectionByte = 0;
         short scale;
         int precision;
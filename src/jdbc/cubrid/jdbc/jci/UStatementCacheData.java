@@ -31,8 +31,10 @@
 
 package cubrid.jdbc.jci;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 public class UStatementCacheData {
     int tuple_count;
@@ -43,11 +45,15 @@ public class UStatementCacheData {
     List<UResultTuple[]> tuples;
     List<Integer> fetched;
     List<Integer> first;
+    /* the rows of a batch as they came in the FETCH reply, kept off the heap; null on the heap */
+    List<PackedRows> packed;
+    int packedSize;
 
     public UStatementCacheData(UStatementCacheData cache_data) {
         if (cache_data == null) {
             this.tuple_count = 0;
             this.tuples = null;
+            this.packed = null;
             this.fetched = null;
             this.resultInfo = null;
             this.srvCacheTime = 0L;
@@ -55,6 +61,8 @@ public class UStatementCacheData {
         } else {
             this.tuple_count = cache_data.tuple_count;
             this.tuples = cache_data.tuples;
+            this.packed = cache_data.packed;
+            this.packedSize = cache_data.packedSize;
             this.fetched = cache_data.fetched;
             this.first = cache_data.first;
             this.resultInfo = cache_data.resultInfo;
@@ -69,10 +77,20 @@ public class UStatementCacheData {
         return tuples.size();
     }
 
+    /* null when the rows of the batch are kept off the heap */
     public UResultTuple[] getTuples(int cursorIdx) {
         return tuples.get(cursorIdx);
     }
 
+    /* a copy of the rows kept off the heap, null once the cache has taken their slabs back */
+    byte[] getPackedRows(int cursorIdx) {
+        return packed.get(cursorIdx).copy();
+    }
+
+    public int getPackedSize() {
+        return packedSize;
+    }
+
     public int getFetchNumber(int cursorIdx) {
         return fetched.get(cursorIdx);
     }
@@ -87,19 +105,67 @@ public class UStatementCacheData {
 
     public void addCacheData(UResultTuple[] tuples, int firstCursor, int fetchedTuples, int size) {
         this.tuples.add(tuples);
+        this.packed.add(null);
         this.fetched.add(fetchedTuples);
         this.first.add(firstCursor);
         this.size += size;
     }
 
-    public void setCacheData(int tuple_count, UResultInfo[] resultInfo) {
-        if (this.tuples == null) {
-            this.tuples = new ArrayList<UResultTuple[]>();
-            this.fetched = new ArrayList<Integer>();
-            this.first = new ArrayList<Integer>();
+    /*
+     * Returns false, keeping nothing, when the cache has no slabs for the rows. The rows count
+     * for the direct memory of their slabs, which is what they keep from other results.
+     */
+    boolean addPackedData(
+            UUrlCache cache,
+            byte[] rows,
+            int offset,
+            int length,
+            int firstCursor,
+            int fetchedTuples) {
+        ByteBuffer[] slabs = cache.allocateSlabs(length);
+        if (slabs == null) {
+            return false;
         }
+
+        this.tuples.add(null);
+        this.packed.add(new PackedRows(cache.getSlabPool(), slabs, rows, offset, length));
+        this.fetched.add(fetchedTuples);
+        this.first.add(firstCursor);
+        this.size += slabs.length * USlabPool.SLAB_SIZE;
+        this.packedSize += slabs.length * USlabPool.SLAB_SIZE;
+        return true;
+    }
+
+    /* gives the slabs of the rows kept off the heap back to their pool */
+    void releasePackedData() {
+        List<PackedRows> rows = packed;
+        if (rows == null) {
+            return;
+        }
+        for (int i = 0; i < rows.size(); i++) {
+            if (rows.get(i) != null) {
+                rows.get(i).release();
+            }
+        }
+    }
+
+    /* true if both were read from the same rows, as a cache hit and its entry */
+    boolean sharesPackedData(UStatementCacheData other) {
+        return other != null && packed == other.packed;
+    }
+
+    public void setCacheData(int tuple_count, UResultInfo[] resultInfo) {
+        /*
+         * the lists may be shared with the data this copy was made from, which stays in the
+         * cache until this one replaces it
+         */
+        this.tuples = new ArrayList<UResultTuple[]>();
+        this.packed = new ArrayList<PackedRows>();
+        this.fetched = new ArrayList<Integer>();
+        this.first = new ArrayList<Integer>();
         this.tuple_count = tuple_count;
         this.size = 0;
+        this.packedSize = 0;
         this.resultInfo = resultInfo;
         if (resultInfo.length == 1) this.srvCacheTime = resultInfo[0].getSrvCacheTime();
         else this.srvCacheTime = 0L;
@@ -110,9 +176,64 @@ public class UStatementCacheData {
         this.tuple_count = tuple_count;
         this.resultInfo = resultInfo;
         this.tuples = null;
+        this.packed = null;
         this.fetched = null;
         this.first = null;
         if (resultInfo.length == 1) this.srvCacheTime = resultInfo[0].getSrvCacheTime();
         else this.srvCacheTime = 0L;
     }
+
+    /*
+     * The rows of one batch in slabs of the pool. Statements that hit the cache copy them out
+     * under the read lock, so the slabs are only given back once no copy is in progress, and a
+     * copy made after that finds them gone and reads the rows from the server.
+     */
+    static final class PackedRows {
+        private final ByteBuffer[] slabs;
+        private final int length;
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        /* null once the slabs are released */
+        private USlabPool pool;
+
+        PackedRows(USlabPool pool, ByteBuffer[] slabs, byte[] rows, int offset, int length) {
+            this.pool = pool;
+            this.slabs = slabs;
+            this.length = length;
+            for (int i = 0, off = 0; off < length; i++, off += USlabPool.SLAB_SIZE) {
+                ByteBuffer slab = slabs[i].duplicate();
+                slab.clear();
+                slab.put(rows, offset + off, Math.min(USlabPool.SLAB_SIZE, length - off));
+            }
+        }
+
+        byte[] copy() {
+            lock.readLock().lock();
+            try {
+                if (pool == null) {
+                    return null;
+                }
+                byte[] data = new byte[length];
+                for (int i = 0, off = 0; off < length; i++, off += USlabPool.SLAB_SIZE) {
+                    ByteBuffer slab = slabs[i].duplicate();
+                    slab.clear();
+                    slab.get(data, off, Math.min(USlabPool.SLAB_SIZE, length - off));
+                }
+                return data;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        void release() {
+            lock.writeLock().lock();
+            try {
+                if (pool != null) {
+                    pool.release(slabs);
+                    pool = null;
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
 }
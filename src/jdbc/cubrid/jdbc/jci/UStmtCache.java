@@ -31,88 +31,89 @@
 
 package cubrid.jdbc.jci;
 
-import java.util.ArrayList;
-import java.util.Hashtable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class UStmtCache {
     String key;
 
-    private Hashtable<UBindKey, UResCache> res_cache_table;
-    private ArrayList<UResCache> res_cache_remove_list;
-    int ref_count;
+    private UUrlCache url_cache;
+    private ConcurrentHashMap<UBindKey, UResCache> res_cache_table;
+    private AtomicInteger ref_count;
 
-    UStmtCache(String key) {
+    UStmtCache(String key, UUrlCache url_cache) {
         this.key = key;
+        this.url_cache = url_cache;
 
-        res_cache_table = new Hashtable<UBindKey, UResCache>(30);
-        res_cache_remove_list = new ArrayList<UResCache>(100);
-        ref_count = 0;
+        res_cache_table = new ConcurrentHashMap<UBindKey, UResCache>(30);
+        ref_count = new AtomicInteger();
     }
 
     public UResCache get(UBindKey key) {
-        UResCache res_cache;
-
-        synchronized (res_cache_table) {
-            res_cache = res_cache_table.get(key);
+        UResCache res_cache = res_cache_table.get(key);
+        if (res_cache == null) {
+            UResCache created = new UResCache(this, key);
+            res_cache = res_cache_table.putIfAbsent(key, created);
             if (res_cache == null) {
-                res_cache = new UResCache(key);
-                res_cache_table.put(key, res_cache);
-                synchronized (res_cache_remove_list) {
-                    res_cache_remove_list.add(res_cache);
-                }
+                res_cache = created;
+                url_cache.add(created);
             }
-            return res_cache;
         }
+        return res_cache;
     }
 
-    synchronized void incr_ref_count() {
-        ref_count++;
+    UUrlCache getUrlCache() {
+        return url_cache;
     }
 
-    synchronized void decr_ref_count() {
-        ref_count--;
+    /* fails once the entry is retired, the caller then looks it up again */
+    boolean incr_ref_count() {
+        while (true) {
+            int count = ref_count.get();
+            if (count < 0) {
+                return false;
+            }
+            if (ref_count.compareAndSet(count, count + 1)) {
+                return true;
+            }
+        }
     }
 
-    void clear() {
-        synchronized (res_cache_table) {
-            res_cache_table.clear();
-            synchronized (res_cache_remove_list) {
-                res_cache_remove_list.clear();
-            }
+    void decr_ref_count() {
+        if (ref_count.decrementAndGet() <= 0 && isEmpty()) {
+            url_cache.removeStmtCache(this);
         }
     }
 
-    /* for QA test case */
-    int remove_expired_res(long checkTime) {
-        return 0;
+    /*
+     * Marks an unreferenced entry without results as retired, so that it cannot be referenced
+     * again and may be taken out of the table.
+     */
+    boolean retire() {
+        return isEmpty() && ref_count.compareAndSet(0, -1);
     }
 
-    int remove_expired_res(long checkTime, UUrlCache uc) {
-        UResCache rc;
-        UResCache victim = null;
-        int v_idx = -1;
+    boolean isEmpty() {
+        return res_cache_table.isEmpty();
+    }
 
-        for (int i = 0; i < res_cache_remove_list.size(); i++) {
-            rc = res_cache_remove_list.get(i);
-            if (rc.isExpired(checkTime)) {
-                if (victim == null || rc.getCacheTime() < victim.getCacheTime()) {
-                    victim = rc;
-                    v_idx = i;
-                }
-            }
-        }
+    void remove(UResCache rc) {
+        res_cache_table.remove(rc.key, rc);
+    }
 
-        if (victim != null) {
-            uc.addCacheSize(-victim.getCacheSize());
-            synchronized (res_cache_remove_list) {
-                res_cache_table.remove(victim.key);
-                UResCache lastObj = res_cache_remove_list.remove(res_cache_remove_list.size() - 1);
-                if (v_idx < res_cache_remove_list.size()) {
-                    res_cache_remove_list.set(v_idx, lastObj);
-                }
+    int clear() {
+        int count = 0;
+        for (UResCache rc : res_cache_table.values()) {
+            if (res_cache_table.remove(rc.key, rc)) {
+                url_cache.remove(rc);
+                count++;
             }
         }
+        return count;
+    }
 
-        return res_cache_remove_list.size();
+    /* for QA test case */
+    int remove_expired_res(long checkTime) {
+        return 0;
     }
 }
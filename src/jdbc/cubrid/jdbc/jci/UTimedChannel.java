@@ -0,0 +1,194 @@
+/*
+ * Copyright (C) 2008 Search Solution Corporation.
+ * Copyright (c) 2016 CUBRID Corporation.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ *
+ * - Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * - Neither the name of the <ORGANIZATION> nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software without
+ *   specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING,
+ * BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA,
+ * OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY
+ * OF SUCH DAMAGE.
+ *
+ */
+
+/**
+ * Title: CUBRID Java Client Interface
+ *
+ * <p>Description: CUBRID Java Client Interface
+ *
+ * <p>
+ *
+ * @version 2.0
+ */
+package cubrid.jdbc.jci;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+
+/**
+ * Non-blocking {@link SocketChannel} used by the <code>transport=nio</code> connections. Reads
+ * wait on a selector for at most the given time instead of relying on the socket timeout, and
+ * incoming data is staged in a direct buffer. Writes block until all data is sent.
+ */
+public class UTimedChannel implements GatheringByteChannel {
+    private static final int READ_BUFFER_SIZE = 65536;
+
+    private SocketChannel channel;
+    private Selector selector;
+    private SelectionKey key;
+    private ByteBuffer readBuffer;
+    private OutputStream outputStream;
+
+    public UTimedChannel(SocketChannel channel) throws IOException {
+        this.channel = channel;
+        channel.configureBlocking(false);
+        selector = Selector.open();
+        key = channel.register(selector, 0);
+        readBuffer = ByteBuffer.allocateDirect(READ_BUFFER_SIZE);
+        readBuffer.flip();
+    }
+
+    public Socket socket() {
+        return channel.socket();
+    }
+
+    /**
+     * Reads up to <code>len</code> bytes.
+     *
+     * @param waitMillis the maximum time to wait for data, 0 waits without limit
+     * @return the number of bytes read, -1 at the end of stream, or 0 if no data arrived in time
+     */
+    public int read(byte[] b, int off, int len, long waitMillis) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+
+        if (!readBuffer.hasRemaining()) {
+            readBuffer.clear();
+            int n = channel.read(readBuffer);
+            if (n == 0) {
+                long end = System.currentTimeMillis() + waitMillis;
+                while (n == 0) {
+                    long remain = 0;
+                    if (waitMillis > 0) {
+                        remain = end - System.currentTimeMillis();
+                        if (remain <= 0) {
+                            break;
+                        }
+                    }
+                    await(SelectionKey.OP_READ, remain);
+                    n = channel.read(readBuffer);
+                }
+            }
+            readBuffer.flip();
+            if (n <= 0) {
+                return n;
+            }
+        }
+
+        int n = Math.min(len, readBuffer.remaining());
+        readBuffer.get(b, off, n);
+        return n;
+    }
+
+    public int write(ByteBuffer src) throws IOException {
+        return (int) write(new ByteBuffer[] {src}, 0, 1);
+    }
+
+    public long write(ByteBuffer[] srcs) throws IOException {
+        return write(srcs, 0, srcs.length);
+    }
+
+    public long write(ByteBuffer[] srcs, int offset, int length) throws IOException {
+        long n = channel.write(srcs, offset, length);
+        while (n == 0 && hasRemaining(srcs, offset, length)) {
+            await(SelectionKey.OP_WRITE, 0);
+            n = channel.write(srcs, offset, length);
+        }
+        return n;
+    }
+
+    public void write(byte[] b, int off, int len) throws IOException {
+        ByteBuffer src = ByteBuffer.wrap(b, off, len);
+        while (src.hasRemaining()) {
+            write(src);
+        }
+    }
+
+    public synchronized OutputStream getOutputStream() {
+        if (outputStream == null) {
+            outputStream =
+                    new OutputStream() {
+                        public void write(int b) throws IOException {
+                            UTimedChannel.this.write(new byte[] {(byte) b}, 0, 1);
+                        }
+
+                        public void write(byte[] b, int off, int len) throws IOException {
+                            UTimedChannel.this.write(b, off, len);
+                        }
+
+                        public void close() throws IOException {
+                            UTimedChannel.this.close();
+                        }
+                    };
+        }
+        return outputStream;
+    }
+
+    public boolean isOpen() {
+        return channel.isOpen();
+    }
+
+    public void close() throws IOException {
+        try {
+            selector.close();
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void await(int ops, long waitMillis) throws IOException {
+        key.interestOps(ops);
+        try {
+            selector.select(waitMillis);
+            selector.selectedKeys().clear();
+        } finally {
+            if (key.isValid()) {
+                key.interestOps(0);
+            }
+        }
+    }
+
+    private static boolean hasRemaining(ByteBuffer[] srcs, int offset, int length) {
+        for (int i = offset; i < offset + length; i++) {
+            if (srcs[i].hasRemaining()) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -42,6 +42,7 @@ package cubrid.jdbc.jci;
 
 import cubrid.jdbc.net.BrokerHandler;
 import java.io.DataInputStream;
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.SocketTimeoutException;
@@ -49,6 +50,8 @@ import java.net.SocketTimeoutException;
 public class UTimedDataInputStream {
     public static final int PING_TIMEOUT = 5000;
     private DataInputStream stream = null;
+    private UTimedChannel channel = null;
+    private byte intBuffer[] = new byte[4];
     private String ip = null;
     private int port = 0;
     private int timeout = 0;
@@ -76,7 +79,29 @@ public class UTimedDataInputStream {
         this.timeout = timeout;
     }
 
+    public UTimedDataInputStream(
+            UTimedChannel channel, String ip, int port, int pid, byte session[], int timeout) {
+        this.channel = channel;
+        this.ip = ip;
+        this.port = port;
+        this.pid = pid;
+        for (int i = 0; i < 4; i++) this.session[i] = session[i + 8];
+        this.timeout = timeout;
+    }
+
+    public UTimedDataInputStream(UTimedChannel channel, String ip, int port, int timeout) {
+        this.channel = channel;
+        this.ip = ip;
+        this.port = port;
+        this.timeout = timeout;
+    }
+
     public int readInt(int timeout) throws IOException, UJciException {
+        if (channel != null) {
+            readChannelFully(intBuffer, 0, 4, timeout);
+            return UJCIUtil.bytes2int(intBuffer, 0);
+        }
+
         long begin = System.currentTimeMillis();
 
         while (true) {
@@ -101,6 +126,11 @@ public class UTimedDataInputStream {
     }
 
     public void readFully(byte[] b, int timeout) throws IOException, UJciException {
+        if (channel != null) {
+            readChannelFully(b, 0, b.length, timeout);
+            return;
+        }
+
         long begin = System.currentTimeMillis();
 
         while (true) {
@@ -118,6 +148,10 @@ public class UTimedDataInputStream {
     }
 
     public int readByte(byte[] b, int timeout) throws IOException, UJciException {
+        if (channel != null) {
+            return readChannel(b, 0, b.length, timeout, false);
+        }
+
         long begin = System.currentTimeMillis();
 
         while (true) {
@@ -138,6 +172,10 @@ public class UTimedDataInputStream {
     }
 
     public int read(byte[] b, int off, int len, int timeout) throws IOException, UJciException {
+        if (channel != null) {
+            return readChannel(b, off, len, timeout, true);
+        }
+
         long begin = System.currentTimeMillis();
         boolean retry = false;
 
@@ -168,6 +206,74 @@ public class UTimedDataInputStream {
     }
 
     public void close() throws IOException {
-        stream.close();
+        if (channel != null) {
+            channel.close();
+        } else {
+            stream.close();
+        }
+    }
+
+    private void readChannelFully(byte[] b, int off, int len, int timeout)
+            throws IOException, UJciException {
+        long begin = System.currentTimeMillis();
+        int done = 0;
+
+        while (done < len) {
+            int remain = 0;
+            if (timeout > 0) {
+                remain = timeout - (int) (System.currentTimeMillis() - begin);
+                if (remain <= 0) {
+                    String msg = UErrorCode.codeToMessage(UErrorCode.ER_TIMEOUT);
+                    throw new SocketTimeoutException(msg);
+                }
+            }
+
+            int n = readChannel(b, off + done, len - done, remain, false);
+            if (n < 0) {
+                throw new EOFException();
+            }
+            done += n;
+        }
+    }
+
+    /*
+     * Waits for data until the deadline given by timeout. The broker is checked each time no data
+     * arrived for SOCKET_TIMEOUT, as the socket transport does on SocketTimeoutException.
+     */
+    private int readChannel(byte[] b, int off, int len, int timeout, boolean checkStatus)
+            throws IOException, UJciException {
+        long deadline = (timeout > 0) ? System.currentTimeMillis() + timeout : 0;
+        boolean retry = false;
+
+        while (true) {
+            long wait = UConnection.SOCKET_TIMEOUT;
+            if (deadline > 0) {
+                long remain = deadline - System.currentTimeMillis();
+                if (remain <= 0) {
+                    String msg = UErrorCode.codeToMessage(UErrorCode.ER_TIMEOUT);
+                    throw new SocketTimeoutException(msg);
+                }
+                wait = Math.min(wait, remain);
+            }
+
+            int n = channel.read(b, off, len, wait);
+            if (n != 0 || len == 0) {
+                return n;
+            }
+            if (deadline > 0 && deadline - System.currentTimeMillis() <= 0) {
+                continue;
+            }
+
+            if (!checkStatus || UConnection.protoVersionIsLower(UConnection.PROTOCOL_V9)) {
+                BrokerHandler.pingBroker(ip, port, PING_TIMEOUT);
+                continue;
+            }
+            if (BrokerHandler.statusBroker(ip, port, pid, session, PING_TIMEOUT) != 1) {
+                if (retry) {
+                    throw new UJciException(UErrorCode.ER_COMMUNICATION);
+                }
+                retry = true;
+            }
+        }
     }
 }
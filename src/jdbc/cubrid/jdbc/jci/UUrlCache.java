@@ -31,81 +31,382 @@
 
 package cubrid.jdbc.jci;
 
-import java.util.ArrayList;
-import java.util.Hashtable;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
+/*
+ * The result cache of one broker, database and user. Lookups go through concurrent maps and never
+ * block. The cached results are kept in a segmented LRU weighted by their size in bytes: a result
+ * enters the probation segment and moves to the protected segment when it is read again, and the
+ * least recently used results of the probation segment are evicted first. Eviction runs when a
+ * result is saved, so the cache does not grow past its limit.
+ */
 public class UUrlCache {
-    private Hashtable<String, UStmtCache> stmt_cache_table;
-    private ArrayList<UStmtCache> stmt_cache_remove_list;
-    private int max_size;
+    /* the share of the limit that results read more than once can keep */
+    private static final int PROTECTED_PERCENT = 80;
+    /* the weight of a result cache entry without rows, so that unused keys are bounded too */
+    static final int ENTRY_OVERHEAD = 64;
+
+    /* the table an INSERT, UPDATE, DELETE, MERGE, REPLACE or TRUNCATE statement writes */
+    private static final Pattern WRITTEN_TABLE =
+            Pattern.compile(
+                    "^\\s*(?:INSERT\\s+(?:INTO\\s+)?|REPLACE\\s+(?:INTO\\s+)?"
+                            + "|UPDATE\\s+|DELETE\\s+(?:FROM\\s+)?|MERGE\\s+INTO\\s+"
+                            + "|TRUNCATE\\s+(?:TABLE\\s+)?)([^\\s(]+)",
+                    Pattern.CASE_INSENSITIVE);
+    private static final Pattern JOIN = Pattern.compile("\\bJOIN\\b", Pattern.CASE_INSENSITIVE);
+
+    static final int NOT_LINKED = 0;
+    static final int PROBATION = 1;
+    static final int PROTECTED = 2;
+
+    private ConcurrentHashMap<String, UStmtCache> stmt_cache_table;
+    private volatile int max_size;
     private AtomicInteger cache_size;
+    private AtomicLong off_heap_size;
+    private final USlabPool slab_pool = new USlabPool();
+
+    /* the segments and protected_size are guarded by policy_lock */
+    private final ReentrantLock policy_lock = new ReentrantLock();
+    private final UResCache probation = new UResCache(null, null);
+    private final UResCache protected_segment = new UResCache(null, null);
+    private long protected_size;
+
+    private final AtomicLong hit_count = new AtomicLong();
+    private final AtomicLong miss_count = new AtomicLong();
+    private final AtomicLong eviction_count = new AtomicLong();
+    private final AtomicLong invalidation_count = new AtomicLong();
+
+    /* the lifetime of cached results in seconds, by the first pattern the SQL matches */
+    private final CopyOnWriteArrayList<TtlRule> ttl_rules = new CopyOnWriteArrayList<TtlRule>();
 
     UUrlCache() {
-        stmt_cache_table = new Hashtable<String, UStmtCache>(100, 5);
-        stmt_cache_remove_list = new ArrayList<UStmtCache>(100);
+        stmt_cache_table = new ConcurrentHashMap<String, UStmtCache>(100);
         max_size = 1;
         cache_size = new AtomicInteger();
+        off_heap_size = new AtomicLong();
+        probation.prev = probation.next = probation;
+        protected_segment.prev = protected_segment.next = protected_segment;
     }
 
     void setLimit(int limit) {
         max_size = limit;
+        slab_pool.setLimit(limit);
     }
 
-    void addCacheSize(int value) {
-        cache_size.addAndGet(value);
-    }
-
-    int getLimit() {
+    public int getLimit() {
         return max_size;
     }
 
-    int getCacheSize() {
+    public int getCacheSize() {
         return cache_size.get();
     }
 
+    /* the part of the cache size held in direct buffers with clientCacheOffHeap */
+    public long getOffHeapSize() {
+        return off_heap_size.get();
+    }
+
+    /*
+     * The direct memory the cache holds, in use or kept for later results; it counts against
+     * -XX:MaxDirectMemorySize and never exceeds the limit of the cache.
+     */
+    public long getOffHeapRetainedSize() {
+        return slab_pool.getRetainedSize();
+    }
+
+    USlabPool getSlabPool() {
+        return slab_pool;
+    }
+
+    /*
+     * The slabs for rows to be kept off the heap, or null when there are none. The least recently
+     * used results are evicted while the slabs in use leave no room for the rows.
+     */
+    ByteBuffer[] allocateSlabs(int length) {
+        policy_lock.lock();
+        try {
+            while (!slab_pool.hasRoom(length) && evictOne()) {}
+        } finally {
+            policy_lock.unlock();
+        }
+        return slab_pool.allocate(length);
+    }
+
+    public int getStmtCacheCount() {
+        return stmt_cache_table.size();
+    }
+
+    public long getHitCount() {
+        return hit_count.get();
+    }
+
+    public long getMissCount() {
+        return miss_count.get();
+    }
+
+    public long getEvictionCount() {
+        return eviction_count.get();
+    }
+
+    public long getInvalidationCount() {
+        return invalidation_count.get();
+    }
+
+    /*
+     * Results of the SQL statements in which the regular expression is found live for the given
+     * seconds from when they are cached. A later rule for the same expression replaces the earlier
+     * one and a lifetime of 0 or less removes it.
+     */
+    public void setTtl(String sqlPattern, int seconds) {
+        Pattern pattern = Pattern.compile(sqlPattern, Pattern.CASE_INSENSITIVE);
+        for (TtlRule rule : ttl_rules) {
+            if (rule.pattern.pattern().equals(sqlPattern)) {
+                ttl_rules.remove(rule);
+            }
+        }
+        if (seconds > 0) {
+            ttl_rules.add(new TtlRule(pattern, seconds));
+        }
+    }
+
+    /* the default is the clientCacheTTL of the connection that caches the result */
+    int getTtl(String sql, int defaultTtl) {
+        for (TtlRule rule : ttl_rules) {
+            if (rule.pattern.matcher(sql).find()) {
+                return rule.seconds;
+            }
+        }
+        return defaultTtl;
+    }
+
+    /* returns the number of cached results dropped */
+    public int invalidate(String sql) {
+        UStmtCache sc = stmt_cache_table.get(sql);
+        if (sc == null) {
+            return 0;
+        }
+        return invalidated(sc.clear());
+    }
+
+    /* drops the results of the SQL statements that name the table */
+    public int invalidateTable(String table) {
+        Pattern pattern =
+                Pattern.compile(
+                        "(^|[^\\w])" + Pattern.quote(table) + "($|[^\\w])",
+                        Pattern.CASE_INSENSITIVE);
+
+        int count = 0;
+        for (UStmtCache sc : stmt_cache_table.values()) {
+            if (pattern.matcher(sc.key).find()) {
+                count += sc.clear();
+            }
+        }
+        return invalidated(count);
+    }
+
+    public int invalidateAll() {
+        int count = 0;
+        for (UStmtCache sc : stmt_cache_table.values()) {
+            count += sc.clear();
+        }
+        return invalidated(count);
+    }
+
+    /*
+     * Drops the results that may include rows the statement wrote. When the written table cannot
+     * be told from the SQL, every result is dropped.
+     */
+    void invalidateWritten(String sql) {
+        Matcher m = (sql == null) ? null : WRITTEN_TABLE.matcher(sql);
+        if (m == null || !m.find() || JOIN.matcher(sql).find() || m.group(1).indexOf(',') >= 0) {
+            invalidateAll();
+            return;
+        }
+
+        String table = m.group(1).replaceAll("[\\[\\]\"`]", "");
+        invalidateTable(table.substring(table.lastIndexOf('.') + 1));
+    }
+
+    private int invalidated(int count) {
+        invalidation_count.addAndGet(count);
+        return count;
+    }
+
+    void recordHit() {
+        hit_count.incrementAndGet();
+    }
+
+    void recordMiss() {
+        miss_count.incrementAndGet();
+    }
+
+    /*
+     * An entry found in the table may be retired before it is referenced here; it is then taken
+     * out of the table, if its remover has not done so yet, and the lookup starts over.
+     */
     UStmtCache getStmtCache(String sql) {
-        UStmtCache stmt_cache;
-        synchronized (stmt_cache_table) {
-            stmt_cache = stmt_cache_table.get(sql);
+        while (true) {
+            UStmtCache stmt_cache = stmt_cache_table.get(sql);
             if (stmt_cache == null) {
-                stmt_cache = new UStmtCache(sql);
-                stmt_cache_table.put(sql, stmt_cache);
-                synchronized (stmt_cache_remove_list) {
-                    stmt_cache_remove_list.add(stmt_cache);
+                UStmtCache created = new UStmtCache(sql, this);
+                stmt_cache = stmt_cache_table.putIfAbsent(sql, created);
+                if (stmt_cache == null) {
+                    stmt_cache = created;
                 }
             }
-            stmt_cache.incr_ref_count();
+            if (stmt_cache.incr_ref_count()) {
+                return stmt_cache;
+            }
+            stmt_cache_table.remove(sql, stmt_cache);
         }
+    }
+
+    /* only an entry that nobody references and that holds no results is removed */
+    void removeStmtCache(UStmtCache sc) {
+        if (sc.retire()) {
+            stmt_cache_table.remove(sc.key, sc);
+        }
+    }
 
-        return stmt_cache;
+    void add(UResCache rc) {
+        policy_lock.lock();
+        try {
+            rc.weight = ENTRY_OVERHEAD;
+            link(probation, rc, PROBATION);
+            cache_size.addAndGet(rc.weight);
+            evict();
+        } finally {
+            policy_lock.unlock();
+        }
     }
 
-    void remove_expired_stmt(long checkTime) {
-        UStmtCache sc;
+    /* returns false if the entry is no longer in the cache */
+    boolean resize(UResCache rc, int weight, int offHeap) {
+        policy_lock.lock();
+        try {
+            /* evicted in the meantime */
+            if (rc.segment == NOT_LINKED) {
+                return false;
+            }
 
-        for (int i = 0; i < stmt_cache_remove_list.size(); i++) {
-            sc = stmt_cache_remove_list.get(i);
+            cache_size.addAndGet(weight - rc.weight);
+            if (rc.segment == PROTECTED) {
+                protected_size += weight - rc.weight;
+            }
+            rc.weight = weight;
+            off_heap_size.addAndGet(offHeap - rc.off_heap_size);
+            rc.off_heap_size = offHeap;
+            evict();
+            return rc.segment != NOT_LINKED;
+        } finally {
+            policy_lock.unlock();
+        }
+    }
 
-            int res_count = sc.remove_expired_res(checkTime, this);
-            synchronized (stmt_cache_table) {
-                if (res_count <= 0 && sc.ref_count <= 0) {
-                    stmt_cache_table.remove(sc.key);
+    /* the access order is a hint, a read does not wait for another thread to update it */
+    void touch(UResCache rc) {
+        if (!policy_lock.tryLock()) {
+            return;
+        }
 
-                    synchronized (stmt_cache_remove_list) {
-                        UStmtCache lastObj =
-                                stmt_cache_remove_list.remove(stmt_cache_remove_list.size() - 1);
-                        if (i < stmt_cache_remove_list.size()) {
-                            stmt_cache_remove_list.set(i, lastObj);
-                            i--;
-                        }
-                    }
-                }
+        try {
+            if (rc.segment == PROBATION) {
+                unlink(rc);
+                link(protected_segment, rc, PROTECTED);
+                protected_size += rc.weight;
 
-                if (cache_size.get() < max_size * 0.8) {
-                    break;
+                long protected_limit = (long) max_size * PROTECTED_PERCENT / 100;
+                while (protected_size > protected_limit) {
+                    UResCache demoted = protected_segment.prev;
+                    unlink(demoted);
+                    protected_size -= demoted.weight;
+                    link(probation, demoted, PROBATION);
                 }
+            } else if (rc.segment == PROTECTED) {
+                unlink(rc);
+                link(protected_segment, rc, PROTECTED);
             }
+        } finally {
+            policy_lock.unlock();
+        }
+    }
+
+    void remove(UResCache rc) {
+        policy_lock.lock();
+        try {
+            release(rc);
+        } finally {
+            policy_lock.unlock();
+        }
+    }
+
+    private void evict() {
+        while (cache_size.get() > max_size && evictOne()) {}
+    }
+
+    /* returns false if the cache is empty */
+    private boolean evictOne() {
+        UResCache victim = probation.prev;
+        if (victim == probation) {
+            victim = protected_segment.prev;
+            if (victim == protected_segment) {
+                return false;
+            }
+        }
+
+        release(victim);
+        eviction_count.incrementAndGet();
+
+        UStmtCache sc = victim.stmt_cache;
+        sc.remove(victim);
+        removeStmtCache(sc);
+        return true;
+    }
+
+    private void release(UResCache rc) {
+        if (rc.segment == NOT_LINKED) {
+            return;
+        }
+
+        if (rc.segment == PROTECTED) {
+            protected_size -= rc.weight;
+        }
+        unlink(rc);
+        cache_size.addAndGet(-rc.weight);
+        off_heap_size.addAndGet(-rc.off_heap_size);
+        rc.off_heap_size = 0;
+        rc.release();
+    }
+
+    private static void link(UResCache head, UResCache rc, int segment) {
+        rc.prev = head;
+        rc.next = head.next;
+        head.next.prev = rc;
+        head.next = rc;
+        rc.segment = segment;
+    }
+
+    private static void unlink(UResCache rc) {
+        rc.prev.next = rc.next;
+        rc.next.prev = rc.prev;
+        rc.prev = rc.next = null;
+        rc.segment = NOT_LINKED;
+    }
+
+    private static class TtlRule {
+        final Pattern pattern;
+        final int seconds;
+
+        TtlRule(Pattern pattern, int seconds) {
+            this.pattern = pattern;
+            this.seconds = seconds;
         }
     }
 }
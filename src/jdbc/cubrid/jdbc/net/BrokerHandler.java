@@ -34,6 +34,7 @@ package cubrid.jdbc.net;
 import cubrid.jdbc.jci.UConnection;
 import cubrid.jdbc.jci.UErrorCode;
 import cubrid.jdbc.jci.UJciException;
+import cubrid.jdbc.jci.UTimedChannel;
 import cubrid.jdbc.jci.UTimedDataInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
@@ -42,6 +43,7 @@ import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.net.Socket;
 import java.net.SocketTimeoutException;
+import java.nio.channels.SocketChannel;
 import java.security.KeyManagementException;
 import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
@@ -152,6 +154,85 @@ public class BrokerHandler {
         }
     }
 
+    /** Same handshake as {@link #connectBroker}, over a non-blocking socket channel. */
+    public static UTimedChannel connectBrokerChannel(String ip, int port, int timeout)
+            throws IOException, UJciException {
+        UTimedChannel toBroker = null;
+        long begin = System.currentTimeMillis();
+
+        try {
+            toBroker = openChannel(new InetSocketAddress(ip, port), timeout);
+            if (timeout > 0) {
+                timeout -= (System.currentTimeMillis() - begin);
+                if (timeout <= 0) {
+                    toBroker.close();
+                    throw new UJciException(UErrorCode.ER_TIMEOUT);
+                }
+            }
+
+            UTimedDataInputStream in = new UTimedDataInputStream(toBroker, ip, port, timeout);
+            toBroker.write(UConnection.driverInfo, 0, UConnection.driverInfo.length);
+
+            int code = in.readInt();
+            if (code < 0) {
+                // in here, all errors are sent by only a broker
+                // the error greater than -10000 is sent by old broker
+                if (code > -10000) {
+                    code -= 9000;
+                }
+                throw new UJciException(code);
+            } else if (code == 0) {
+                return toBroker;
+            }
+
+            // if (code > 0) { only windows }
+            toBroker.socket().setSoLinger(true, 0);
+            toBroker.close();
+
+            if (timeout > 0) {
+                timeout -= (System.currentTimeMillis() - begin);
+                if (timeout <= 0) {
+                    throw new UJciException(UErrorCode.ER_TIMEOUT);
+                }
+            }
+            toBroker = openChannel(new InetSocketAddress(ip, code), timeout);
+            return toBroker;
+        } catch (SocketTimeoutException e) {
+            if (toBroker != null) {
+                toBroker.close();
+            }
+            throw new UJciException(UErrorCode.ER_TIMEOUT, e);
+        } catch (UJciException e) {
+            if (toBroker != null) {
+                toBroker.close();
+            }
+            throw e;
+        } catch (IOException e) {
+            if (toBroker != null) {
+                toBroker.close();
+            }
+            throw new UJciException(UErrorCode.ER_CONNECTION, e);
+        }
+    }
+
+    private static UTimedChannel openChannel(InetSocketAddress address, int timeout)
+            throws IOException {
+        SocketChannel channel = SocketChannel.open();
+        try {
+            /* the socket adaptor supports a connect timeout in blocking mode */
+            if (timeout <= 0) {
+                channel.socket().connect(address);
+            } else {
+                channel.socket().connect(address, timeout);
+            }
+            channel.socket().setKeepAlive(true);
+            return new UTimedChannel(channel);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
     private static byte[] PING_INFO = {'P', 'I', 'N', 'G', 0, 0, 0, 0, 0, 0};
 
     public static void pingBroker(String ip, int port, int timeout) throws IOException {
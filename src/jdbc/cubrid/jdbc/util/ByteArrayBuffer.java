@@ -31,54 +31,81 @@
 
 package cubrid.jdbc.util;
 
-import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
 import java.util.ArrayList;
-import java.util.Iterator;
 
+/**
+ * Growable request buffer. Data is kept in fixed size segments which are filled with bulk copies
+ * and kept across {@link #reset()} so that building a request does not allocate once the buffer
+ * has warmed up. The first {@link #HeaderSize} bytes of the first segment are reserved for the
+ * message header written by {@link #writeToStream(byte[], OutputStream)}.
+ */
 public class ByteArrayBuffer {
     private static final int UnitSize = 102400;
+    private static final int HeaderSize = 8;
+    /* segments kept for reuse after a large request, about 1MB */
+    private static final int MaxPooledSegments = 10;
 
-    private ArrayList<byte[]> byteArrayList;
-    private byte[] baseByteArray;
+    private ArrayList<byte[]> segments;
+    private int current;
     private byte[] buffer;
     private int pos;
     private int dataSize;
 
     public ByteArrayBuffer() {
-        baseByteArray = new byte[UnitSize];
+        segments = new ArrayList<byte[]>();
+        segments.add(new byte[UnitSize]);
         reset();
     }
 
     public void writeByte(byte v) {
-        write(v);
+        if (pos == UnitSize) {
+            nextSegment();
+        }
+        buffer[pos++] = v;
+        dataSize++;
     }
 
     public final void writeShort(int v) throws IOException {
-        write((v >>> 8) & 0xFF);
-        write((v >>> 0) & 0xFF);
+        if (UnitSize - pos >= 2) {
+            buffer[pos] = (byte) (v >>> 8);
+            buffer[pos + 1] = (byte) v;
+            pos += 2;
+            dataSize += 2;
+        } else {
+            writeBuffer[0] = (byte) (v >>> 8);
+            writeBuffer[1] = (byte) v;
+            write(writeBuffer, 0, 2);
+        }
     }
 
     public final void writeInt(int v) {
-        write((v >>> 24) & 0xFF);
-        write((v >>> 16) & 0xFF);
-        write((v >>> 8) & 0xFF);
-        write((v >>> 0) & 0xFF);
+        if (UnitSize - pos >= 4) {
+            putInt(buffer, pos, v);
+            pos += 4;
+            dataSize += 4;
+        } else {
+            putInt(writeBuffer, 0, v);
+            write(writeBuffer, 0, 4);
+        }
     }
 
     private byte writeBuffer[] = new byte[8];
 
     public final void writeLong(long v) {
-        writeBuffer[0] = (byte) (v >>> 56);
-        writeBuffer[1] = (byte) (v >>> 48);
-        writeBuffer[2] = (byte) (v >>> 40);
-        writeBuffer[3] = (byte) (v >>> 32);
-        writeBuffer[4] = (byte) (v >>> 24);
-        writeBuffer[5] = (byte) (v >>> 16);
-        writeBuffer[6] = (byte) (v >>> 8);
-        writeBuffer[7] = (byte) (v >>> 0);
-        write(writeBuffer, 0, 8);
+        if (UnitSize - pos >= 8) {
+            putInt(buffer, pos, (int) (v >>> 32));
+            putInt(buffer, pos + 4, (int) v);
+            pos += 8;
+            dataSize += 8;
+        } else {
+            putInt(writeBuffer, 0, (int) (v >>> 32));
+            putInt(writeBuffer, 4, (int) v);
+            write(writeBuffer, 0, 8);
+        }
     }
 
     public final void writeFloat(float v) throws IOException {
@@ -101,56 +128,85 @@ public class ByteArrayBuffer {
         } else if (len == 0) {
             return;
         }
-        for (int i = 0; i < len; i++) {
-            write(b[off + i]);
-        }
-    }
 
-    private void write(int b) {
-        if (pos == UnitSize) {
-            byteArrayList.add(buffer);
-            buffer = new byte[UnitSize];
-            pos = 0;
+        dataSize += len;
+        while (len > 0) {
+            if (pos == UnitSize) {
+                nextSegment();
+            }
+            int n = Math.min(len, UnitSize - pos);
+            System.arraycopy(b, off, buffer, pos, n);
+            pos += n;
+            off += n;
+            len -= n;
         }
-        buffer[pos] = (byte) b;
-        pos++;
-        dataSize++;
     }
 
+    /**
+     * Appends <code>size</code> followed by the data of <code>buf</code>. The header space of
+     * <code>buf</code> is not part of its data and is skipped.
+     */
     public void merge(int size, ByteArrayBuffer buf) {
         writeInt(size);
 
-        byte[] dest = new byte[pos];
-        System.arraycopy(buffer, 0, dest, 0, pos);
-        byteArrayList.add(dest);
+        for (int i = 0; i <= buf.current; i++) {
+            int from = (i == 0) ? HeaderSize : 0;
+            int to = (i == buf.current) ? buf.pos : UnitSize;
+            write(buf.segments.get(i), from, to - from);
+        }
+    }
 
-        Iterator<byte[]> i = buf.byteArrayList.iterator();
-        while (i.hasNext()) {
-            byte[] b = i.next();
-            byteArrayList.add(b);
+    public int size() {
+        return dataSize;
+    }
+
+    /** Overwrites the byte at <code>index</code> of the data written since the last reset. */
+    public void setByte(int index, byte v) {
+        if (index < 0 || index >= dataSize) {
+            throw new IndexOutOfBoundsException();
         }
 
-        dest = new byte[buf.pos];
-        System.arraycopy(buf.buffer, 0, dest, 0, buf.pos);
-        byteArrayList.add(dest);
+        int offset = HeaderSize + index;
+        segments.get(offset / UnitSize)[offset % UnitSize] = v;
+    }
+
+    /** Returns a copy of the data written since the last {@link #reset()}. */
+    public byte[] toByteArray() {
+        byte[] b = new byte[dataSize];
+        copyTo(b, 0);
+        return b;
+    }
+
+    /** Copies the data written since the last {@link #reset()} to <code>dst</code>. */
+    public void copyTo(byte[] dst, int off) {
+        for (int i = 0; i <= current; i++) {
+            int from = (i == 0) ? HeaderSize : 0;
+            int to = (i == current) ? pos : UnitSize;
+            System.arraycopy(segments.get(i), from, dst, off, to - from);
+            off += to - from;
+        }
+    }
 
-        buffer = new byte[UnitSize];
+    private void nextSegment() {
+        current++;
+        if (current == segments.size()) {
+            segments.add(new byte[UnitSize]);
+        }
+        buffer = segments.get(current);
         pos = 0;
-        dataSize += size;
+    }
+
+    private static void putInt(byte[] b, int off, int v) {
+        b[off] = (byte) (v >>> 24);
+        b[off + 1] = (byte) (v >>> 16);
+        b[off + 2] = (byte) (v >>> 8);
+        b[off + 3] = (byte) v;
     }
 
     private void writeHeader(byte[] info) {
-        byte[] header = null;
+        byte[] header = segments.get(0);
 
-        if (byteArrayList.size() == 0) {
-            header = buffer;
-        } else {
-            header = byteArrayList.get(0);
-        }
-        header[0] = (byte) ((dataSize >>> 24) & 0xFF);
-        header[1] = (byte) ((dataSize >>> 16) & 0xFF);
-        header[2] = (byte) ((dataSize >>> 8) & 0xFF);
-        header[3] = (byte) ((dataSize >>> 0) & 0xFF);
+        putInt(header, 0, dataSize);
         header[4] = info[0];
         header[5] = info[1];
         header[6] = info[2];
@@ -158,24 +214,38 @@ public class ByteArrayBuffer {
     }
 
     public void writeToStream(byte[] info, OutputStream o) throws IOException {
-        DataOutputStream os = new DataOutputStream(o);
         writeHeader(info);
 
-        Iterator<byte[]> i = byteArrayList.iterator();
-        while (i.hasNext()) {
-            byte[] b = i.next();
-            if (b != null) {
-                os.write(b);
-            }
+        for (int i = 0; i < current; i++) {
+            o.write(segments.get(i), 0, UnitSize);
+        }
+        o.write(buffer, 0, pos);
+        o.flush();
+    }
+
+    /** Writes the whole message with gathering writes instead of one write per segment. */
+    public void writeToChannel(byte[] info, GatheringByteChannel ch) throws IOException {
+        writeHeader(info);
+
+        ByteBuffer[] srcs = new ByteBuffer[current + 1];
+        for (int i = 0; i < current; i++) {
+            srcs[i] = ByteBuffer.wrap(segments.get(i), 0, UnitSize);
+        }
+        srcs[current] = ByteBuffer.wrap(buffer, 0, pos);
+
+        long remain = (long) HeaderSize + dataSize;
+        while (remain > 0) {
+            remain -= ch.write(srcs);
         }
-        os.write(buffer, 0, pos);
-        os.flush();
     }
 
     public void reset() {
-        byteArrayList = new ArrayList<byte[]>();
-        buffer = baseByteArray;
-        pos = 8;
+        for (int i = segments.size() - 1; i >= MaxPooledSegments; i--) {
+            segments.remove(i);
+        }
+        current = 0;
+        buffer = segments.get(0);
+        pos = HeaderSize;
         dataSize = 0;
     }
 }
@@ -77,9 +77,12 @@ public class CUBRIDOIDImpl implements CUBRIDOID {
 
         UStatement u_stmt = null;
         UConnection u_con = cur_con.getUConnection();
-        synchronized (u_con) {
+        u_con.lock();
+        try {
             u_stmt = u_con.getByOID(this, attrNames);
             error = u_con.getRecentError();
+        } finally {
+            u_con.unlock();
         }
 
         checkError();
@@ -98,9 +101,12 @@ public class CUBRIDOIDImpl implements CUBRIDOID {
         }
 
         UConnection u_con = cur_con.getUConnection();
-        synchronized (u_con) {
+        u_con.lock();
+        try {
             u_con.putByOID(this, attrNames, values);
             error = u_con.getRecentError();
+        } finally {
+            u_con.unlock();
         }
 
         checkError();
@@ -110,9 +116,12 @@ public class CUBRIDOIDImpl implements CUBRIDOID {
         checkIsOpen();
 
         UConnection u_con = cur_con.getUConnection();
-        synchronized (u_con) {
+        u_con.lock();
+        try {
             u_con.oidCmd(this, UConnection.DROP_BY_OID);
             error = u_con.getRecentError();
+        } finally {
+            u_con.unlock();
         }
 
         checkError();
@@ -127,9 +136,12 @@ public class CUBRIDOIDImpl implements CUBRIDOID {
 
         Object instance_obj;
         UConnection u_con = cur_con.getUConnection();
-        synchronized (u_con) {
+        u_con.lock();
+        try {
             instance_obj = u_con.oidCmd(this, UConnection.IS_INSTANCE);
             error = u_con.getRecentError();
+        } finally {
+            u_con.unlock();
         }
 
         checkError();
@@ -141,9 +153,12 @@ public class CUBRIDOIDImpl implements CUBRIDOID {
         checkIsOpen();
 
         UConnection u_con = cur_con.getUConnection();
-        synchronized (u_con) {
+        u_con.lock();
+        try {
             u_con.oidCmd(this, UConnection.GET_READ_LOCK_BY_OID);
             error = u_con.getRecentError();
+        } finally {
+            u_con.unlock();
         }
 
         checkError();
@@ -153,9 +168,12 @@ public class CUBRIDOIDImpl implements CUBRIDOID {
         checkIsOpen();
 
         UConnection u_con = cur_con.getUConnection();
-        synchronized (u_con) {
+        u_con.lock();
+        try {
             u_con.oidCmd(this, UConnection.GET_WRITE_LOCK_BY_OID);
             error = u_con.getRecentError();
+        } finally {
+            u_con.unlock();
         }
 
         checkError();
@@ -169,9 +187,12 @@ public class CUBRIDOIDImpl implements CUBRIDOID {
         }
 
         UConnection u_con = cur_con.getUConnection();
-        synchronized (u_con) {
+        u_con.lock();
+        try {
             u_con.addElementToSet(this, attrName, value);
             error = u_con.getRecentError();
+        } finally {
+            u_con.unlock();
         }
 
         checkError();
@@ -185,9 +206,12 @@ public class CUBRIDOIDImpl implements CUBRIDOID {
         }
 
         UConnection u_con = cur_con.getUConnection();
-        synchronized (u_con) {
+        u_con.lock();
+        try {
             u_con.dropElementInSet(this, attrName, value);
             error = u_con.getRecentError();
+        } finally {
+            u_con.unlock();
         }
 
         checkError();
@@ -202,9 +226,12 @@ public class CUBRIDOIDImpl implements CUBRIDOID {
         }
 
         UConnection u_con = cur_con.getUConnection();
-        synchronized (u_con) {
+        u_con.lock();
+        try {
             u_con.insertElementIntoSequence(this, attrName, index, value);
             error = u_con.getRecentError();
+        } finally {
+            u_con.unlock();
         }
 
         checkError();
@@ -219,9 +246,12 @@ public class CUBRIDOIDImpl implements CUBRIDOID {
         }
 
         UConnection u_con = cur_con.getUConnection();
-        synchronized (u_con) {
+        u_con.lock();
+        try {
             u_con.putElementInSequence(this, attrName, index, value);
             error = u_con.getRecentError();
+        } finally {
+            u_con.unlock();
         }
 
         checkError();
@@ -235,9 +265,12 @@ public class CUBRIDOIDImpl implements CUBRIDOID {
         }
 
         UConnection u_con = cur_con.getUConnection();
-        synchronized (u_con) {
+        u_con.lock();
+        try {
             u_con.dropElementInSequence(this, attrName, index);
             error = u_con.getRecentError();
+        } finally {
+            u_con.unlock();
         }
 
         checkError();
@@ -269,8 +302,11 @@ public class CUBRIDOIDImpl implements CUBRIDOID {
 
         UConnection u_con = cur_con.getUConnection();
         String tablename;
-        synchronized (u_con) {
+        u_con.lock();
+        try {
             tablename = (String) u_con.oidCmd(this, UConnection.GET_CLASS_NAME_BY_OID);
+        } finally {
+            u_con.unlock();
         }
         return tablename;
     }
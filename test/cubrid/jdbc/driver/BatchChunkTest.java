@@ -0,0 +1,144 @@
+/*
+ * Copyright (C) 2008 Search Solution Corporation.
+ * Copyright (c) 2016 CUBRID Corporation.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ *
+ * - Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * - Neither the name of the <ORGANIZATION> nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software without
+ *   specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING,
+ * BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA,
+ * OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY
+ * OF SUCH DAMAGE.
+ *
+ */
+
+package cubrid.jdbc.driver;
+
+import cubrid.jdbc.jci.CUBRIDCommandType;
+import cubrid.jdbc.jci.FakeCas;
+import cubrid.jdbc.jci.FakeCas.Reply;
+import cubrid.jdbc.jci.FakeCas.Request;
+import cubrid.jdbc.jci.UFunctionCode;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.util.List;
+
+/**
+ * Runs batches larger than batchChunkRows against a fake CAS and checks that every
+ * EXECUTE_BATCH_PREPAREDSTATEMENT request holds batchChunkRows rows, or the rest of the batch,
+ * whether the requests are pipelined or, being too large for that, sent one after the other. Only
+ * the last request of a batch asks for auto-commit.
+ *
+ * <pre>
+ * javac -cp JDBC-x-cubrid.jar -d test/out test/cubrid/jdbc/jci/FakeCas.java \
+ *     test/cubrid/jdbc/driver/BatchChunkTest.java
+ * java -cp JDBC-x-cubrid.jar:test/out cubrid.jdbc.driver.BatchChunkTest
+ * </pre>
+ */
+public class BatchChunkTest {
+    private static final int ROWS = 1000;
+    /* the handle, the query timeout and the auto-commit flag come before the rows */
+    private static final int HEADER_ARGS = 3;
+    /* a bound INT is sent as its type and its value */
+    private static final int ROW_ARGS = 2;
+
+    public static void main(String[] args) throws Exception {
+        Class.forName("cubrid.jdbc.driver.CUBRIDDriver");
+        FakeCas cas =
+                new FakeCas(
+                        new FakeCas.Handler() {
+                            public Reply handle(Request request) {
+                                return reply(request);
+                            }
+                        });
+        try {
+            testChunks(cas, 300, new int[] {300, 300, 300, 100});
+            testChunks(cas, 100, new int[] {100, 100, 100, 100, 100, 100, 100, 100, 100, 100});
+            testChunks(cas, 4096, new int[] {ROWS});
+        } finally {
+            cas.close();
+        }
+        System.out.println("BatchChunkTest: OK");
+    }
+
+    private static void testChunks(FakeCas cas, int chunkRows, int[] expected) throws Exception {
+        String properties = "batchChunkRows=" + chunkRows + "&batchChunkSize=0";
+        int before = cas.getRequests(UFunctionCode.EXECUTE_BATCH_PREPAREDSTATEMENT).size();
+        Connection con = DriverManager.getConnection(cas.getUrl(properties));
+        try {
+            PreparedStatement stmt = con.prepareStatement("INSERT INTO t (a) VALUES (?)");
+            for (int i = 0; i < ROWS; i++) {
+                stmt.setInt(1, i);
+                stmt.addBatch();
+            }
+            int[] counts = stmt.executeBatch();
+            check(counts.length == ROWS, chunkRows + ": " + counts.length + " counts");
+            for (int i = 0; i < ROWS; i++) {
+                check(counts[i] == 1, chunkRows + ": count of row " + i + " is " + counts[i]);
+            }
+            stmt.close();
+        } finally {
+            con.close();
+        }
+
+        List<Request> sent = cas.getRequests(UFunctionCode.EXECUTE_BATCH_PREPAREDSTATEMENT);
+        sent = sent.subList(before, sent.size());
+        check(sent.size() == expected.length, chunkRows + ": " + sent.size() + " requests");
+        for (int i = 0; i < expected.length; i++) {
+            Request r = sent.get(i);
+            check(rows(r) == expected[i], chunkRows + ": request " + i + " has " + rows(r));
+            boolean last = i == expected.length - 1;
+            check((r.getByte(2) == 1) == last, chunkRows + ": auto-commit of request " + i);
+        }
+    }
+
+    private static int rows(Request request) {
+        return (request.getArgCount() - HEADER_ARGS) / ROW_ARGS;
+    }
+
+    private static Reply reply(Request request) {
+        int code = request.getFunctionCode();
+        if (code == UFunctionCode.PREPARE.getCode()) {
+            Reply reply = Reply.code(1);
+            reply.writeInt(-1); // result cache lifetime
+            reply.writeByte(CUBRIDCommandType.CUBRID_STMT_INSERT);
+            reply.writeInt(1); // parameters
+            reply.writeByte(0); // updatable
+            return reply.writeInt(0); // columns
+        }
+        if (code == UFunctionCode.EXECUTE_BATCH_PREPAREDSTATEMENT.getCode()) {
+            int rows = rows(request);
+            Reply reply = Reply.code(0);
+            reply.writeInt(rows);
+            for (int i = 0; i < rows; i++) {
+                reply.writeInt(1).writeInt(0).writeShort(0).writeShort(0);
+            }
+            return reply.writeInt(0); // shard id
+        }
+        return null;
+    }
+
+    private static void check(boolean condition, String what) {
+        if (!condition) {
+            throw new AssertionError(what);
+        }
+    }
+}
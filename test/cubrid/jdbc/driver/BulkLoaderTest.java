@@ -0,0 +1,282 @@
+/*
+ * Copyright (C) 2008 Search Solution Corporation.
+ * Copyright (c) 2016 CUBRID Corporation.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ *
+ * - Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * - Neither the name of the <ORGANIZATION> nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software without
+ *   specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING,
+ * BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA,
+ * OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY
+ * OF SUCH DAMAGE.
+ *
+ */
+
+package cubrid.jdbc.driver;
+
+import java.io.StringReader;
+import java.sql.BatchUpdateException;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Drives the parser of CUBRIDConnection.bulkLoad() with a Sink that keeps the rows, without a
+ * broker: quoted fields with delimiters, doubled quotes and line breaks in them, the NULL string,
+ * skipped lines, malformed lines with and without stopOnError, and batches that fail in part or
+ * with an error that must end the load. The names of the INSERT are checked to be identifiers.
+ *
+ * <pre>
+ * javac -cp JDBC-x-cubrid.jar -d test/out test/cubrid/jdbc/driver/BulkLoaderTest.java
+ * java -cp JDBC-x-cubrid.jar:test/out cubrid.jdbc.driver.BulkLoaderTest
+ * </pre>
+ */
+public class BulkLoaderTest {
+    public static void main(String[] args) throws Exception {
+        testQuotes();
+        testLineBreaks();
+        testNullString();
+        testSkipLines();
+        testMalformed();
+        testStopOnError();
+        testBatchUpdateException();
+        testOtherException();
+        testInsertSql();
+        System.out.println("BulkLoaderTest: OK");
+    }
+
+    private static void testQuotes() throws Exception {
+        RecordingSink sink = new RecordingSink();
+        String in = "1,\"a,b\",\"say \"\"hi\"\"\"\n2,plain,\"\"\"\"\r\n";
+        CUBRIDBulkLoadResult result = load(3, in, new CUBRIDBulkLoadOptions(), sink);
+
+        check(result.getRowsLoaded() == 2, "rows loaded: " + result);
+        checkRow(sink, 0, new String[] {"1", "a,b", "say \"hi\""});
+        checkRow(sink, 1, new String[] {"2", "plain", "\""});
+
+        CUBRIDBulkLoadOptions options = new CUBRIDBulkLoadOptions();
+        options.setDelimiter('|');
+        options.setQuote('\'');
+        sink = new RecordingSink();
+        load(2, "'x|y'|'it''s'\n", options, sink);
+        checkRow(sink, 0, new String[] {"x|y", "it's"});
+    }
+
+    private static void testLineBreaks() throws Exception {
+        RecordingSink sink = new RecordingSink();
+        String in = "1,\"two\nlines\"\n2,\"three\r\nlines\n\"\n3\n";
+        CUBRIDBulkLoadResult result = load(2, in, new CUBRIDBulkLoadOptions(), sink);
+
+        checkRow(sink, 0, new String[] {"1", "two\nlines"});
+        checkRow(sink, 1, new String[] {"2", "three\r\nlines\n"});
+        check(sink.rows.size() == 2, "rows: " + sink.rows.size());
+        /* the quoted line breaks count, so the short row is on line 6 */
+        check(result.getErrors().size() == 1, "errors: " + result.getErrors());
+        check(result.getErrors().get(0).getFirstLine() == 6, "line: " + result.getErrors());
+    }
+
+    private static void testNullString() throws Exception {
+        RecordingSink sink = new RecordingSink();
+        load(3, "1,,\"\"\n", new CUBRIDBulkLoadOptions(), sink);
+        checkRow(sink, 0, new String[] {"1", null, ""});
+
+        CUBRIDBulkLoadOptions options = new CUBRIDBulkLoadOptions();
+        options.setNullString("\\N");
+        sink = new RecordingSink();
+        load(3, "\\N,,\"\\N\"\n", options, sink);
+        checkRow(sink, 0, new String[] {null, "", "\\N"});
+
+        options.setNullString(null);
+        sink = new RecordingSink();
+        load(2, "1,\n", options, sink);
+        checkRow(sink, 0, new String[] {"1", ""});
+    }
+
+    private static void testSkipLines() throws Exception {
+        CUBRIDBulkLoadOptions options = new CUBRIDBulkLoadOptions();
+        options.setSkipLines(2);
+        RecordingSink sink = new RecordingSink();
+        CUBRIDBulkLoadResult result = load(2, "id,name\r\n# comment\n\n1,a\n", options, sink);
+
+        check(result.getRowsRead() == 1, "rows read: " + result);
+        checkRow(sink, 0, new String[] {"1", "a"});
+
+        sink = new RecordingSink();
+        result = load(2, "id,name\n", options, sink);
+        check(result.getRowsRead() == 0 && sink.executed == 0, "only skipped lines: " + result);
+    }
+
+    private static void testMalformed() throws Exception {
+        CUBRIDBulkLoadOptions options = new CUBRIDBulkLoadOptions();
+        options.setBatchSize(2);
+        RecordingSink sink = new RecordingSink();
+        String in = "1,a\n2\n3,c\n4,d,x\n5,e\n";
+        CUBRIDBulkLoadResult result = load(2, in, options, sink);
+
+        check(result.getRowsRead() == 5, "rows read: " + result);
+        check(result.getRowsLoaded() == 3, "rows loaded: " + result);
+        check(result.getRowsFailed() == 2, "rows failed: " + result);
+        check(result.getBatchCount() == 2, "batches: " + result);
+        check(result.getErrors().get(0).getFirstLine() == 2, "line: " + result.getErrors());
+        check(result.getErrors().get(1).getFirstLine() == 4, "line: " + result.getErrors());
+        checkRow(sink, 0, new String[] {"1", "a"});
+        checkRow(sink, 1, new String[] {"3", "c"});
+        checkRow(sink, 2, new String[] {"5", "e"});
+        check(sink.rows.size() == 3, "the fields of a malformed line are dropped");
+    }
+
+    private static void testStopOnError() throws Exception {
+        CUBRIDBulkLoadOptions options = new CUBRIDBulkLoadOptions();
+        options.setStopOnError(true);
+        RecordingSink sink = new RecordingSink();
+        CUBRIDBulkLoadResult result = load(2, "1,a\n2,b\n3\n4,d\n", options, sink);
+
+        check(result.getRowsRead() == 3, "rows read: " + result);
+        check(result.getRowsLoaded() == 2, "the rows before are sent: " + result);
+        check(result.getErrors().size() == 1, "errors: " + result.getErrors());
+        check(sink.rows.size() == 2 && sink.executed == 1, "stopped at line 3");
+    }
+
+    private static void testBatchUpdateException() throws Exception {
+        CUBRIDBulkLoadOptions options = new CUBRIDBulkLoadOptions();
+        options.setBatchSize(3);
+        RecordingSink sink = new RecordingSink();
+        int[] counts = {1, Statement.EXECUTE_FAILED, Statement.SUCCESS_NO_INFO};
+        sink.failure = new BatchUpdateException("duplicate key", counts);
+        CUBRIDBulkLoadResult result = load(1, "1\n2\n3\n4\n5\n6\n", options, sink);
+
+        check(result.getBatchCount() == 2, "the load goes on: " + result);
+        check(result.getRowsLoaded() == 5 && result.getRowsFailed() == 1, "one row: " + result);
+        CUBRIDBulkLoadError error = result.getErrors().get(0);
+        check(error.getFirstLine() == 1 && error.getRows() == 3, "error: " + error);
+        check(sink.cleared == 2, "every batch is cleared");
+
+        options.setStopOnError(true);
+        sink = new RecordingSink();
+        sink.failure = new BatchUpdateException("duplicate key", counts);
+        result = load(1, "1\n2\n3\n4\n5\n6\n", options, sink);
+        check(result.getBatchCount() == 1 && sink.executed == 1, "stopped: " + result);
+    }
+
+    private static void testOtherException() throws Exception {
+        CUBRIDBulkLoadOptions options = new CUBRIDBulkLoadOptions();
+        options.setBatchSize(2);
+        RecordingSink sink = new RecordingSink();
+        SQLException lost = new SQLException("connection lost");
+        sink.failure = lost;
+        try {
+            load(1, "1\n2\n3\n4\n", options, sink);
+            throw new AssertionError("the load went on after " + lost);
+        } catch (SQLException e) {
+            check(e == lost, "the error is thrown as it is: " + e);
+        }
+        check(sink.executed == 1 && sink.cleared == 1, "no batch after the error");
+    }
+
+    private static void testInsertSql() throws Exception {
+        check(
+                CUBRIDBulkLoader.getInsertSql("t", new String[] {"a", "b_2"})
+                        .equals("INSERT INTO t (a, b_2) VALUES (?, ?)"),
+                "plain names");
+        check(
+                CUBRIDBulkLoader.getInsertSql("dba.\"my table\"", new String[] {"[a b]", "`c`"})
+                        .equals("INSERT INTO dba.\"my table\" ([a b], `c`) VALUES (?, ?)"),
+                "quoted names");
+
+        String[] tables = {"", "t;", "t x", "a.b.c", "t.", "\"t", "\"\"", "t)--", "[t]]"};
+        for (int i = 0; i < tables.length; i++) {
+            checkRefused(tables[i], new String[] {"a"});
+        }
+        String[] columns = {"a) VALUES (1); DROP TABLE t --", "s.a", "1a", null};
+        for (int i = 0; i < columns.length; i++) {
+            checkRefused("t", new String[] {"a", columns[i]});
+        }
+    }
+
+    private static void checkRefused(String table, String[] columns) {
+        try {
+            String sql = CUBRIDBulkLoader.getInsertSql(table, columns);
+            throw new AssertionError("accepted " + sql);
+        } catch (SQLException e) {
+        }
+    }
+
+    private static CUBRIDBulkLoadResult load(
+            int columns, String in, CUBRIDBulkLoadOptions options, RecordingSink sink)
+            throws SQLException {
+        CUBRIDBulkLoader loader = new CUBRIDBulkLoader(columns, options);
+        return loader.load(new StringReader(in), sink);
+    }
+
+    private static void checkRow(RecordingSink sink, int row, String[] expected) {
+        check(row < sink.rows.size(), "row " + row + " of " + sink.rows.size());
+        String[] actual = sink.rows.get(row);
+        check(
+                Arrays.equals(actual, expected),
+                "row " + row + ": " + Arrays.toString(actual) + " for "
+                        + Arrays.toString(expected));
+    }
+
+    /* keeps the rows it is given; fails the first executeBatch with failure, if set */
+    private static final class RecordingSink implements CUBRIDBulkLoader.Sink {
+        final List<String[]> rows = new ArrayList<String[]>();
+        private final List<String> fields = new ArrayList<String>();
+        SQLException failure;
+        int executed;
+        int cleared;
+
+        public void setField(int column, String value) {
+            while (fields.size() < column) {
+                fields.add(null);
+            }
+            fields.set(column - 1, value);
+        }
+
+        public void addRow() {
+            rows.add(fields.toArray(new String[fields.size()]));
+            fields.clear();
+        }
+
+        public void clearRow() {
+            fields.clear();
+        }
+
+        public void executeBatch() throws SQLException {
+            executed++;
+            if (failure != null) {
+                SQLException e = failure;
+                failure = null;
+                throw e;
+            }
+        }
+
+        public void clearBatch() {
+            cleared++;
+        }
+    }
+
+    private static void check(boolean condition, String what) {
+        if (!condition) {
+            throw new AssertionError(what);
+        }
+    }
+}
@@ -0,0 +1,219 @@
+/*
+ * Copyright (C) 2008 Search Solution Corporation.
+ * Copyright (c) 2016 CUBRID Corporation.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ *
+ * - Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * - Neither the name of the <ORGANIZATION> nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software without
+ *   specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING,
+ * BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA,
+ * OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY
+ * OF SUCH DAMAGE.
+ *
+ */
+
+
+package cubrid.jdbc.driver;
+
+import cubrid.jdbc.jci.CUBRIDCommandType;
+import cubrid.jdbc.jci.FakeCas;
+import cubrid.jdbc.jci.FakeCas.Reply;
+import cubrid.jdbc.jci.FakeCas.Request;
+import cubrid.jdbc.jci.UConnection;
+import cubrid.jdbc.jci.UFunctionCode;
+import cubrid.jdbc.jci.UUType;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Runs Statement.execute() against a fake CAS with usePrepareAndExecute on and off, and checks the
+ * PREPARE_AND_EXECUTE request as the CAS receives it and the decoding of its reply. The CAS
+ * answers a statement by a type that its text does not give away, so the driver can only tell a
+ * result set from an update count by the statement type of the reply.
+ *
+ * <pre>
+ * javac -cp JDBC-x-cubrid.jar -d test/out test/cubrid/jdbc/jci/FakeCas.java \
+ *     test/cubrid/jdbc/driver/PrepareAndExecuteTest.java
+ * java -cp JDBC-x-cubrid.jar:test/out cubrid.jdbc.driver.PrepareAndExecuteTest
+ * </pre>
+ */
+public class PrepareAndExecuteTest {
+    /* a query that does not start with SELECT, and an update that does not look like one */
+    private static final String QUERY = "WITH r AS (SELECT 10 a) SELECT a FROM r";
+    private static final String UPDATE = "/* SELECT */ CALL bump_all()";
+
+    private static final int PREPARE_ARGUMENT_COUNT = 3;
+    private static final int EXECUTE_ARGUMENTS = 9;
+
+    public static void main(String[] args) throws Exception {
+        Class.forName("cubrid.jdbc.driver.CUBRIDDriver");
+        FakeCas cas =
+                new FakeCas(
+                        new FakeCas.Handler() {
+                            public Reply handle(Request request) {
+                                return reply(request);
+                            }
+                        });
+        try {
+            testPrepareAndExecute(cas);
+            testSeparatePrepare(cas);
+        } finally {
+            cas.close();
+        }
+        System.out.println("PrepareAndExecuteTest: OK");
+    }
+
+    private static void testPrepareAndExecute(FakeCas cas) throws Exception {
+        Connection con = DriverManager.getConnection(cas.getUrl("usePrepareAndExecute=true"));
+        try {
+            Statement stmt = con.createStatement();
+            check(stmt.execute(QUERY), "a query returns a result set");
+            ResultSet rs = stmt.getResultSet();
+            check(rs.next() && rs.getInt(1) == 10, "first row");
+            check(rs.next() && rs.getInt(1) == 20, "second row");
+            check(!rs.next(), "two rows");
+            check(stmt.getUpdateCount() == -1, "no update count with a result set");
+
+            check(!stmt.execute(UPDATE), "an update returns no result set");
+            check(stmt.getUpdateCount() == 3, "update count");
+            stmt.close();
+        } finally {
+            con.close();
+        }
+
+        List<Request> sent = cas.getRequests(UFunctionCode.PREPARE_AND_EXECUTE);
+        check(sent.size() == 2, "one PREPARE_AND_EXECUTE per execute, got " + sent.size());
+        check(cas.getRequests(UFunctionCode.PREPARE).isEmpty(), "no separate PREPARE");
+        check(cas.getRequests(UFunctionCode.EXECUTE).isEmpty(), "no separate EXECUTE");
+
+        Request r = sent.get(0);
+        check(
+                r.getArgCount() == 4 + EXECUTE_ARGUMENTS,
+                "PREPARE_AND_EXECUTE arguments: " + r.getArgCount());
+        check(r.getInt(0) == PREPARE_ARGUMENT_COUNT, "prepare argument count");
+        check(QUERY.equals(r.getString(1)), "SQL: " + r.getString(1));
+        check(r.getByte(2) == UConnection.PREPARE_HOLDABLE, "prepare flag of a holdable cursor");
+        check(r.getByte(3) == 1, "auto commit of the prepare");
+        check(r.getArg(7).length == 0, "no parameter modes");
+        check(r.getByte(8) == 1, "fetch flag, the server fetches only for a query");
+        check(r.getByte(9) == 1, "auto commit of the execute");
+        check(r.getByte(10) == 1, "forward only");
+        check(r.getArg(11).length == 8, "cache time");
+        check(r.getInt(12) == 0, "no query timeout");
+        check(UPDATE.equals(sent.get(1).getString(1)), "SQL: " + sent.get(1).getString(1));
+    }
+
+    /* with the property off, which is the default, the same statements take two round trips */
+    private static void testSeparatePrepare(FakeCas cas) throws Exception {
+        int combined = cas.getRequests(UFunctionCode.PREPARE_AND_EXECUTE).size();
+        Connection con = DriverManager.getConnection(cas.getUrl(null));
+        try {
+            Statement stmt = con.createStatement();
+            check(stmt.execute(QUERY), "a query returns a result set");
+            check(!stmt.execute(UPDATE), "an update returns no result set");
+            check(stmt.getUpdateCount() == 3, "update count");
+            stmt.close();
+        } finally {
+            con.close();
+        }
+
+        check(
+                cas.getRequests(UFunctionCode.PREPARE_AND_EXECUTE).size() == combined,
+                "no PREPARE_AND_EXECUTE when the property is off");
+        check(cas.getRequests(UFunctionCode.PREPARE).size() == 2, "two PREPAREs");
+        check(cas.getRequests(UFunctionCode.EXECUTE).size() == 2, "two EXECUTEs");
+    }
+
+    private static Reply reply(Request request) {
+        int code = request.getFunctionCode();
+        if (code == UFunctionCode.PREPARE.getCode()) {
+            return prepareReply(request.getString(0));
+        }
+        if (code == UFunctionCode.EXECUTE.getCode()) {
+            /* the server handle tells which statement is executed */
+            String sql = request.getInt(0) == 1 ? QUERY : UPDATE;
+            return executeReply(Reply.code(executeResult(sql)), sql);
+        }
+        if (code == UFunctionCode.PREPARE_AND_EXECUTE.getCode()) {
+            String sql = request.getString(1);
+            Reply reply = prepareReply(sql);
+            reply.writeInt(executeResult(sql));
+            return executeReply(reply, sql);
+        }
+        return null;
+    }
+
+    /* the server handle, the statement type, no parameters and the columns of a query */
+    private static Reply prepareReply(String sql) {
+        boolean query = QUERY.equals(sql);
+        Reply reply = Reply.code(query ? 1 : 2);
+        reply.writeInt(-1); // result cache lifetime
+        reply.writeByte(statementType(sql));
+        reply.writeInt(0); // parameters
+        reply.writeByte(0); // updatable
+        reply.writeInt(query ? 1 : 0);
+        if (query) {
+            reply.writeColumn(UUType.U_TYPE_INT, "a");
+        }
+        return reply;
+    }
+
+    private static byte statementType(String sql) {
+        return QUERY.equals(sql)
+                ? CUBRIDCommandType.CUBRID_STMT_SELECT
+                : CUBRIDCommandType.CUBRID_STMT_UPDATE;
+    }
+
+    private static int executeResult(String sql) {
+        return QUERY.equals(sql) ? 2 : 3;
+    }
+
+    /* the execute reply after its result code: the result info and the rows of a query */
+    private static Reply executeReply(Reply reply, String sql) {
+        boolean query = QUERY.equals(sql);
+        reply.writeByte(0); // cache reusable
+        reply.writeInt(1); // results
+        reply.writeByte(statementType(sql));
+        reply.writeInt(executeResult(sql));
+        reply.writeNullOid();
+        reply.writeInt(0).writeInt(0); // server cache time
+        reply.writeByte(0); // no column info
+        reply.writeInt(0); // shard id
+        if (query) {
+            reply.writeInt(0); // fetch result code
+            reply.writeInt(2);
+            for (int i = 1; i <= 2; i++) {
+                reply.writeInt(i).writeNullOid();
+                reply.writeInt(4).writeInt(i * 10);
+            }
+            reply.writeByte(1); // fetch completed
+        }
+        return reply;
+    }
+
+    private static void check(boolean condition, String what) {
+        if (!condition) {
+            throw new AssertionError(what);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (C) 2008 Search Solution Corporation.
+ * Copyright (c) 2016 CUBRID Corporation.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ *
+ * - Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * - Neither the name of the <ORGANIZATION> nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software without
+ *   specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING,
+ * BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA,
+ * OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY
+ * OF SUCH DAMAGE.
+ *
+ */
+
+package cubrid.jdbc.driver;
+
+import cubrid.jdbc.jci.CUBRIDCommandType;
+import cubrid.jdbc.jci.FakeCas;
+import cubrid.jdbc.jci.FakeCas.Reply;
+import cubrid.jdbc.jci.FakeCas.Request;
+import cubrid.jdbc.jci.UFunctionCode;
+import cubrid.jdbc.jci.UUType;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+
+/**
+ * Checks the counters CUBRIDConnection.getPreparedStatementCacheStatistics() reports, preparing
+ * statements against a fake CAS with a cache of two entries: a statement prepared again is a hit,
+ * a new one a miss, and the third one evicts an entry.
+ *
+ * <pre>
+ * javac -cp JDBC-x-cubrid.jar -d test/out test/cubrid/jdbc/jci/FakeCas.java \
+ *     test/cubrid/jdbc/driver/PreparedStatementCacheStatsTest.java
+ * java -cp JDBC-x-cubrid.jar:test/out cubrid.jdbc.driver.PreparedStatementCacheStatsTest
+ * </pre>
+ */
+public class PreparedStatementCacheStatsTest {
+    public static void main(String[] args) throws Exception {
+        Class.forName("cubrid.jdbc.driver.CUBRIDDriver");
+        FakeCas cas =
+                new FakeCas(
+                        new FakeCas.Handler() {
+                            public Reply handle(Request request) {
+                                return reply(request);
+                            }
+                        });
+        try {
+            testCounters(cas);
+        } finally {
+            cas.close();
+        }
+        System.out.println("PreparedStatementCacheStatsTest: OK");
+    }
+
+    private static void testCounters(FakeCas cas) throws Exception {
+        String properties = "usePreparedStmtCache=true&preparedStmtCacheSize=2";
+        CUBRIDConnection con =
+                (CUBRIDConnection) DriverManager.getConnection(cas.getUrl(properties));
+        try {
+            CUBRIDPreparedStatementCacheStats stats = con.getPreparedStatementCacheStatistics();
+            check(stats.getSize() == 0 && stats.getMemorySize() == 0, "empty: " + stats);
+            check(stats.getMaxSize() == 2, "max size: " + stats);
+
+            PreparedStatement a = con.prepareStatement("SELECT a FROM t WHERE id = ?");
+            check(con.prepareStatement("SELECT a FROM t WHERE id = ?") == a, "a is cached");
+            con.prepareStatement("SELECT b FROM t WHERE id = ?");
+
+            stats = con.getPreparedStatementCacheStatistics();
+            check(stats.getSize() == 2, "size: " + stats);
+            check(stats.getHitCount() == 1 && stats.getMissCount() == 2, "lookups: " + stats);
+            check(stats.getEvictionCount() == 0, "no eviction yet: " + stats);
+            check(stats.getMemorySize() > 0, "memory: " + stats);
+            long memory = stats.getMemorySize();
+
+            con.prepareStatement("SELECT c FROM t WHERE id = ?");
+            stats = con.getPreparedStatementCacheStatistics();
+            check(stats.getSize() == 2, "size after eviction: " + stats);
+            check(stats.getEvictionCount() == 1, "evictions: " + stats);
+            check(stats.getMissCount() == 3, "misses: " + stats);
+            check(stats.getMemorySize() == memory, "memory of two entries: " + stats);
+            check(Math.abs(stats.getHitRatio() - 0.25) < 1e-9, "hit ratio: " + stats);
+
+            check(cas.getRequests(UFunctionCode.PREPARE).size() == 3, "three statements prepared");
+        } finally {
+            con.close();
+        }
+    }
+
+    private static Reply reply(Request request) {
+        if (request.getFunctionCode() == UFunctionCode.PREPARE.getCode()) {
+            Reply reply = Reply.code(1);
+            reply.writeInt(-1); // result cache lifetime
+            reply.writeByte(CUBRIDCommandType.CUBRID_STMT_SELECT);
+            reply.writeInt(1); // parameters
+            reply.writeByte(0); // updatable
+            reply.writeInt(1);
+            return reply.writeColumn(UUType.U_TYPE_INT, "a");
+        }
+        return null;
+    }
+
+    private static void check(boolean condition, String what) {
+        if (!condition) {
+            throw new AssertionError(what);
+        }
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright (C) 2008 Search Solution Corporation.
+ * Copyright (c) 2016 CUBRID Corporation.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ *
+ * - Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * - Neither the name of the <ORGANIZATION> nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software without
+ *   specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING,
+ * BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA,
+ * OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY
+ * OF SUCH DAMAGE.
+ *
+ */
+
+package cubrid.jdbc.driver;
+
+import cubrid.jdbc.jci.CUBRIDCommandType;
+import cubrid.jdbc.jci.FakeCas;
+import cubrid.jdbc.jci.FakeCas.Reply;
+import cubrid.jdbc.jci.FakeCas.Request;
+import cubrid.jdbc.jci.UFunctionCode;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Runs statements with a timeout against a fake CAS that answers a CANCEL only after a second. A
+ * statement that ends while its cancel is still being sent must wait for the cancel in end(), so
+ * that the cancel cannot reach a later statement, but must not wait on a monitor the timer holds
+ * across the cancel. A statement that ends in time sends no cancel. The statements are run with
+ * executeInsert(), which the driver times itself whatever the protocol of the broker.
+ *
+ * <pre>
+ * javac -cp JDBC-x-cubrid.jar -d test/out test/cubrid/jdbc/jci/FakeCas.java \
+ *     test/cubrid/jdbc/driver/QueryTimeoutTest.java
+ * java -cp JDBC-x-cubrid.jar:test/out cubrid.jdbc.driver.QueryTimeoutTest
+ * </pre>
+ */
+public class QueryTimeoutTest {
+    private static final long SLOW_MILLIS = 1500;
+    private static final long CANCEL_MILLIS = 1000;
+
+    public static void main(String[] args) throws Exception {
+        Class.forName("cubrid.jdbc.driver.CUBRIDDriver");
+        FakeCas cas =
+                new FakeCas(
+                        new FakeCas.Handler() {
+                            public Reply handle(Request request) {
+                                return reply(request);
+                            }
+                        });
+        cas.setCancelDelay(CANCEL_MILLIS);
+        try {
+            testEndedInTime(cas);
+            testEndedWhileCancelling(cas);
+        } finally {
+            cas.close();
+        }
+        System.out.println("QueryTimeoutTest: OK");
+    }
+
+    private static void testEndedInTime(FakeCas cas) throws Exception {
+        Connection con = DriverManager.getConnection(cas.getUrl(null));
+        try {
+            insert(con, "INSERT INTO t VALUES (1)", 5);
+        } finally {
+            con.close();
+        }
+        check(cancels(cas) == 0, "no cancel for a query that ended in time");
+    }
+
+    private static void testEndedWhileCancelling(FakeCas cas) throws Exception {
+        final Connection con = DriverManager.getConnection(cas.getUrl(null));
+        try {
+            final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+            Thread query =
+                    new Thread(
+                            new Runnable() {
+                                public void run() {
+                                    try {
+                                        insert(con, "INSERT INTO slow VALUES (1)", 1);
+                                    } catch (Throwable t) {
+                                        failure.set(t);
+                                    }
+                                }
+                            });
+
+            ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+            long begin = System.currentTimeMillis();
+            query.start();
+            while (query.isAlive()) {
+                ThreadInfo info = threads.getThreadInfo(query.getId());
+                if (info != null
+                        && info.getThreadState() == Thread.State.BLOCKED
+                        && String.valueOf(info.getLockName()).indexOf("QueryTimer") >= 0) {
+                    throw new AssertionError("end() waits on a monitor: " + info);
+                }
+                Thread.sleep(5);
+            }
+            long elapsed = System.currentTimeMillis() - begin;
+
+            if (failure.get() != null) {
+                throw new AssertionError(failure.get());
+            }
+            check(cancels(cas) == 1, "the expired statement was cancelled");
+            check(elapsed >= 1000 + CANCEL_MILLIS - 100, "did not wait for the cancel: " + elapsed);
+        } finally {
+            con.close();
+        }
+    }
+
+    private static void insert(Connection con, String sql, int timeout) throws Exception {
+        CUBRIDStatement stmt = (CUBRIDStatement) con.createStatement();
+        try {
+            stmt.setQueryTimeout(timeout);
+            stmt.executeInsert(sql);
+        } finally {
+            stmt.close();
+        }
+    }
+
+    private static int cancels(FakeCas cas) {
+        int count = 0;
+        List<String> messages = cas.getBrokerMessages();
+        for (int i = 0; i < messages.size(); i++) {
+            String m = messages.get(i);
+            if (m.equals("CANCEL") || m.equals("X1")) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /* the server handle tells the slow statement, whose reply comes after the timeout */
+    private static Reply reply(Request request) {
+        int code = request.getFunctionCode();
+        if (code == UFunctionCode.PREPARE.getCode()) {
+            boolean slow = request.getString(0).indexOf("slow") >= 0;
+            Reply reply = Reply.code(slow ? 2 : 1);
+            reply.writeInt(-1); // result cache lifetime
+            reply.writeByte(CUBRIDCommandType.CUBRID_STMT_INSERT);
+            reply.writeInt(0); // parameters
+            reply.writeByte(0); // updatable
+            return reply.writeInt(0); // columns
+        }
+        if (code == UFunctionCode.EXECUTE.getCode()) {
+            Reply reply = Reply.code(1);
+            reply.writeByte(0); // cache reusable
+            reply.writeInt(1); // results
+            reply.writeByte(CUBRIDCommandType.CUBRID_STMT_INSERT);
+            reply.writeInt(1);
+            reply.writeNullOid();
+            reply.writeInt(0).writeInt(0); // server cache time
+            reply.writeByte(0); // no column info
+            reply.writeInt(0); // shard id
+            return request.getInt(0) == 2 ? reply.delay(SLOW_MILLIS) : reply;
+        }
+        return null;
+    }
+
+    private static void check(boolean condition, String what) {
+        if (!condition) {
+            throw new AssertionError(what);
+        }
+    }
+}
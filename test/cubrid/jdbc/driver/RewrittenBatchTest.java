@@ -0,0 +1,162 @@
+/*
+ * Copyright (C) 2008 Search Solution Corporation.
+ * Copyright (c) 2016 CUBRID Corporation.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ *
+ * - Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * - Neither the name of the <ORGANIZATION> nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software without
+ *   specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING,
+ * BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA,
+ * OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY
+ * OF SUCH DAMAGE.
+ *
+ */
+
+package cubrid.jdbc.driver;
+
+import cubrid.jdbc.jci.CUBRIDCommandType;
+import cubrid.jdbc.jci.FakeCas;
+import cubrid.jdbc.jci.FakeCas.Reply;
+import cubrid.jdbc.jci.FakeCas.Request;
+import cubrid.jdbc.jci.UErrorCode;
+import cubrid.jdbc.jci.UFunctionCode;
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs a batched INSERT with rewriteBatchedInserts against a fake CAS. The rewritten statements of
+ * two rows each insert both rows, insert one of them, and fail, so the batch has rows that
+ * succeeded with a count, rows that succeeded with SUCCESS_NO_INFO and rows that failed. Only the
+ * failed rows may be reported as errors in the BatchUpdateException.
+ *
+ * <pre>
+ * javac -cp JDBC-x-cubrid.jar -d test/out test/cubrid/jdbc/jci/FakeCas.java \
+ *     test/cubrid/jdbc/driver/RewrittenBatchTest.java
+ * java -cp JDBC-x-cubrid.jar:test/out cubrid.jdbc.driver.RewrittenBatchTest
+ * </pre>
+ */
+public class RewrittenBatchTest {
+    private static final String MESSAGE = "Operation would have caused one or more unique "
+            + "constraint violations.";
+    private static final int UNIQUE_VIOLATION = -670;
+
+    public static void main(String[] args) throws Exception {
+        Class.forName("cubrid.jdbc.driver.CUBRIDDriver");
+        final AtomicInteger executed = new AtomicInteger();
+        FakeCas cas =
+                new FakeCas(
+                        new FakeCas.Handler() {
+                            public Reply handle(Request request) {
+                                return reply(request, executed);
+                            }
+                        });
+        try {
+            testFailedRows(cas);
+        } finally {
+            cas.close();
+        }
+        System.out.println("RewrittenBatchTest: OK");
+    }
+
+    private static void testFailedRows(FakeCas cas) throws Exception {
+        String properties = "rewriteBatchedInserts=true&batchChunkRows=2";
+        Connection con = DriverManager.getConnection(cas.getUrl(properties));
+        try {
+            PreparedStatement stmt = con.prepareStatement("INSERT INTO t (a) VALUES (?)");
+            for (int i = 1; i <= 6; i++) {
+                stmt.setInt(1, i);
+                stmt.addBatch();
+            }
+            try {
+                stmt.executeBatch();
+                throw new AssertionError("the failed rows were not reported");
+            } catch (BatchUpdateException e) {
+                int[] expected = {
+                    1,
+                    1,
+                    Statement.SUCCESS_NO_INFO,
+                    Statement.SUCCESS_NO_INFO,
+                    Statement.EXECUTE_FAILED,
+                    Statement.EXECUTE_FAILED
+                };
+                int[] counts = e.getUpdateCounts();
+                check(Arrays.equals(counts, expected), "counts " + Arrays.toString(counts));
+                check(e.getErrorCode() == UNIQUE_VIOLATION, "error code " + e.getErrorCode());
+                check(e.getMessage().indexOf(MESSAGE) >= 0, "message " + e.getMessage());
+
+                SQLException next = e.getNextException();
+                check(next != null, "an error for each failed row");
+                check(next.getErrorCode() == UNIQUE_VIOLATION, "next " + next.getErrorCode());
+                check(next.getNextException() == null, "no error for the rows that succeeded");
+            }
+            stmt.close();
+        } finally {
+            con.close();
+        }
+
+        String sql = cas.getRequests(UFunctionCode.PREPARE).get(1).getString(0);
+        check(sql.equals("INSERT INTO t (a) VALUES (?), (?)"), "rewritten as " + sql);
+        check(cas.getRequests(UFunctionCode.EXECUTE).size() == 3, "three statements ran");
+    }
+
+    /* the first statement inserts both rows, the second one of them, the third fails */
+    private static Reply reply(Request request, AtomicInteger executed) {
+        int code = request.getFunctionCode();
+        if (code == UFunctionCode.PREPARE.getCode()) {
+            Reply reply = Reply.code(1);
+            reply.writeInt(-1); // result cache lifetime
+            reply.writeByte(CUBRIDCommandType.CUBRID_STMT_INSERT);
+            reply.writeInt(request.getString(0).split("\\?", -1).length - 1); // parameters
+            reply.writeByte(0); // updatable
+            return reply.writeInt(0); // columns
+        }
+        if (code == UFunctionCode.EXECUTE.getCode()) {
+            int n = executed.incrementAndGet();
+            if (n == 3) {
+                Reply reply = Reply.code(UErrorCode.DBMS_ERROR_INDICATOR);
+                reply.writeInt(UNIQUE_VIOLATION);
+                return reply.writeBytes(MESSAGE.getBytes()).writeByte(0);
+            }
+            int count = (n == 1) ? 2 : 1;
+            Reply reply = Reply.code(count);
+            reply.writeByte(0); // cache reusable
+            reply.writeInt(1); // results
+            reply.writeByte(CUBRIDCommandType.CUBRID_STMT_INSERT);
+            reply.writeInt(count);
+            reply.writeNullOid();
+            reply.writeInt(0).writeInt(0); // server cache time
+            reply.writeByte(0); // no column info
+            return reply.writeInt(0); // shard id
+        }
+        return null;
+    }
+
+    private static void check(boolean condition, String what) {
+        if (!condition) {
+            throw new AssertionError(what);
+        }
+    }
+}
@@ -0,0 +1,242 @@
+/*
+ * Copyright (C) 2008 Search Solution Corporation.
+ * Copyright (c) 2016 CUBRID Corporation.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ *
+ * - Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * - Neither the name of the <ORGANIZATION> nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software without
+ *   specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING,
+ * BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA,
+ * OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY
+ * OF SUCH DAMAGE.
+ *
+ */
+
+
+package cubrid.jdbc.driver;
+
+import cubrid.jdbc.jci.CUBRIDCommandType;
+import cubrid.jdbc.jci.FakeCas;
+import cubrid.jdbc.jci.FakeCas.Reply;
+import cubrid.jdbc.jci.FakeCas.Request;
+import cubrid.jdbc.jci.UFunctionCode;
+import cubrid.jdbc.jci.UUType;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Runs 10,000 virtual threads over a few connections to a fake CAS. Every thread runs a query on a
+ * shared connection and reads its rows, so most of the rows come with FETCH round trips made from
+ * ResultSet.next() while other threads wait for the same connection. The driver must not hold a
+ * monitor across those waits: with jdk.tracePinnedThreads the JDK prints the stack of a virtual
+ * thread that blocks while pinned to its carrier, and the test fails on any such stack that goes
+ * through the driver.
+ *
+ * <p>Needs JDK 21 or later:
+ *
+ * <pre>
+ * javac -cp JDBC-x-cubrid.jar -d test/out test/cubrid/jdbc/jci/FakeCas.java \
+ *     test/cubrid/jdbc/driver/VirtualThreadStressTest.java
+ * java -Djdk.tracePinnedThreads=short -cp JDBC-x-cubrid.jar:test/out \
+ *     cubrid.jdbc.driver.VirtualThreadStressTest [threads] [connections]
+ * </pre>
+ */
+public class VirtualThreadStressTest {
+    private static final String QUERY = "SELECT a FROM t";
+    private static final int ROWS = 100;
+    private static final int FIRST_ROWS = 10;
+    private static final int FETCH_SIZE = 10;
+
+    public static void main(String[] args) throws Exception {
+        int threads = (args.length > 0) ? Integer.parseInt(args[0]) : 10000;
+        int connections = (args.length > 1) ? Integer.parseInt(args[1]) : 50;
+        if (System.getProperty("jdk.tracePinnedThreads") == null) {
+            throw new IllegalStateException("run with -Djdk.tracePinnedThreads=short");
+        }
+
+        Class.forName("cubrid.jdbc.driver.CUBRIDDriver");
+        FakeCas cas =
+                new FakeCas(
+                        new FakeCas.Handler() {
+                            public Reply handle(Request request) {
+                                return reply(request);
+                            }
+                        });
+        final Connection[] cons = new Connection[connections];
+        try {
+            for (int i = 0; i < connections; i++) {
+                cons[i] = DriverManager.getConnection(cas.getUrl(null));
+            }
+            /* the classes are loaded and initialized on a platform thread first */
+            check(query(cons[0]) == sum(), "sum of the rows");
+
+            PrintStream out = System.out;
+            ByteArrayOutputStream traces = new ByteArrayOutputStream();
+            System.setOut(new PrintStream(new Tee(out, traces), true));
+
+            final AtomicInteger done = new AtomicInteger();
+            final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+            Thread[] workers = new Thread[threads];
+            long begin = System.nanoTime();
+            for (int i = 0; i < threads; i++) {
+                final Connection con = cons[i % connections];
+                workers[i] =
+                        Thread.ofVirtual()
+                                .start(
+                                        new Runnable() {
+                                            public void run() {
+                                                try {
+                                                    check(query(con) == sum(), "sum of the rows");
+                                                    done.incrementAndGet();
+                                                } catch (Throwable t) {
+                                                    failure.compareAndSet(null, t);
+                                                }
+                                            }
+                                        });
+            }
+            for (int i = 0; i < threads; i++) {
+                workers[i].join();
+            }
+            long elapsed = System.nanoTime() - begin;
+            System.setOut(out);
+
+            if (failure.get() != null) {
+                throw new AssertionError(failure.get());
+            }
+            check(done.get() == threads, "all threads completed: " + done.get());
+
+            String pinned = traces.toString();
+            check(
+                    !pinned.contains("cubrid.jdbc"),
+                    "a virtual thread was pinned in the driver:\n" + pinned);
+
+            int fetches = cas.getRequests(UFunctionCode.FETCH).size();
+            check(fetches > threads, "every query fetches: " + fetches + " FETCH requests");
+            System.out.printf(
+                    "VirtualThreadStressTest: OK, %d threads on %d connections in %d ms%n",
+                    threads, connections, elapsed / 1000000);
+        } finally {
+            for (int i = 0; i < connections; i++) {
+                if (cons[i] != null) {
+                    cons[i].close();
+                }
+            }
+            cas.close();
+        }
+    }
+
+    private static long query(Connection con) throws Exception {
+        Statement stmt = con.createStatement();
+        try {
+            stmt.setFetchSize(FETCH_SIZE);
+            ResultSet rs = stmt.executeQuery(QUERY);
+            long sum = 0;
+            while (rs.next()) {
+                sum += rs.getInt(1);
+            }
+            rs.close();
+            return sum;
+        } finally {
+            stmt.close();
+        }
+    }
+
+    private static long sum() {
+        return (long) ROWS * (ROWS + 1) / 2;
+    }
+
+    /*
+     * Every statement gets the same server handle; the rows are numbered from 1 and their value is
+     * their number, so a FETCH is answered from its arguments alone.
+     */
+    private static Reply reply(Request request) {
+        int code = request.getFunctionCode();
+        if (code == UFunctionCode.PREPARE.getCode()) {
+            Reply reply = Reply.code(1);
+            reply.writeInt(-1); // result cache lifetime
+            reply.writeByte(CUBRIDCommandType.CUBRID_STMT_SELECT);
+            reply.writeInt(0); // parameters
+            reply.writeByte(0); // updatable
+            reply.writeInt(1);
+            return reply.writeColumn(UUType.U_TYPE_INT, "a");
+        }
+        if (code == UFunctionCode.EXECUTE.getCode()) {
+            Reply reply = Reply.code(ROWS);
+            reply.writeByte(0); // cache reusable
+            reply.writeInt(1); // results
+            reply.writeByte(CUBRIDCommandType.CUBRID_STMT_SELECT);
+            reply.writeInt(ROWS);
+            reply.writeNullOid();
+            reply.writeInt(0).writeInt(0); // server cache time
+            reply.writeByte(0); // no column info
+            reply.writeInt(0); // shard id
+            reply.writeInt(0); // fetch result code
+            return writeRows(reply, 1, FIRST_ROWS);
+        }
+        if (code == UFunctionCode.FETCH.getCode()) {
+            int first = request.getInt(1);
+            int count = Math.min(request.getInt(2), ROWS - first + 1);
+            return writeRows(Reply.code(0), first, count);
+        }
+        return null;
+    }
+
+    private static Reply writeRows(Reply reply, int first, int count) {
+        reply.writeInt(count);
+        for (int i = first; i < first + count; i++) {
+            reply.writeInt(i).writeNullOid();
+            reply.writeInt(4).writeInt(i);
+        }
+        return reply.writeByte(first + count > ROWS ? 1 : 0); // fetch completed
+    }
+
+    /* keeps what is printed while the virtual threads run, and prints it as well */
+    private static final class Tee extends OutputStream {
+        private final OutputStream out;
+        private final ByteArrayOutputStream copy;
+
+        Tee(OutputStream out, ByteArrayOutputStream copy) {
+            this.out = out;
+            this.copy = copy;
+        }
+
+        public synchronized void write(int b) {
+            copy.write(b);
+            try {
+                out.write(b);
+            } catch (IOException e) {
+            }
+        }
+    }
+
+    private static void check(boolean condition, String what) {
+        if (!condition) {
+            throw new AssertionError(what);
+        }
+    }
+}
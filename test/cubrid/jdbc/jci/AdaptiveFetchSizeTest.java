@@ -0,0 +1,184 @@
+/*
+ * Copyright (C) 2008 Search Solution Corporation.
+ * Copyright (c) 2016 CUBRID Corporation.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ *
+ * - Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * - Neither the name of the <ORGANIZATION> nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software without
+ *   specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING,
+ * BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA,
+ * OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY
+ * OF SUCH DAMAGE.
+ *
+ */
+
+
+package cubrid.jdbc.jci;
+
+import cubrid.jdbc.driver.CUBRIDConnection;
+import cubrid.jdbc.jci.FakeCas.Reply;
+import cubrid.jdbc.jci.FakeCas.Request;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.util.List;
+
+/**
+ * Reads a result with adaptiveFetchSize from a fake CAS whose rows are about 20 bytes each, with a
+ * target of 1KB, so the controller shrinks the FETCH size below the default. The FETCH requests
+ * must carry the size the controller chose, while the statement keeps reporting the fetch size
+ * that was set on it.
+ *
+ * <pre>
+ * javac -cp JDBC-x-cubrid.jar -d test/out test/cubrid/jdbc/jci/FakeCas.java \
+ *     test/cubrid/jdbc/jci/AdaptiveFetchSizeTest.java
+ * java -cp JDBC-x-cubrid.jar:test/out cubrid.jdbc.jci.AdaptiveFetchSizeTest
+ * </pre>
+ */
+public class AdaptiveFetchSizeTest {
+    private static final int ROWS = 2000;
+    private static final int FIRST_ROWS = 100;
+    private static final int DEFAULT_FETCH_SIZE = 100;
+
+    public static void main(String[] args) throws Exception {
+        Class.forName("cubrid.jdbc.driver.CUBRIDDriver");
+        FakeCas cas =
+                new FakeCas(
+                        new FakeCas.Handler() {
+                            public Reply handle(Request request) {
+                                return reply(request);
+                            }
+                        });
+        try {
+            testAdaptive(cas);
+            testFixed(cas);
+        } finally {
+            cas.close();
+        }
+        System.out.println("AdaptiveFetchSizeTest: OK");
+    }
+
+    private static void testAdaptive(FakeCas cas) throws Exception {
+        Connection con =
+                DriverManager.getConnection(
+                        cas.getUrl("adaptiveFetchSize=true&adaptiveFetchTargetSize=1"));
+        try {
+            int fetched = cas.getRequests(UFunctionCode.FETCH).size();
+            UStatement u_stmt = readAll(con, 0);
+
+            List<Request> fetches = cas.getRequests(UFunctionCode.FETCH);
+            check(fetches.size() > fetched + 1, "more than one FETCH");
+            int first = fetches.get(fetched).getInt(2);
+            int last = fetches.get(fetches.size() - 1).getInt(2);
+            check(first == DEFAULT_FETCH_SIZE, "the first FETCH asks for " + first + " rows");
+            check(last < DEFAULT_FETCH_SIZE, "the last FETCH asks for " + last + " rows");
+
+            UFetchSizeController controller = u_stmt.getFetchSizeController();
+            check(controller.getFetchSize() == last, "the controller chose " + last);
+            check(
+                    u_stmt.getFetchSize() == DEFAULT_FETCH_SIZE,
+                    "the statement keeps its fetch size: " + u_stmt.getFetchSize());
+            u_stmt.close();
+        } finally {
+            con.close();
+        }
+    }
+
+    private static void testFixed(FakeCas cas) throws Exception {
+        Connection con = DriverManager.getConnection(cas.getUrl("adaptiveFetchSize=true"));
+        try {
+            int fetched = cas.getRequests(UFunctionCode.FETCH).size();
+            UStatement u_stmt = readAll(con, 300);
+
+            List<Request> fetches = cas.getRequests(UFunctionCode.FETCH);
+            for (int i = fetched; i < fetches.size(); i++) {
+                check(fetches.get(i).getInt(2) == 300, "a set fetch size is not adapted");
+            }
+            check(u_stmt.getFetchSize() == 300, "the statement reports the size it was given");
+            check(!u_stmt.getFetchSizeController().isAdaptive(), "the controller is stopped");
+            u_stmt.close();
+        } finally {
+            con.close();
+        }
+    }
+
+    /* reads every row through the jci statement and checks the values */
+    private static UStatement readAll(Connection con, int fetchSize) throws Exception {
+        UConnection u_con = ((CUBRIDConnection) con).getUConnection();
+        UStatement u_stmt = u_con.prepare("SELECT a FROM t", (byte) 0);
+        check(u_stmt != null, "prepared");
+        u_stmt.setFetchSize(fetchSize);
+        u_stmt.execute(false, 0, 0, false, false, false, false, false, false, null, 0);
+        check(u_stmt.getRecentError().getErrorCode() == UErrorCode.ER_NO_ERROR, "executed");
+
+        for (int i = 0; i < ROWS; i++) {
+            u_stmt.moveCursor(i, UStatement.CURSOR_SET);
+            u_stmt.fetch();
+            check(u_stmt.getInt(0) == i + 1, "row " + (i + 1));
+        }
+        return u_stmt;
+    }
+
+    private static Reply reply(Request request) {
+        int code = request.getFunctionCode();
+        if (code == UFunctionCode.PREPARE.getCode()) {
+            Reply reply = Reply.code(1);
+            reply.writeInt(-1); // result cache lifetime
+            reply.writeByte(CUBRIDCommandType.CUBRID_STMT_SELECT);
+            reply.writeInt(0); // parameters
+            reply.writeByte(0); // updatable
+            reply.writeInt(1);
+            return reply.writeColumn(UUType.U_TYPE_INT, "a");
+        }
+        if (code == UFunctionCode.EXECUTE.getCode()) {
+            Reply reply = Reply.code(ROWS);
+            reply.writeByte(0); // cache reusable
+            reply.writeInt(1); // results
+            reply.writeByte(CUBRIDCommandType.CUBRID_STMT_SELECT);
+            reply.writeInt(ROWS);
+            reply.writeNullOid();
+            reply.writeInt(0).writeInt(0); // server cache time
+            reply.writeByte(0); // no column info
+            reply.writeInt(0); // shard id
+            reply.writeInt(0); // fetch result code
+            return writeRows(reply, 1, FIRST_ROWS);
+        }
+        if (code == UFunctionCode.FETCH.getCode()) {
+            int first = request.getInt(1);
+            int count = Math.min(request.getInt(2), ROWS - first + 1);
+            return writeRows(Reply.code(0), first, count);
+        }
+        return null;
+    }
+
+    private static Reply writeRows(Reply reply, int first, int count) {
+        reply.writeInt(count);
+        for (int i = first; i < first + count; i++) {
+            reply.writeInt(i).writeNullOid();
+            reply.writeInt(4).writeInt(i);
+        }
+        return reply.writeByte(first + count > ROWS ? 1 : 0); // fetch completed
+    }
+
+    private static void check(boolean condition, String what) {
+        if (!condition) {
+            throw new AssertionError(what);
+        }
+    }
+}
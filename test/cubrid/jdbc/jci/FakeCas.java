@@ -0,0 +1,458 @@
+/*
+ * Copyright (C) 2008 Search Solution Corporation.
+ * Copyright (c) 2016 CUBRID Corporation.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ *
+ * - Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * - Neither the name of the <ORGANIZATION> nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software without
+ *   specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING,
+ * BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA,
+ * OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY
+ * OF SUCH DAMAGE.
+ *
+ */
+
+
+package cubrid.jdbc.jci;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A broker and its CAS in one local server socket, speaking enough of the protocol for the driver
+ * to connect and send requests. Every request is recorded and answered by a {@link Handler}; a
+ * request the handler does not answer gets a reply with result code 0 and nothing else, which is
+ * what the driver expects of END_TRAN, CLOSE_REQ_HANDLE, CON_CLOSE and the like.
+ *
+ * <p>Each connection is served by its own daemon thread. The server is not part of the jar.
+ */
+public class FakeCas {
+    public static final int PROTOCOL_VERSION = UConnection.PROTOCOL_V12;
+
+    private static final int DRIVER_INFO_SIZE = 10;
+    private static final int DB_INFO_SIZE = 32 + 32 + 32 + 512 + 20;
+    private static final String MAGIC = "CUBRK";
+    private static final String[] BROKER_MESSAGES = {"PING", "ST", "CANCEL", "X1"};
+
+    /** Answers one request, or returns null to leave it to the default reply. */
+    public interface Handler {
+        Reply handle(Request request) throws IOException;
+    }
+
+    /** A request as the driver sent it: the function code and its length-prefixed arguments. */
+    public static final class Request {
+        private final int connection;
+        private final int functionCode;
+        private final List<byte[]> args;
+
+        Request(int connection, byte[] body) throws IOException {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(body));
+            this.connection = connection;
+            this.functionCode = in.readUnsignedByte();
+            this.args = new ArrayList<byte[]>();
+            while (in.available() > 0) {
+                byte[] arg = new byte[in.readInt()];
+                in.readFully(arg);
+                args.add(arg);
+            }
+        }
+
+        /** The number of the connection, counted from 1 in the order they were accepted. */
+        public int getConnection() {
+            return connection;
+        }
+
+        public int getFunctionCode() {
+            return functionCode;
+        }
+
+        public int getArgCount() {
+            return args.size();
+        }
+
+        public byte[] getArg(int index) {
+            return args.get(index);
+        }
+
+        public byte getByte(int index) {
+            return args.get(index)[0];
+        }
+
+        public int getInt(int index) {
+            return UJCIUtil.bytes2int(args.get(index), 0);
+        }
+
+        /* a string argument carries its terminating NUL */
+        public String getString(int index) {
+            byte[] arg = args.get(index);
+            return new String(arg, 0, arg.length - 1);
+        }
+    }
+
+    /** The body of a reply, written in network byte order; the header is added when it is sent. */
+    public static final class Reply {
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final DataOutputStream out = new DataOutputStream(bytes);
+        private long delayMillis;
+        private boolean disconnect;
+
+        /** A reply starting with the given result code. */
+        public static Reply code(int resCode) {
+            return new Reply().writeInt(resCode);
+        }
+
+        /** Closes the connection instead of replying. */
+        public static Reply disconnect() {
+            Reply reply = new Reply();
+            reply.disconnect = true;
+            return reply;
+        }
+
+        /** Holds the reply back for the given time, as a long running query would. */
+        public Reply delay(long millis) {
+            delayMillis = millis;
+            return this;
+        }
+
+        public Reply writeByte(int v) {
+            try {
+                out.writeByte(v);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+            return this;
+        }
+
+        public Reply writeShort(int v) {
+            try {
+                out.writeShort(v);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+            return this;
+        }
+
+        public Reply writeInt(int v) {
+            try {
+                out.writeInt(v);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+            return this;
+        }
+
+        public Reply writeBytes(byte[] v) {
+            try {
+                out.write(v);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+            return this;
+        }
+
+        /* a string is its length with the NUL, its bytes and the NUL */
+        public Reply writeString(String v) {
+            byte[] b = v.getBytes();
+            writeInt(b.length + 1);
+            writeBytes(b);
+            return writeByte(0);
+        }
+
+        public Reply writeNullOid() {
+            return writeBytes(new byte[UConnection.OID_BYTE_SIZE]);
+        }
+
+        /** The column metadata of a plain column, as PREPARE and EXECUTE replies carry it. */
+        public Reply writeColumn(byte type, String name) {
+            writeByte(type);
+            writeShort(0); // scale
+            writeInt(0); // precision
+            writeString(name);
+            writeString(name); // attribute name
+            writeString("t"); // class name
+            writeByte(0); // nullable
+            writeString(""); // default value
+            return writeBytes(new byte[7]); // AI, UK, PK, RI, RU, FK, shared
+        }
+
+        byte[] toByteArray() {
+            return bytes.toByteArray();
+        }
+    }
+
+    private final ServerSocket server;
+    private final Handler handler;
+    private final List<Request> requests = Collections.synchronizedList(new ArrayList<Request>());
+    private final List<Socket> sockets = Collections.synchronizedList(new ArrayList<Socket>());
+    private final List<String> brokerMessages =
+            Collections.synchronizedList(new ArrayList<String>());
+    private final AtomicInteger connections = new AtomicInteger();
+    private volatile int chunkSize;
+    private volatile long connectDelay;
+    private volatile long cancelDelay;
+    private volatile boolean closed;
+
+    public FakeCas(Handler handler) throws IOException {
+        this.handler = handler;
+        this.server = new ServerSocket(0, 1024, InetAddress.getByName("127.0.0.1"));
+
+        Thread acceptor =
+                new Thread("FakeCas-" + server.getLocalPort()) {
+                    public void run() {
+                        accept();
+                    }
+                };
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    public int getPort() {
+        return server.getLocalPort();
+    }
+
+    /** A URL for this server, with the given properties after the '?'. */
+    public String getUrl(String properties) {
+        String url = "jdbc:cubrid:127.0.0.1:" + getPort() + ":demodb:dba::";
+        return (properties == null) ? url : url + "?" + properties;
+    }
+
+    /** Sends every reply in pieces of this many bytes, so that a frame spans several reads. */
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    /** Holds back the reply to the database info of a new connection for the given time. */
+    public void setConnectDelay(long millis) {
+        this.connectDelay = millis;
+    }
+
+    /** Holds back the answer to a CANCEL message for the given time. */
+    public void setCancelDelay(long millis) {
+        this.cancelDelay = millis;
+    }
+
+    /** The number of connections accepted so far. */
+    public int getConnectionCount() {
+        return connections.get();
+    }
+
+    /** The PING, status and CANCEL messages received so far, by their leading letters. */
+    public List<String> getBrokerMessages() {
+        synchronized (brokerMessages) {
+            return new ArrayList<String>(brokerMessages);
+        }
+    }
+
+    /** The requests received so far with the given function code, in the order received. */
+    public List<Request> getRequests(UFunctionCode functionCode) {
+        List<Request> found = new ArrayList<Request>();
+        synchronized (requests) {
+            for (Request r : requests) {
+                if (r.getFunctionCode() == functionCode.getCode()) {
+                    found.add(r);
+                }
+            }
+        }
+        return found;
+    }
+
+    /** Drops every connection, as a CAS that was restarted would. */
+    public void dropConnections() {
+        synchronized (sockets) {
+            for (Socket s : sockets) {
+                closeQuietly(s);
+            }
+            sockets.clear();
+        }
+    }
+
+    public void close() {
+        closed = true;
+        try {
+            server.close();
+        } catch (IOException e) {
+        }
+        dropConnections();
+    }
+
+    private void accept() {
+        while (!closed) {
+            final Socket s;
+            try {
+                s = server.accept();
+            } catch (IOException e) {
+                return;
+            }
+
+            sockets.add(s);
+            Thread worker =
+                    new Thread("FakeCas-" + getPort()) {
+                        public void run() {
+                            try {
+                                serve(s);
+                            } catch (IOException e) {
+                                // the driver or the test closed the connection
+                            } finally {
+                                sockets.remove(s);
+                                closeQuietly(s);
+                            }
+                        }
+                    };
+            worker.setDaemon(true);
+            worker.start();
+        }
+    }
+
+    private void serve(Socket s) throws IOException {
+        s.setTcpNoDelay(true);
+        DataInputStream in = new DataInputStream(s.getInputStream());
+        OutputStream out = s.getOutputStream();
+        DataOutputStream broker = new DataOutputStream(out);
+
+        /*
+         * The broker accepts the driver and hands the socket over to the CAS. PING, status and
+         * CANCEL messages have the size of the driver info too; the broker answers them itself.
+         */
+        byte[] info = new byte[DRIVER_INFO_SIZE];
+        in.readFully(info);
+        String magic = new String(info, 0, MAGIC.length(), "ISO-8859-1");
+        if (!magic.equals(MAGIC)) {
+            String message = brokerMessage(info);
+            brokerMessages.add(message);
+            if (cancelDelay > 0 && !message.equals("PING") && !message.equals("ST")) {
+                sleep(cancelDelay);
+            }
+            broker.writeInt(magic.startsWith("ST") ? 1 : 0);
+            broker.flush();
+            return;
+        }
+        broker.writeInt(0);
+        broker.flush();
+
+        int id = connections.incrementAndGet();
+
+        in.readFully(new byte[DB_INFO_SIZE]);
+        Reply connected = Reply.code(id); // the CAS process id
+        connected.writeBytes(brokerInfo());
+        connected.writeInt(id); // CAS id
+        connected.writeBytes(new byte[20]); // session id
+        if (connectDelay > 0) {
+            sleep(connectDelay);
+        }
+        send(out, connected.toByteArray());
+
+        while (true) {
+            int length = in.readInt();
+            in.readFully(new byte[UConnection.CAS_INFO_SIZE]);
+            byte[] body = new byte[length];
+            in.readFully(body);
+
+            Request request = new Request(id, body);
+            requests.add(request);
+
+            Reply reply = handler == null ? null : handler.handle(request);
+            if (reply == null) {
+                reply = Reply.code(0);
+            }
+            if (reply.disconnect) {
+                return;
+            }
+            if (reply.delayMillis > 0) {
+                sleep(reply.delayMillis);
+            }
+            send(out, reply.toByteArray());
+        }
+    }
+
+    /* PING, ST (status), CANCEL or X1 (CANCEL with the protocol version) */
+    private static String brokerMessage(byte[] info) throws IOException {
+        String text = new String(info, "ISO-8859-1");
+        for (String name : BROKER_MESSAGES) {
+            if (text.startsWith(name)) {
+                return name;
+            }
+        }
+        return text;
+    }
+
+    private static byte[] brokerInfo() {
+        byte[] info = new byte[UConnection.BROKER_INFO_SIZE];
+        info[UConnection.BROKER_INFO_DBMS_TYPE] = UConnection.DBMS_CUBRID;
+        info[UConnection.BROKER_INFO_STATEMENT_POOLING] = 1;
+        info[UConnection.BROKER_INFO_PROTO_VERSION] =
+                (byte) (UConnection.CAS_PROTO_INDICATOR | PROTOCOL_VERSION);
+        info[UConnection.BROKER_INFO_FUNCTION_FLAG] =
+                (byte) (UConnection.CAS_RENEWED_ERROR_CODE
+                        | UConnection.CAS_SUPPORT_HOLDABLE_RESULT);
+        return info;
+    }
+
+    private void send(OutputStream out, byte[] body) throws IOException {
+        byte[] frame = new byte[8 + body.length];
+        frame[0] = (byte) (body.length >>> 24);
+        frame[1] = (byte) (body.length >>> 16);
+        frame[2] = (byte) (body.length >>> 8);
+        frame[3] = (byte) body.length;
+        frame[4] = UConnection.CAS_INFO_STATUS_INACTIVE;
+        frame[5] = frame[6] = frame[7] = (byte) 0xFF;
+        System.arraycopy(body, 0, frame, 8, body.length);
+
+        int chunk = chunkSize;
+        if (chunk <= 0) {
+            out.write(frame);
+            out.flush();
+            return;
+        }
+        for (int off = 0, n = 0; off < frame.length; off += chunk, n++) {
+            out.write(frame, off, Math.min(chunk, frame.length - off));
+            out.flush();
+            /* a pause now and then lets the driver see a frame before the rest of it arrives */
+            if (n % 16 == 0) {
+                sleep(1);
+            }
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void closeQuietly(Socket s) {
+        try {
+            s.close();
+        } catch (IOException e) {
+        }
+    }
+}
@@ -0,0 +1,218 @@
+/*
+ * Copyright (C) 2008 Search Solution Corporation.
+ * Copyright (c) 2016 CUBRID Corporation.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ *
+ * - Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * - Neither the name of the <ORGANIZATION> nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software without
+ *   specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING,
+ * BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA,
+ * OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY
+ * OF SUCH DAMAGE.
+ *
+ */
+
+
+package cubrid.jdbc.jci;
+
+import cubrid.jdbc.driver.CUBRIDConnection;
+import cubrid.jdbc.jci.FakeCas.Reply;
+import cubrid.jdbc.jci.FakeCas.Request;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+
+/**
+ * Runs the SocketChannel transport, transport=nio, against a fake CAS: replies cut into pieces of a
+ * few bytes and a request larger than one buffer segment, a connect timeout that must end the wait
+ * at its deadline, and a reconnect after the CAS dropped the connection. The socket transport
+ * runs the framing case as well, so that both are seen to read the same bytes the same way.
+ *
+ * <pre>
+ * javac -cp JDBC-x-cubrid.jar -d test/out test/cubrid/jdbc/jci/FakeCas.java \
+ *     test/cubrid/jdbc/jci/NioTransportTest.java
+ * java -cp JDBC-x-cubrid.jar:test/out cubrid.jdbc.jci.NioTransportTest
+ * </pre>
+ */
+public class NioTransportTest {
+    private static final int ROWS = 3000;
+    private static final int FIRST_ROWS = 100;
+    private static final int FETCH_SIZE = 500;
+    private static final long SLOW_MILLIS = 3000;
+
+    /* longer than a ByteArrayBuffer segment, so the request is written from several of them */
+    private static final String LONG_QUERY;
+
+    static {
+        char[] pad = new char[150 * 1024];
+        Arrays.fill(pad, ' ');
+        LONG_QUERY = "SELECT a, b FROM t" + new String(pad) + "WHERE 1 = 1";
+    }
+
+    public static void main(String[] args) throws Exception {
+        Class.forName("cubrid.jdbc.driver.CUBRIDDriver");
+        FakeCas cas =
+                new FakeCas(
+                        new FakeCas.Handler() {
+                            public Reply handle(Request request) {
+                                return reply(request);
+                            }
+                        });
+        try {
+            testFraming(cas, "transport=socket", false);
+            testFraming(cas, "transport=nio", true);
+            testConnectTimeout(cas);
+            testReconnect(cas);
+        } finally {
+            cas.close();
+        }
+        System.out.println("NioTransportTest: OK");
+    }
+
+    private static void testFraming(FakeCas cas, String properties, boolean nio)
+            throws Exception {
+        cas.setChunkSize(7);
+        Connection con = DriverManager.getConnection(cas.getUrl(properties));
+        try {
+            UConnection u_con = ((CUBRIDConnection) con).getUConnection();
+            check((u_con.getChannel() != null) == nio, properties + " selects the transport");
+
+            int prepared = cas.getRequests(UFunctionCode.PREPARE).size();
+            check(readAll(con, LONG_QUERY) == expectedSum(), properties + ": rows");
+            Request prepare = cas.getRequests(UFunctionCode.PREPARE).get(prepared);
+            check(LONG_QUERY.equals(prepare.getString(0)), properties + ": long SQL arrived whole");
+        } finally {
+            con.close();
+            cas.setChunkSize(0);
+        }
+    }
+
+    /* the CAS does not answer the connect in time, and the wait must end at the deadline */
+    private static void testConnectTimeout(FakeCas cas) throws Exception {
+        cas.setConnectDelay(SLOW_MILLIS);
+        long begin = System.currentTimeMillis();
+        try {
+            DriverManager.getConnection(cas.getUrl("transport=nio&connectTimeout=1")).close();
+            throw new AssertionError("the connect did not time out");
+        } catch (SQLException e) {
+            long elapsed = System.currentTimeMillis() - begin;
+            check(elapsed >= 900, "timed out early, after " + elapsed + " ms");
+            check(elapsed < SLOW_MILLIS, "waited past the deadline, " + elapsed + " ms");
+        } finally {
+            cas.setConnectDelay(0);
+        }
+    }
+
+    private static void testReconnect(FakeCas cas) throws Exception {
+        Connection con = DriverManager.getConnection(cas.getUrl("transport=nio"));
+        try {
+            int connections = cas.getConnectionCount();
+            check(readAll(con, "SELECT a, b FROM t") == expectedSum(), "rows before the drop");
+
+            cas.dropConnections();
+            check(readAll(con, "SELECT a, b FROM t") == expectedSum(), "rows after the drop");
+            check(cas.getConnectionCount() == connections + 1, "one new connection");
+
+            UConnection u_con = ((CUBRIDConnection) con).getUConnection();
+            check(u_con.getChannel() != null, "the new connection uses the channel too");
+        } finally {
+            con.close();
+        }
+    }
+
+    /* reads every row and returns the sum of the INT column, checking the VARCHAR column */
+    private static long readAll(Connection con, String sql) throws SQLException {
+        Statement stmt = con.createStatement();
+        try {
+            stmt.setFetchSize(FETCH_SIZE);
+            ResultSet rs = stmt.executeQuery(sql);
+            long sum = 0;
+            int rows = 0;
+            while (rs.next()) {
+                int a = rs.getInt(1);
+                check(("row " + a).equals(rs.getString(2)), "column b of row " + a);
+                sum += a;
+                rows++;
+            }
+            check(rows == ROWS, rows + " rows");
+            rs.close();
+            return sum;
+        } finally {
+            stmt.close();
+        }
+    }
+
+    private static long expectedSum() {
+        return (long) ROWS * (ROWS + 1) / 2;
+    }
+
+    private static Reply reply(Request request) {
+        int code = request.getFunctionCode();
+        if (code == UFunctionCode.PREPARE.getCode()) {
+            Reply reply = Reply.code(1);
+            reply.writeInt(-1); // result cache lifetime
+            reply.writeByte(CUBRIDCommandType.CUBRID_STMT_SELECT);
+            reply.writeInt(0); // parameters
+            reply.writeByte(0); // updatable
+            reply.writeInt(2);
+            reply.writeColumn(UUType.U_TYPE_INT, "a");
+            return reply.writeColumn(UUType.U_TYPE_STRING, "b");
+        }
+        if (code == UFunctionCode.EXECUTE.getCode()) {
+            Reply reply = Reply.code(ROWS);
+            reply.writeByte(0); // cache reusable
+            reply.writeInt(1); // results
+            reply.writeByte(CUBRIDCommandType.CUBRID_STMT_SELECT);
+            reply.writeInt(ROWS);
+            reply.writeNullOid();
+            reply.writeInt(0).writeInt(0); // server cache time
+            reply.writeByte(0); // no column info
+            reply.writeInt(0); // shard id
+            reply.writeInt(0); // fetch result code
+            return writeRows(reply, 1, FIRST_ROWS);
+        }
+        if (code == UFunctionCode.FETCH.getCode()) {
+            int first = request.getInt(1);
+            int count = Math.min(request.getInt(2), ROWS - first + 1);
+            return writeRows(Reply.code(0), first, count);
+        }
+        return null;
+    }
+
+    private static Reply writeRows(Reply reply, int first, int count) {
+        reply.writeInt(count);
+        for (int i = first; i < first + count; i++) {
+            reply.writeInt(i).writeNullOid();
+            reply.writeInt(4).writeInt(i);
+            String b = "row " + i;
+            reply.writeInt(b.length() + 1).writeBytes(b.getBytes()).writeByte(0);
+        }
+        return reply.writeByte(first + count > ROWS ? 1 : 0); // fetch completed
+    }
+
+    private static void check(boolean condition, String what) {
+        if (!condition) {
+            throw new AssertionError(what);
+        }
+    }
+}
@@ -0,0 +1,221 @@
+/*
+ * Copyright (C) 2008 Search Solution Corporation.
+ * Copyright (c) 2016 CUBRID Corporation.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * - Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ *
+ * - Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * - Neither the name of the <ORGANIZATION> nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software without
+ *   specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING,
+ * BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA,
+ * OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY
+ * OF SUCH DAMAGE.
+ *
+ */
+
+package cubrid.jdbc.jci;
+
+import java.util.Arrays;
+
+/**
+ * Checks that the rows a result cache keeps off the heap, with clientCacheOffHeap, stay within the
+ * limit of the cache and that the direct memory of a result comes back to the cache when the
+ * result is evicted, replaced, expired or not saved at all. A copy of the cached data taken before
+ * its result was evicted must find the rows gone rather than read slabs another result reuses.
+ *
+ * <pre>
+ * javac -cp JDBC-x-cubrid.jar -d test/out test/cubrid/jdbc/jci/OffHeapCacheTest.java
+ * java -cp JDBC-x-cubrid.jar:test/out cubrid.jdbc.jci.OffHeapCacheTest
+ * </pre>
+ */
+public class OffHeapCacheTest {
+    private static final int SLABS = 32;
+    private static final int ROWS_SIZE = 40 * 1024;
+    private static final int ROWS_SLABS = USlabPool.slabCount(ROWS_SIZE);
+
+    public static void main(String[] args) throws Exception {
+        testEviction();
+        testReplace();
+        testDiscard();
+        testExpire();
+        testLargeRows();
+        System.out.println("OffHeapCacheTest: OK");
+    }
+
+    private static void testEviction() {
+        UUrlCache cache = newCache();
+        UStmtCache sc = cache.getStmtCache("SELECT a FROM t WHERE id = ?");
+        UStatementCacheData[] saved = new UStatementCacheData[100];
+        for (int i = 0; i < saved.length; i++) {
+            UResCache rc = sc.get(key(i));
+            saved[i] = fill(rc, i, 1);
+            rc.saveCacheData(saved[i], 0);
+            check(retained(cache) <= SLABS, "retained " + retained(cache) + " slabs at " + i);
+        }
+
+        int gone = 0;
+        for (int i = 0; i < saved.length; i++) {
+            byte[] rows = saved[i].getPackedRows(0);
+            if (rows == null) {
+                gone++;
+            } else {
+                check(Arrays.equals(rows, rows(i)), "rows of result " + i);
+            }
+        }
+        long evicted = cache.getEvictionCount();
+        check(evicted >= saved.length - SLABS / ROWS_SLABS, "evictions: " + evicted);
+        check(gone == evicted, "the rows of the " + evicted + " evicted results: " + gone);
+        check(cache.getOffHeapSize() <= retained(cache) * USlabPool.SLAB_SIZE, "size in use");
+
+        UStatementCacheData last = sc.get(key(99)).getCacheData();
+        cache.invalidateAll();
+        check(cache.getOffHeapSize() == 0, "nothing in use after invalidateAll");
+        check(last.getPackedRows(0) == null, "invalidated rows are gone");
+        check(retained(cache) <= SLABS, "the slabs are kept for later results");
+    }
+
+    private static void testReplace() {
+        UUrlCache cache = newCache();
+        UStmtCache sc = cache.getStmtCache("SELECT a FROM t WHERE id = ?");
+        UResCache rc = save(sc, 1, 1);
+        UStatementCacheData old = rc.getCacheData();
+
+        for (int time = 2; time < 50; time++) {
+            save(sc, 1, time);
+        }
+        check(
+                retained(cache) == 2 * ROWS_SLABS,
+                "a replaced result gives its slabs back: " + retained(cache));
+        check(old.getPackedRows(0) == null, "the replaced rows are gone");
+
+        /* a hit is saved again with the time it was read with, the entry keeps its rows */
+        UStatementCacheData hit = rc.getCacheData();
+        rc.saveCacheData(hit, 0);
+        check(Arrays.equals(rc.getCacheData().getPackedRows(0), rows(1)), "the rows of a hit");
+        check(cache.getEvictionCount() == 0, "no evictions: " + cache.getEvictionCount());
+    }
+
+    private static void testDiscard() {
+        UUrlCache cache = newCache();
+        UStmtCache sc = cache.getStmtCache("SELECT a FROM t WHERE id = ?");
+        UResCache rc = save(sc, 1, 1);
+
+        for (int i = 0; i < 50; i++) {
+            UStatementCacheData cd = fill(rc, 1, 2);
+            rc.discardCacheData(cd);
+        }
+        check(
+                retained(cache) == 2 * ROWS_SLABS,
+                "discarded rows give their slabs back: " + retained(cache));
+
+        /* a result that is not saved, as one without a server cache time, is released too */
+        for (int i = 0; i < 50; i++) {
+            rc.saveCacheData(fill(rc, 1, 0), 0);
+        }
+        check(
+                retained(cache) == 2 * ROWS_SLABS,
+                "unsaved rows give their slabs back: " + retained(cache));
+        check(Arrays.equals(rc.getCacheData().getPackedRows(0), rows(1)), "rows kept");
+
+        /* the rows a hit shares with the entry are not released by a failed read */
+        rc.discardCacheData(rc.getCacheData());
+        check(Arrays.equals(rc.getCacheData().getPackedRows(0), rows(1)), "rows after discard");
+    }
+
+    private static void testExpire() throws InterruptedException {
+        UUrlCache cache = newCache();
+        cache.setTtl("FROM t", 1);
+        UStmtCache sc = cache.getStmtCache("SELECT a FROM t WHERE id = ?");
+        UResCache rc = save(sc, 1, 1);
+
+        Thread.sleep(1100);
+        check(rc.getCacheData().tuples == null, "the result expired");
+        check(cache.getOffHeapSize() == 0, "nothing in use after the expiry");
+        check(retained(cache) == ROWS_SLABS, "the slabs are kept: " + retained(cache));
+    }
+
+    private static void testLargeRows() {
+        UUrlCache cache = newCache();
+        UStmtCache sc = cache.getStmtCache("SELECT a FROM t WHERE id = ?");
+        UStatementCacheData cd = sc.get(key(1)).getCacheData();
+        cd.setCacheData(1, resultInfo(1));
+
+        byte[] large = new byte[3 * USlabPool.SLAB_SIZE + 5];
+        for (int i = 0; i < large.length; i++) {
+            large[i] = (byte) (i * 31);
+        }
+        check(cd.addPackedData(cache, large, 0, large.length, 1, 1), "4 slabs");
+        check(Arrays.equals(cd.getPackedRows(0), large), "rows over several slabs");
+
+        byte[] tooLarge = new byte[(SLABS - 3) * USlabPool.SLAB_SIZE];
+        check(
+                !cd.addPackedData(cache, tooLarge, 0, tooLarge.length, 2, 1),
+                "the slabs past the limit are refused");
+        check(retained(cache) == 4, "nothing taken for refused rows: " + retained(cache));
+        cd.releasePackedData();
+    }
+
+    private static UUrlCache newCache() {
+        UUrlCache cache = new UUrlCache();
+        cache.setLimit(SLABS * USlabPool.SLAB_SIZE);
+        return cache;
+    }
+
+    /* caches the rows of the given id as a statement does on a miss */
+    private static UResCache save(UStmtCache sc, int id, int time) {
+        UResCache rc = sc.get(key(id));
+        rc.saveCacheData(fill(rc, id, time), 0);
+        return rc;
+    }
+
+    private static UStatementCacheData fill(UResCache rc, int id, int time) {
+        UStatementCacheData cd = rc.getCacheData();
+        cd.setCacheData(1, resultInfo(time));
+        byte[] rows = rows(id);
+        UUrlCache cache = rc.stmt_cache.getUrlCache();
+        check(cd.addPackedData(cache, rows, 0, rows.length, 1, 1), "slabs for the rows of " + id);
+        return cd;
+    }
+
+    private static UResultInfo[] resultInfo(int time) {
+        UResultInfo info = new UResultInfo(CUBRIDCommandType.CUBRID_STMT_SELECT, 1);
+        info.setSrvCacheTime(time, 0);
+        return new UResultInfo[] {info};
+    }
+
+    private static UBindKey key(int id) {
+        return new UBindKey(new Object[] {Integer.valueOf(id)});
+    }
+
+    private static byte[] rows(int id) {
+        byte[] rows = new byte[ROWS_SIZE];
+        Arrays.fill(rows, (byte) id);
+        return rows;
+    }
+
+    private static long retained(UUrlCache cache) {
+        return cache.getOffHeapRetainedSize() / USlabPool.SLAB_SIZE;
+    }
+
+    private static void check(boolean condition, String what) {
+        if (!condition) {
+            throw new AssertionError(what);
+        }
+    }
+}